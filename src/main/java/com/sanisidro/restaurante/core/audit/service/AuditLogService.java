@@ -5,9 +5,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sanisidro.restaurante.core.audit.model.AuditLog;
 import com.sanisidro.restaurante.core.audit.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +19,7 @@ public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     public void log(String entityName, Long entityId, String action,
                     Object oldValue, Object newValue, Long userId, String username) {
@@ -35,4 +40,37 @@ public class AuditLogService {
             throw new RuntimeException("Error serializing audit log", e);
         }
     }
+
+    /**
+     * Registra el mismo cambio para varias entidades en un solo batch JDBC. Es para
+     * las actualizaciones masivas, que no pasan por el listener de entidades.
+     */
+    public void logAll(String entityName, Collection<Long> entityIds, String action,
+                       Object oldValue, Object newValue, Long userId, String username) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        try {
+            String oldJson = oldValue != null ? objectMapper.writeValueAsString(oldValue) : null;
+            String newJson = newValue != null ? objectMapper.writeValueAsString(newValue) : null;
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            jdbcTemplate.batchUpdate("""
+                        INSERT INTO audit_logs (entity_name, entity_id, action, old_value, new_value,
+                                                user_id, username, timestamp)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                    """, entityIds, entityIds.size(), (ps, entityId) -> {
+                ps.setString(1, entityName);
+                ps.setLong(2, entityId);
+                ps.setString(3, action);
+                ps.setString(4, oldJson);
+                ps.setString(5, newJson);
+                ps.setObject(6, userId, Types.BIGINT);
+                ps.setString(7, username);
+                ps.setTimestamp(8, now);
+            });
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing audit log", e);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package com.sanisidro.restaurante.core.config;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@Slf4j
+public class AsyncConfig {
+
+    private static final RejectedExecutionHandler CALLER_RUNS = new ThreadPoolExecutor.CallerRunsPolicy();
+
+    /**
+     * Pool acotado para generar comprobantes PDF fuera de la transacción de la orden.
+     * Si la cola se llena, la tarea corre en el hilo que la envió: la respuesta de esa
+     * orden tarda más, pero no se pierde la notificación de confirmación al cliente.
+     */
+    @Bean(name = "invoiceExecutor")
+    public ThreadPoolTaskExecutor invoiceExecutor(InvoiceProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getRenderPoolSize());
+        executor.setMaxPoolSize(properties.getRenderPoolSize());
+        executor.setQueueCapacity(properties.getRenderQueueCapacity());
+        executor.setThreadNamePrefix("invoice-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            log.warn("⚠️ Cola de comprobantes llena ({} pendientes), se genera en el hilo de la petición",
+                    pool.getQueue().size());
+            CALLER_RUNS.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool para consultar en paralelo las secciones del dashboard. Si la cola se llena,
+     * la sección que no entró sale vacía en ese resumen.
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(DashboardProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getQueryPoolSize());
+        executor.setMaxPoolSize(properties.getQueryPoolSize());
+        executor.setQueueCapacity(properties.getQueryQueueCapacity());
+        executor.setThreadNamePrefix("dashboard-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,19 @@
+package com.sanisidro.restaurante.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.dashboard")
+public class DashboardProperties {
+    private int queryPoolSize = 8;
+    private int queryQueueCapacity = 64;
+    /** Tiempo máximo de cada sección; si se pasa, la sección sale vacía. */
+    private long queryTimeoutMs = 2000;
+    /** Cuánto se reutiliza un resumen ya calculado. */
+    private long cacheTtlMs = 5000;
+}
@@ -0,0 +1,24 @@
+package com.sanisidro.restaurante.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.distance")
+public class DistanceProperties {
+    private String provider = "google";
+    private int connectTimeoutMs = 1000;
+    private int readTimeoutMs = 2000;
+    private int cacheTtlMinutes = 30;
+    private int cacheMaxEntries = 10000;
+    private int gridDecimals = 3;
+    private int storeLocationTtlMinutes = 10;
+    private double averageSpeedKmh = 25;
+    private double roadFactor = 1.3;
+    private int breakerFailureThreshold = 5;
+    private int breakerOpenSeconds = 30;
+}
@@ -0,0 +1,15 @@
+package com.sanisidro.restaurante.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.invoice")
+public class InvoiceProperties {
+    private int renderPoolSize = 2;
+    private int renderQueueCapacity = 100;
+}
@@ -0,0 +1,15 @@
+package com.sanisidro.restaurante.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.kitchen")
+public class KitchenProperties {
+    private int replayBufferSize = 1000;
+    private int snapshotHours = 24;
+}
@@ -0,0 +1,18 @@
+package com.sanisidro.restaurante.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+    private int batchSize = 100;
+    private int sendTimeoutMs = 5000;
+    private int maxAttempts = 10;
+    private int maxBackoffSeconds = 300;
+    private int retentionHours = 24;
+}
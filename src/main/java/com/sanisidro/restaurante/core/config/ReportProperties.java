@@ -0,0 +1,28 @@
+package com.sanisidro.restaurante.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.reports")
+public class ReportProperties {
+    /** Cada cuánto se recalculan los días de ventas que cambiaron. */
+    private long rollupRefreshMs = 10000;
+    /** Marcas de días cambiados que se procesan por transacción. */
+    private int rollupRefreshBatchSize = 1000;
+    /** Días hacia atrás que la reconciliación nocturna recalcula completos. */
+    private int rollupReconcileDays = 35;
+    /** Máximo de períodos de un reporte por rango; más pide una granularidad mayor. */
+    private int rangeMaxBuckets = 1000;
+    /** Máximo de filas de un reporte por rango; el resto se corta. */
+    private int rangeMaxRows = 5000;
+    private int rangeQueryTimeoutSeconds = 5;
+    /** Filas que trae cada viaje del cursor al exportar. */
+    private int exportFetchSize = 1000;
+    /** Cada cuánto se vuelven a cargar de la base los productos más vendidos. */
+    private long topProductsReloadMs = 3600000;
+}
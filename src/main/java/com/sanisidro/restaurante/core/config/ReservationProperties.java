@@ -1,5 +1,8 @@
 package com.sanisidro.restaurante.core.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -12,4 +15,21 @@ import org.springframework.stereotype.Component;
 public class ReservationProperties {
     private int bufferBeforeMinutes;
     private int bufferAfterMinutes;
+    private int occupancyCacheDays = 31;
+    private int occupancyTtlMinutes = 10;
+    private int calendarMaxDays = 30;
+    /** Tamaño máximo de cada grupo del calendario: 1-2, 3-4, 5-6... */
+    private List<Integer> calendarPartyBuckets = new ArrayList<>(List.of(2, 4, 6, 8, 10));
+    private int noShowGraceMinutes = 15;
+    private long noShowSweepMs = 300000;
+    /** Marca cada no-show en su momento con una rueda de tiempos en memoria. */
+    private boolean noShowWheelEnabled = true;
+    private long noShowWheelTickMs = 1000;
+    /** Minutos que tiene un grupo de la lista de espera para aceptar la mesa ofrecida. */
+    private int waitlistOfferMinutes = 5;
+    /** Días de reservas completadas con que se estima el tiempo de mesa. */
+    private int waitlistTurnHistoryDays = 60;
+    private long reminderSweepMs = 60000;
+    /** Reservas que se reclaman por transacción al enviar recordatorios. */
+    private int reminderBatchSize = 200;
 }
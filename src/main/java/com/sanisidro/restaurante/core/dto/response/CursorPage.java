@@ -0,0 +1,23 @@
+package com.sanisidro.restaurante.core.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de un listado paginado por cursor (keyset). Para pedir la siguiente página
+ * se envía {@code nextCursor} tal cual; es nulo cuando no hay más resultados.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -0,0 +1,7 @@
+package com.sanisidro.restaurante.core.outbox.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD
+}
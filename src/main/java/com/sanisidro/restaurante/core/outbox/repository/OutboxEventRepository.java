@@ -0,0 +1,59 @@
+package com.sanisidro.restaurante.core.outbox.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.sanisidro.restaurante.core.outbox.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Toma el lock de relay (uno por base de datos, liberado al terminar la transacción).
+     * Garantiza un único relay activo aunque haya varias instancias de la aplicación.
+     */
+    @Query(nativeQuery = true, value = "SELECT pg_try_advisory_xact_lock(:lockKey)")
+    boolean tryRelayLock(@Param("lockKey") long lockKey);
+
+    /**
+     * Siguiente lote de mensajes listos para enviar, en orden de inserción. Se excluyen
+     * los agregados que tienen un mensaje anterior esperando reintento, para no
+     * adelantarlo.
+     */
+    @Query(nativeQuery = true, value = """
+                SELECT o.* FROM outbox_events o
+                WHERE o.status = 'PENDING'
+                  AND o.next_attempt_at <= :now
+                  AND NOT EXISTS (
+                      SELECT 1 FROM outbox_events p
+                      WHERE p.aggregate_key = o.aggregate_key
+                        AND p.status = 'PENDING'
+                        AND p.id < o.id
+                        AND p.next_attempt_at > :now
+                  )
+                ORDER BY o.id
+                LIMIT :limit
+            """)
+    List<OutboxEvent> findReadyBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * [pendientes, fecha del pendiente más antiguo]
+     */
+    @Query("""
+                SELECT COUNT(o), MIN(o.createdAt) FROM OutboxEvent o
+                WHERE o.status = com.sanisidro.restaurante.core.outbox.enums.OutboxStatus.PENDING
+            """)
+    List<Object[]> findPendingStats();
+
+    @Modifying
+    @Query("""
+                DELETE FROM OutboxEvent o
+                WHERE o.status = com.sanisidro.restaurante.core.outbox.enums.OutboxStatus.SENT
+                  AND o.sentAt < :before
+            """)
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,208 @@
+package com.sanisidro.restaurante.core.outbox.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.OutboxProperties;
+import com.sanisidro.restaurante.core.outbox.enums.OutboxStatus;
+import com.sanisidro.restaurante.core.outbox.model.OutboxEvent;
+import com.sanisidro.restaurante.core.outbox.repository.OutboxEventRepository;
+import com.sanisidro.restaurante.core.outbox.service.OutboxMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica en Kafka los mensajes del outbox. Cada lote se procesa por rondas: en cada
+ * ronda se envía en paralelo el siguiente mensaje de cada agregado y solo se avanza
+ * en un agregado si su mensaje anterior fue confirmado, así se conserva el orden por
+ * agregado. Los fallos se reintentan con backoff exponencial hasta {@code maxAttempts}.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x0B7B0C5L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final OutboxMetrics metrics;
+    private final Clock clock;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, String> kafkaTemplate,
+            PlatformTransactionManager transactionManager,
+            OutboxProperties properties,
+            OutboxMetrics metrics) {
+        this(outboxEventRepository, kafkaTemplate, new TransactionTemplate(transactionManager),
+                properties, metrics, Clock.systemDefaultZone());
+    }
+
+    OutboxRelay(OutboxEventRepository outboxEventRepository,
+            KafkaTemplate<String, String> kafkaTemplate,
+            TransactionTemplate transactionTemplate,
+            OutboxProperties properties,
+            OutboxMetrics metrics,
+            Clock clock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            int processed;
+            do {
+                processed = relayBatch();
+            } while (processed >= properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("❌ Error en el relay del outbox: {}", e.getMessage(), e);
+        } finally {
+            refreshMetrics();
+        }
+    }
+
+    @Scheduled(fixedRate = 60 * 60 * 1000)
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now(clock).minusHours(properties.getRetentionHours());
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteSentBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.info("🧹 Outbox: {} mensajes enviados eliminados", deleted);
+        }
+    }
+
+    /**
+     * Procesa un lote y devuelve cuántos mensajes se leyeron (0 si otra instancia
+     * tiene el lock del relay).
+     */
+    int relayBatch() {
+        Integer processed = transactionTemplate.execute(status -> {
+            if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+                return 0;
+            }
+
+            List<OutboxEvent> batch = outboxEventRepository.findReadyBatch(
+                    LocalDateTime.now(clock), properties.getBatchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            Map<String, Deque<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+            for (OutboxEvent event : batch) {
+                byAggregate.computeIfAbsent(event.getAggregateKey(), k -> new ArrayDeque<>()).add(event);
+            }
+
+            while (!byAggregate.isEmpty()) {
+                List<OutboxEvent> round = new ArrayList<>(byAggregate.size());
+                List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(byAggregate.size());
+                for (Deque<OutboxEvent> queue : byAggregate.values()) {
+                    OutboxEvent event = queue.peekFirst();
+                    round.add(event);
+                    futures.add(send(event));
+                }
+
+                for (int i = 0; i < round.size(); i++) {
+                    OutboxEvent event = round.get(i);
+                    Deque<OutboxEvent> queue = byAggregate.get(event.getAggregateKey());
+                    try {
+                        futures.get(i).get(properties.getSendTimeoutMs(), TimeUnit.MILLISECONDS);
+                        markSent(event);
+                        queue.pollFirst();
+                        if (queue.isEmpty()) {
+                            byAggregate.remove(event.getAggregateKey());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        markFailed(event, e);
+                        byAggregate.remove(event.getAggregateKey());
+                    } catch (Exception e) {
+                        // Los mensajes siguientes del agregado esperan al reintento de este
+                        markFailed(event, e);
+                        byAggregate.remove(event.getAggregateKey());
+                    }
+                }
+            }
+
+            outboxEventRepository.saveAll(batch);
+            return batch.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    private CompletableFuture<SendResult<String, String>> send(OutboxEvent event) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getAggregateKey(), event.getPayload());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void markSent(OutboxEvent event) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        event.setStatus(OutboxStatus.SENT);
+        event.setSentAt(now);
+        event.setLastError(null);
+        metrics.recordSent(Duration.between(event.getCreatedAt(), now));
+    }
+
+    private void markFailed(OutboxEvent event, Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        int attempts = event.getAttempts() + 1;
+
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+
+        if (attempts >= properties.getMaxAttempts()) {
+            event.setStatus(OutboxStatus.DEAD);
+            metrics.recordDead();
+            log.error("☠️ Outbox: mensaje {} ({}) descartado tras {} intentos: {}",
+                    event.getId(), event.getAggregateKey(), attempts, error);
+            return;
+        }
+
+        long backoff = Math.min(properties.getMaxBackoffSeconds(), 1L << Math.min(attempts, 20));
+        event.setNextAttemptAt(LocalDateTime.now(clock).plusSeconds(backoff));
+        metrics.recordFailed();
+        log.warn("⚠️ Outbox: fallo al publicar mensaje {} ({}), intento {}, reintento en {}s: {}",
+                event.getId(), event.getAggregateKey(), attempts, backoff, error);
+    }
+
+    private void refreshMetrics() {
+        try {
+            List<Object[]> rows = outboxEventRepository.findPendingStats();
+            Object[] stats = rows.isEmpty() ? null : rows.get(0);
+            long pending = stats != null && stats[0] != null ? ((Number) stats[0]).longValue() : 0;
+            long lag = stats != null && stats[1] != null
+                    ? Math.max(0, Duration.between((LocalDateTime) stats[1], LocalDateTime.now(clock)).toSeconds())
+                    : 0;
+            metrics.updatePending(pending, lag);
+        } catch (Exception e) {
+            log.warn("No se pudieron actualizar las métricas del outbox: {}", e.getMessage());
+        }
+    }
+}
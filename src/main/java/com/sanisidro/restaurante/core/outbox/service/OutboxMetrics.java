@@ -0,0 +1,55 @@
+package com.sanisidro.restaurante.core.outbox.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class OutboxMetrics {
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dead;
+    private final Timer delivery;
+
+    public OutboxMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("outbox.depth", depth, AtomicLong::get)
+                .description("Mensajes pendientes en el outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Antigüedad del mensaje pendiente más antiguo")
+                .register(meterRegistry);
+        this.sent = Counter.builder("outbox.relay.sent").register(meterRegistry);
+        this.failed = Counter.builder("outbox.relay.failed").register(meterRegistry);
+        this.dead = Counter.builder("outbox.relay.dead").register(meterRegistry);
+        this.delivery = Timer.builder("outbox.relay.delivery")
+                .description("Tiempo entre el registro del mensaje y su publicación")
+                .register(meterRegistry);
+    }
+
+    public void recordSent(Duration sinceCreated) {
+        sent.increment();
+        delivery.record(sinceCreated);
+    }
+
+    public void recordFailed() {
+        failed.increment();
+    }
+
+    public void recordDead() {
+        dead.increment();
+    }
+
+    public void updatePending(long pending, long oldestAgeSeconds) {
+        depth.set(pending);
+        lagSeconds.set(oldestAgeSeconds);
+    }
+}
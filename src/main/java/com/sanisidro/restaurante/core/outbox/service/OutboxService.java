@@ -0,0 +1,38 @@
+package com.sanisidro.restaurante.core.outbox.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sanisidro.restaurante.core.outbox.enums.OutboxStatus;
+import com.sanisidro.restaurante.core.outbox.model.OutboxEvent;
+import com.sanisidro.restaurante.core.outbox.repository.OutboxEventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Registra el mensaje en la transacción actual; si esta hace rollback, el
+     * mensaje nunca se publica. El envío a Kafka lo hace
+     * {@code OutboxRelay}.
+     */
+    @Transactional
+    public OutboxEvent enqueue(String topic, String aggregateKey, String payload) {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .aggregateKey(aggregateKey)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,18 @@
+package com.sanisidro.restaurante.core.storage;
+
+import java.util.Optional;
+
+/**
+ * Almacenamiento de archivos binarios generados por la aplicación (comprobantes,
+ * exportaciones, etc.). Las claves son rutas relativas con "/" como separador.
+ */
+public interface BlobStore {
+
+    void put(String key, byte[] content);
+
+    Optional<byte[]> get(String key);
+
+    boolean exists(String key);
+
+    void delete(String key);
+}
@@ -0,0 +1,56 @@
+package com.sanisidro.restaurante.features.customers.assignment;
+
+import java.sql.SQLException;
+import java.util.Comparator;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+
+/**
+ * Reglas comunes para ubicar reservas en mesas, compartidas por la reserva, la
+ * reasignación de un turno, la disponibilidad y el estado del salón: los buffers
+ * efectivos de cada mesa, el orden en que se recorren (y bloquean) las mesas y
+ * cómo se reconoce el choque con la restricción de exclusión de períodos.
+ */
+public final class ReservationSlots {
+
+    /** SQLSTATE de PostgreSQL para exclusion_violation. */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /**
+     * Orden de preferencia al asignar mesa. Es total (desempata por id) para que dos
+     * asignaciones concurrentes tomen los locks en el mismo orden y no se bloqueen
+     * entre sí: la que pierde una mesa pasa a la siguiente.
+     */
+    public static final Comparator<TableEntity> TABLE_ORDER = Comparator
+            .comparingInt(TableEntity::getCapacity)
+            .thenComparing(TableEntity::getId);
+
+    private ReservationSlots() {
+    }
+
+    /** Minutos de preparación antes de la reserva; la mesa manda sobre la configuración. */
+    public static int bufferBefore(TableEntity table, ReservationProperties properties) {
+        return table.getBufferBeforeMinutes() != null
+                ? table.getBufferBeforeMinutes()
+                : properties.getBufferBeforeMinutes();
+    }
+
+    /** Minutos de limpieza después de la reserva; la mesa manda sobre la configuración. */
+    public static int bufferAfter(TableEntity table, ReservationProperties properties) {
+        return table.getBufferAfterMinutes() != null
+                ? table.getBufferAfterMinutes()
+                : properties.getBufferAfterMinutes();
+    }
+
+    /**
+     * Indica si el error viene de la restricción que impide dos reservas solapadas
+     * en la misma mesa.
+     */
+    public static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sql
+                && EXCLUSION_VIOLATION.equals(sql.getSQLState());
+    }
+}
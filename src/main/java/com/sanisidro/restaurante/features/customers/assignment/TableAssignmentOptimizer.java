@@ -0,0 +1,257 @@
+package com.sanisidro.restaurante.features.customers.assignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Asigna mesas a todas las reservas de un turno de una sola vez, en lugar de una
+ * por una como {@code ReservationService}. Es programación de intervalos con
+ * "best fit": los grupos se sientan de mayor a menor, cada uno en la mesa libre que
+ * menos asientos desperdicia, y si ninguna está libre se intenta mover a otra mesa
+ * al único grupo que la bloquea. Así un grupo de 2 no se queda con la mesa de 6
+ * que después necesita un grupo de 6.
+ * <p>
+ * Los grupos fijos (reservas ya empezadas o fuera del turno, órdenes en salón) se
+ * quedan en su mesa. Las reservas existentes tienen que quedar todas sentadas; si
+ * la heurística no lo logra se conserva la asignación actual. Los grupos extra (sin
+ * reserva) se sientan en lo que quede. El resultado es determinista: todo empate se resuelve por id.
+ * <p>
+ * Los horarios van en minutos desde la medianoche; no depende de Spring ni de JPA.
+ */
+public class TableAssignmentOptimizer {
+
+    private static final int UNSEATED = -1;
+
+    private static final Comparator<Party> SEATING_ORDER = Comparator
+            .comparingInt(Party::getNumberOfPeople).reversed()
+            .thenComparingInt(Party::getStartMinute)
+            .thenComparing(Party::getReservationId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Table[] tables;
+    private final Party[] parties;
+    private final List<List<int[]>> placements;
+    private final int[] seatedAt;
+
+    private TableAssignmentOptimizer(List<Table> tables, List<Party> parties) {
+        this.tables = tables.stream()
+                .sorted(Comparator.comparing(Table::getId))
+                .toArray(Table[]::new);
+        this.parties = parties.toArray(Party[]::new);
+        this.placements = new ArrayList<>(this.tables.length);
+        for (int i = 0; i < this.tables.length; i++) {
+            placements.add(new ArrayList<>());
+        }
+        this.seatedAt = new int[this.parties.length];
+        Arrays.fill(seatedAt, UNSEATED);
+    }
+
+    /**
+     * Calcula la asignación. El resultado sigue el orden de {@code parties}.
+     */
+    public static Result optimize(List<Table> tables, List<Party> parties) {
+        return new TableAssignmentOptimizer(tables, parties).solve();
+    }
+
+    private Result solve() {
+        List<Integer> movable = new ArrayList<>();
+        List<Integer> extras = new ArrayList<>();
+        for (int p = 0; p < parties.length; p++) {
+            Party party = parties[p];
+            if (party.isFixed()) {
+                int table = indexOf(party.getCurrentTableId());
+                if (table != UNSEATED) {
+                    place(p, table);
+                }
+            } else if (party.getReservationId() != null) {
+                movable.add(p);
+            } else {
+                extras.add(p);
+            }
+        }
+
+        boolean keptCurrent = false;
+        for (int p : inSeatingOrder(movable)) {
+            if (!seat(p)) {
+                keptCurrent = true;
+                break;
+            }
+        }
+        if (keptCurrent) {
+            // Mejor la asignación que ya funciona que dejar a alguien sin mesa
+            for (int p : movable) {
+                unplace(p);
+                int table = indexOf(parties[p].getCurrentTableId());
+                if (table != UNSEATED) {
+                    place(p, table);
+                }
+            }
+        }
+
+        for (int p : inSeatingOrder(extras)) {
+            seat(p);
+        }
+
+        List<Long> tableIds = new ArrayList<>(parties.length);
+        int seatedCovers = 0;
+        for (int p = 0; p < parties.length; p++) {
+            if (seatedAt[p] == UNSEATED) {
+                tableIds.add(null);
+            } else {
+                tableIds.add(tables[seatedAt[p]].getId());
+                seatedCovers += parties[p].getNumberOfPeople();
+            }
+        }
+        return new Result(tableIds, seatedCovers, keptCurrent);
+    }
+
+    /**
+     * Sienta al grupo en la mesa libre que mejor le queda o, si todas las que le
+     * sirven están ocupadas, moviendo a otra mesa al único grupo que bloquea una.
+     */
+    private boolean seat(int p) {
+        List<Integer> candidates = candidatesFor(p, UNSEATED);
+        for (int t : candidates) {
+            if (blockers(p, t).isEmpty()) {
+                place(p, t);
+                return true;
+            }
+        }
+
+        for (int t : candidates) {
+            List<Integer> blockers = blockers(p, t);
+            if (blockers.size() != 1 || parties[blockers.get(0)].isFixed()) {
+                continue;
+            }
+            int blocker = blockers.get(0);
+            unplace(blocker);
+            place(p, t);
+            for (int other : candidatesFor(blocker, t)) {
+                if (blockers(blocker, other).isEmpty()) {
+                    place(blocker, other);
+                    return true;
+                }
+            }
+            unplace(p);
+            place(blocker, t);
+        }
+        return false;
+    }
+
+    /**
+     * Mesas donde cabe el grupo dentro del horario, de mejor a peor: menos asientos
+     * vacíos, su mesa actual, más cerca de la capacidad óptima y por último el id.
+     */
+    private List<Integer> candidatesFor(int p, int excludedTable) {
+        Party party = parties[p];
+        List<Integer> candidates = new ArrayList<>();
+        for (int t = 0; t < tables.length; t++) {
+            if (t != excludedTable && tables[t].fits(party)) {
+                candidates.add(t);
+            }
+        }
+        candidates.sort(Comparator
+                .<Integer>comparingInt(t -> tables[t].getCapacity() - party.getNumberOfPeople())
+                .thenComparingInt(t -> tables[t].getId().equals(party.getCurrentTableId()) ? 0 : 1)
+                .thenComparingInt(t -> Math.abs(tables[t].getOptimalCapacity() - party.getNumberOfPeople()))
+                .thenComparingInt(t -> t));
+        return candidates;
+    }
+
+    private List<Integer> blockers(int p, int t) {
+        Table table = tables[t];
+        int start = table.startOf(parties[p]);
+        int end = table.endOf(parties[p]);
+        List<Integer> blockers = new ArrayList<>(1);
+        for (int[] placed : placements.get(t)) {
+            if (placed[0] < end && start < placed[1]) {
+                blockers.add(placed[2]);
+            }
+        }
+        return blockers;
+    }
+
+    private void place(int p, int t) {
+        placements.get(t).add(new int[] { tables[t].startOf(parties[p]), tables[t].endOf(parties[p]), p });
+        seatedAt[p] = t;
+    }
+
+    private void unplace(int p) {
+        if (seatedAt[p] != UNSEATED) {
+            placements.get(seatedAt[p]).removeIf(placed -> placed[2] == p);
+            seatedAt[p] = UNSEATED;
+        }
+    }
+
+    private List<Integer> inSeatingOrder(List<Integer> indexes) {
+        List<Integer> ordered = new ArrayList<>(indexes);
+        ordered.sort(Comparator.<Integer, Party>comparing(p -> parties[p], SEATING_ORDER)
+                .thenComparingInt(p -> p));
+        return ordered;
+    }
+
+    private int indexOf(Long tableId) {
+        for (int t = 0; t < tables.length; t++) {
+            if (tables[t].getId().equals(tableId)) {
+                return t;
+            }
+        }
+        return UNSEATED;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Table {
+        private final Long id;
+        private final int capacity;
+        private final int minCapacity;
+        private final int optimalCapacity;
+        private final int openMinute;
+        private final int closeMinute;
+        private final int durationMinutes;
+        private final int bufferBeforeMinutes;
+        private final int bufferAfterMinutes;
+
+        /** Mismo criterio que la asignación automática y el horario de la mesa. */
+        boolean fits(Party party) {
+            return party.getNumberOfPeople() >= minCapacity
+                    && party.getNumberOfPeople() <= capacity
+                    && startOf(party) >= openMinute
+                    && endOf(party) <= closeMinute;
+        }
+
+        int startOf(Party party) {
+            return party.getStartMinute() - bufferBeforeMinutes;
+        }
+
+        int endOf(Party party) {
+            return party.getStartMinute() + durationMinutes + bufferAfterMinutes;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Party {
+        /** {@code null} para un grupo extra sin reserva o una orden en salón (fija). */
+        private final Long reservationId;
+        private final int numberOfPeople;
+        private final int startMinute;
+        private final Long currentTableId;
+        /** Ya empezó o queda fuera del turno: se queda en su mesa y solo bloquea. */
+        private final boolean fixed;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        /** Mesa de cada grupo, en el orden recibido; {@code null} si no se pudo sentar. */
+        private final List<Long> tableIds;
+        private final int seatedCovers;
+        /** Las reservas se quedaron en sus mesas porque no se encontró algo mejor. */
+        private final boolean keptCurrent;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -21,8 +22,11 @@ import com.sanisidro.restaurante.core.dto.response.PagedResponse;
 import com.sanisidro.restaurante.core.security.dto.ApiResponse;
 import com.sanisidro.restaurante.features.customers.dto.reservation.request.AuthenticatedReservationRequest;
 import com.sanisidro.restaurante.features.customers.dto.reservation.request.ReservationRequest;
+import com.sanisidro.restaurante.features.customers.dto.reservation.request.TableAssignmentRequest;
 import com.sanisidro.restaurante.features.customers.dto.reservation.response.ReservationResponse;
+import com.sanisidro.restaurante.features.customers.dto.reservation.response.TableAssignmentResponse;
 import com.sanisidro.restaurante.features.customers.service.ReservationService;
+import com.sanisidro.restaurante.features.customers.service.TableAssignmentService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +37,7 @@ import lombok.RequiredArgsConstructor;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final TableAssignmentService tableAssignmentService;
 
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<PagedResponse<ReservationResponse>>> getMyReservations(Pageable pageable) {
@@ -112,6 +117,20 @@ public class ReservationController {
                 HttpStatus.CREATED);
     }
 
+    /**
+     * Propone (o aplica, con {@code apply=true}) la mejor asignación de mesas para
+     * todas las reservas de un turno.
+     */
+    @PostMapping("/assignment")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<TableAssignmentResponse>> optimizeTableAssignment(
+            @Valid @RequestBody TableAssignmentRequest request) {
+        TableAssignmentResponse response = tableAssignmentService.optimize(request);
+        return ResponseEntity.ok(new ApiResponse<>(true,
+                response.isApplied() ? "Mesas reasignadas correctamente" : "Asignación de mesas propuesta",
+                response));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<ReservationResponse>> updateReservation(
             @PathVariable Long id,
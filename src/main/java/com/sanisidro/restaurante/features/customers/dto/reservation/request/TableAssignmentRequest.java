@@ -0,0 +1,50 @@
+package com.sanisidro.restaurante.features.customers.dto.reservation.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TableAssignmentRequest {
+
+    @NotNull(message = "Fecha es obligatoria")
+    private LocalDate date;
+
+    @NotNull(message = "Hora de inicio del turno es obligatoria")
+    private LocalTime from;
+
+    @NotNull(message = "Hora de fin del turno es obligatoria")
+    private LocalTime to;
+
+    /** Si es {@code false} solo se propone la reasignación, sin guardar nada. */
+    private boolean apply;
+
+    /** Grupos sin reserva (lista de espera, pedidos por teléfono) que se quieren acomodar. */
+    @Builder.Default
+    @Size(max = 200, message = "Máximo 200 grupos extra")
+    private List<@Valid ExtraParty> extraParties = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExtraParty {
+
+        @NotNull(message = "Número de personas es obligatorio")
+        @Min(value = 1, message = "Minimo 1 persona por reserva")
+        @Max(value = 50, message = "Numero máximo de personas por reserva es 50")
+        private Integer numberOfPeople;
+
+        @NotNull(message = "Hora de reserva es obligatoria")
+        private LocalTime reservationTime;
+    }
+}
@@ -0,0 +1,44 @@
+package com.sanisidro.restaurante.features.customers.dto.reservation.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+public class TableAssignmentResponse {
+    private LocalDate date;
+    private LocalTime from;
+    private LocalTime to;
+    private boolean applied;
+    /** No se encontró una reasignación que siente a todas las reservas; se conservan sus mesas. */
+    private boolean keptCurrent;
+    private int reservedCovers;
+    private int extraCoversRequested;
+    private int extraCoversSeated;
+    private List<Assignment> assignments;
+    private List<ExtraAssignment> extraParties;
+
+    @Data
+    @Builder
+    public static class Assignment {
+        private Long reservationId;
+        private LocalTime reservationTime;
+        private int numberOfPeople;
+        private Long previousTableId;
+        private Long tableId;
+        private boolean moved;
+    }
+
+    @Data
+    @Builder
+    public static class ExtraAssignment {
+        private LocalTime reservationTime;
+        private int numberOfPeople;
+        /** {@code null} si no entra ni reacomodando las reservas. */
+        private Long tableId;
+    }
+}
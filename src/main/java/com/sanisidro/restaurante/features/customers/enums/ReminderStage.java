@@ -0,0 +1,27 @@
+package com.sanisidro.restaurante.features.customers.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Recordatorios que recibe cada reserva, de más lejano a más cercano. Cada etapa
+ * se envía cuando faltan como mucho {@code leadMinutes} para la reserva y todavía
+ * no es hora de la siguiente: una reserva hecha con 3 horas de anticipación no
+ * recibe el de un día antes.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReminderStage {
+    DAY_BEFORE(24 * 60),
+    TWO_HOURS(2 * 60);
+
+    private final int leadMinutes;
+
+    /**
+     * Minutos antes de la reserva en que empieza la etapa siguiente (0 para la última).
+     */
+    public int nextLeadMinutes() {
+        ReminderStage[] stages = values();
+        return ordinal() + 1 < stages.length ? stages[ordinal() + 1].leadMinutes : 0;
+    }
+}
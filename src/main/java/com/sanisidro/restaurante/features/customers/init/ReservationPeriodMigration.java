@@ -0,0 +1,79 @@
+package com.sanisidro.restaurante.features.customers.init;
+
+import java.util.List;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deja la tabla de reservas lista para el control de solapamiento en la base:
+ * agrega y rellena {@code start_at}/{@code end_at} en las filas antiguas (con los
+ * buffers de su mesa) y crea la restricción de exclusión GiST por mesa, diferible.
+ * Cada paso es idempotente, así que corre en cada arranque y en cualquier perfil.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Order(0)
+public class ReservationPeriodMigration implements CommandLineRunner {
+
+    public static final String NO_OVERLAP_CONSTRAINT = "reservations_no_overlap";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReservationProperties reservationProperties;
+
+    @Override
+    public void run(String... args) {
+        jdbcTemplate.execute("ALTER TABLE reservations ADD COLUMN IF NOT EXISTS start_at timestamptz");
+        jdbcTemplate.execute("ALTER TABLE reservations ADD COLUMN IF NOT EXISTS end_at timestamptz");
+
+        int backfilled = jdbcTemplate.update("""
+                    UPDATE reservations r
+                    SET start_at = ((r.reservation_date + r.reservation_time) AT TIME ZONE 'America/Lima')
+                                   - make_interval(mins => COALESCE(t.buffer_before_minutes, ?)),
+                        end_at = ((r.reservation_date + r.reservation_time) AT TIME ZONE 'America/Lima')
+                                 + make_interval(mins => t.reservation_duration_minutes
+                                                         + COALESCE(t.buffer_after_minutes, ?))
+                    FROM tables t
+                    WHERE t.table_id = r.table_id
+                      AND (r.start_at IS NULL OR r.end_at IS NULL)
+                """, reservationProperties.getBufferBeforeMinutes(), reservationProperties.getBufferAfterMinutes());
+        if (backfilled > 0) {
+            log.info("Reservas con período calculado: {}", backfilled);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE reservations ALTER COLUMN start_at SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE reservations ALTER COLUMN end_at SET NOT NULL");
+
+        // Diferible para que una reasignación de mesas pueda intercambiar reservas
+        // dentro de una transacción; por defecto se sigue comprobando en cada sentencia
+        List<Boolean> deferrable = jdbcTemplate.queryForList(
+                "SELECT condeferrable FROM pg_constraint WHERE conname = ?", Boolean.class,
+                NO_OVERLAP_CONSTRAINT);
+        if (!deferrable.isEmpty() && Boolean.TRUE.equals(deferrable.get(0))) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            jdbcTemplate.execute("ALTER TABLE reservations "
+                    + (deferrable.isEmpty() ? "" : "DROP CONSTRAINT " + NO_OVERLAP_CONSTRAINT + ", ")
+                    + "ADD CONSTRAINT " + NO_OVERLAP_CONSTRAINT
+                    + " EXCLUDE USING gist (table_id WITH =, tstzrange(start_at, end_at) WITH &&)"
+                    + " WHERE (status IN ('PENDING', 'CONFIRMED'))"
+                    + " DEFERRABLE INITIALLY IMMEDIATE");
+            log.info("Restricción {} creada", NO_OVERLAP_CONSTRAINT);
+        } catch (Exception e) {
+            // Filas antiguas que ya se solapan o falta de permisos: la validación en
+            // ReservationService sigue aplicando, pero sin garantía en la base.
+            log.error("❌ No se pudo crear la restricción {}: {}", NO_OVERLAP_CONSTRAINT, e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,10 @@
 package com.sanisidro.restaurante.features.customers.model;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-
-import org.hibernate.annotations.Formula;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 
 import com.sanisidro.restaurante.core.model.Auditable;
 import com.sanisidro.restaurante.features.customers.dto.reservation.request.BaseReservationRequest;
@@ -17,6 +17,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -27,7 +28,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_status_date", columnList = "status, reservation_date, reservation_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,6 +39,8 @@ import lombok.Setter;
 @AttributeOverride(name = "id", column = @Column(name = "reservation_id"))
 public class Reservation extends Auditable {
 
+    public static final ZoneId RESTAURANT_ZONE = ZoneId.of("America/Lima");
+
     @ManyToOne
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
@@ -63,11 +68,16 @@ public class Reservation extends Auditable {
     @Column(name = "status", length = 50)
     private ReservationStatus status = ReservationStatus.PENDING;
 
-    @Formula("CAST(reservation_date || ' ' || reservation_time AS timestamp)")
-    private LocalDateTime startDateTime;
+    /**
+     * Período en que la reserva bloquea la mesa, con los buffers de preparación y
+     * limpieza incluidos. La restricción de exclusión {@code reservations_no_overlap}
+     * impide que dos reservas activas de la misma mesa se solapen.
+     */
+    @Column(name = "start_at", nullable = false)
+    private OffsetDateTime startAt;
 
-    @Formula("(CAST(reservation_date || ' ' || reservation_time AS timestamp) + INTERVAL '60 MINUTE')")
-    private LocalDateTime endDateTime;
+    @Column(name = "end_at", nullable = false)
+    private OffsetDateTime endAt;
 
     public void updateFromDto(BaseReservationRequest dto, Customer customer, TableEntity table) {
         if (dto.getContactName() != null)
@@ -90,4 +100,11 @@ public class Reservation extends Auditable {
         }
     }
 
+    public void updatePeriod(int bufferBeforeMinutes, int bufferAfterMinutes) {
+        ZonedDateTime start = ZonedDateTime.of(reservationDate, reservationTime, RESTAURANT_ZONE);
+        this.startAt = start.minusMinutes(bufferBeforeMinutes).toOffsetDateTime();
+        this.endAt = start.plusMinutes(table.getReservationDurationMinutes() + bufferAfterMinutes)
+                .toOffsetDateTime();
+    }
+
 }
@@ -0,0 +1,58 @@
+package com.sanisidro.restaurante.features.customers.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import com.sanisidro.restaurante.features.customers.enums.ReminderStage;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Recordatorio ya enviado de una reserva. La restricción única por reserva y etapa
+ * es lo que hace idempotente el envío: una etapa registrada no se vuelve a reclamar.
+ */
+@Entity
+@Table(name = "reservation_reminders", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "reservation_id", "stage" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Reservation reservation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReminderStage stage;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,50 @@
+package com.sanisidro.restaurante.features.customers.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sanisidro.restaurante.features.customers.model.ReservationReminder;
+
+@Repository
+public interface ReservationReminderRepository extends JpaRepository<ReservationReminder, Long> {
+
+        /**
+         * Reclama hasta {@code limit} reservas activas que empiezan en ({@code from},
+         * {@code to}] y todavía no tienen el recordatorio de {@code stage}, y lo registra
+         * en la misma sentencia. Las filas que otra instancia tiene tomadas se saltan
+         * ({@code SKIP LOCKED}) y el {@code ON CONFLICT} cubre la carrera con una que ya
+         * hizo commit, así que cada reserva sale una sola vez por etapa. Devuelve los ids
+         * reclamados.
+         */
+        @Query(nativeQuery = true, value = """
+                            WITH due AS (
+                                SELECT r.reservation_id FROM reservations r
+                                WHERE r.status IN ('PENDING', 'CONFIRMED')
+                                  AND r.reservation_date BETWEEN CAST(:from AS date) AND CAST(:to AS date)
+                                  AND r.reservation_date + r.reservation_time > :from
+                                  AND r.reservation_date + r.reservation_time <= :to
+                                  AND NOT EXISTS (
+                                      SELECT 1 FROM reservation_reminders m
+                                      WHERE m.reservation_id = r.reservation_id
+                                        AND m.stage = :stage)
+                                ORDER BY r.reservation_date, r.reservation_time, r.reservation_id
+                                LIMIT :limit
+                                FOR UPDATE OF r SKIP LOCKED
+                            )
+                            INSERT INTO reservation_reminders (reservation_id, stage, sent_at)
+                            SELECT reservation_id, :stage, :now FROM due
+                            ON CONFLICT (reservation_id, stage) DO NOTHING
+                            RETURNING reservation_id
+                        """)
+        List<Long> claimDue(
+                        @Param("stage") String stage,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("now") LocalDateTime now,
+                        @Param("limit") int limit);
+}
@@ -2,6 +2,8 @@ package com.sanisidro.restaurante.features.customers.repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -21,28 +23,130 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
         List<Reservation> findByTable_IdAndReservationDate(Long tableId, LocalDate date);
 
+        List<Reservation> findByReservationDateAndStatusIn(LocalDate date, Collection<ReservationStatus> statuses);
+
         List<Reservation> findByStatusAndReservationDateOrderByReservationTimeAsc(
                         ReservationStatus status,
                         LocalDate reservationDate);
 
-        @Query("""
-                            SELECT r FROM Reservation r
-                            WHERE r.table.id = :tableId
+        /**
+         * Reservas activas de la mesa cuyo período (con buffers) se cruza con el
+         * indicado. Usa el índice GiST de la restricción {@code reservations_no_overlap}.
+         */
+        @Query(nativeQuery = true, value = """
+                            SELECT r.* FROM reservations r
+                            WHERE r.table_id = :tableId
                               AND r.status IN ('CONFIRMED', 'PENDING')
-                              AND r.startDateTime < :endTime
-                              AND r.endDateTime > :startTime
+                              AND tstzrange(r.start_at, r.end_at) && tstzrange(:startAt, :endAt)
                         """)
         List<Reservation> findOverlappingReservations(
                         @Param("tableId") Long tableId,
-                        @Param("startTime") LocalDateTime startTime,
-                        @Param("endTime") LocalDateTime endTime);
+                        @Param("startAt") OffsetDateTime startAt,
+                        @Param("endAt") OffsetDateTime endAt);
+
+        /**
+         * Bloquea la mesa para el día hasta que termine la transacción. Solo espera
+         * quien reserva la misma mesa y fecha; el resto sigue sin bloqueo.
+         */
+        @Query(nativeQuery = true, value = """
+                            SELECT true FROM pg_advisory_xact_lock(CAST(:tableId AS integer), :epochDay)
+                        """)
+        boolean lockTableDay(@Param("tableId") Long tableId, @Param("epochDay") int epochDay);
+
+        @Query(nativeQuery = true, value = """
+                            SELECT EXISTS (
+                                SELECT 1 FROM reservations r
+                                WHERE r.table_id = :tableId
+                                  AND r.status IN ('CONFIRMED', 'PENDING')
+                                  AND r.reservation_id <> COALESCE(CAST(:excludedId AS bigint), -1)
+                                  AND tstzrange(r.start_at, r.end_at) && tstzrange(:startAt, :endAt))
+                        """)
+        boolean existsOverlapping(
+                        @Param("tableId") Long tableId,
+                        @Param("startAt") OffsetDateTime startAt,
+                        @Param("endAt") OffsetDateTime endAt,
+                        @Param("excludedId") Long excludedId);
+
+        /**
+         * Cancela como no-show, en una sola sentencia, las reservas confirmadas cuya
+         * hora local quedó en o antes de {@code cutoff} (ahora menos el margen).
+         * Devuelve [reservation_id, table_id] de cada reserva cancelada.
+         */
+        @Query(nativeQuery = true, value = """
+                            UPDATE reservations r
+                            SET status = 'CANCELLED', updated_at = :now
+                            WHERE r.status = 'CONFIRMED'
+                              AND r.reservation_date + r.reservation_time <= :cutoff
+                            RETURNING r.reservation_id, r.table_id
+                        """)
+        List<Object[]> cancelNoShows(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+
+        /**
+         * Igual que {@link #cancelNoShows}, limitado a las reservas indicadas.
+         */
+        @Query(nativeQuery = true, value = """
+                            UPDATE reservations r
+                            SET status = 'CANCELLED', updated_at = :now
+                            WHERE r.reservation_id IN (:ids)
+                              AND r.status = 'CONFIRMED'
+                              AND r.reservation_date + r.reservation_time <= :cutoff
+                            RETURNING r.reservation_id, r.table_id
+                        """)
+        List<Object[]> cancelNoShows(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+                        @Param("ids") Collection<Long> ids);
+
+        /**
+         * [reservation_id, inicio local] de las reservas confirmadas que empiezan
+         * en ({@code from}, {@code to}].
+         */
+        @Query(nativeQuery = true, value = """
+                            SELECT r.reservation_id, r.reservation_date + r.reservation_time
+                            FROM reservations r
+                            WHERE r.status = 'CONFIRMED'
+                              AND r.reservation_date BETWEEN CAST(:from AS date) AND CAST(:to AS date)
+                              AND r.reservation_date + r.reservation_time > :from
+                              AND r.reservation_date + r.reservation_time <= :to
+                        """)
+        List<Object[]> findConfirmedStartingBetween(@Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
 
         @Query("SELECT COUNT(r) FROM Reservation r WHERE r.reservationDate = :date")
         int countReservationsByDate(@Param("date") LocalDate date);
 
+        /**
+         * Reservas por bucket de {@code date_trunc(:unit, fecha + hora)}, la hora
+         * de la reserva en el restaurante. Solo devuelve los buckets con reservas:
+         * [bucket, cantidad].
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT date_trunc(:unit, r.reservation_date + r.reservation_time) AS bucket, COUNT(*)
+                        FROM reservations r
+                        WHERE r.reservation_date + r.reservation_time >= :from
+                          AND r.reservation_date + r.reservation_time < :to
+                        GROUP BY bucket
+                        ORDER BY bucket
+                        """)
+        List<Object[]> countByBucket(
+                        @Param("unit") String unit,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
         @Query("SELECT r FROM Reservation r WHERE r.reservationDate >= CURRENT_DATE ORDER BY r.reservationDate ASC")
         List<Reservation> findUpcomingReservations();
 
+        /**
+         * Reservas con su cliente, usuario y mesa en una sola consulta, para armar las
+         * notificaciones de un lote.
+         */
+        @Query("""
+                            SELECT r FROM Reservation r
+                            JOIN FETCH r.customer c
+                            JOIN FETCH c.user
+                            JOIN FETCH r.table
+                            WHERE r.id IN :ids
+                        """)
+        List<Reservation> findWithCustomerAndTableByIdIn(@Param("ids") Collection<Long> ids);
+
         List<Reservation> findByReservationDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
         long countByReservationDateBetween(LocalDate startDate, LocalDate endDate);
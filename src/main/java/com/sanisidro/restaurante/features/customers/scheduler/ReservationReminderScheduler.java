@@ -0,0 +1,57 @@
+package com.sanisidro.restaurante.features.customers.scheduler;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.enums.ReminderStage;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.service.ReservationReminderService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envía los recordatorios de reserva de cada etapa ({@link ReminderStage}) en lotes
+ * de {@code app.reservation.reminder-batch-size}. Puede correr en varias instancias
+ * a la vez: cada lote reclama sus reservas con {@code SKIP LOCKED}.
+ */
+@Component
+@Slf4j
+public class ReservationReminderScheduler {
+
+    private final ReservationReminderService reminderService;
+    private final ReservationProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public ReservationReminderScheduler(ReservationReminderService reminderService,
+            ReservationProperties properties) {
+        this(reminderService, properties, Clock.system(Reservation.RESTAURANT_ZONE));
+    }
+
+    ReservationReminderScheduler(ReservationReminderService reminderService, ReservationProperties properties,
+            Clock clock) {
+        this.reminderService = reminderService;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reservation.reminder-sweep-ms:60000}")
+    public void sendReminders() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (ReminderStage stage : ReminderStage.values()) {
+            try {
+                // Un lote lleno puede dejar pendientes; lo reclamado ya no vuelve a salir
+                while (reminderService.dispatchBatch(stage, now) >= properties.getReminderBatchSize()) {
+                    log.debug("Más recordatorios {} pendientes", stage);
+                }
+            } catch (Exception e) {
+                log.error("❌ Error enviando recordatorios {}: {}", stage, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,60 +1,100 @@
 package com.sanisidro.restaurante.features.customers.scheduler;
 
-import java.time.LocalTime;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.core.config.ReservationProperties;
 import com.sanisidro.restaurante.features.customers.model.Reservation;
-import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
-import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
-import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
-import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.features.customers.service.ReservationNoShowService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Cancela las reservas confirmadas cuyo cliente no llegó dentro del margen
+ * ({@code app.reservation.no-show-grace-minutes}) y libera la mesa.
+ * <p>
+ * El barrido periódico cancela todo lo vencido en una sola sentencia y además
+ * programa en la rueda de tiempos las reservas que vencen antes del próximo
+ * barrido, para cancelarlas en su momento y no hasta 5 minutos después. La rueda
+ * es opcional ({@code app.reservation.no-show-wheel-enabled}); sin ella todo queda
+ * a cargo del barrido. Como la cancelación vuelve a comprobar estado y hora en la
+ * base, una entrada vieja de la rueda no hace nada.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ReservationScheduler {
 
-    private final ReservationRepository reservationRepository;
-    private final TableRepository tableRepository;
+    private static final ZoneId RESTAURANT_ZONE = Reservation.RESTAURANT_ZONE;
+    /** Margen extra al programar, por si el próximo barrido se atrasa. */
+    private static final long LOOKAHEAD_MARGIN_MS = 60_000;
+    private static final int WHEEL_SLOTS = 512;
 
-    private static final ZoneId RESTAURANT_ZONE = ZoneId.of("America/Lima");
+    private final ReservationNoShowService noShowService;
+    private final ReservationProperties properties;
+    private final Clock clock;
+    private final TimingWheel<Long> wheel;
+
+    @Autowired
+    public ReservationScheduler(ReservationNoShowService noShowService, ReservationProperties properties) {
+        this(noShowService, properties, Clock.system(RESTAURANT_ZONE));
+    }
+
+    ReservationScheduler(ReservationNoShowService noShowService, ReservationProperties properties, Clock clock) {
+        this.noShowService = noShowService;
+        this.properties = properties;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(properties.getNoShowWheelTickMs(), WHEEL_SLOTS, clock.instant());
+    }
 
     /**
-     * Cada 5 minutos verifica reservas no-show
+     * Cada 5 minutos cancela los no-show vencidos y programa los próximos.
      */
-    @Scheduled(fixedRate = 5 * 60 * 1000)
+    @Scheduled(fixedRateString = "${app.reservation.no-show-sweep-ms:300000}")
     public void releaseNoShowTables() {
-        ZonedDateTime now = ZonedDateTime.now(RESTAURANT_ZONE);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime cutoff = now.minusMinutes(properties.getNoShowGraceMinutes());
+        noShowService.cancelNoShows(cutoff, now);
 
-        List<Reservation> expiredReservations = reservationRepository
-                .findByStatusAndReservationDateOrderByReservationTimeAsc(
-                        ReservationStatus.CONFIRMED,
-                        now.toLocalDate());
-
-        for (Reservation r : expiredReservations) {
-            LocalTime reservationTime = r.getReservationTime();
-            TableEntity table = r.getTable();
-
-            if (reservationTime.plusMinutes(15).isBefore(now.toLocalTime())) {
-                r.setStatus(com.sanisidro.restaurante.features.customers.enums.ReservationStatus.CANCELLED);
-                reservationRepository.save(r);
+        if (properties.isNoShowWheelEnabled()) {
+            LocalDateTime horizon = cutoff.plus(
+                    Duration.ofMillis(properties.getNoShowSweepMs() + LOOKAHEAD_MARGIN_MS));
+            for (Object[] row : noShowService.findConfirmedStartingBetween(cutoff, horizon)) {
+                LocalDateTime start = row[1] instanceof Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) row[1];
+                wheel.schedule(((Number) row[0]).longValue(), start
+                        .plusMinutes(properties.getNoShowGraceMinutes())
+                        .atZone(RESTAURANT_ZONE)
+                        .toInstant());
+            }
+        }
+    }
 
-                // Liberar mesa
-                table.setStatus(TableStatus.FREE);
-                tableRepository.save(table);
+    /**
+     * Avanza la rueda y cancela las reservas que vencieron en este tick.
+     */
+    @Scheduled(fixedDelayString = "${app.reservation.no-show-wheel-tick-ms:1000}")
+    public void advanceWheel() {
+        if (!properties.isNoShowWheelEnabled()) {
+            return;
+        }
+        List<Long> due = wheel.advance(clock.instant());
+        if (due.isEmpty()) {
+            return;
+        }
 
-                log.info("⚠️ Reserva no-show cancelada automáticamente: id={}, mesa={}, hora={}",
-                        r.getId(), table.getCode(), r.getReservationTime());
-            }
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            noShowService.cancelNoShows(now.minusMinutes(properties.getNoShowGraceMinutes()), now, due);
+        } catch (Exception e) {
+            // El barrido periódico las vuelve a tomar
+            log.error("❌ Error cancelando no-shows de la rueda {}: {}", due, e.getMessage());
         }
     }
 }
@@ -0,0 +1,91 @@
+package com.sanisidro.restaurante.features.customers.scheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rueda de tiempos con hash: cada clave cae en la ranura de su tick de
+ * vencimiento (módulo el tamaño de la rueda) y solo se revisa cuando la rueda pasa
+ * por esa ranura, así que programar y avanzar cuestan O(1) por clave sin importar
+ * cuántas haya pendientes. Las claves que vencen a más de una vuelta esperan en su
+ * ranura hasta que llega su tick.
+ * <p>
+ * Reprogramar una clave reemplaza su vencimiento anterior. Es segura para hilos.
+ */
+class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final List<Set<K>> slots;
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(long tickMillis, int size, Instant start) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new HashSet<>());
+        }
+        this.currentTick = tickOf(start);
+    }
+
+    synchronized void schedule(K key, Instant due) {
+        // Se redondea hacia arriba para no disparar antes de tiempo; lo que ya
+        // venció sale en el próximo avance
+        long tick = Math.max(Math.floorDiv(due.toEpochMilli() + tickMillis - 1, tickMillis), currentTick + 1);
+        Long previous = deadlines.put(key, tick);
+        if (previous != null) {
+            if (previous == tick) {
+                return;
+            }
+            slot(previous).remove(key);
+        }
+        slot(tick).add(key);
+    }
+
+    synchronized void cancel(K key) {
+        Long previous = deadlines.remove(key);
+        if (previous != null) {
+            slot(previous).remove(key);
+        }
+    }
+
+    /**
+     * Avanza hasta {@code now} y devuelve las claves vencidas en el camino. Si el
+     * salto es de más de una vuelta, basta con recorrer cada ranura una vez.
+     */
+    synchronized List<K> advance(Instant now) {
+        long target = tickOf(now);
+        List<K> due = new ArrayList<>();
+        long steps = Math.min(target - currentTick, slots.size());
+        for (long i = 1; i <= steps; i++) {
+            Set<K> slot = slot(currentTick + i);
+            slot.removeIf(key -> {
+                if (deadlines.get(key) <= target) {
+                    deadlines.remove(key);
+                    due.add(key);
+                    return true;
+                }
+                return false;
+            });
+        }
+        currentTick = Math.max(currentTick, target);
+        return due;
+    }
+
+    synchronized int size() {
+        return deadlines.size();
+    }
+
+    private Set<K> slot(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+}
@@ -0,0 +1,102 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sanisidro.restaurante.core.audit.service.AuditLogService;
+import com.sanisidro.restaurante.core.utils.SecurityUtils;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cancelación de no-shows por conjuntos: un UPDATE ... RETURNING cancela todas las
+ * reservas vencidas, otro libera sus mesas y la auditoría se escribe en un batch.
+ * Nada pasa por las entidades ni por el listener de auditoría por fila.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationNoShowService {
+
+    private static final Map<String, Object> OLD_STATUS = Map.of("status", ReservationStatus.CONFIRMED);
+    private static final Map<String, Object> NEW_STATUS = Map.of(
+            "status", ReservationStatus.CANCELLED, "reason", "NO_SHOW");
+
+    private final ReservationRepository reservationRepository;
+    private final TableRepository tableRepository;
+    private final AuditLogService auditLogService;
+    private final TableOccupancyIndex occupancyIndex;
+
+    /**
+     * Cancela todas las reservas confirmadas que empezaron en o antes de {@code cutoff}.
+     */
+    @Transactional
+    public List<Long> cancelNoShows(LocalDateTime cutoff, LocalDateTime now) {
+        return release(reservationRepository.cancelNoShows(cutoff, now));
+    }
+
+    /**
+     * Igual que {@link #cancelNoShows(LocalDateTime, LocalDateTime)}, solo para las
+     * reservas indicadas; las que ya no están confirmadas o se movieron se ignoran.
+     */
+    @Transactional
+    public List<Long> cancelNoShows(LocalDateTime cutoff, LocalDateTime now, Collection<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return List.of();
+        }
+        return release(reservationRepository.cancelNoShows(cutoff, now, reservationIds));
+    }
+
+    /**
+     * [reservation_id, inicio local] de las confirmadas que empiezan en ({@code from}, {@code to}].
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> findConfirmedStartingBetween(LocalDateTime from, LocalDateTime to) {
+        return reservationRepository.findConfirmedStartingBetween(from, to);
+    }
+
+    private List<Long> release(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> reservationIds = new ArrayList<>(rows.size());
+        Set<Long> tableIds = new LinkedHashSet<>();
+        for (Object[] row : rows) {
+            reservationIds.add(((Number) row[0]).longValue());
+            tableIds.add(((Number) row[1]).longValue());
+        }
+
+        tableRepository.releaseTables(tableIds);
+
+        Long userId = SecurityUtils.getCurrentUserId();
+        String username = SecurityUtils.getCurrentUsername();
+        auditLogService.logAll(Reservation.class.getSimpleName(), reservationIds, "UPDATE",
+                OLD_STATUS, NEW_STATUS, userId, username);
+        auditLogService.logAll(TableEntity.class.getSimpleName(), tableIds, "UPDATE",
+                null, Map.of("status", "FREE"), userId, username);
+
+        occupancyIndex.reservationsRemoved(reservationIds);
+        tableIds.forEach(tableId -> occupancyIndex.tableStatusChanged(tableId, TableStatus.FREE));
+
+        log.info("⚠️ Reservas no-show canceladas automáticamente: {} (mesas liberadas: {})",
+                reservationIds, tableIds);
+        return reservationIds;
+    }
+}
@@ -0,0 +1,80 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.enums.ReminderStage;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.ReservationReminderRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.notifications.dto.ReservationNotificationEvent;
+import com.sanisidro.restaurante.features.notifications.kafka.NotificationProducer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recordatorios previos a la visita. Cada lote, en una transacción: reclama las
+ * reservas que tocan en esta etapa (registrando la etapa en la misma sentencia),
+ * carga sus datos en una consulta y deja los eventos en el outbox. Si algo falla
+ * se revierte todo y el próximo barrido las vuelve a tomar.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationReminderService {
+
+    private final ReservationReminderRepository reminderRepository;
+    private final ReservationRepository reservationRepository;
+    private final NotificationProducer notificationProducer;
+    private final ReservationProperties properties;
+
+    /**
+     * Envía un lote de recordatorios de {@code stage}. Devuelve cuántas reservas
+     * reclamó; si es el tamaño del lote puede quedar más por enviar.
+     */
+    @Transactional
+    public int dispatchBatch(ReminderStage stage, LocalDateTime now) {
+        List<Long> claimed = reminderRepository.claimDue(stage.name(),
+                now.plusMinutes(stage.nextLeadMinutes()), now.plusMinutes(stage.getLeadMinutes()), now,
+                properties.getReminderBatchSize());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        for (Reservation reservation : reservationRepository.findWithCustomerAndTableByIdIn(claimed)) {
+            notificationProducer.send("notifications", reminderEvent(reservation, stage));
+        }
+
+        log.info("⏰ Recordatorios {} enviados: {}", stage, claimed.size());
+        return claimed.size();
+    }
+
+    private ReservationNotificationEvent reminderEvent(Reservation reservation, ReminderStage stage) {
+        String tableAlias = reservation.getTable().getAlias();
+        String when = stage == ReminderStage.DAY_BEFORE ? "mañana" : "en un par de horas";
+
+        return ReservationNotificationEvent.builder()
+                .userId(reservation.getCustomer().getId())
+                .recipient(reservation.getCustomer().getUser().getEmail())
+                .subject("Recordatorio de reserva - " + tableAlias)
+                .message("Hola " + reservation.getCustomer().getUser().getFullName() + ",\n\n" +
+                        "Te recordamos tu reserva para " + reservation.getNumberOfPeople() + " personas " +
+                        when + " en la " + tableAlias + " (" + reservation.getTable().getCode() + ").\n" +
+                        "Fecha: " + reservation.getReservationDate() + "\n" +
+                        "Hora: " + reservation.getReservationTime() + "\n\n" +
+                        "¡Te esperamos!")
+                .reservationId(reservation.getId())
+                .reservationDate(LocalDateTime.of(reservation.getReservationDate(), reservation.getReservationTime()))
+                .reservationTime(reservation.getReservationTime().toString())
+                .numberOfPeople(reservation.getNumberOfPeople())
+                .customerName(reservation.getCustomer().getUser().getFullName())
+                .tableName(tableAlias)
+                .actionUrl("https://miapp.com/reservations/" + reservation.getId())
+                .build();
+    }
+}
@@ -3,15 +3,15 @@ package com.sanisidro.restaurante.features.customers.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
@@ -21,9 +21,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.sanisidro.restaurante.core.config.ReservationProperties;
 import com.sanisidro.restaurante.core.dto.response.PagedResponse;
+import com.sanisidro.restaurante.core.exceptions.DuplicateReservationException;
 import com.sanisidro.restaurante.core.exceptions.InvalidReservationException;
 import com.sanisidro.restaurante.core.exceptions.ResourceNotFoundException;
 import com.sanisidro.restaurante.core.security.model.User;
+import com.sanisidro.restaurante.features.customers.assignment.ReservationSlots;
 import com.sanisidro.restaurante.features.customers.dto.reservation.request.AuthenticatedReservationRequest;
 import com.sanisidro.restaurante.features.customers.dto.reservation.request.BaseReservationRequest;
 import com.sanisidro.restaurante.features.customers.dto.reservation.request.ReservationRequest;
@@ -38,8 +40,11 @@ import com.sanisidro.restaurante.features.feedbackloyalty.service.LoyaltyService
 import com.sanisidro.restaurante.features.feedbackloyalty.service.PointsHistoryService;
 import com.sanisidro.restaurante.features.notifications.dto.ReservationNotificationEvent;
 import com.sanisidro.restaurante.features.notifications.kafka.NotificationProducer;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
 import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
 import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
 import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -56,10 +61,14 @@ public class ReservationService {
     private final LoyaltyService loyaltyService;
     private final PointsHistoryService pointsHistoryService;
     private final ReservationProperties reservationProperties;
+    private final TableOccupancyIndex occupancyIndex;
 
     private final NotificationProducer notificationProducer;
 
-    private static final ZoneId RESTAURANT_ZONE = ZoneId.of("America/Lima");
+    private static final ZoneId RESTAURANT_ZONE = Reservation.RESTAURANT_ZONE;
+
+    private static final String OVERLAP_MESSAGE =
+            "La mesa ya está ocupada en ese intervalo de tiempo (incluyendo tiempo de limpieza y preparación)";
 
     private static final Map<ReservationStatus, Set<ReservationStatus>> ALLOWED_TRANSITIONS = Map.of(
             ReservationStatus.PENDING, Set.of(ReservationStatus.CONFIRMED, ReservationStatus.CANCELLED),
@@ -88,12 +97,14 @@ public class ReservationService {
                 .build();
 
         reservation.updateFromDto(dto, customer, table);
-        Reservation saved = reservationRepository.save(reservation);
+        Reservation saved = saveWithPeriod(reservation);
+        occupancyIndex.reservationChanged(saved);
         publishReservationNotification(saved, "creada");
 
         if (saved.getStatus() == ReservationStatus.CONFIRMED) {
             table.setStatus(TableStatus.OCCUPIED);
             tableRepository.save(table);
+            occupancyIndex.tableStatusChanged(table.getId(), TableStatus.OCCUPIED);
         }
 
         log.info("✅ Reserva creada: id={}, cliente={}, mesa={}, fecha={}, hora={}, status={}",
@@ -120,7 +131,8 @@ public class ReservationService {
 
             startTime = now.toLocalTime().isBefore(table.getOpenTime()) ? table.getOpenTime() : now.toLocalTime();
             LocalTime reservationEnd = startTime
-                    .plusMinutes(table.getReservationDurationMinutes() + table.getBufferAfterMinutes());
+                    .plusMinutes(table.getReservationDurationMinutes()
+                            + ReservationSlots.bufferAfter(table, reservationProperties));
 
             if (reservationEnd.isAfter(table.getCloseTime())) {
                 throw new InvalidReservationException(
@@ -145,7 +157,8 @@ public class ReservationService {
                 .status(ReservationStatus.CONFIRMED)
                 .build();
         reservation.updateFromDto(dto, customer, table);
-        Reservation saved = reservationRepository.save(reservation);
+        Reservation saved = saveWithPeriod(reservation);
+        occupancyIndex.reservationChanged(saved);
 
         if (sendEmail) {
             publishReservationNotification(saved, "creada");
@@ -154,6 +167,7 @@ public class ReservationService {
         // Marcar mesa ocupada
         table.setStatus(TableStatus.OCCUPIED);
         tableRepository.save(table);
+        occupancyIndex.tableStatusChanged(table.getId(), TableStatus.OCCUPIED);
 
         log.info("🚶 Walk-in creado: id={}, cliente={}, mesa={}, fecha={}, hora={}",
                 saved.getId(),
@@ -191,7 +205,8 @@ public class ReservationService {
                 .status(ReservationStatus.CONFIRMED)
                 .build();
         reservation.updateFromDto(dto, customer, table);
-        Reservation saved = reservationRepository.save(reservation);
+        Reservation saved = saveWithPeriod(reservation);
+        occupancyIndex.reservationChanged(saved);
 
         if (sendEmail) {
             publishReservationNotification(saved, "creada");
@@ -199,6 +214,7 @@ public class ReservationService {
 
         table.setStatus(TableStatus.OCCUPIED);
         tableRepository.save(table);
+        occupancyIndex.tableStatusChanged(table.getId(), TableStatus.OCCUPIED);
 
         log.info("🚀 Walk-in automático creado: id={}, cliente={}, mesa={}, fecha={}, hora={}",
                 saved.getId(),
@@ -309,7 +325,8 @@ public class ReservationService {
         Reservation oldReservation = mapToReservationCopy(reservation); // Hacemos copia antes de actualizar
 
         reservation.updateFromDto(dto, customer, newTable);
-        Reservation updated = reservationRepository.save(reservation);
+        Reservation updated = saveWithPeriod(reservation);
+        occupancyIndex.reservationChanged(updated);
 
         if (isSignificantChange(oldReservation, updated)) {
             publishReservationNotification(updated, "actualizada");
@@ -330,10 +347,12 @@ public class ReservationService {
 
         reservation.setStatus(ReservationStatus.COMPLETED);
         reservationRepository.save(reservation);
+        occupancyIndex.reservationChanged(reservation);
 
         TableEntity table = reservation.getTable();
         table.setStatus(TableStatus.FREE);
         tableRepository.save(table);
+        occupancyIndex.tableStatusChanged(table.getId(), TableStatus.FREE);
 
         Customer customer = reservation.getCustomer();
 
@@ -361,11 +380,13 @@ public class ReservationService {
 
         reservation.setStatus(ReservationStatus.CONFIRMED);
         reservationRepository.save(reservation);
+        occupancyIndex.reservationChanged(reservation);
         publishReservationNotification(reservation, "confirmada");
 
         TableEntity table = reservation.getTable();
         table.setStatus(TableStatus.OCCUPIED);
         tableRepository.save(table);
+        occupancyIndex.tableStatusChanged(table.getId(), TableStatus.OCCUPIED);
 
         log.info("✅ Reserva confirmada: id={}, cliente={}, mesa={}, fecha={}, hora={}, status={}",
                 reservation.getId(),
@@ -386,12 +407,14 @@ public class ReservationService {
 
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        occupancyIndex.reservationChanged(reservation);
         publishReservationNotification(reservation, "cancelada");
 
         // Liberar mesa
         TableEntity table = reservation.getTable();
         table.setStatus(TableStatus.FREE);
         tableRepository.save(table);
+        occupancyIndex.tableStatusChanged(table.getId(), TableStatus.FREE);
 
         log.info("❌ Reserva cancelada: id={}, cliente={}, mesa={}, fecha={}, hora={}",
                 reservation.getId(), reservation.getCustomer().getId(), table.getCode(),
@@ -405,6 +428,7 @@ public class ReservationService {
     public void deleteReservation(Long id) {
         Reservation reservation = findReservationById(id);
         reservationRepository.delete(reservation);
+        occupancyIndex.reservationRemoved(id);
         log.info("🗑️ Reserva eliminada: id={}, cliente={}", id, reservation.getCustomer().getId());
     }
 
@@ -418,13 +442,8 @@ public class ReservationService {
         if (dto.getNumberOfPeople() > table.getCapacity())
             throw new InvalidReservationException("La mesa no soporta esa cantidad de personas");
 
-        // Fallback de buffers
-        int bufferBefore = table.getBufferBeforeMinutes() != null
-                ? table.getBufferBeforeMinutes()
-                : reservationProperties.getBufferBeforeMinutes();
-        int bufferAfter = table.getBufferAfterMinutes() != null
-                ? table.getBufferAfterMinutes()
-                : reservationProperties.getBufferAfterMinutes();
+        int bufferBefore = ReservationSlots.bufferBefore(table, reservationProperties);
+        int bufferAfter = ReservationSlots.bufferAfter(table, reservationProperties);
 
         ZonedDateTime now = ZonedDateTime.now(RESTAURANT_ZONE);
         ZonedDateTime reservationDateTime = ZonedDateTime.of(dto.getReservationDate(), dto.getReservationTime(),
@@ -451,31 +470,19 @@ public class ReservationService {
                     + table.getOpenTime() + " - " + table.getCloseTime());
         }
 
-        // Comprobar solapamiento con otras reservas
-        List<Reservation> reservations = reservationRepository.findByTable_IdAndReservationDate(table.getId(),
-                dto.getReservationDate());
-
-        for (Reservation r : reservations) {
-            if (currentReservationId != null && r.getId().equals(currentReservationId))
-                continue;
-
-            int existingBufferBefore = r.getTable().getBufferBeforeMinutes() != null
-                    ? r.getTable().getBufferBeforeMinutes()
-                    : reservationProperties.getBufferBeforeMinutes();
-            int existingBufferAfter = r.getTable().getBufferAfterMinutes() != null
-                    ? r.getTable().getBufferAfterMinutes()
-                    : reservationProperties.getBufferAfterMinutes();
-
-            ZonedDateTime existingStart = ZonedDateTime.of(r.getReservationDate(), r.getReservationTime(),
-                    RESTAURANT_ZONE).minusMinutes(existingBufferBefore);
-            ZonedDateTime existingEnd = ZonedDateTime.of(r.getReservationDate(), r.getReservationTime(),
-                    RESTAURANT_ZONE).plusMinutes(r.getTable().getReservationDurationMinutes() + existingBufferAfter);
-
-            boolean overlaps = reservationStart.isBefore(existingEnd) && reservationEnd.isAfter(existingStart);
-            if (overlaps) {
-                throw new InvalidReservationException(
-                        "La mesa ya está ocupada en ese intervalo de tiempo (incluyendo tiempo de limpieza y preparación)");
-            }
+        // Comprobar solapamiento con otras reservas activas. Primero sin lock, para
+        // descartar sin esperar una mesa que ya está tomada; si parece libre se toma el
+        // lock por mesa y día (dura hasta el commit) y se vuelve a comprobar, así dos
+        // reservas que compiten por la misma mesa se validan una detrás de otra y la
+        // segunda ve la primera. La restricción de exclusión sigue como respaldo.
+        OffsetDateTime periodStart = reservationStart.toOffsetDateTime();
+        OffsetDateTime periodEnd = reservationEnd.toOffsetDateTime();
+        if (reservationRepository.existsOverlapping(table.getId(), periodStart, periodEnd, currentReservationId)) {
+            throw new InvalidReservationException(OVERLAP_MESSAGE);
+        }
+        reservationRepository.lockTableDay(table.getId(), (int) dto.getReservationDate().toEpochDay());
+        if (reservationRepository.existsOverlapping(table.getId(), periodStart, periodEnd, currentReservationId)) {
+            throw new InvalidReservationException(OVERLAP_MESSAGE);
         }
     }
 
@@ -486,6 +493,25 @@ public class ReservationService {
     }
 
     /* -------------------- HELPERS -------------------- */
+    /**
+     * Guarda la reserva con su período (buffers incluidos) y traduce el choque con
+     * la restricción de exclusión a un conflicto. Se hace flush para que el error
+     * salga aquí y no al confirmar la transacción.
+     */
+    private Reservation saveWithPeriod(Reservation reservation) {
+        TableEntity table = reservation.getTable();
+        reservation.updatePeriod(ReservationSlots.bufferBefore(table, reservationProperties),
+                ReservationSlots.bufferAfter(table, reservationProperties));
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            if (ReservationSlots.isOverlapViolation(e)) {
+                throw new DuplicateReservationException(OVERLAP_MESSAGE);
+            }
+            throw e;
+        }
+    }
+
     private Reservation findReservationById(Long id) {
         return reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Reserva no encontrada"));
@@ -503,6 +529,8 @@ public class ReservationService {
 
     /**
      * Encuentra la mejor mesa libre para walk-in según número de personas y fecha.
+     * Cada candidata se valida con su lock de mesa y día tomado, así que si otra
+     * transacción acaba de ocuparla se pasa a la siguiente en vez de fallar.
      */
     private TableEntity findBestTableForWalkIn(int numberOfPeople, LocalDate date) {
         ZonedDateTime now = ZonedDateTime.now(RESTAURANT_ZONE).truncatedTo(ChronoUnit.MINUTES);
@@ -510,7 +538,7 @@ public class ReservationService {
         return tableRepository.findAll().stream()
                 .filter(t -> t.getStatus() == TableStatus.FREE)
                 .filter(t -> numberOfPeople >= t.getMinCapacity() && numberOfPeople <= t.getCapacity())
-                .sorted(Comparator.comparingInt(TableEntity::getCapacity))
+                .sorted(ReservationSlots.TABLE_ORDER)
                 .filter(table -> {
                     LocalTime startTime = now.toLocalTime().isBefore(table.getOpenTime()) ? table.getOpenTime()
                             : now.toLocalTime();
@@ -561,13 +589,15 @@ public class ReservationService {
                 .build();
 
         reservation.updateFromDto(dto, customer, table);
-        Reservation saved = reservationRepository.save(reservation);
+        Reservation saved = saveWithPeriod(reservation);
+        occupancyIndex.reservationChanged(saved);
 
         publishReservationNotification(saved, "creada");
 
         if (saved.getStatus() == ReservationStatus.CONFIRMED) {
             table.setStatus(TableStatus.OCCUPIED);
             tableRepository.save(table);
+            occupancyIndex.tableStatusChanged(table.getId(), TableStatus.OCCUPIED);
         }
 
         log.info("✅ Reserva creada por usuario autenticado: id={}, cliente={}, mesa={}, fecha={}, hora={}, status={}",
@@ -579,12 +609,14 @@ public class ReservationService {
 
     /**
      * Encuentra la mejor mesa libre para el número de personas y horario indicado.
+     * Cada candidata se valida con su lock de mesa y día tomado, así que si otra
+     * transacción acaba de ocuparla se pasa a la siguiente en vez de fallar.
      */
     private TableEntity findBestTableForNumberOfPeople(int numberOfPeople, LocalDate date, LocalTime time) {
         return tableRepository.findAll().stream()
                 .filter(t -> t.getStatus() == TableStatus.FREE)
                 .filter(t -> numberOfPeople >= t.getMinCapacity() && numberOfPeople <= t.getCapacity())
-                .sorted(Comparator.comparingInt(TableEntity::getCapacity))
+                .sorted(ReservationSlots.TABLE_ORDER)
                 .filter(table -> {
                     ReservationRequest dto = new ReservationRequest();
                     dto.setNumberOfPeople(numberOfPeople);
@@ -686,13 +718,19 @@ public class ReservationService {
     }
 
     public Map<LocalDate, Integer> countReservationsNext7Days() {
-        Map<LocalDate, Integer> map = new LinkedHashMap<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate day = LocalDate.now().plusDays(i);
-            int count = reservationRepository.countReservationsByDate(day);
-            map.put(day, count);
-        }
-        return map;
+        LocalDate today = TimeBuckets.today();
+        return TimeBuckets.byDate(countReservationsByBucket(
+                today.atStartOfDay(), today.plusDays(7).atStartOfDay(), TimeGranularity.DAY));
+    }
+
+    /**
+     * Reservas por bucket de su hora en {@code [from, to)}, con ceros donde no hubo.
+     */
+    public Map<LocalDateTime, Integer> countReservationsByBucket(LocalDateTime from, LocalDateTime to,
+            TimeGranularity granularity) {
+        List<Object[]> rows = reservationRepository.countByBucket(granularity.getUnit(),
+                granularity.truncate(from), to);
+        return TimeBuckets.fill(rows, 1, from, to, granularity, TimeBuckets::toInteger, 0);
     }
 
     public List<ReservationResponse> findUpcomingReservations() {
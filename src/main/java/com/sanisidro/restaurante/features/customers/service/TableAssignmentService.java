@@ -0,0 +1,261 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.core.exceptions.ConflictException;
+import com.sanisidro.restaurante.features.customers.assignment.ReservationSlots;
+import com.sanisidro.restaurante.features.customers.assignment.TableAssignmentOptimizer;
+import com.sanisidro.restaurante.features.customers.dto.reservation.request.TableAssignmentRequest;
+import com.sanisidro.restaurante.features.customers.dto.reservation.response.TableAssignmentResponse;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.init.ReservationPeriodMigration;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reasigna de una vez las mesas de todas las reservas activas de un turno con
+ * {@link TableAssignmentOptimizer}. Por defecto solo propone; al aplicar toma el
+ * lock de mesa y día de todas las mesas (en el mismo orden que la asignación
+ * automática, para no cruzarse con ella), recalcula y mueve las reservas.
+ * <p>
+ * Las reservas ya empezadas y las de otros turnos del día no se mueven, solo
+ * ocupan su mesa; lo mismo las órdenes en salón abiertas, desde su hora y por la
+ * duración de la mesa. Las mesas fuera de servicio no reciben reservas. La
+ * propuesta corre en una transacción de solo lectura.
+ */
+@Service
+@Slf4j
+public class TableAssignmentService {
+
+    private static final Set<ReservationStatus> ACTIVE_STATUSES = Set.of(
+            ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+    private static final List<String> ACTIVE_ORDER_STATUSES = List.copyOf(TableOccupancyIndex.ACTIVE_ORDER_STATUSES);
+
+    private final ReservationRepository reservationRepository;
+    private final TableRepository tableRepository;
+    private final OrderRepository orderRepository;
+    private final ReservationProperties reservationProperties;
+    private final TableOccupancyIndex occupancyIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+
+    @Autowired
+    public TableAssignmentService(ReservationRepository reservationRepository, TableRepository tableRepository,
+            OrderRepository orderRepository, ReservationProperties reservationProperties,
+            TableOccupancyIndex occupancyIndex, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this(reservationRepository, tableRepository, orderRepository, reservationProperties, occupancyIndex,
+                jdbcTemplate, transactionManager, Clock.system(Reservation.RESTAURANT_ZONE));
+    }
+
+    TableAssignmentService(ReservationRepository reservationRepository, TableRepository tableRepository,
+            OrderRepository orderRepository, ReservationProperties reservationProperties,
+            TableOccupancyIndex occupancyIndex, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, Clock clock) {
+        this.reservationRepository = reservationRepository;
+        this.tableRepository = tableRepository;
+        this.orderRepository = orderRepository;
+        this.reservationProperties = reservationProperties;
+        this.occupancyIndex = occupancyIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clock = clock;
+    }
+
+    public TableAssignmentResponse optimize(TableAssignmentRequest request) {
+        if (!request.getFrom().isBefore(request.getTo())) {
+            throw new BadRequestException("La hora de inicio del turno debe ser anterior a la de fin");
+        }
+        TransactionTemplate template = request.isApply() ? transaction : readOnlyTransaction;
+        return template.execute(status -> assign(request));
+    }
+
+    private TableAssignmentResponse assign(TableAssignmentRequest request) {
+        List<TableEntity> tables = tableRepository.findAll().stream()
+                .filter(t -> t.getStatus() != TableStatus.OUT_OF_SERVICE)
+                .sorted(ReservationSlots.TABLE_ORDER)
+                .toList();
+        if (request.isApply()) {
+            int epochDay = (int) request.getDate().toEpochDay();
+            tables.forEach(t -> reservationRepository.lockTableDay(t.getId(), epochDay));
+        }
+
+        // Se leen después de los locks: nadie puede reservar estas mesas hasta el commit
+        List<Reservation> reservations = reservationRepository
+                .findByReservationDateAndStatusIn(request.getDate(), ACTIVE_STATUSES).stream()
+                .sorted(Comparator.comparing(Reservation::getId))
+                .toList();
+        List<TableAssignmentRequest.ExtraParty> extras = request.getExtraParties() != null
+                ? request.getExtraParties()
+                : List.of();
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<TableAssignmentOptimizer.Party> parties = new ArrayList<>(reservations.size() + extras.size());
+        for (Reservation reservation : reservations) {
+            LocalTime time = reservation.getReservationTime();
+            boolean inWindow = !time.isBefore(request.getFrom()) && time.isBefore(request.getTo());
+            boolean started = !request.getDate().atTime(time).isAfter(now);
+            parties.add(new TableAssignmentOptimizer.Party(reservation.getId(), reservation.getNumberOfPeople(),
+                    minuteOf(time), reservation.getTable().getId(), !inWindow || started));
+        }
+        for (TableAssignmentRequest.ExtraParty extra : extras) {
+            parties.add(new TableAssignmentOptimizer.Party(null, extra.getNumberOfPeople(),
+                    minuteOf(extra.getReservationTime()), null, false));
+        }
+        // Las órdenes en salón van al final: no tienen resultado que informar
+        LocalDateTime midnight = request.getDate().atStartOfDay();
+        for (Object[] row : orderRepository.findActiveTableOrdersBetween(ACTIVE_ORDER_STATUSES, "DINE_IN",
+                midnight.minusDays(1), midnight.plusDays(1))) {
+            int startMinute = (int) Duration.between(midnight, (LocalDateTime) row[1]).toMinutes();
+            parties.add(new TableAssignmentOptimizer.Party(null, 0, startMinute, (Long) row[0], true));
+        }
+
+        TableAssignmentOptimizer.Result result = TableAssignmentOptimizer.optimize(
+                tables.stream().map(this::toOptimizerTable).toList(), parties);
+
+        Map<Long, TableEntity> tablesById = tables.stream()
+                .collect(Collectors.toMap(TableEntity::getId, Function.identity()));
+        List<TableAssignmentResponse.Assignment> assignments = new ArrayList<>();
+        Map<Reservation, TableEntity> moves = new LinkedHashMap<>();
+        int reservedCovers = 0;
+        for (int i = 0; i < reservations.size(); i++) {
+            if (parties.get(i).isFixed()) {
+                continue;
+            }
+            Reservation reservation = reservations.get(i);
+            Long previousTableId = reservation.getTable().getId();
+            Long tableId = result.getTableIds().get(i);
+            boolean isMove = tableId != null && !tableId.equals(previousTableId);
+            assignments.add(TableAssignmentResponse.Assignment.builder()
+                    .reservationId(reservation.getId())
+                    .reservationTime(reservation.getReservationTime())
+                    .numberOfPeople(reservation.getNumberOfPeople())
+                    .previousTableId(previousTableId)
+                    .tableId(tableId)
+                    .moved(isMove)
+                    .build());
+            reservedCovers += reservation.getNumberOfPeople();
+            if (isMove) {
+                moves.put(reservation, tablesById.get(tableId));
+            }
+        }
+
+        List<TableAssignmentResponse.ExtraAssignment> extraAssignments = new ArrayList<>(extras.size());
+        int extraCoversRequested = 0;
+        int extraCoversSeated = 0;
+        for (int i = 0; i < extras.size(); i++) {
+            TableAssignmentRequest.ExtraParty extra = extras.get(i);
+            Long tableId = result.getTableIds().get(reservations.size() + i);
+            extraAssignments.add(TableAssignmentResponse.ExtraAssignment.builder()
+                    .reservationTime(extra.getReservationTime())
+                    .numberOfPeople(extra.getNumberOfPeople())
+                    .tableId(tableId)
+                    .build());
+            extraCoversRequested += extra.getNumberOfPeople();
+            if (tableId != null) {
+                extraCoversSeated += extra.getNumberOfPeople();
+            }
+        }
+
+        boolean applied = request.isApply() && !moves.isEmpty();
+        if (applied) {
+            applyMoves(moves);
+        }
+
+        return TableAssignmentResponse.builder()
+                .date(request.getDate())
+                .from(request.getFrom())
+                .to(request.getTo())
+                .applied(applied)
+                .keptCurrent(result.isKeptCurrent())
+                .reservedCovers(reservedCovers)
+                .extraCoversRequested(extraCoversRequested)
+                .extraCoversSeated(extraCoversSeated)
+                .assignments(assignments)
+                .extraParties(extraAssignments)
+                .build();
+    }
+
+    /**
+     * Guarda las reservas movidas. Un intercambio entre dos mesas se solapa a mitad
+     * de camino, así que la restricción de exclusión se comprueba recién al final.
+     */
+    private void applyMoves(Map<Reservation, TableEntity> moves) {
+        boolean deferred = deferOverlapCheck();
+        List<Reservation> moved = new ArrayList<>(moves.keySet());
+        moves.forEach((reservation, table) -> {
+            reservation.setTable(table);
+            reservation.updatePeriod(ReservationSlots.bufferBefore(table, reservationProperties),
+                    ReservationSlots.bufferAfter(table, reservationProperties));
+        });
+        try {
+            reservationRepository.saveAllAndFlush(moved);
+            if (deferred) {
+                jdbcTemplate.execute("SET CONSTRAINTS " + ReservationPeriodMigration.NO_OVERLAP_CONSTRAINT
+                        + " IMMEDIATE");
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (ReservationSlots.isOverlapViolation(e)) {
+                throw new ConflictException("La reasignación choca con otra reserva; vuelva a intentarlo");
+            }
+            throw e;
+        }
+
+        moved.forEach(occupancyIndex::reservationChanged);
+        log.info("🔀 Reservas reasignadas de mesa: {}", moved.stream().map(Reservation::getId).toList());
+    }
+
+    private boolean deferOverlapCheck() {
+        List<Boolean> deferrable = jdbcTemplate.queryForList(
+                "SELECT condeferrable FROM pg_constraint WHERE conname = ?", Boolean.class,
+                ReservationPeriodMigration.NO_OVERLAP_CONSTRAINT);
+        if (deferrable.isEmpty() || !Boolean.TRUE.equals(deferrable.get(0))) {
+            return false;
+        }
+        jdbcTemplate.execute("SET CONSTRAINTS " + ReservationPeriodMigration.NO_OVERLAP_CONSTRAINT + " DEFERRED");
+        return true;
+    }
+
+    private TableAssignmentOptimizer.Table toOptimizerTable(TableEntity table) {
+        return new TableAssignmentOptimizer.Table(table.getId(), table.getCapacity(), table.getMinCapacity(),
+                table.getOptimalCapacity(), minuteOf(table.getOpenTime()), minuteOf(table.getCloseTime()),
+                table.getReservationDurationMinutes(),
+                ReservationSlots.bufferBefore(table, reservationProperties),
+                ReservationSlots.bufferAfter(table, reservationProperties));
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
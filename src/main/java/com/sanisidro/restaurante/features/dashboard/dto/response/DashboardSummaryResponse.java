@@ -28,4 +28,6 @@ public class DashboardSummaryResponse {
     private Map<LocalDate, Integer> ordersWeek; // Órdenes por día
     private Map<LocalDate, BigDecimal> salesWeek; // Ventas por día
     private Map<LocalDate, Integer> reservationsWeek; // Reservaciones por día
+
+    private List<String> unavailableSections; // Secciones que fallaron o tardaron demasiado
 }
@@ -1,12 +1,28 @@
 package com.sanisidro.restaurante.features.dashboard.service;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.sanisidro.restaurante.core.config.DashboardProperties;
 import com.sanisidro.restaurante.features.customers.dto.reservation.response.ReservationResponse;
 import com.sanisidro.restaurante.features.customers.dto.review.response.ReviewResponse;
 import com.sanisidro.restaurante.features.customers.service.ReservationService;
@@ -15,47 +31,185 @@ import com.sanisidro.restaurante.features.dashboard.dto.response.DashboardSummar
 import com.sanisidro.restaurante.features.orders.service.OrderService;
 import com.sanisidro.restaurante.features.products.dto.inventory.response.InventoryResponse;
 import com.sanisidro.restaurante.features.products.service.InventoryService;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
 
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Arma el resumen del dashboard consultando sus secciones en paralelo en
+ * {@code dashboardExecutor}, cada una en su propia transacción de solo lectura y con
+ * un tiempo máximo ({@code app.dashboard.query-timeout-ms}). Una sección que falla o
+ * se pasa del tiempo sale vacía y se lista en {@code unavailableSections}; el resto
+ * del resumen se devuelve igual.
+ * <p>
+ * El resumen se reutiliza durante {@code app.dashboard.cache-ttl-ms} y, si vence
+ * mientras varias tabletas lo piden a la vez, solo una lo recalcula y las demás
+ * esperan ese mismo resultado.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class DashboardService {
 
     private final OrderService orderService;
     private final ReservationService reservationService;
     private final ReviewService reviewService;
     private final InventoryService inventoryService;
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final DashboardProperties properties;
+    private final Clock clock;
+
+    private final AtomicReference<CompletableFuture<DashboardSummaryResponse>> inFlight = new AtomicReference<>();
+    private volatile CachedSummary cached;
+
+    @Autowired
+    public DashboardService(OrderService orderService,
+            ReservationService reservationService,
+            ReviewService reviewService,
+            InventoryService inventoryService,
+            @Qualifier("dashboardExecutor") Executor executor,
+            PlatformTransactionManager transactionManager,
+            DashboardProperties properties) {
+        this(orderService, reservationService, reviewService, inventoryService, executor,
+                new TransactionTemplate(transactionManager), properties, Clock.system(TimeBuckets.ZONE));
+    }
+
+    DashboardService(OrderService orderService,
+            ReservationService reservationService,
+            ReviewService reviewService,
+            InventoryService inventoryService,
+            Executor executor,
+            TransactionTemplate readOnlyTransaction,
+            DashboardProperties properties,
+            Clock clock) {
+        this.orderService = orderService;
+        this.reservationService = reservationService;
+        this.reviewService = reviewService;
+        this.inventoryService = inventoryService;
+        this.executor = executor;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.readOnlyTransaction.setReadOnly(true);
+        // Corta también la consulta en la base, no solo la espera
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (properties.getQueryTimeoutMs() + 999) / 1000));
+        this.properties = properties;
+        this.clock = clock;
+    }
 
     public DashboardSummaryResponse getDashboardSummary() {
+        CachedSummary current = cached;
+        if (current != null && current.isFresh(clock.millis())) {
+            return current.getSummary();
+        }
 
-        LocalDate today = LocalDate.now();
+        CompletableFuture<DashboardSummaryResponse> mine = new CompletableFuture<>();
+        CompletableFuture<DashboardSummaryResponse> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return await(running);
+        }
 
-        int ordersToday = orderService.countOrdersByDate(today);
-        BigDecimal salesToday = orderService.calculateSalesByDate(today);
-        int reservationsToday = reservationService.countReservationsByDate(today);
+        try {
+            // Otra petición pudo terminar justo antes de que tomáramos el turno
+            current = cached;
+            DashboardSummaryResponse summary = current != null && current.isFresh(clock.millis())
+                    ? current.getSummary()
+                    : compute();
+            cached = new CachedSummary(summary, clock.millis() + properties.getCacheTtlMs());
+            mine.complete(summary);
+            return summary;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
 
-        List<InventoryResponse> lowStock = inventoryService.findLowStockInventories();
-        List<ReservationResponse> upcomingReservations = reservationService.findUpcomingReservations();
-        List<ReviewResponse> recentReviews = reviewService.findRecentReviews(5);
+    private DashboardSummaryResponse compute() {
+        // El día del restaurante, no el de la JVM: las órdenes se fechan en esa zona
+        LocalDate today = LocalDate.now(clock);
+        Queue<String> unavailable = new ConcurrentLinkedQueue<>();
 
-        int satisfaction = reviewService.calculateAverageSatisfaction();
+        CompletableFuture<Integer> ordersToday = section("ordersToday",
+                () -> orderService.countOrdersByDate(today), 0, unavailable);
+        CompletableFuture<BigDecimal> salesToday = section("salesToday",
+                () -> orderService.calculateSalesByDate(today), BigDecimal.ZERO, unavailable);
+        CompletableFuture<Integer> reservationsToday = section("reservationsToday",
+                () -> reservationService.countReservationsByDate(today), 0, unavailable);
+        CompletableFuture<List<InventoryResponse>> lowStock = section("lowStock",
+                inventoryService::findLowStockInventories, List.of(), unavailable);
+        CompletableFuture<List<ReservationResponse>> upcomingReservations = section("upcomingReservations",
+                reservationService::findUpcomingReservations, List.of(), unavailable);
+        CompletableFuture<List<ReviewResponse>> recentReviews = section("recentReviews",
+                () -> reviewService.findRecentReviews(5), List.of(), unavailable);
+        CompletableFuture<Integer> satisfaction = section("satisfaction",
+                reviewService::calculateAverageSatisfaction, 0, unavailable);
+        CompletableFuture<Map<LocalDate, Integer>> ordersWeek = section("ordersWeek",
+                orderService::countOrdersLast7Days, Map.of(), unavailable);
+        CompletableFuture<Map<LocalDate, BigDecimal>> salesWeek = section("salesWeek",
+                orderService::calculateSalesLast7Days, Map.of(), unavailable);
+        CompletableFuture<Map<LocalDate, Integer>> reservationsWeek = section("reservationsWeek",
+                reservationService::countReservationsNext7Days, Map.of(), unavailable);
 
-        Map<LocalDate, Integer> ordersWeek = orderService.countOrdersLast7Days();
-        Map<LocalDate, BigDecimal> salesWeek = orderService.calculateSalesLast7Days();
-        Map<LocalDate, Integer> reservationsWeek = reservationService.countReservationsNext7Days();
+        CompletableFuture.allOf(ordersToday, salesToday, reservationsToday, lowStock, upcomingReservations,
+                recentReviews, satisfaction, ordersWeek, salesWeek, reservationsWeek).join();
 
         return new DashboardSummaryResponse(
-                ordersToday,
-                salesToday,
-                reservationsToday,
-                lowStock,
-                upcomingReservations,
-                recentReviews,
-                satisfaction,
-                ordersWeek,
-                salesWeek,
-                reservationsWeek);
+                ordersToday.join(),
+                salesToday.join(),
+                reservationsToday.join(),
+                lowStock.join(),
+                upcomingReservations.join(),
+                recentReviews.join(),
+                satisfaction.join(),
+                ordersWeek.join(),
+                salesWeek.join(),
+                reservationsWeek.join(),
+                new ArrayList<>(unavailable));
     }
 
+    /**
+     * Lanza la consulta de una sección. Nunca falla: si la consulta lanza una
+     * excepción, se pasa del tiempo o no entra en el pool, devuelve {@code fallback}
+     * y anota la sección como no disponible.
+     */
+    private <T> CompletableFuture<T> section(String name, Supplier<T> query, T fallback, Queue<String> unavailable) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> query.get()), executor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future
+                .orTimeout(properties.getQueryTimeoutMs(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("⚠️ Sección '{}' del dashboard no disponible: {}", name, cause.toString());
+                    unavailable.add(name);
+                    return fallback;
+                });
+    }
+
+    private static DashboardSummaryResponse await(CompletableFuture<DashboardSummaryResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedSummary {
+        private final DashboardSummaryResponse summary;
+        private final long expiresAtMillis;
+
+        boolean isFresh(long nowMillis) {
+            return nowMillis < expiresAtMillis;
+        }
+    }
 }
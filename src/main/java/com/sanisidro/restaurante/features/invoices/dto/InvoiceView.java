@@ -0,0 +1,31 @@
+package com.sanisidro.restaurante.features.invoices.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Datos planos y ya formateados que necesita la plantilla del comprobante.
+ * Se arma mientras la orden está cargada, de modo que el renderizado no toca JPA.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class InvoiceView {
+
+    private final Long orderId;
+    private final String customerName;
+    private final String issuedAt;
+    private final String total;
+    private final List<Line> lines;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Line {
+        private final String productName;
+        private final int quantity;
+        private final String unitPrice;
+    }
+}
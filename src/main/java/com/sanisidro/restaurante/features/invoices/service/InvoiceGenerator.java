@@ -1,38 +1,63 @@
 package com.sanisidro.restaurante.features.invoices.service;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
-import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.invoices.dto.InvoiceView;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Convierte un {@link InvoiceView} en PDF. La plantilla se parsea una sola vez
+ * (motor propio con caché, independiente de la configuración de Thymeleaf web) y
+ * las métricas de fuentes se comparten entre renderizados.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class InvoiceGenerator {
 
-    private final TemplateEngine templateEngine;
+    private static final Locale PERU_LOCALE = new Locale("es", "PE");
 
-    
+    private final SpringTemplateEngine templateEngine;
+    private final FSCacheEx<String, FSCacheValue> fontMetricsCache = new FSDefaultCacheStore();
+    private final ForkJoinPool batchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
-    public byte[] generateInvoice(Order order) {
+    public InvoiceGenerator() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
 
-        Locale peruLocale = new Locale("es", "PE");
+        this.templateEngine = new SpringTemplateEngine();
+        this.templateEngine.setTemplateResolver(resolver);
+        this.templateEngine.setEnableSpringELCompiler(true);
+    }
+
+    public byte[] generateInvoice(InvoiceView invoice) {
 
-        Context context = new Context(peruLocale);
-        context.setVariable("order", order);
+        Context context = new Context(PERU_LOCALE);
+        context.setVariable("invoice", invoice);
 
         String processedHtml;
         try {
-            log.info("Procesando plantilla 'invoice.html' para la orden #{}", order.getId());
-            processedHtml = templateEngine.process("invoice.html", context);
+            log.debug("Procesando plantilla 'invoice' para la orden #{}", invoice.getOrderId());
+            processedHtml = templateEngine.process("invoice", context);
         } catch (Exception e) {
             log.error("Error fatal al procesar la plantilla Thymeleaf 'invoice.html'", e);
             throw new RuntimeException("Error procesando plantilla HTML", e);
@@ -41,16 +66,34 @@ public class InvoiceGenerator {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
 
             PdfRendererBuilder builder = new PdfRendererBuilder();
+            builder.useFastMode();
+            builder.useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, fontMetricsCache);
             builder.withHtmlContent(processedHtml, null);
             builder.toStream(out);
             builder.run();
 
-            log.info("PDF de comprobante generado exitosamente para la orden #{}", order.getId());
+            log.debug("PDF de comprobante generado exitosamente para la orden #{}", invoice.getOrderId());
             return out.toByteArray();
 
         } catch (Exception e) {
-            log.error("Error al convertir HTML a PDF para la orden #{}", order.getId(), e);
+            log.error("Error al convertir HTML a PDF para la orden #{}", invoice.getOrderId(), e);
             throw new RuntimeException("Error generando el PDF del comprobante", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Renderiza varios comprobantes en paralelo usando todos los núcleos disponibles.
+     * El resultado conserva el orden de entrada.
+     */
+    public List<byte[]> generateInvoices(List<InvoiceView> invoices) {
+        return batchPool.submit(() -> invoices.parallelStream()
+                .map(this::generateInvoice)
+                .toList())
+                .join();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchPool.shutdown();
+    }
+}
@@ -0,0 +1,133 @@
+package com.sanisidro.restaurante.features.invoices.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Service;
+
+import com.sanisidro.restaurante.core.storage.BlobStore;
+import com.sanisidro.restaurante.features.invoices.dto.InvoiceView;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.model.OrderDetail;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Genera cada comprobante una sola vez por contenido y lo guarda en el
+ * {@link BlobStore}; las descargas posteriores sirven los bytes almacenados. La
+ * clave lleva un hash de los datos que se imprimen, así que los cambios que no
+ * tocan el comprobante (por ejemplo, el estado de la orden) no lo regeneran. Al
+ * guardar uno nuevo se borra el anterior de la misma orden.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InvoiceService {
+
+    private static final Locale PERU_LOCALE = new Locale("es", "PE");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy hh:mm a", PERU_LOCALE);
+
+    private static final Comparator<OrderDetail> LINE_ORDER = Comparator.comparing(OrderDetail::getId,
+            Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final InvoiceGenerator invoiceGenerator;
+    private final BlobStore blobStore;
+    private final OrderRepository orderRepository;
+
+    public byte[] getOrRender(Order order) {
+        InvoiceView view = toView(order);
+        String key = blobKey(view);
+        return blobStore.get(key).orElseGet(() -> store(view.getOrderId(), key, invoiceGenerator.generateInvoice(view)));
+    }
+
+    /**
+     * Vuelve a emitir todos los comprobantes del día indicado (por ejemplo, al cierre).
+     * Las órdenes se cargan en una sola consulta y se renderizan en paralelo.
+     */
+    public int reissueForDate(LocalDate date) {
+        List<Order> orders = orderRepository.findAllForInvoicesBetween(
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+
+        List<InvoiceView> views = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            views.add(toView(order));
+        }
+
+        List<byte[]> pdfs = invoiceGenerator.generateInvoices(views);
+        for (int i = 0; i < pdfs.size(); i++) {
+            InvoiceView view = views.get(i);
+            store(view.getOrderId(), blobKey(view), pdfs.get(i));
+        }
+
+        log.info("Comprobantes reemitidos para {}: {}", date, pdfs.size());
+        return pdfs.size();
+    }
+
+    /**
+     * Las líneas salen ordenadas por id de detalle: el orden del Set no es estable
+     * entre cargas y cambiaría el PDF y la clave sin que cambie el contenido.
+     */
+    public InvoiceView toView(Order order) {
+        NumberFormat currency = NumberFormat.getCurrencyInstance(PERU_LOCALE);
+
+        return InvoiceView.builder()
+                .orderId(order.getId())
+                .customerName(order.getCustomer().getUser().getFullName())
+                .issuedAt(order.getDate() != null ? order.getDate().format(DATE_FORMAT) : "")
+                .total(currency.format(order.getTotal()))
+                .lines(order.getDetails().stream()
+                        .sorted(LINE_ORDER)
+                        .map(d -> new InvoiceView.Line(
+                                d.getProduct().getName(),
+                                d.getQuantity(),
+                                currency.format(d.getUnitPrice())))
+                        .toList())
+                .build();
+    }
+
+    private byte[] store(Long orderId, String key, byte[] pdfBytes) {
+        if (pdfBytes == null || pdfBytes.length == 0) {
+            throw new RuntimeException("Error al generar PDF: el archivo está vacío.");
+        }
+
+        blobStore.put(key, pdfBytes);
+        log.info("Comprobante almacenado en {}", key);
+
+        // El puntero al último comprobante permite borrar el anterior sin listar
+        String latestKey = "invoices/" + orderId + "/latest";
+        String previous = blobStore.get(latestKey).map(bytes -> new String(bytes, StandardCharsets.UTF_8)).orElse(null);
+        blobStore.put(latestKey, key.getBytes(StandardCharsets.UTF_8));
+        if (previous != null && !previous.equals(key)) {
+            blobStore.delete(previous);
+        }
+        return pdfBytes;
+    }
+
+    static String blobKey(InvoiceView view) {
+        StringBuilder content = new StringBuilder()
+                .append(view.getCustomerName()).append('\n')
+                .append(view.getIssuedAt()).append('\n')
+                .append(view.getTotal()).append('\n');
+        view.getLines().forEach(line -> content.append(line.getProductName()).append('\t')
+                .append(line.getQuantity()).append('\t')
+                .append(line.getUnitPrice()).append('\n'));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return "invoices/" + view.getOrderId() + "/" + HexFormat.of().formatHex(digest, 0, 16) + ".pdf";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.sanisidro.restaurante.features.notifications.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public interface NotifiableEvent {
     Long getUserId();
     String getRecipient();
@@ -14,4 +16,13 @@ public interface NotifiableEvent {
     default String getEventType() {
         return this.getClass().getSimpleName();
     }
-}
\ No newline at end of file
+
+    /**
+     * Clave de ordenamiento: los eventos con la misma clave se publican en el orden
+     * en que se generaron (y van a la misma partición de Kafka).
+     */
+    @JsonIgnore
+    default String getAggregateKey() {
+        return getUserId() != null ? "user-" + getUserId() : getEventType();
+    }
+}
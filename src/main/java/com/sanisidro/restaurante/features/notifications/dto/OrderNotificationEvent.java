@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.notifications.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.sanisidro.restaurante.features.notifications.templates.EmailTemplateBuilder;
 import lombok.*;
 import java.math.BigDecimal;
@@ -24,4 +25,10 @@ public class OrderNotificationEvent implements NotifiableEvent {
 
     private String pdfAttachmentBase64;
     private String attachmentName;
+
+    @Override
+    @JsonIgnore
+    public String getAggregateKey() {
+        return orderId != null ? "order-" + orderId : NotifiableEvent.super.getAggregateKey();
+    }
 }
@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.notifications.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -21,4 +22,10 @@ public class ReservationNotificationEvent implements NotifiableEvent {
     private String customerName;
 
     private String tableName;
-}
\ No newline at end of file
+
+    @Override
+    @JsonIgnore
+    public String getAggregateKey() {
+        return reservationId != null ? "reservation-" + reservationId : NotifiableEvent.super.getAggregateKey();
+    }
+}
@@ -2,6 +2,8 @@ package com.sanisidro.restaurante.features.notifications.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -29,4 +31,10 @@ public class StockLowNotificationEvent implements NotifiableEvent {
     public String getChannelKey() {
         return "WEBSOCKET";
     }
-}
\ No newline at end of file
+
+    @Override
+    @JsonIgnore
+    public String getAggregateKey() {
+        return ingredientId != null ? "ingredient-" + ingredientId : NotifiableEvent.super.getAggregateKey();
+    }
+}
@@ -4,23 +4,27 @@ import java.time.LocalDateTime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sanisidro.restaurante.core.kafka.message.KafkaMessage;
+import com.sanisidro.restaurante.core.outbox.service.OutboxService;
 import com.sanisidro.restaurante.features.notifications.dto.NotifiableEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Registra los eventos en el outbox dentro de la transacción del llamador; el
+ * envío a Kafka lo realiza {@code OutboxRelay} después del commit.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxService outboxService;
     private final ObjectMapper objectMapper;
 
     public void send(String topic, NotifiableEvent event) {
@@ -29,16 +33,16 @@ public class NotificationProducer {
 
             KafkaMessage message = KafkaMessage.builder()
                     .topic(topic)
-                    .key(event.getClass().getSimpleName() + "-" + System.currentTimeMillis())
-                    .payload(objectMapper.writeValueAsString(event))
+                    .key(event.getAggregateKey())
+                    .payload(payloadJson)
                     .timestamp(LocalDateTime.now())
                     .build();
 
             String envelope = objectMapper.writeValueAsString(message);
 
-            kafkaTemplate.send(topic, message.getKey(), envelope);
+            outboxService.enqueue(topic, message.getKey(), envelope);
 
-            log.info("📤 Evento publicado en Kafka: topic={}, key={}, payload={}",
+            log.info("📤 Evento registrado en outbox: topic={}, key={}, payload={}",
                     topic, message.getKey(), payloadJson);
 
         } catch (JsonProcessingException e) {
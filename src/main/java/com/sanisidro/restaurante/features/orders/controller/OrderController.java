@@ -1,7 +1,9 @@
 package com.sanisidro.restaurante.features.orders.controller;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -19,15 +21,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sanisidro.restaurante.core.dto.response.CursorPage;
 import com.sanisidro.restaurante.core.security.dto.ApiResponse;
 import com.sanisidro.restaurante.core.security.model.User;
+import com.sanisidro.restaurante.features.invoices.service.InvoiceService;
+import com.sanisidro.restaurante.features.orders.dto.kitchen.response.KitchenFeedResponse;
 import com.sanisidro.restaurante.features.orders.dto.order.request.AssignDriverRequest;
+import com.sanisidro.restaurante.features.orders.dto.order.request.OrderFilter;
 import com.sanisidro.restaurante.features.orders.dto.order.request.OrderRequest;
 import com.sanisidro.restaurante.features.orders.dto.order.request.UpdateLocationRequest;
 import com.sanisidro.restaurante.features.orders.dto.order.request.UpdateStatusRequest;
 import com.sanisidro.restaurante.features.orders.dto.order.response.OrderResponse;
+import com.sanisidro.restaurante.features.orders.dto.order.response.OrderSummaryResponse;
 import com.sanisidro.restaurante.features.orders.dto.payment.request.PaymentInOrderRequest;
+import com.sanisidro.restaurante.features.orders.kitchen.KitchenFeedService;
 import com.sanisidro.restaurante.features.orders.service.OrderService;
+import com.sanisidro.restaurante.features.orders.tracking.DeliveryTrackingService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -38,16 +47,49 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 
     private final OrderService orderService;
+    private final InvoiceService invoiceService;
+    private final DeliveryTrackingService deliveryTrackingService;
+    private final KitchenFeedService kitchenFeedService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_WAITER', 'ROLE_CHEF', 'ROLE_CASHIER')")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getAll(
+    public ResponseEntity<ApiResponse<CursorPage<OrderSummaryResponse>>> getAll(
             @RequestHeader(name = "Accept-Language", defaultValue = "es") String lang,
-            @RequestParam(name = "type", required = false) String typeCode) {
-        List<OrderResponse> orders = orderService.getAll(lang, typeCode);
+            @RequestParam(name = "status", required = false) String statusCode,
+            @RequestParam(name = "type", required = false) String typeCode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long tableId,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        OrderFilter filter = OrderFilter.builder()
+                .statusCode(statusCode)
+                .typeCode(typeCode)
+                .from(from)
+                .to(to)
+                .tableId(tableId)
+                .employeeId(employeeId)
+                .build();
+        CursorPage<OrderSummaryResponse> orders = orderService.getAll(filter, cursor, size, lang);
         return ResponseEntity.ok(new ApiResponse<>(true, "Órdenes obtenidas correctamente", orders));
     }
 
+    /**
+     * Estado inicial de la pantalla de cocina. Con {@code since} y {@code epoch}
+     * devuelve solo los eventos perdidos desde esa secuencia, si aún están en memoria.
+     */
+    @GetMapping("/kitchen-feed")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_WAITER', 'ROLE_CHEF', 'ROLE_CASHIER')")
+    public ResponseEntity<ApiResponse<KitchenFeedResponse>> getKitchenFeed(
+            @RequestParam(name = "type", required = false) String typeCode,
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Long epoch) {
+        KitchenFeedResponse feed = kitchenFeedService.getFeed(
+                typeCode != null && !typeCode.isBlank() ? typeCode.trim().toUpperCase() : null, since, epoch);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Feed de cocina obtenido correctamente", feed));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<OrderResponse>> getById(
@@ -69,10 +111,12 @@ public class OrderController {
 
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()") // <-- CAMBIO: Más explícito
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getMyOrders(
+    public ResponseEntity<ApiResponse<CursorPage<OrderSummaryResponse>>> getMyOrders(
             @RequestHeader(name = "Accept-Language", defaultValue = "es") String lang,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
             @AuthenticationPrincipal User user) {
-        List<OrderResponse> orders = orderService.getOrdersForCurrentUser(user, lang);
+        CursorPage<OrderSummaryResponse> orders = orderService.getOrdersForCurrentUser(user, cursor, size, lang);
         return ResponseEntity
                 .ok(new ApiResponse<>(true, "Órdenes del usuario autenticado obtenidas correctamente", orders));
     }
@@ -83,7 +127,7 @@ public class OrderController {
 
     public ResponseEntity<byte[]> downloadInvoice(@PathVariable Long id) {
 
-        byte[] pdfBytes = orderService.generateInvoiceForOrder(id);
+        byte[] pdfBytes = orderService.getInvoiceForOrder(id);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
@@ -95,6 +139,14 @@ public class OrderController {
         return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
     }
 
+    @PostMapping("/invoices/reissue")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<ApiResponse<Integer>> reissueInvoices(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        int reissued = invoiceService.reissueForDate(date);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Comprobantes reemitidos correctamente", reissued));
+    }
+
     @PostMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<OrderResponse>> create(
@@ -131,7 +183,7 @@ public class OrderController {
             @PathVariable Long id,
             @Valid @RequestBody UpdateLocationRequest request,
             @AuthenticationPrincipal User authenticatedUser) {
-        orderService.updateDeliveryLocation(id, request, authenticatedUser);
+        deliveryTrackingService.updateLocation(id, request, authenticatedUser);
         return ResponseEntity.ok(new ApiResponse<>(true, "Ubicación actualizada", null));
     }
 
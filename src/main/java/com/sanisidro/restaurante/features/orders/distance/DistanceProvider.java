@@ -0,0 +1,13 @@
+package com.sanisidro.restaurante.features.orders.distance;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.DistanceDurationResult;
+
+/**
+ * Fuente de distancia y duración de manejo entre dos coordenadas.
+ * Las implementaciones lanzan excepción si no pueden responder.
+ */
+public interface DistanceProvider {
+
+    DistanceDurationResult getDistanceAndDuration(double originLat, double originLng,
+            double destinationLat, double destinationLng);
+}
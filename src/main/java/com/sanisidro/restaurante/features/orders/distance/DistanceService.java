@@ -0,0 +1,147 @@
+package com.sanisidro.restaurante.features.orders.distance;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.sanisidro.restaurante.core.config.DistanceProperties;
+import com.sanisidro.restaurante.core.resilience.CircuitBreaker;
+import com.sanisidro.restaurante.features.orders.dto.helpers.DistanceDurationResult;
+import com.sanisidro.restaurante.features.restaurant.model.Store;
+import com.sanisidro.restaurante.features.restaurant.repository.StoreRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Punto de entrada para calcular distancia y ETA de delivery desde la tienda principal.
+ * <ul>
+ * <li>Cachea resultados (TTL + LRU) por celda de grilla de origen/destino redondeados.</li>
+ * <li>Cachea la ubicación de la tienda para no consultarla en cada orden.</li>
+ * <li>Protege al proveedor con un circuit breaker y, si falla o está abierto,
+ * responde con la estimación haversine.</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class DistanceService {
+
+    private final DistanceProvider provider;
+    private final HaversineEstimator fallback;
+    private final StoreRepository storeRepository;
+    private final DistanceProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final Clock clock;
+    private final double gridScale;
+    private final Map<String, CachedResult> cache;
+
+    private volatile StoreLocation storeLocation;
+
+    @Autowired
+    public DistanceService(DistanceProvider provider, HaversineEstimator fallback,
+            StoreRepository storeRepository, DistanceProperties properties) {
+        this(provider, fallback, storeRepository, properties, Clock.systemUTC());
+    }
+
+    DistanceService(DistanceProvider provider, HaversineEstimator fallback,
+            StoreRepository storeRepository, DistanceProperties properties, Clock clock) {
+        this.provider = provider;
+        this.fallback = fallback;
+        this.storeRepository = storeRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.circuitBreaker = new CircuitBreaker("distance-provider", properties.getBreakerFailureThreshold(),
+                Duration.ofSeconds(properties.getBreakerOpenSeconds()), clock);
+        this.gridScale = Math.pow(10, properties.getGridDecimals());
+
+        int maxEntries = properties.getCacheMaxEntries();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Distancia y duración de manejo desde la tienda principal hasta el destino.
+     */
+    public DistanceDurationResult estimateFromStore(double destinationLat, double destinationLng) {
+        StoreLocation origin = getStoreLocation();
+        return estimate(origin.latitude, origin.longitude, destinationLat, destinationLng);
+    }
+
+    public DistanceDurationResult estimate(double originLat, double originLng,
+            double destinationLat, double destinationLng) {
+
+        String key = cell(originLat) + ":" + cell(originLng) + ":" + cell(destinationLat) + ":" + cell(destinationLng);
+        Instant now = clock.instant();
+
+        CachedResult cached = cache.get(key);
+        if (cached != null && now.isBefore(cached.expiresAt)) {
+            return cached.result;
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            return fallback.estimate(originLat, originLng, destinationLat, destinationLng);
+        }
+
+        try {
+            DistanceDurationResult result = provider.getDistanceAndDuration(
+                    originLat, originLng, destinationLat, destinationLng);
+            circuitBreaker.recordSuccess();
+            cache.put(key, new CachedResult(result, now.plus(Duration.ofMinutes(properties.getCacheTtlMinutes()))));
+            return result;
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            log.warn("Proveedor de distancia no disponible, usando estimación local: {}", e.getMessage());
+            return fallback.estimate(originLat, originLng, destinationLat, destinationLng);
+        }
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private StoreLocation getStoreLocation() {
+        StoreLocation current = storeLocation;
+        Instant now = clock.instant();
+        if (current != null && now.isBefore(current.expiresAt)) {
+            return current;
+        }
+
+        Store store = storeRepository.findFirstByOrderByIdAsc()
+                .orElseThrow(() -> new IllegalStateException("No hay tiendas configuradas en el sistema."));
+        if (store.getLatitude() == null || store.getLongitude() == null) {
+            throw new IllegalStateException("La tienda principal no tiene coordenadas configuradas.");
+        }
+
+        current = new StoreLocation(store.getLatitude(), store.getLongitude(),
+                now.plus(Duration.ofMinutes(properties.getStoreLocationTtlMinutes())));
+        storeLocation = current;
+        return current;
+    }
+
+    private long cell(double coordinate) {
+        return Math.round(coordinate * gridScale);
+    }
+
+    @AllArgsConstructor
+    private static class CachedResult {
+        private final DistanceDurationResult result;
+        private final Instant expiresAt;
+    }
+
+    @AllArgsConstructor
+    private static class StoreLocation {
+        private final double latitude;
+        private final double longitude;
+        private final Instant expiresAt;
+    }
+}
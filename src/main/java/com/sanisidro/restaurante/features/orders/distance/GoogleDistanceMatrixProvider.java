@@ -0,0 +1,85 @@
+package com.sanisidro.restaurante.features.orders.distance;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import com.sanisidro.restaurante.core.config.DistanceProperties;
+import com.sanisidro.restaurante.features.orders.dto.helpers.DistanceDurationResult;
+
+/**
+ * Proveedor basado en Google Distance Matrix. Usa un único cliente HTTP
+ * (con pool de conexiones) y timeouts estrictos de conexión y lectura.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.distance", name = "provider", havingValue = "google", matchIfMissing = true)
+public class GoogleDistanceMatrixProvider implements DistanceProvider {
+
+    private static final String DISTANCE_MATRIX_URL = "https://maps.googleapis.com/maps/api/distancematrix/json";
+
+    private final String apiKey;
+    private final RestClient restClient;
+
+    public GoogleDistanceMatrixProvider(@Value("${google.maps.api-key}") String apiKey,
+            DistanceProperties properties) {
+        this.apiKey = apiKey;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMs()))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(properties.getReadTimeoutMs()));
+
+        this.restClient = RestClient.builder()
+                .baseUrl(DISTANCE_MATRIX_URL)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public DistanceDurationResult getDistanceAndDuration(double originLat, double originLng,
+            double destinationLat, double destinationLng) {
+
+        Map<?, ?> response = restClient.get()
+                .uri(uri -> uri
+                        .queryParam("origins", originLat + "," + originLng)
+                        .queryParam("destinations", destinationLat + "," + destinationLng)
+                        .queryParam("key", apiKey)
+                        .queryParam("mode", "driving")
+                        .build())
+                .retrieve()
+                .body(Map.class);
+
+        if (response == null) {
+            throw new IllegalStateException("Respuesta vacía de Distance Matrix");
+        }
+
+        var rows = (List<?>) response.get("rows");
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalStateException("Distance Matrix sin resultados: " + response.get("status"));
+        }
+
+        var elements = (List<?>) ((Map<?, ?>) rows.get(0)).get("elements");
+        if (elements == null || elements.isEmpty()) {
+            throw new IllegalStateException("Distance Matrix sin elementos");
+        }
+
+        Map<?, ?> element = (Map<?, ?>) elements.get(0);
+        Map<?, ?> distance = (Map<?, ?>) element.get("distance");
+        Map<?, ?> duration = (Map<?, ?>) element.get("duration");
+        if (distance == null || duration == null) {
+            throw new IllegalStateException("Distance Matrix sin ruta: " + element.get("status"));
+        }
+
+        double meters = ((Number) distance.get("value")).doubleValue();
+        double seconds = ((Number) duration.get("value")).doubleValue();
+        return new DistanceDurationResult(meters / 1000.0, seconds / 60.0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.sanisidro.restaurante.features.orders.distance;
+
+import org.springframework.stereotype.Component;
+
+import com.sanisidro.restaurante.core.config.DistanceProperties;
+import com.sanisidro.restaurante.features.orders.dto.helpers.DistanceDurationResult;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Estimación sin red: distancia en línea recta (haversine) corregida por un factor
+ * de ruta y convertida a minutos con una velocidad promedio urbana.
+ */
+@Component
+@RequiredArgsConstructor
+public class HaversineEstimator {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final DistanceProperties properties;
+
+    public DistanceDurationResult estimate(double originLat, double originLng,
+            double destinationLat, double destinationLng) {
+        double km = haversineKm(originLat, originLng, destinationLat, destinationLng) * properties.getRoadFactor();
+        double minutes = km / properties.getAverageSpeedKmh() * 60.0;
+        return new DistanceDurationResult(km, minutes);
+    }
+
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,26 @@
+package com.sanisidro.restaurante.features.orders.distance;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.DistanceDurationResult;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Proveedor local para desarrollo y pruebas sin acceso a red
+ * ({@code app.distance.provider=stub}). Responde con la estimación haversine.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.distance", name = "provider", havingValue = "stub")
+@RequiredArgsConstructor
+public class StubDistanceProvider implements DistanceProvider {
+
+    private final HaversineEstimator estimator;
+
+    @Override
+    public DistanceDurationResult getDistanceAndDuration(double originLat, double originLng,
+            double destinationLat, double destinationLng) {
+        return estimator.estimate(originLat, originLng, destinationLat, destinationLng);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sanisidro.restaurante.features.orders.dto.helpers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento interno publicado al registrar una orden. Se procesa después del commit
+ * para generar el comprobante y notificar al cliente.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderPlacedEvent {
+    private final Long orderId;
+}
@@ -0,0 +1,14 @@
+package com.sanisidro.restaurante.features.orders.dto.helpers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica al modificar estados, tipos, métodos de pago o sus traducciones.
+ * Tras el commit, {@code OrderReferenceData} recarga su copia en memoria.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+    private final String source;
+}
@@ -0,0 +1,50 @@
+package com.sanisidro.restaurante.features.orders.dto.helpers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import com.sanisidro.restaurante.features.products.model.Ingredient;
+import com.sanisidro.restaurante.features.products.model.Product;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Foto en memoria de los productos de una orden: producto y receta aplanada
+ * (incluye los ítems de los combos).
+ */
+@Getter
+@AllArgsConstructor
+public class ResolvedCart {
+
+    private final Map<Long, Product> products;
+    private final Map<Long, List<RecipeLine>> recipes;
+
+    public Product getProduct(Long productId) {
+        Product product = products.get(productId);
+        if (product == null) {
+            throw new EntityNotFoundException("Producto no encontrado con id: " + productId);
+        }
+        return product;
+    }
+
+    public List<RecipeLine> getRecipe(Long productId) {
+        return recipes.getOrDefault(productId, List.of());
+    }
+
+    public int getPreparationTimeMinutes(Long productId) {
+        Product product = products.get(productId);
+        return product != null && product.getPreparationTimeMinutes() != null
+                ? product.getPreparationTimeMinutes()
+                : 0;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RecipeLine {
+        private final Ingredient ingredient;
+        private final BigDecimal quantityPerUnit;
+    }
+}
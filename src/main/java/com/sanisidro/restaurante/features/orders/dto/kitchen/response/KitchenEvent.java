@@ -0,0 +1,34 @@
+package com.sanisidro.restaurante.features.orders.dto.kitchen.response;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sanisidro.restaurante.features.orders.enums.KitchenEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cambio publicado en {@code /topic/kitchen} y {@code /topic/kitchen/{typeCode}}.
+ * La comanda completa solo viaja en {@code ORDER_CREATED} y {@code ORDER_UPDATED};
+ * {@code ORDER_REMOVED} solo indica la orden que se quita y el resto de eventos
+ * llevan únicamente el estado nuevo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KitchenEvent {
+    private long epoch;
+    private long sequence;
+    private KitchenEventType type;
+    private Long orderId;
+    private String typeCode;
+    private String statusCode;
+    private Long employeeId;
+    private LocalDateTime occurredAt;
+    private KitchenTicket ticket;
+}
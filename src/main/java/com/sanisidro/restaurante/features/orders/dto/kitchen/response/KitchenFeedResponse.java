@@ -0,0 +1,25 @@
+package com.sanisidro.restaurante.features.orders.dto.kitchen.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado inicial del feed de cocina. Si el cliente pudo reanudar desde su última
+ * secuencia, {@code snapshot} es falso y solo vienen los eventos perdidos; si no,
+ * vienen las comandas activas y la secuencia desde la que aplicar los eventos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenFeedResponse {
+    private long epoch;
+    private long sequence;
+    private boolean snapshot;
+    private List<KitchenTicket> tickets;
+    private List<KitchenEvent> events;
+}
@@ -0,0 +1,33 @@
+package com.sanisidro.restaurante.features.orders.dto.kitchen.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Comanda tal como la muestra la pantalla de cocina: solo lo necesario para preparar.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenTicket {
+    private Long orderId;
+    private LocalDateTime date;
+    private String typeCode;
+    private String statusCode;
+    private String tableCode;
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String productName;
+        private Integer quantity;
+    }
+}
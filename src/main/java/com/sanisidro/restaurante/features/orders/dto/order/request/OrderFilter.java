@@ -0,0 +1,25 @@
+package com.sanisidro.restaurante.features.orders.dto.order.request;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros opcionales del listado de órdenes. El rango de fechas es [from, to).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFilter {
+    private String statusCode;
+    private String typeCode;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long tableId;
+    private Long employeeId;
+    private Long customerId;
+}
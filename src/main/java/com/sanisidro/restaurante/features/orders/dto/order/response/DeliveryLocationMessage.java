@@ -0,0 +1,20 @@
+package com.sanisidro.restaurante.features.orders.dto.order.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posición del repartidor publicada en {@code /topic/orders/{orderId}/location}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryLocationMessage {
+    private Long orderId;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime timestamp;
+}
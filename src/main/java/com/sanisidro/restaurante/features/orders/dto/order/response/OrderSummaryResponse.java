@@ -0,0 +1,34 @@
+package com.sanisidro.restaurante.features.orders.dto.order.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila del listado de órdenes, proyectada directamente desde la consulta.
+ * El detalle completo (productos, línea de tiempo, entrega) se obtiene con
+ * {@code GET /api/v1/orders/{id}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+
+    private Long id;
+    private LocalDateTime date;
+    private String statusCode;
+    private String statusName;
+    private String typeCode;
+    private String typeName;
+    private Long customerId;
+    private String customerName;
+    private Long employeeId;
+    private String employeeName;
+    private Long tableId;
+    private String tableCode;
+    private BigDecimal total;
+    private Long itemCount;
+}
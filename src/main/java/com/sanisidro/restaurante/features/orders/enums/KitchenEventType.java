@@ -0,0 +1,10 @@
+package com.sanisidro.restaurante.features.orders.enums;
+
+public enum KitchenEventType {
+    ORDER_CREATED,
+    ORDER_UPDATED,
+    ORDER_REMOVED,
+    STATUS_CHANGED,
+    ORDER_CANCELLED,
+    DRIVER_ASSIGNED
+}
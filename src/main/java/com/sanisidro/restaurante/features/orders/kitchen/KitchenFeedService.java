@@ -0,0 +1,231 @@
+package com.sanisidro.restaurante.features.orders.kitchen;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sanisidro.restaurante.core.config.KitchenProperties;
+import com.sanisidro.restaurante.features.orders.dto.kitchen.response.KitchenEvent;
+import com.sanisidro.restaurante.features.orders.dto.kitchen.response.KitchenFeedResponse;
+import com.sanisidro.restaurante.features.orders.dto.kitchen.response.KitchenTicket;
+import com.sanisidro.restaurante.features.orders.enums.KitchenEventType;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feed de la pantalla de cocina. Cada cambio de una orden se publica tras el commit
+ * en {@code /topic/kitchen} y {@code /topic/kitchen/{typeCode}} con un número de
+ * secuencia creciente. Los últimos eventos se guardan en memoria para que un cliente
+ * que se reconecta pida solo lo que se perdió en lugar de volver a descargar todo.
+ * El {@code epoch} cambia con cada arranque: si no coincide, el cliente debe tomar
+ * una foto nueva.
+ */
+@Service
+@Slf4j
+public class KitchenFeedService {
+
+    public static final String TOPIC = "/topic/kitchen";
+    public static final Set<String> ACTIVE_STATUS_CODES = Set.of(
+            "PENDING", "PENDING_CONFIRMATION", "CONFIRMED", "IN_PROGRESS", "READY_FOR_PICKUP");
+
+    private final OrderRepository orderRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final KitchenProperties properties;
+    private final Clock clock;
+    private final long epoch;
+
+    private final Deque<KitchenEvent> recent = new ArrayDeque<>();
+    private long sequence;
+
+    @Autowired
+    public KitchenFeedService(OrderRepository orderRepository,
+            SimpMessagingTemplate messagingTemplate,
+            KitchenProperties properties) {
+        this(orderRepository, messagingTemplate, properties, Clock.systemDefaultZone());
+    }
+
+    KitchenFeedService(OrderRepository orderRepository,
+            SimpMessagingTemplate messagingTemplate,
+            KitchenProperties properties,
+            Clock clock) {
+        this.orderRepository = orderRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.epoch = clock.millis();
+    }
+
+    public void orderCreated(Order order, String typeCode, String statusCode) {
+        publishAfterCommit(KitchenEvent.builder()
+                .type(KitchenEventType.ORDER_CREATED)
+                .orderId(order.getId())
+                .typeCode(typeCode)
+                .statusCode(statusCode)
+                .ticket(toTicket(order, typeCode, statusCode)));
+    }
+
+    /**
+     * Se editó la orden (detalles, tipo o estado): viaja la comanda completa para que
+     * la pantalla la reemplace. Si cambió el tipo, el cliente del tipo anterior la
+     * quita al ver el {@code typeCode} nuevo.
+     */
+    public void orderUpdated(Order order, String typeCode, String statusCode) {
+        publishAfterCommit(KitchenEvent.builder()
+                .type(KitchenEventType.ORDER_UPDATED)
+                .orderId(order.getId())
+                .typeCode(typeCode)
+                .statusCode(statusCode)
+                .ticket(toTicket(order, typeCode, statusCode)));
+    }
+
+    public void orderRemoved(Long orderId, String typeCode) {
+        publishAfterCommit(KitchenEvent.builder()
+                .type(KitchenEventType.ORDER_REMOVED)
+                .orderId(orderId)
+                .typeCode(typeCode));
+    }
+
+    public void statusChanged(Long orderId, String typeCode, String statusCode) {
+        publishAfterCommit(KitchenEvent.builder()
+                .type("CANCELLED".equals(statusCode) ? KitchenEventType.ORDER_CANCELLED
+                        : KitchenEventType.STATUS_CHANGED)
+                .orderId(orderId)
+                .typeCode(typeCode)
+                .statusCode(statusCode));
+    }
+
+    public void driverAssigned(Long orderId, String typeCode, String statusCode, Long employeeId) {
+        publishAfterCommit(KitchenEvent.builder()
+                .type(KitchenEventType.DRIVER_ASSIGNED)
+                .orderId(orderId)
+                .typeCode(typeCode)
+                .statusCode(statusCode)
+                .employeeId(employeeId));
+    }
+
+    /**
+     * Devuelve los eventos posteriores a {@code since} si siguen en memoria y el
+     * epoch coincide; en otro caso, una foto de las comandas activas. La secuencia
+     * de la foto se toma antes de consultar, así que los eventos que lleguen mientras
+     * tanto se vuelven a aplicar (son idempotentes).
+     */
+    public KitchenFeedResponse getFeed(String typeCode, Long since, Long clientEpoch) {
+        if (since != null && clientEpoch != null && clientEpoch == epoch) {
+            synchronized (this) {
+                long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().getSequence();
+                if (since >= oldest - 1 && since <= sequence) {
+                    List<KitchenEvent> missed = recent.stream()
+                            .filter(event -> event.getSequence() > since)
+                            .filter(event -> typeCode == null || typeCode.equals(event.getTypeCode()))
+                            .toList();
+                    return KitchenFeedResponse.builder()
+                            .epoch(epoch)
+                            .sequence(sequence)
+                            .snapshot(false)
+                            .events(missed)
+                            .build();
+                }
+            }
+        }
+
+        long current;
+        synchronized (this) {
+            current = sequence;
+        }
+        return KitchenFeedResponse.builder()
+                .epoch(epoch)
+                .sequence(current)
+                .snapshot(true)
+                .tickets(loadActiveTickets(typeCode))
+                .build();
+    }
+
+    private List<KitchenTicket> loadActiveTickets(String typeCode) {
+        LocalDateTime from = LocalDateTime.now(clock).minusHours(properties.getSnapshotHours());
+        Map<Long, KitchenTicket> tickets = new LinkedHashMap<>();
+        for (Object[] row : orderRepository.findKitchenTicketLines(ACTIVE_STATUS_CODES, typeCode, from)) {
+            KitchenTicket ticket = tickets.computeIfAbsent((Long) row[0], id -> KitchenTicket.builder()
+                    .orderId(id)
+                    .date((LocalDateTime) row[1])
+                    .typeCode((String) row[2])
+                    .statusCode((String) row[3])
+                    .tableCode((String) row[4])
+                    .items(new ArrayList<>())
+                    .build());
+            ticket.getItems().add(new KitchenTicket.Item((String) row[5], (Integer) row[6]));
+        }
+        return new ArrayList<>(tickets.values());
+    }
+
+    /**
+     * La comanda se arma al llamar, dentro de la transacción, porque los detalles y
+     * la mesa pueden ser perezosos.
+     */
+    private KitchenTicket toTicket(Order order, String typeCode, String statusCode) {
+        List<KitchenTicket.Item> items = order.getDetails().stream()
+                .map(detail -> new KitchenTicket.Item(detail.getProduct().getName(), detail.getQuantity()))
+                .toList();
+        return KitchenTicket.builder()
+                .orderId(order.getId())
+                .date(order.getDate())
+                .typeCode(typeCode)
+                .statusCode(statusCode)
+                .tableCode(order.getTable() != null ? order.getTable().getCode() : null)
+                .items(items)
+                .build();
+    }
+
+    private void publishAfterCommit(KitchenEvent.KitchenEventBuilder event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    /**
+     * La secuencia se asigna y se envía bajo el mismo candado para que el orden en
+     * el tópico coincida con el de la secuencia.
+     */
+    synchronized void publish(KitchenEvent.KitchenEventBuilder builder) {
+        KitchenEvent event = builder
+                .epoch(epoch)
+                .sequence(++sequence)
+                .occurredAt(LocalDateTime.now(clock))
+                .build();
+
+        recent.addLast(event);
+        while (recent.size() > properties.getReplayBufferSize()) {
+            recent.removeFirst();
+        }
+
+        try {
+            messagingTemplate.convertAndSend(TOPIC, event);
+            if (event.getTypeCode() != null) {
+                messagingTemplate.convertAndSend(TOPIC + "/" + event.getTypeCode(), event);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error publicando evento de cocina {} de la orden {}: {}",
+                    event.getType(), event.getOrderId(), e.getMessage());
+        }
+    }
+}
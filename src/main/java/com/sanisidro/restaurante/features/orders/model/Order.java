@@ -17,6 +17,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -28,7 +29,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity(name = "CustomerOrder")
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_date_id", columnList = "date DESC, order_id DESC"),
+        @Index(name = "idx_orders_customer_date", columnList = "customer_id, date DESC, order_id DESC"),
+        @Index(name = "idx_orders_status_date", columnList = "order_status_id, date DESC, order_id DESC"),
+        @Index(name = "idx_orders_type_date", columnList = "order_type_id, date DESC, order_id DESC"),
+        @Index(name = "idx_orders_employee_date", columnList = "employee_id, date DESC"),
+        @Index(name = "idx_orders_table_date", columnList = "table_id, date DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -7,7 +7,9 @@ import lombok.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_details")
+@Table(name = "order_details", indexes = {
+        @Index(name = "idx_order_details_order", columnList = "order_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
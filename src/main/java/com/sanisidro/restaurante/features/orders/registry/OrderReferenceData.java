@@ -0,0 +1,317 @@
+package com.sanisidro.restaurante.features.orders.registry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
+import com.sanisidro.restaurante.features.orders.dto.order.response.OrderStatusStepResponse;
+import com.sanisidro.restaurante.features.orders.model.OrderStatus;
+import com.sanisidro.restaurante.features.orders.model.OrderStatusTranslation;
+import com.sanisidro.restaurante.features.orders.model.OrderType;
+import com.sanisidro.restaurante.features.orders.model.OrderTypeStatusFlow;
+import com.sanisidro.restaurante.features.orders.model.OrderTypeTranslation;
+import com.sanisidro.restaurante.features.orders.model.PaymentMethod;
+import com.sanisidro.restaurante.features.orders.model.PaymentMethodTranslation;
+import com.sanisidro.restaurante.features.orders.repository.OrderStatusRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderStatusTranslationRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderTypeRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderTypeStatusFlowRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderTypeTranslationRepository;
+import com.sanisidro.restaurante.features.orders.repository.PaymentMethodRepository;
+import com.sanisidro.restaurante.features.orders.repository.PaymentMethodTranslationRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copia inmutable en memoria de los catálogos de órdenes: estados, tipos (con su
+ * flujo de estados) y métodos de pago, con sus traducciones. Son tablas pequeñas
+ * que casi no cambian, así que se leen una vez y se reemplazan completas cuando
+ * se publica un {@link ReferenceDataChangedEvent}.
+ */
+@Component
+@Slf4j
+public class OrderReferenceData {
+
+    private static final String DEFAULT_NAME = "Sin nombre";
+
+    private final OrderStatusRepository orderStatusRepository;
+    private final OrderStatusTranslationRepository orderStatusTranslationRepository;
+    private final OrderTypeRepository orderTypeRepository;
+    private final OrderTypeTranslationRepository orderTypeTranslationRepository;
+    private final OrderTypeStatusFlowRepository orderTypeStatusFlowRepository;
+    private final PaymentMethodRepository paymentMethodRepository;
+    private final PaymentMethodTranslationRepository paymentMethodTranslationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile Snapshot snapshot;
+
+    public OrderReferenceData(OrderStatusRepository orderStatusRepository,
+            OrderStatusTranslationRepository orderStatusTranslationRepository,
+            OrderTypeRepository orderTypeRepository,
+            OrderTypeTranslationRepository orderTypeTranslationRepository,
+            OrderTypeStatusFlowRepository orderTypeStatusFlowRepository,
+            PaymentMethodRepository paymentMethodRepository,
+            PaymentMethodTranslationRepository paymentMethodTranslationRepository,
+            PlatformTransactionManager transactionManager) {
+        this.orderStatusRepository = orderStatusRepository;
+        this.orderStatusTranslationRepository = orderStatusTranslationRepository;
+        this.orderTypeRepository = orderTypeRepository;
+        this.orderTypeTranslationRepository = orderTypeTranslationRepository;
+        this.orderTypeStatusFlowRepository = orderTypeStatusFlowRepository;
+        this.paymentMethodRepository = paymentMethodRepository;
+        this.paymentMethodTranslationRepository = paymentMethodTranslationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        log.info("Catálogos de órdenes modificados ({}), recargando", event.getSource());
+        reload();
+    }
+
+    public synchronized void reload() {
+        Snapshot loaded = readOnlyTransaction.execute(status -> load());
+        snapshot = loaded;
+        log.info("Catálogos de órdenes cargados: estados={}, tipos={}, métodos de pago={}",
+                loaded.statusesById.size(), loaded.typesById.size(), loaded.paymentMethodsById.size());
+    }
+
+    // --- Estados ---
+
+    public Optional<StatusInfo> findStatus(String code) {
+        return lookup(s -> s.statusesByCode.get(normalizeCode(code)));
+    }
+
+    public StatusInfo requireStatus(String code) {
+        return findStatus(code)
+                .orElseThrow(() -> new EntityNotFoundException("Estado de orden no encontrado: " + code));
+    }
+
+    public StatusInfo requireStatus(Long id) {
+        return lookup(s -> s.statusesById.get(id))
+                .orElseThrow(() -> new EntityNotFoundException("Estado de orden no encontrado con id: " + id));
+    }
+
+    public String statusName(Long statusId, String lang) {
+        return lookup(s -> s.statusesById.get(statusId))
+                .map(status -> status.getName(lang))
+                .orElse(DEFAULT_NAME);
+    }
+
+    // --- Tipos ---
+
+    public TypeInfo requireType(String code) {
+        return lookup(s -> s.typesByCode.get(normalizeCode(code)))
+                .orElseThrow(() -> new EntityNotFoundException("Tipo de orden no encontrado: " + code));
+    }
+
+    public TypeInfo requireType(Long id) {
+        return lookup(s -> s.typesById.get(id))
+                .orElseThrow(() -> new EntityNotFoundException("Tipo de orden no encontrado con id: " + id));
+    }
+
+    public String typeName(Long typeId, String lang) {
+        return lookup(s -> s.typesById.get(typeId))
+                .map(type -> type.getName(lang))
+                .orElse(DEFAULT_NAME);
+    }
+
+    /**
+     * Línea de tiempo del tipo de orden, ya ordenada por paso.
+     */
+    public List<OrderStatusStepResponse> timeline(Long typeId, String lang) {
+        Snapshot current = snapshot();
+        TypeInfo type = current.typesById.get(typeId);
+        if (type == null) {
+            return new ArrayList<>();
+        }
+        List<OrderStatusStepResponse> steps = new ArrayList<>(type.getSteps().size());
+        for (Step step : type.getSteps()) {
+            StatusInfo status = current.statusesById.get(step.getStatusId());
+            steps.add(OrderStatusStepResponse.builder()
+                    .code(status.getCode())
+                    .name(status.getName(lang))
+                    .step(step.getStepOrder())
+                    .build());
+        }
+        return steps;
+    }
+
+    // --- Métodos de pago ---
+
+    public PaymentMethodInfo requirePaymentMethod(Long id) {
+        return lookup(s -> s.paymentMethodsById.get(id))
+                .orElseThrow(() -> new EntityNotFoundException("Método de pago no encontrado con id: " + id));
+    }
+
+    public Optional<PaymentMethodInfo> findPaymentMethod(String code, String provider) {
+        return lookup(s -> s.paymentMethodsByKey.get(paymentKey(code, provider)));
+    }
+
+    private <T> Optional<T> lookup(Function<Snapshot, T> finder) {
+        return Optional.ofNullable(finder.apply(snapshot()));
+    }
+
+    /**
+     * La carga normal ocurre al arrancar (después de los inicializadores); si algo
+     * consulta antes, se carga en ese momento.
+     */
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        Map<Long, Map<String, String>> statusNames = new HashMap<>();
+        for (OrderStatusTranslation t : orderStatusTranslationRepository.findAll()) {
+            statusNames.computeIfAbsent(t.getOrderStatus().getId(), k -> new HashMap<>())
+                    .put(t.getLang().toLowerCase(Locale.ROOT), t.getName());
+        }
+
+        Map<Long, Map<String, String>> typeNames = new HashMap<>();
+        for (OrderTypeTranslation t : orderTypeTranslationRepository.findAll()) {
+            typeNames.computeIfAbsent(t.getOrderType().getId(), k -> new HashMap<>())
+                    .put(t.getLang().toLowerCase(Locale.ROOT), t.getName());
+        }
+
+        Map<Long, List<Step>> stepsByType = new HashMap<>();
+        for (OrderTypeStatusFlow flow : orderTypeStatusFlowRepository.findAll()) {
+            stepsByType.computeIfAbsent(flow.getOrderType().getId(), k -> new ArrayList<>())
+                    .add(new Step(flow.getOrderStatus().getId(), flow.getStepOrder()));
+        }
+
+        Map<Long, Map<String, String>> paymentNames = new HashMap<>();
+        for (PaymentMethodTranslation t : paymentMethodTranslationRepository.findAll()) {
+            paymentNames.computeIfAbsent(t.getPaymentMethod().getId(), k -> new HashMap<>())
+                    .put(t.getLang().toLowerCase(Locale.ROOT), t.getName());
+        }
+
+        Map<Long, StatusInfo> statusesById = new HashMap<>();
+        Map<String, StatusInfo> statusesByCode = new HashMap<>();
+        for (OrderStatus status : orderStatusRepository.findAll()) {
+            StatusInfo info = new StatusInfo(status.getId(), status.getCode(),
+                    Map.copyOf(statusNames.getOrDefault(status.getId(), Map.of())));
+            statusesById.put(info.getId(), info);
+            statusesByCode.put(normalizeCode(info.getCode()), info);
+        }
+
+        Map<Long, TypeInfo> typesById = new HashMap<>();
+        Map<String, TypeInfo> typesByCode = new HashMap<>();
+        for (OrderType type : orderTypeRepository.findAll()) {
+            List<Step> steps = new ArrayList<>(stepsByType.getOrDefault(type.getId(), List.of()));
+            steps.sort(Comparator.comparingInt(Step::getStepOrder));
+            TypeInfo info = new TypeInfo(type.getId(), type.getCode(),
+                    Map.copyOf(typeNames.getOrDefault(type.getId(), Map.of())), List.copyOf(steps));
+            typesById.put(info.getId(), info);
+            typesByCode.put(normalizeCode(info.getCode()), info);
+        }
+
+        Map<Long, PaymentMethodInfo> paymentMethodsById = new HashMap<>();
+        Map<String, PaymentMethodInfo> paymentMethodsByKey = new HashMap<>();
+        for (PaymentMethod method : paymentMethodRepository.findAll()) {
+            PaymentMethodInfo info = new PaymentMethodInfo(method.getId(), method.getCode(), method.getProvider(),
+                    Map.copyOf(paymentNames.getOrDefault(method.getId(), Map.of())));
+            paymentMethodsById.put(info.getId(), info);
+            paymentMethodsByKey.put(paymentKey(info.getCode(), info.getProvider()), info);
+        }
+
+        return new Snapshot(Map.copyOf(statusesById), Map.copyOf(statusesByCode),
+                Map.copyOf(typesById), Map.copyOf(typesByCode),
+                Map.copyOf(paymentMethodsById), Map.copyOf(paymentMethodsByKey));
+    }
+
+    private static String normalizeCode(String code) {
+        return code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String paymentKey(String code, String provider) {
+        return normalizeCode(code) + "|" + normalizeCode(provider);
+    }
+
+    private static String nameFor(Map<String, String> names, String lang) {
+        String name = lang != null ? names.get(lang.toLowerCase(Locale.ROOT)) : null;
+        return name != null ? name : DEFAULT_NAME;
+    }
+
+    @AllArgsConstructor
+    private static class Snapshot {
+        private final Map<Long, StatusInfo> statusesById;
+        private final Map<String, StatusInfo> statusesByCode;
+        private final Map<Long, TypeInfo> typesById;
+        private final Map<String, TypeInfo> typesByCode;
+        private final Map<Long, PaymentMethodInfo> paymentMethodsById;
+        private final Map<String, PaymentMethodInfo> paymentMethodsByKey;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StatusInfo {
+        private final Long id;
+        private final String code;
+        private final Map<String, String> names;
+
+        public String getName(String lang) {
+            return nameFor(names, lang);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TypeInfo {
+        private final Long id;
+        private final String code;
+        private final Map<String, String> names;
+        private final List<Step> steps;
+
+        public String getName(String lang) {
+            return nameFor(names, lang);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Step {
+        private final Long statusId;
+        private final int stepOrder;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class PaymentMethodInfo {
+        private final Long id;
+        private final String code;
+        private final String provider;
+        private final Map<String, String> names;
+
+        public String getName(String lang) {
+            return nameFor(names, lang);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.sanisidro.restaurante.features.orders.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.sanisidro.restaurante.features.orders.model.OrderDetail;
 
@@ -17,5 +19,22 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, Long>
             """)
     List<Object[]> findTopSellingProducts();
 
+    /**
+     * [order_id, fecha, product_id, nombre, cantidad, ingresos] de las órdenes no
+     * canceladas desde {@code from}, ordenado por orden.
+     */
+    @Query(nativeQuery = true, value = """
+                SELECT o.order_id, o.date, d.product_id, p.name, SUM(d.quantity), SUM(d.quantity * d.unit_price)
+                FROM orders o
+                JOIN order_statuses s ON s.order_status_id = o.order_status_id
+                JOIN order_details d ON d.order_id = o.order_id
+                JOIN products p ON p.product_id = d.product_id
+                WHERE o.date >= :from
+                  AND s.code <> 'CANCELLED'
+                GROUP BY o.order_id, o.date, d.product_id, p.name
+                ORDER BY o.order_id
+            """)
+    List<Object[]> findProductSalesByOrderSince(@Param("from") LocalDateTime from);
+
     boolean existsByProduct_IdAndOrder_Customer_User_Username(Long productId, String username);
 }
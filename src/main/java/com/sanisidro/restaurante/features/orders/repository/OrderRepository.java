@@ -2,16 +2,18 @@ package com.sanisidro.restaurante.features.orders.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.sanisidro.restaurante.features.customers.model.Customer;
 import com.sanisidro.restaurante.features.orders.model.Order;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSummaryQueries {
         List<Order> findByCustomer(Customer customer);
 
         @Query("SELECT COUNT(o) FROM CustomerOrder o WHERE o.date BETWEEN :startOfDay AND :endOfDay")
@@ -26,6 +28,23 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                         @Param("startOfDay") LocalDateTime startOfDay,
                         @Param("endOfDay") LocalDateTime endOfDay);
 
+        /**
+         * Cantidad de órdenes y ventas por bucket de {@code date_trunc(:unit, date)} en
+         * una sola consulta. Solo devuelve los buckets con órdenes: [bucket, cantidad,
+         * total].
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT date_trunc(:unit, o.date) AS bucket, COUNT(*), COALESCE(SUM(o.total), 0)
+                        FROM orders o
+                        WHERE o.date >= :from AND o.date < :to
+                        GROUP BY bucket
+                        ORDER BY bucket
+                        """)
+        List<Object[]> aggregateByBucket(
+                        @Param("unit") String unit,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
         @Query("""
                             SELECT COALESCE(SUM(o.total), 0)
                             FROM CustomerOrder o
@@ -33,19 +52,80 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                         """)
         BigDecimal sumTotalByStatusCodes(@Param("validStatuses") List<String> validStatuses);
 
+        /**
+         * [order_type_id, cantidad, total]. El nombre traducido lo resuelve
+         * {@code OrderReferenceData}.
+         */
         @Query("""
-                            SELECT tr.name, COUNT(o), COALESCE(SUM(o.total), 0)
+                            SELECT o.type.id, COUNT(o), COALESCE(SUM(o.total), 0)
                             FROM CustomerOrder o
-                            JOIN o.type ot
-                            JOIN ot.translations tr
-                            WHERE tr.lang = :lang
-                            GROUP BY tr.name
+                            GROUP BY o.type.id
                         """)
-        List<Object[]> findOrderTypeStatistics(@Param("lang") String lang);
+        List<Object[]> findOrderTypeStatistics();
 
         boolean existsByIdAndCustomer_Id(Long id, Long customerId);
 
-        List<Order> findByType_Code(String typeCode);
+        @Query("""
+                            SELECT DISTINCT o FROM CustomerOrder o
+                            JOIN FETCH o.customer c
+                            JOIN FETCH c.user
+                            LEFT JOIN FETCH o.details d
+                            LEFT JOIN FETCH d.product
+                            WHERE o.date >= :from AND o.date < :to
+                            ORDER BY o.id
+                        """)
+        List<Order> findAllForInvoicesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+        /**
+         * Líneas de las comandas activas para la pantalla de cocina:
+         * [order_id, fecha, tipo, estado, mesa, producto, cantidad].
+         */
+        @Query("""
+                            SELECT o.id, o.date, t.code, s.code, tb.code, p.name, d.quantity
+                            FROM OrderDetail d
+                            JOIN d.order o
+                            JOIN d.product p
+                            JOIN o.status s
+                            JOIN o.type t
+                            LEFT JOIN o.table tb
+                            WHERE s.code IN :statusCodes
+                              AND (:typeCode IS NULL OR t.code = :typeCode)
+                              AND o.date >= :from
+                            ORDER BY o.date, o.id, d.id
+                        """)
+        List<Object[]> findKitchenTicketLines(@Param("statusCodes") Collection<String> statusCodes,
+                        @Param("typeCode") String typeCode,
+                        @Param("from") LocalDateTime from);
+
+        /**
+         * [order_id, user_id del repartidor, código de estado] (vacío si la orden no
+         * existe).
+         */
+        @Query("""
+                            SELECT o.id, u.id, s.code FROM CustomerOrder o
+                            JOIN o.status s
+                            LEFT JOIN o.employee e
+                            LEFT JOIN e.user u
+                            WHERE o.id = :orderId
+                        """)
+        List<Object[]> findDriverUserId(@Param("orderId") Long orderId);
+
+        /**
+         * Actualiza en una sola sentencia la posición actual de varias órdenes.
+         */
+        @Modifying
+        @Query(nativeQuery = true, value = """
+                            UPDATE orders o
+                            SET current_latitude = d.lat,
+                                current_longitude = d.lng
+                            FROM unnest(CAST(:orderIds AS bigint[]),
+                                        CAST(:latitudes AS float8[]),
+                                        CAST(:longitudes AS float8[])) AS d(order_id, lat, lng)
+                            WHERE o.order_id = d.order_id
+                        """)
+        int updateCurrentLocations(@Param("orderIds") Long[] orderIds,
+                        @Param("latitudes") Double[] latitudes,
+                        @Param("longitudes") Double[] longitudes);
 
         List<Order> findByType_CodeIn(List<String> typeCodes);
 
@@ -54,4 +134,37 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                         @Param("statuses") List<String> statuses,
                         @Param("typeCode") String typeCode);
 
+        /**
+         * [table_id, order_id] de las órdenes del tipo en esos estados que tienen mesa,
+         * sin cargar las órdenes.
+         */
+        @Query("""
+                            SELECT o.table.id, o.id FROM CustomerOrder o
+                            JOIN o.status s
+                            JOIN o.type t
+                            WHERE s.code IN :statuses AND t.code = :typeCode AND o.table IS NOT NULL
+                            ORDER BY o.id
+                        """)
+        List<Object[]> findActiveOrderIdsByTable(
+                        @Param("statuses") List<String> statuses,
+                        @Param("typeCode") String typeCode);
+
+        /**
+         * [table_id, date] de las órdenes del tipo en esos estados que tienen mesa y
+         * se abrieron en [from, to).
+         */
+        @Query("""
+                            SELECT o.table.id, o.date FROM CustomerOrder o
+                            JOIN o.status s
+                            JOIN o.type t
+                            WHERE s.code IN :statuses AND t.code = :typeCode AND o.table IS NOT NULL
+                              AND o.date >= :from AND o.date < :to
+                            ORDER BY o.id
+                        """)
+        List<Object[]> findActiveTableOrdersBetween(
+                        @Param("statuses") List<String> statuses,
+                        @Param("typeCode") String typeCode,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
 }
@@ -0,0 +1,21 @@
+package com.sanisidro.restaurante.features.orders.repository;
+
+import java.util.List;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.OrderCursor;
+import com.sanisidro.restaurante.features.orders.dto.order.request.OrderFilter;
+import com.sanisidro.restaurante.features.orders.dto.order.response.OrderSummaryResponse;
+
+/**
+ * Consultas del listado de órdenes que se arman según los filtros recibidos.
+ */
+public interface OrderSummaryQueries {
+
+    /**
+     * Listado paginado por keyset: devuelve hasta {@code limit} órdenes anteriores
+     * al cursor (fecha, id) en orden descendente, ya proyectadas, en una sola
+     * consulta. Los filtros nulos no entran en la consulta; los códigos se
+     * comparan tal cual llegan.
+     */
+    List<OrderSummaryResponse> findSummaries(String lang, OrderFilter filter, OrderCursor after, int limit);
+}
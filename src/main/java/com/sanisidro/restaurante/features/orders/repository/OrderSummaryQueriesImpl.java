@@ -0,0 +1,88 @@
+package com.sanisidro.restaurante.features.orders.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.OrderCursor;
+import com.sanisidro.restaurante.features.orders.dto.order.request.OrderFilter;
+import com.sanisidro.restaurante.features.orders.dto.order.response.OrderSummaryResponse;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Arma el listado solo con los filtros presentes, para que cada combinación use su
+ * índice compuesto (cliente, estado o tipo seguidos de fecha e id) en lugar de un
+ * plan genérico con {@code :x IS NULL OR ...}. El cursor es una comparación de
+ * filas {@code (date, id) < (:d, :id)}, que recorre esos índices por rango.
+ */
+class OrderSummaryQueriesImpl implements OrderSummaryQueries {
+
+    private static final String SELECT = """
+            SELECT new com.sanisidro.restaurante.features.orders.dto.order.response.OrderSummaryResponse(
+                o.id, o.date,
+                s.code, COALESCE(st.name, 'Sin nombre'),
+                t.code, COALESCE(tt.name, 'Sin nombre'),
+                c.id, CONCAT(cu.firstName, ' ', cu.lastName),
+                e.id, CONCAT(eu.firstName, ' ', eu.lastName),
+                tb.id, tb.code,
+                o.total,
+                (SELECT COALESCE(SUM(d.quantity), 0L) FROM OrderDetail d WHERE d.order = o))
+            FROM CustomerOrder o
+            JOIN o.status s
+            JOIN o.type t
+            JOIN o.customer c
+            JOIN c.user cu
+            LEFT JOIN o.employee e
+            LEFT JOIN e.user eu
+            LEFT JOIN o.table tb
+            LEFT JOIN OrderStatusTranslation st ON st.orderStatus = s AND st.lang = :lang
+            LEFT JOIN OrderTypeTranslation tt ON tt.orderType = t AND tt.lang = :lang
+            """;
+
+    private static final String ORDER_BY = " ORDER BY o.date DESC, o.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderSummaryResponse> findSummaries(String lang, OrderFilter filter, OrderCursor after, int limit) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("lang", lang);
+        String jpql = SELECT + where(filter, after, parameters) + ORDER_BY;
+
+        TypedQuery<OrderSummaryResponse> query = entityManager.createQuery(jpql, OrderSummaryResponse.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Condiciones de los filtros presentes y del cursor, con sus parámetros.
+     */
+    static String where(OrderFilter filter, OrderCursor after, Map<String, Object> parameters) {
+        StringBuilder where = new StringBuilder();
+        condition(where, parameters, "s.code = :statusCode", "statusCode", filter.getStatusCode());
+        condition(where, parameters, "t.code = :typeCode", "typeCode", filter.getTypeCode());
+        condition(where, parameters, "o.customer.id = :customerId", "customerId", filter.getCustomerId());
+        condition(where, parameters, "o.employee.id = :employeeId", "employeeId", filter.getEmployeeId());
+        condition(where, parameters, "o.table.id = :tableId", "tableId", filter.getTableId());
+        condition(where, parameters, "o.date >= :from", "from", filter.getFrom());
+        condition(where, parameters, "o.date < :to", "to", filter.getTo());
+        if (after != null) {
+            condition(where, parameters, "(o.date, o.id) < (:cursorDate, :cursorId)", "cursorDate", after.getDate());
+            parameters.put("cursorId", after.getId());
+        }
+        return where.toString();
+    }
+
+    private static void condition(StringBuilder where, Map<String, Object> parameters, String predicate,
+            String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        where.append(where.isEmpty() ? " WHERE " : " AND ").append(predicate);
+        parameters.put(name, value);
+    }
+}
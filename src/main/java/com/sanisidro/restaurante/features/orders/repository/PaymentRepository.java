@@ -14,11 +14,10 @@ public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpec
 
     List<Payment> findAllByOrder_EmployeeAndOrder_DateAfter(Employee employee, LocalDateTime startTime);
 
-    // Cambia 'p.paymentMethod.name' por 'p.paymentMethod.code'
-    // (o cual sea el nombre del campo en tu entidad PaymentMethod.java)
-    @Query("SELECT p.paymentMethod.code, COUNT(p), SUM(p.amount) " +
+    // [payment_method_id, cantidad, monto]; el código lo resuelve OrderReferenceData
+    @Query("SELECT p.paymentMethod.id, COUNT(p), SUM(p.amount) " +
             "FROM Payment p " +
             "WHERE p.status = 'CONFIRMED' " +
-            "GROUP BY p.paymentMethod.code")
+            "GROUP BY p.paymentMethod.id")
     List<Object[]> findPaymentSummaryByMethod();
 }
@@ -0,0 +1,98 @@
+package com.sanisidro.restaurante.features.orders.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.ResolvedCart;
+import com.sanisidro.restaurante.features.orders.dto.helpers.ResolvedCart.RecipeLine;
+import com.sanisidro.restaurante.features.orders.dto.orderdetail.request.OrderDetailInOrderRequest;
+import com.sanisidro.restaurante.features.products.model.ComboProductItem;
+import com.sanisidro.restaurante.features.products.model.Product;
+import com.sanisidro.restaurante.features.products.model.ProductIngredient;
+import com.sanisidro.restaurante.features.products.repository.ComboProductItemRepository;
+import com.sanisidro.restaurante.features.products.repository.ProductRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resuelve en un número fijo de consultas todo lo que una orden necesita del
+ * catálogo: productos, recetas e ítems de combo. Como máximo ejecuta dos consultas,
+ * sin importar cuántas líneas tenga la orden. El stock no se lee aquí: lo valida
+ * {@code StockMutationService} dentro del UPDATE condicional.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CartResolutionService {
+
+        private final ProductRepository productRepository;
+        private final ComboProductItemRepository comboProductItemRepository;
+
+        public ResolvedCart resolve(List<OrderDetailInOrderRequest> details) {
+                return resolve(details.stream()
+                                .map(OrderDetailInOrderRequest::getProductId)
+                                .toList());
+        }
+
+        public ResolvedCart resolve(Collection<Long> productIds) {
+                Set<Long> ids = productIds.stream()
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+                if (ids.isEmpty()) {
+                        return new ResolvedCart(Map.of(), Map.of());
+                }
+
+                Map<Long, Product> products = productRepository.findAllWithRecipeByIdIn(ids).stream()
+                                .collect(Collectors.toMap(Product::getId, p -> p));
+
+                for (Long id : ids) {
+                        if (!products.containsKey(id)) {
+                                throw new EntityNotFoundException("Producto no encontrado con id: " + id);
+                        }
+                }
+
+                List<Long> comboIds = products.values().stream()
+                                .filter(Product::isCombo)
+                                .map(Product::getId)
+                                .toList();
+
+                Map<Long, List<ComboProductItem>> itemsByCombo = comboIds.isEmpty()
+                                ? Map.of()
+                                : comboProductItemRepository.findAllWithRecipeByComboProductIdIn(comboIds).stream()
+                                                .collect(Collectors.groupingBy(ci -> ci.getComboProduct().getId()));
+
+                Map<Long, List<RecipeLine>> recipes = new HashMap<>();
+                for (Product product : products.values()) {
+                        List<RecipeLine> lines = new ArrayList<>();
+                        addRecipe(lines, product, BigDecimal.ONE);
+                        for (ComboProductItem item : itemsByCombo.getOrDefault(product.getId(), List.of())) {
+                                addRecipe(lines, item.getSimpleProduct(), BigDecimal.valueOf(item.getQuantity()));
+                        }
+                        recipes.put(product.getId(), lines);
+                }
+
+                log.debug("Carrito resuelto -> productos={}, combos={}", products.size(), comboIds.size());
+
+                return new ResolvedCart(products, recipes);
+        }
+
+        private void addRecipe(List<RecipeLine> lines, Product product, BigDecimal multiplier) {
+                for (ProductIngredient pi : product.getIngredients()) {
+                        BigDecimal perUnit = BigDecimal.valueOf(pi.getQuantity()).multiply(multiplier);
+                        lines.add(new RecipeLine(pi.getIngredient(), perUnit));
+                }
+        }
+}
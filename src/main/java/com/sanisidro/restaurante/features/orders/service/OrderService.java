@@ -8,62 +8,72 @@ import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.sanisidro.restaurante.core.config.TaxConfig;
+import com.sanisidro.restaurante.core.dto.response.CursorPage;
 import com.sanisidro.restaurante.core.security.model.User;
 import com.sanisidro.restaurante.core.security.repository.UserRepository;
 import com.sanisidro.restaurante.features.customers.model.Customer;
 import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
 import com.sanisidro.restaurante.features.employees.model.Employee;
 import com.sanisidro.restaurante.features.employees.repository.EmployeeRepository;
-import com.sanisidro.restaurante.features.invoices.service.InvoiceGenerator;
+import com.sanisidro.restaurante.features.invoices.service.InvoiceService;
 import com.sanisidro.restaurante.features.notifications.dto.OrderNotificationEvent;
 import com.sanisidro.restaurante.features.notifications.dto.StockLowNotificationEvent;
 import com.sanisidro.restaurante.features.notifications.kafka.NotificationProducer;
 import com.sanisidro.restaurante.features.notifications.templates.EmailTemplateBuilder;
+import com.sanisidro.restaurante.features.orders.distance.DistanceService;
+import com.sanisidro.restaurante.features.orders.dto.helpers.DistanceDurationResult;
+import com.sanisidro.restaurante.features.orders.dto.helpers.OrderCursor;
+import com.sanisidro.restaurante.features.orders.dto.helpers.OrderPlacedEvent;
+import com.sanisidro.restaurante.features.orders.dto.helpers.ResolvedCart;
 import com.sanisidro.restaurante.features.orders.dto.order.request.AssignDriverRequest;
 import com.sanisidro.restaurante.features.orders.dto.order.request.DeliveryAddressRequest;
+import com.sanisidro.restaurante.features.orders.dto.order.request.OrderFilter;
 import com.sanisidro.restaurante.features.orders.dto.order.request.OrderRequest;
-import com.sanisidro.restaurante.features.orders.dto.order.request.UpdateLocationRequest;
 import com.sanisidro.restaurante.features.orders.dto.order.request.UpdateStatusRequest;
 import com.sanisidro.restaurante.features.orders.dto.order.response.OrderCreatedEvent;
 import com.sanisidro.restaurante.features.orders.dto.order.response.OrderResponse;
-import com.sanisidro.restaurante.features.orders.dto.order.response.OrderStatusStepResponse;
+import com.sanisidro.restaurante.features.orders.dto.order.response.OrderSummaryResponse;
 import com.sanisidro.restaurante.features.orders.dto.orderdetail.request.OrderDetailInOrderRequest;
 import com.sanisidro.restaurante.features.orders.dto.orderdetail.response.OrderDetailInOrderResponse;
 import com.sanisidro.restaurante.features.orders.dto.payment.request.PaymentInOrderRequest;
 import com.sanisidro.restaurante.features.orders.model.Order;
 import com.sanisidro.restaurante.features.orders.model.OrderDetail;
 import com.sanisidro.restaurante.features.orders.model.OrderStatus;
-import com.sanisidro.restaurante.features.orders.model.OrderStatusTranslation;
 import com.sanisidro.restaurante.features.orders.model.OrderType;
-import com.sanisidro.restaurante.features.orders.model.OrderTypeTranslation;
+import com.sanisidro.restaurante.features.orders.kitchen.KitchenFeedService;
 import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
 import com.sanisidro.restaurante.features.orders.repository.OrderStatusRepository;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData.StatusInfo;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData.TypeInfo;
 import com.sanisidro.restaurante.features.orders.repository.OrderTypeRepository;
+import com.sanisidro.restaurante.features.orders.tracking.DeliveryTrackingService;
 import com.sanisidro.restaurante.features.products.enums.MovementSource;
-import com.sanisidro.restaurante.features.products.enums.MovementType;
-import com.sanisidro.restaurante.features.products.exceptions.InventoryNotFoundException;
-import com.sanisidro.restaurante.features.products.model.Ingredient;
-import com.sanisidro.restaurante.features.products.model.Inventory;
-import com.sanisidro.restaurante.features.products.model.InventoryMovement;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
 import com.sanisidro.restaurante.features.products.model.Product;
-import com.sanisidro.restaurante.features.products.model.ProductIngredient;
-import com.sanisidro.restaurante.features.products.repository.InventoryMovementRepository;
-import com.sanisidro.restaurante.features.products.repository.InventoryRepository;
-import com.sanisidro.restaurante.features.products.repository.ProductRepository;
+import com.sanisidro.restaurante.features.products.service.StockMutationService;
+import com.sanisidro.restaurante.features.products.service.StockMutationService.StockLevel;
 import com.sanisidro.restaurante.features.reports.dto.response.OrderTypeReportResponse;
+import com.sanisidro.restaurante.features.reports.service.SalesRollupService;
+import com.sanisidro.restaurante.features.reports.service.TopProductsService;
 import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
 import com.sanisidro.restaurante.features.restaurant.model.Store;
 import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
 import com.sanisidro.restaurante.features.restaurant.repository.StoreRepository;
 import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
 
@@ -82,32 +92,33 @@ public class OrderService {
         private final EmployeeRepository employeeRepository;
         private final OrderStatusRepository statusRepository;
         private final OrderTypeRepository typeRepository;
-        private final ProductRepository productRepository;
-        private final InventoryRepository inventoryRepository;
-        private final InventoryMovementRepository inventoryMovementRepository;
         private final DocumentService documentService;
         private final PaymentService paymentService;
         private final NotificationProducer notificationProducer;
         private final UserRepository userRepository;
         private final TableRepository tableRepository;
         private final StoreRepository storeRepository;
-        private final DistanceMatrixService distanceMatrixService;
-        private final InvoiceGenerator invoiceGenerator;
+        private final DistanceService distanceService;
+        private final CartResolutionService cartResolutionService;
+        private final StockMutationService stockMutationService;
+        private final InvoiceService invoiceService;
+        private final ApplicationEventPublisher eventPublisher;
+        private final OrderReferenceData referenceData;
+        private final DeliveryTrackingService deliveryTrackingService;
+        private final KitchenFeedService kitchenFeedService;
+        private final TableOccupancyIndex occupancyIndex;
+        private final SalesRollupService salesRollupService;
+        private final TopProductsService topProductsService;
+
+        private static final int DEFAULT_PAGE_SIZE = 20;
+        private static final int MAX_PAGE_SIZE = 100;
 
-        public List<OrderResponse> getAll(String lang, String typeCode) {
-                List<Order> orders;
-
-                if (typeCode != null && !typeCode.isBlank()) {
-                        log.info("Buscando órdenes filtradas por tipo: {}", typeCode);
-                        orders = orderRepository.findByType_Code(typeCode);
-                } else {
-                        log.info("Buscando todas las órdenes");
-                        orders = orderRepository.findAll();
-                }
-
-                return orders.stream()
-                                .map(order -> mapToResponse(order, lang))
-                                .toList();
+        /**
+         * Listado de órdenes para el personal, paginado por cursor y resuelto en una
+         * sola consulta de proyección.
+         */
+        public CursorPage<OrderSummaryResponse> getAll(OrderFilter filter, String cursor, Integer size, String lang) {
+                return findPage(filter, cursor, size, lang);
         }
 
         public OrderResponse getById(Long id, String lang) {
@@ -120,58 +131,60 @@ public class OrderService {
                 Order order = orderRepository.findById(id)
                                 .orElseThrow(() -> new EntityNotFoundException("Orden no encontrada con id: " + id));
 
-                if (order.getType() != null &&
-                                "DELIVERY".equalsIgnoreCase(order.getType().getCode()) &&
-                                order.getDeliveryLatitude() != null && order.getDeliveryLongitude() != null) {
-
-                        try {
-                                Store mainStore = storeRepository.findAll().stream()
-                                                .findFirst()
-                                                .orElseThrow(() -> new IllegalStateException(
-                                                                "No hay tiendas configuradas."));
-
-                                double originLat = mainStore.getLatitude();
-                                double originLng = mainStore.getLongitude();
-                                double destLat = order.getDeliveryLatitude();
-                                double destLng = order.getDeliveryLongitude();
-
-                                // Consultar servicio DistanceMatrix (por ejemplo, Google API)
-                                Map<String, Object> distanceResponse = distanceMatrixService
-                                                .getDistanceAndDuration(originLat, originLng, destLat, destLng);
-
-                                var rows = (List<?>) distanceResponse.get("rows");
-                                if (rows != null && !rows.isEmpty()) {
-                                        var elements = (List<?>) ((Map<?, ?>) rows.get(0)).get("elements");
-                                        if (elements != null && !elements.isEmpty()) {
-                                                Map<?, ?> element = (Map<?, ?>) elements.get(0);
-                                                Map<?, ?> distance = (Map<?, ?>) element.get("distance");
-                                                Map<?, ?> duration = (Map<?, ?>) element.get("duration");
-
-                                                if (distance != null && duration != null) {
-                                                        order.setEstimatedDistance(distance.get("text").toString());
-                                                        order.setEstimatedDuration(duration.get("text").toString());
-                                                }
-                                        }
-                                }
-                        } catch (Exception e) {
-                                log.error("Error recalculando distancia o duración estimada para tracking: {}",
-                                                e.getMessage());
-                        }
-                }
-
-                orderRepository.save(order);
-
-                return mapToResponse(order, lang);
+                // El ETA se calcula al crear la orden; el seguimiento solo lo lee.
+                OrderResponse response = mapToResponse(order, lang);
+                deliveryTrackingService.getLivePosition(id).ifPresent(position -> {
+                        response.setCurrentLatitude(position.getLatitude());
+                        response.setCurrentLongitude(position.getLongitude());
+                });
+                return response;
         }
 
-        public List<OrderResponse> getOrdersForCurrentUser(User user, String lang) {
+        public CursorPage<OrderSummaryResponse> getOrdersForCurrentUser(User user, String cursor, Integer size,
+                        String lang) {
                 Customer customer = customerRepository.findByUserId(user.getId())
                                 .orElseThrow(() -> new EntityNotFoundException(
                                                 "Cliente no encontrado para el usuario autenticado"));
 
-                return orderRepository.findByCustomer(customer).stream()
-                                .map(order -> mapToResponse(order, lang))
-                                .toList();
+                OrderFilter filter = OrderFilter.builder().customerId(customer.getId()).build();
+                return findPage(filter, cursor, size, lang);
+        }
+
+        private CursorPage<OrderSummaryResponse> findPage(OrderFilter filter, String cursor, Integer size,
+                        String lang) {
+                int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+                OrderCursor after = OrderCursor.decode(cursor);
+
+                OrderFilter normalized = OrderFilter.builder()
+                                .statusCode(normalizeCode(filter.getStatusCode()))
+                                .typeCode(normalizeCode(filter.getTypeCode()))
+                                .customerId(filter.getCustomerId())
+                                .employeeId(filter.getEmployeeId())
+                                .tableId(filter.getTableId())
+                                .from(filter.getFrom())
+                                .to(filter.getTo())
+                                .build();
+                List<OrderSummaryResponse> rows = orderRepository.findSummaries(normalizeLang(lang), normalized, after,
+                                pageSize + 1);
+
+                boolean hasNext = rows.size() > pageSize;
+                List<OrderSummaryResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+                String nextCursor = null;
+                if (hasNext) {
+                        OrderSummaryResponse last = content.get(content.size() - 1);
+                        nextCursor = new OrderCursor(last.getDate(), last.getId()).encode();
+                }
+
+                return CursorPage.<OrderSummaryResponse>builder()
+                                .content(content)
+                                .size(content.size())
+                                .nextCursor(nextCursor)
+                                .hasNext(hasNext)
+                                .build();
+        }
+
+        private String normalizeCode(String value) {
+                return value == null || value.isBlank() ? null : value.trim().toUpperCase();
         }
 
         @Transactional
@@ -182,13 +195,14 @@ public class OrderService {
 
                 Order order = buildOrderBase(request, customer);
 
+                ResolvedCart cart = cartResolutionService.resolve(request.getDetails());
+                Map<Long, BigDecimal> ingredientDemand = new LinkedHashMap<>();
+
                 BigDecimal total = BigDecimal.ZERO;
                 Set<OrderDetail> details = new LinkedHashSet<>();
 
                 for (OrderDetailInOrderRequest d : request.getDetails()) {
-                        Product product = productRepository.findById(d.getProductId())
-                                        .orElseThrow(() -> new EntityNotFoundException(
-                                                        "Producto no encontrado con id: " + d.getProductId()));
+                        Product product = cart.getProduct(d.getProductId());
 
                         BigDecimal basePrice = product.getPrice();
                         if (basePrice == null) {
@@ -222,7 +236,7 @@ public class OrderService {
                                         .unitPrice(priceWithTax)
                                         .build();
 
-                        applyInventoryMovement(product, d.getQuantity(), false, order.getId(), "Creación de orden");
+                        addIngredientDemand(ingredientDemand, cart, product.getId(), d.getQuantity());
 
                         details.add(detail);
                         total = total.add(lineTotal);
@@ -232,74 +246,33 @@ public class OrderService {
                 order.setTotal(total);
 
                 if (order.getType() != null &&
-                                "DELIVERY".equalsIgnoreCase(order.getType().getCode()) &&
+                                "DELIVERY".equalsIgnoreCase(typeCode(order)) &&
                                 order.getDeliveryLatitude() != null &&
                                 order.getDeliveryLongitude() != null) {
 
                         try {
-                                Store mainStore = storeRepository.findAll().stream()
-                                                .findFirst()
-                                                .orElseThrow(() -> new IllegalStateException(
-                                                                "No hay tiendas configuradas."));
-
-                                double originLat = mainStore.getLatitude();
-                                double originLng = mainStore.getLongitude();
-                                double destLat = order.getDeliveryLatitude();
-                                double destLng = order.getDeliveryLongitude();
-
-                                Map<String, Object> distanceResponse = distanceMatrixService.getDistanceAndDuration(
-                                                originLat, originLng, destLat, destLng);
-
-                                var rows = (List<?>) distanceResponse.get("rows");
-                                if (rows != null && !rows.isEmpty()) {
-                                        var elements = (List<?>) ((Map<?, ?>) rows.get(0)).get("elements");
-                                        if (elements != null && !elements.isEmpty()) {
-                                                Map<?, ?> element = (Map<?, ?>) elements.get(0);
-                                                Map<?, ?> distance = (Map<?, ?>) element.get("distance");
-                                                Map<?, ?> duration = (Map<?, ?>) element.get("duration");
-
-                                                if (distance != null && duration != null) {
-                                                        String distanceText = distance.get("text").toString();
-                                                        String durationText = duration.get("text").toString();
-
-                                                        log.info("Distancia calculada: {}, Duración estimada: {}",
-                                                                        distanceText, durationText);
-
-                                                        order.setEstimatedDistance(distanceText);
-                                                        order.setEstimatedDuration(durationText);
-
-                                                        int estimatedTimeMinutes = parseDurationToMinutes(durationText);
-
-                                                        int totalPrepTime = request.getDetails().stream()
-                                                                        .mapToInt(d -> {
-                                                                                Product p = productRepository.findById(
-                                                                                                d.getProductId())
-                                                                                                .orElse(null);
-                                                                                return p != null && p
-                                                                                                .getPreparationTimeMinutes() != null
-                                                                                                                ? p.getPreparationTimeMinutes()
-                                                                                                                : 0;
-                                                                        })
-                                                                        .sum();
-
-                                                        int totalItems = request.getDetails().stream()
-                                                                        .mapToInt(d -> d.getQuantity() != null
-                                                                                        ? d.getQuantity()
-                                                                                        : 0)
-                                                                        .sum();
-
-                                                        int baseDelay = 10;
-                                                        int itemDelay = totalItems * 2;
-                                                        int trafficDelay = Math.max(5,
-                                                                        (int) Math.round(estimatedTimeMinutes * 0.3));
-
-                                                        int estimatedTotalTime = totalPrepTime + estimatedTimeMinutes
-                                                                        + baseDelay + itemDelay + trafficDelay;
-
-                                                        order.setEstimatedTime(estimatedTotalTime);
-                                                }
-                                        }
-                                }
+                                DistanceDurationResult route = distanceService.estimateFromStore(
+                                                order.getDeliveryLatitude(), order.getDeliveryLongitude());
+                                applyRoute(order, route);
+
+                                int estimatedTimeMinutes = (int) Math.round(route.getDurationMinutes());
+
+                                int totalPrepTime = request.getDetails().stream()
+                                                .mapToInt(d -> cart.getPreparationTimeMinutes(d.getProductId()))
+                                                .sum();
+
+                                int totalItems = request.getDetails().stream()
+                                                .mapToInt(d -> d.getQuantity() != null ? d.getQuantity() : 0)
+                                                .sum();
+
+                                int baseDelay = 10;
+                                int itemDelay = totalItems * 2;
+                                int trafficDelay = Math.max(5, (int) Math.round(estimatedTimeMinutes * 0.3));
+
+                                int estimatedTotalTime = totalPrepTime + estimatedTimeMinutes
+                                                + baseDelay + itemDelay + trafficDelay;
+
+                                order.setEstimatedTime(estimatedTotalTime);
                         } catch (Exception e) {
                                 log.error("Error al calcular distancia o duración estimada: {}", e.getMessage());
                                 order.setEstimatedTime(30);
@@ -308,6 +281,9 @@ public class OrderService {
 
                 savePaymentsAndDocuments(order, request);
                 Order savedOrder = orderRepository.save(order);
+                consumeStock(ingredientDemand, savedOrder.getId(), "Creación de orden");
+                salesRollupService.markChanged(savedOrder.getDate());
+                topProductsService.orderChanged(savedOrder);
                 publishOrderCreatedEvent(savedOrder);
 
                 return mapToResponse(savedOrder, lang);
@@ -330,13 +306,14 @@ public class OrderService {
 
                 Order order = buildOrderBase(request, customer);
 
+                ResolvedCart cart = cartResolutionService.resolve(request.getDetails());
+                Map<Long, BigDecimal> ingredientDemand = new LinkedHashMap<>();
+
                 BigDecimal total = BigDecimal.ZERO;
                 Set<OrderDetail> details = new LinkedHashSet<>();
 
                 for (OrderDetailInOrderRequest d : request.getDetails()) {
-                        Product product = productRepository.findById(d.getProductId())
-                                        .orElseThrow(() -> new EntityNotFoundException(
-                                                        "Producto no encontrado con id: " + d.getProductId()));
+                        Product product = cart.getProduct(d.getProductId());
 
                         BigDecimal basePrice = product.getPrice();
                         if (basePrice == null) {
@@ -370,7 +347,7 @@ public class OrderService {
                                         .unitPrice(priceWithTax)
                                         .build();
 
-                        applyInventoryMovement(product, d.getQuantity(), false, order.getId(), "Creación de orden");
+                        addIngredientDemand(ingredientDemand, cart, product.getId(), d.getQuantity());
 
                         details.add(detail);
                         total = total.add(lineTotal);
@@ -384,6 +361,9 @@ public class OrderService {
                 savePaymentsAndDocuments(savedOrder, request);
 
                 Order finalSavedOrder = orderRepository.save(savedOrder);
+                consumeStock(ingredientDemand, finalSavedOrder.getId(), "Creación de orden");
+                salesRollupService.markChanged(finalSavedOrder.getDate());
+                topProductsService.orderChanged(finalSavedOrder);
 
                 publishOrderCreatedEvent(finalSavedOrder);
                 return mapToResponse(finalSavedOrder, lang);
@@ -401,6 +381,7 @@ public class OrderService {
                                 .orElseThrow(() -> new EntityNotFoundException(
                                                 "Empleado no encontrado con id: " + request.getEmployeeId()))
                                 : null);
+                deliveryTrackingService.evictDriver(id);
 
                 if (request.getDeliveryAddress() != null) {
                         DeliveryAddressRequest addrDto = request.getDeliveryAddress();
@@ -414,24 +395,30 @@ public class OrderService {
                         order.setDeliveryLongitude(addrDto.getLongitude());
                 }
 
-                order.setStatus(statusRepository.findById(request.getStatusId())
-                                .orElseThrow(() -> new EntityNotFoundException(
-                                                "Estado de orden no encontrado con id: " + request.getStatusId())));
-                order.setType(typeRepository.findById(request.getTypeId())
-                                .orElseThrow(() -> new EntityNotFoundException(
-                                                "Tipo de orden no encontrado con id: " + request.getTypeId())));
-                order.setDate(LocalDateTime.now());
+                order.setStatus(statusReference(referenceData.requireStatus(request.getStatusId())));
+                order.setType(typeReference(referenceData.requireType(request.getTypeId())));
+                // El día anterior también pierde la orden
+                LocalDateTime now = TimeBuckets.now();
+                salesRollupService.markChanged(order.getDate(), now);
+                order.setDate(now);
+
+                Set<Long> productIds = new LinkedHashSet<>();
+                order.getDetails().forEach(detail -> productIds.add(detail.getProduct().getId()));
+                request.getDetails().forEach(d -> productIds.add(d.getProductId()));
+                ResolvedCart cart = cartResolutionService.resolve(productIds);
 
-                order.getDetails().forEach(detail -> applyInventoryMovement(detail.getProduct(), detail.getQuantity(),
-                                true, order.getId(), "Actualización de orden"));
+                Map<Long, BigDecimal> previousDemand = new LinkedHashMap<>();
+                order.getDetails().forEach(detail -> addIngredientDemand(previousDemand, cart,
+                                detail.getProduct().getId(), detail.getQuantity()));
+                restoreStock(previousDemand, order.getId(), "Actualización de orden");
+
+                Map<Long, BigDecimal> ingredientDemand = new LinkedHashMap<>();
 
                 Set<OrderDetail> updatedDetails = new LinkedHashSet<>();
                 BigDecimal total = BigDecimal.ZERO;
 
                 for (OrderDetailInOrderRequest d : request.getDetails()) {
-                        Product product = productRepository.findById(d.getProductId())
-                                        .orElseThrow(() -> new EntityNotFoundException(
-                                                        "Producto no encontrado con id: " + d.getProductId()));
+                        Product product = cart.getProduct(d.getProductId());
                         BigDecimal priceWithTax = product.getPrice().multiply(BigDecimal.ONE.add(taxConfig.getRate()));
                         OrderDetail detail = OrderDetail.builder()
                                         .order(order)
@@ -440,8 +427,7 @@ public class OrderService {
                                         .unitPrice(priceWithTax)
                                         .build();
 
-                        applyInventoryMovement(product, d.getQuantity(), false, order.getId(),
-                                        "Actualización de orden");
+                        addIngredientDemand(ingredientDemand, cart, product.getId(), d.getQuantity());
 
                         updatedDetails.add(detail);
                         total = total.add(priceWithTax.multiply(BigDecimal.valueOf(d.getQuantity())));
@@ -451,9 +437,15 @@ public class OrderService {
                 order.getDetails().addAll(updatedDetails);
                 order.setTotal(total);
 
+                consumeStock(ingredientDemand, order.getId(), "Actualización de orden");
+
                 savePaymentsAndDocuments(order, request);
 
-                return mapToResponse(orderRepository.save(order), lang);
+                Order savedOrder = orderRepository.save(order);
+                topProductsService.orderChanged(savedOrder);
+                kitchenFeedService.orderUpdated(savedOrder, typeCode(savedOrder), statusCode(savedOrder));
+                syncOccupancy(savedOrder);
+                return mapToResponse(savedOrder, lang);
         }
 
         /**
@@ -468,13 +460,23 @@ public class OrderService {
                                 .orElseThrow(() -> new EntityNotFoundException("Orden no encontrada con id: " + id));
 
                 // ¡Ahora esto funciona gracias al paso 2!
-                OrderStatus newStatus = statusRepository.findByCode(request.getNewStatusCode())
+                StatusInfo newStatus = referenceData.findStatus(request.getNewStatusCode())
                                 .orElseThrow(() -> new EntityNotFoundException(
                                                 "Estado de orden no encontrado con código: "
                                                                 + request.getNewStatusCode()));
 
-                order.setStatus(newStatus);
+                order.setStatus(statusReference(newStatus));
                 Order savedOrder = orderRepository.save(order);
+                salesRollupService.markChanged(savedOrder.getDate());
+                topProductsService.orderChanged(savedOrder);
+
+                if (DeliveryTrackingService.CLOSED_STATUS_CODES.contains(newStatus.getCode())) {
+                        deliveryTrackingService.orderClosed(id);
+                }
+                kitchenFeedService.statusChanged(id, typeCode(savedOrder), newStatus.getCode());
+                if (!TableOccupancyIndex.ACTIVE_ORDER_STATUSES.contains(newStatus.getCode())) {
+                        occupancyIndex.orderClosed(id);
+                }
 
                 // TODO: Enviar notificación al cliente sobre el cambio de estado
                 // notificationProducer.sendOrderStatusUpdate(savedOrder, newStatus.getCode());
@@ -501,6 +503,8 @@ public class OrderService {
 
                 order.setEmployee(driver);
                 Order savedOrder = orderRepository.save(order);
+                deliveryTrackingService.evictDriver(id);
+                kitchenFeedService.driverAssigned(id, typeCode(savedOrder), statusCode(savedOrder), driver.getId());
 
                 // TODO: Enviar notificación al cliente "¡Tu pedido está en camino!"
                 // notificationProducer.sendOrderOutForDelivery(savedOrder);
@@ -510,59 +514,33 @@ public class OrderService {
                 return getTrackingInfo(savedOrder.getId(), lang);
         }
 
-        /**
-         * Actualiza la ubicación GPS del repartidor para una orden.
-         * La seguridad fue validada en el controlador.
-         * ¡PERO! Aún debemos validar que el empleado sea el CORRECTO.
-         */
-        @Transactional
-        public void updateDeliveryLocation(Long id, UpdateLocationRequest request, User authenticatedUser) {
-
-                Order order = orderRepository.findById(id)
-                                .orElseThrow(() -> new EntityNotFoundException("Orden no encontrada con id: " + id));
-
-                if (order.getEmployee() == null) {
-                        log.warn("Intento de actualizar ubicación en orden {} sin repartidor asignado.", id);
-                        throw new AccessDeniedException("Esta orden no tiene un repartidor asignado.");
-                }
-
-                if (!order.getEmployee().getUser().getId().equals(authenticatedUser.getId())) {
-                        log.warn("Intento no autorizado de actualizar ubicación. Orden: {}, Repartidor Asignado: {}, Repartidor Autenticado: {}",
-                                        id, order.getEmployee().getId(), authenticatedUser.getId());
-                        throw new AccessDeniedException(
-                                        "No estás autorizado para actualizar la ubicación de esta orden.");
-                }
-
-                // Si pasó la seguridad, actualizamos las coordenadas
-                order.setCurrentLatitude(request.getLatitude());
-                order.setCurrentLongitude(request.getLongitude());
-                orderRepository.save(order);
-
-                // (Opcional) Aquí es donde notificarías al cliente en tiempo real
-                // via WebSockets.
-                // notificationProducer.sendDeliveryLocationUpdate(id, request.getLatitude(),
-                // request.getLongitude());
-
-                log.debug("Ubicación actualizada para orden {}: ({}, {})", id, request.getLatitude(),
-                                request.getLongitude());
-        }
-
         @Transactional
         public void delete(Long id) {
                 Order order = orderRepository.findById(id)
                                 .orElseThrow(() -> new EntityNotFoundException("Orden no encontrada con id: " + id));
 
-                order.getDetails().forEach(detail -> applyInventoryMovement(detail.getProduct(), detail.getQuantity(),
-                                true, order.getId(), "Eliminación de orden"));
+                ResolvedCart cart = cartResolutionService.resolve(order.getDetails().stream()
+                                .map(detail -> detail.getProduct().getId())
+                                .toList());
+
+                Map<Long, BigDecimal> previousDemand = new LinkedHashMap<>();
+                order.getDetails().forEach(detail -> addIngredientDemand(previousDemand, cart,
+                                detail.getProduct().getId(), detail.getQuantity()));
+                restoreStock(previousDemand, order.getId(), "Eliminación de orden");
 
+                markSalesChanged(order);
+                topProductsService.orderRemoved(id);
+                kitchenFeedService.orderRemoved(id, typeCode(order));
+                occupancyIndex.orderClosed(id);
                 orderRepository.delete(order);
         }
 
+        @Transactional
         public OrderResponse cancelOrder(Long id, User user, String lang) {
                 Order order = orderRepository.findById(id)
                                 .orElseThrow(() -> new EntityNotFoundException("Orden no encontrada"));
 
-                if (order.getStatus().getCode().equalsIgnoreCase("CANCELLED")) {
+                if ("CANCELLED".equalsIgnoreCase(statusCode(order))) {
                         throw new IllegalStateException("La orden ya se encuentra cancelada.");
                 }
 
@@ -577,31 +555,25 @@ public class OrderService {
                         throw new SecurityException("El usuario no está autorizado para cancelar esta orden.");
                 }
 
-                OrderStatus cancelledStatus = statusRepository.findByCode("CANCELLED")
-                                .orElseThrow(() -> new EntityNotFoundException("Estado 'CANCELLED' no encontrado"));
-                order.setStatus(cancelledStatus);
+                order.setStatus(statusReference(referenceData.requireStatus("CANCELLED")));
 
                 if (order.getDetails() != null && !order.getDetails().isEmpty()) {
-                        for (OrderDetail detail : order.getDetails()) {
-                                Product product = detail.getProduct();
-                                if (product != null && product.getIngredients() != null) {
-                                        for (ProductIngredient productIngredient : product.getIngredients()) {
-                                                Ingredient ingredient = productIngredient.getIngredient();
-                                                BigDecimal ingredientQty = BigDecimal
-                                                                .valueOf(productIngredient.getQuantity())
-                                                                .multiply(BigDecimal.valueOf(detail.getQuantity()));
-                                                Inventory inventory = inventoryRepository.findByIngredient(ingredient)
-                                                                .orElse(null);
-                                                if (inventory != null) {
-                                                        inventory.increaseStock(ingredientQty);
-                                                        inventoryRepository.save(inventory);
-                                                }
-                                        }
-                                }
-                        }
+                        ResolvedCart cart = cartResolutionService.resolve(order.getDetails().stream()
+                                        .map(detail -> detail.getProduct().getId())
+                                        .toList());
+
+                        Map<Long, BigDecimal> previousDemand = new LinkedHashMap<>();
+                        order.getDetails().forEach(detail -> addIngredientDemand(previousDemand, cart,
+                                        detail.getProduct().getId(), detail.getQuantity()));
+                        restoreStock(previousDemand, order.getId(), "Cancelación de orden");
                 }
 
                 orderRepository.save(order);
+                salesRollupService.markChanged(order.getDate());
+                topProductsService.orderChanged(order);
+                deliveryTrackingService.orderClosed(id);
+                kitchenFeedService.statusChanged(id, typeCode(order), "CANCELLED");
+                occupancyIndex.orderClosed(id);
 
                 // TODO: Enviar notificación ?
                 // notificationProducer.sendOrderCancelledNotification(order);
@@ -620,18 +592,12 @@ public class OrderService {
         }
 
         @Transactional(readOnly = true)
-        public byte[] generateInvoiceForOrder(Long id) {
+        public byte[] getInvoiceForOrder(Long id) {
 
                 Order order = orderRepository.findById(id)
                                 .orElseThrow(() -> new EntityNotFoundException("Orden no encontrada con id: " + id));
 
-                byte[] pdfBytes = invoiceGenerator.generateInvoice(order);
-
-                if (pdfBytes == null || pdfBytes.length == 0) {
-                        throw new RuntimeException("Error al generar PDF: el archivo está vacío.");
-                }
-
-                return pdfBytes;
+                return invoiceService.getOrRender(order);
         }
 
         private Order buildOrderBase(OrderRequest request, Customer customer) {
@@ -641,19 +607,15 @@ public class OrderService {
                                                 "Empleado no encontrado con id: " + request.getEmployeeId()))
                                 : null;
 
-                OrderStatus status = statusRepository.findById(request.getStatusId())
-                                .orElseThrow(() -> new EntityNotFoundException(
-                                                "Estado de orden no encontrado con id: " + request.getStatusId()));
-                OrderType type = typeRepository.findById(request.getTypeId())
-                                .orElseThrow(() -> new EntityNotFoundException(
-                                                "Tipo de orden no encontrado con id: " + request.getTypeId()));
+                StatusInfo status = referenceData.requireStatus(request.getStatusId());
+                TypeInfo type = referenceData.requireType(request.getTypeId());
 
                 Order.OrderBuilder orderBuilder = Order.builder()
                                 .customer(customer)
                                 .employee(employee)
-                                .status(status)
-                                .type(type)
-                                .date(LocalDateTime.now())
+                                .status(statusReference(status))
+                                .type(typeReference(type))
+                                .date(TimeBuckets.now())
                                 .total(BigDecimal.ZERO)
                                 .details(new LinkedHashSet<>())
                                 .payments(new LinkedHashSet<>())
@@ -678,41 +640,12 @@ public class OrderService {
                                                 .deliveryLatitude(addrDto.getLatitude())
                                                 .deliveryLongitude(addrDto.getLongitude());
 
-                                Store mainStore = storeRepository.findAll().stream()
-                                                .findFirst()
-                                                .orElseThrow(() -> new IllegalStateException(
-                                                                "No hay tiendas configuradas en el sistema."));
-
-                                double originLat = mainStore.getLatitude();
-                                double originLng = mainStore.getLongitude();
-                                double destLat = addrDto.getLatitude();
-                                double destLng = addrDto.getLongitude();
-
                                 try {
-                                        Map<String, Object> distanceResponse = distanceMatrixService
-                                                        .getDistanceAndDuration(originLat, originLng, destLat, destLng);
-
-                                        var rows = (List<?>) distanceResponse.get("rows");
-                                        if (rows != null && !rows.isEmpty()) {
-                                                var elements = (List<?>) ((Map<?, ?>) rows.get(0)).get("elements");
-                                                if (elements != null && !elements.isEmpty()) {
-                                                        Map<?, ?> element = (Map<?, ?>) elements.get(0);
-                                                        Map<?, ?> distance = (Map<?, ?>) element.get("distance");
-                                                        Map<?, ?> duration = (Map<?, ?>) element.get("duration");
-
-                                                        if (distance != null && duration != null) {
-                                                                log.info("Distancia: {}, Duración: {}",
-                                                                                distance.get("text"),
-                                                                                duration.get("text"));
-
-                                                                orderBuilder
-                                                                                .estimatedDistance(distance.get("text")
-                                                                                                .toString())
-                                                                                .estimatedDuration(duration.get("text")
-                                                                                                .toString());
-                                                        }
-                                                }
-                                        }
+                                        DistanceDurationResult route = distanceService.estimateFromStore(
+                                                        addrDto.getLatitude(), addrDto.getLongitude());
+                                        orderBuilder
+                                                        .estimatedDistance(formatDistance(route))
+                                                        .estimatedDuration(formatDuration(route));
                                 } catch (Exception e) {
                                         log.error("Error al obtener la distancia o duración estimada: {}",
                                                         e.getMessage());
@@ -738,6 +671,7 @@ public class OrderService {
 
                                 selectedTable.setStatus(TableStatus.OCCUPIED);
                                 tableRepository.save(selectedTable);
+                                occupancyIndex.tableStatusChanged(selectedTable.getId(), TableStatus.OCCUPIED);
                                 log.info("Mesa {} marcada como OCUPADA por nueva orden.", selectedTable.getCode());
                                 
                                 break;
@@ -774,56 +708,28 @@ public class OrderService {
                         request.getDocuments().forEach(d -> documentService.createInOrder(order, d));
         }
 
-        private void applyInventoryMovement(Product product, Integer quantity, boolean restore, Long referenceId,
-                        String reason) {
-                product.getIngredients().forEach(pi -> {
-                        Inventory inventory = inventoryRepository.findByIngredient(pi.getIngredient())
-                                        .orElseThrow(() -> new InventoryNotFoundException(
-                                                        "Inventario no encontrado para ingrediente: "
-                                                                        + pi.getIngredient().getName()));
-                        BigDecimal totalQty = BigDecimal.valueOf(pi.getQuantity())
-                                        .multiply(BigDecimal.valueOf(quantity));
-
-                        if (restore)
-                                inventory.increaseStock(totalQty);
-                        else
-                                inventory.decreaseStock(totalQty);
-
-                        inventoryRepository.save(inventory);
-
-                        InventoryMovement movement = InventoryMovement.builder()
-                                        .ingredient(pi.getIngredient())
-                                        .quantity(totalQty)
-                                        .type(restore ? MovementType.ENTRY : MovementType.EXIT)
-                                        .source(MovementSource.ORDER)
-                                        .reason(reason)
-                                        .referenceId(referenceId)
-                                        .date(LocalDateTime.now())
-                                        .build();
-                        inventoryMovementRepository.save(movement);
+        private void addIngredientDemand(Map<Long, BigDecimal> demand, ResolvedCart cart, Long productId,
+                        Integer quantity) {
+                BigDecimal units = BigDecimal.valueOf(quantity != null ? quantity : 0);
+                cart.getRecipe(productId).forEach(line -> demand.merge(line.getIngredient().getId(),
+                                line.getQuantityPerUnit().multiply(units), BigDecimal::add));
+        }
 
-                        if (!restore && inventory.getCurrentStock().compareTo(inventory.getMinimumStock()) < 0) {
-                                if (inventory.shouldNotifyLowStock()) {
-                                        notifyAdminsStockLowAsync(inventory);
-                                        inventory.markAlertSent();
-                                        inventoryRepository.save(inventory);
-                                }
-                        }
-                });
+        private void consumeStock(Map<Long, BigDecimal> demand, Long orderId, String reason) {
+                List<StockLevel> levels = stockMutationService.decrease(demand, MovementSource.ORDER, orderId, reason);
+
+                stockMutationService.claimLowStockAlerts(levels)
+                                .forEach(this::notifyAdminsStockLowAsync);
+        }
+
+        private void restoreStock(Map<Long, BigDecimal> demand, Long orderId, String reason) {
+                stockMutationService.increase(demand, MovementSource.ORDER, orderId, reason);
         }
 
         private OrderResponse mapToResponse(Order order, String lang) {
-                List<OrderStatusStepResponse> timeline = new ArrayList<>();
-                if (order.getType() != null && order.getType().getStatusFlow() != null) {
-
-                        timeline = order.getType().getStatusFlow().stream()
-                                        .map(flowStep -> OrderStatusStepResponse.builder()
-                                                        .code(flowStep.getOrderStatus().getCode())
-                                                        .name(getStatusName(flowStep.getOrderStatus(), lang))
-                                                        .step(flowStep.getStepOrder())
-                                                        .build())
-                                        .collect(Collectors.toList());
-                }
+                String normalizedLang = normalizeLang(lang);
+                StatusInfo status = referenceData.requireStatus(order.getStatus().getId());
+                TypeInfo type = referenceData.requireType(order.getType().getId());
 
                 OrderResponse.OrderResponseBuilder responseBuilder = OrderResponse.builder()
                                 .id(order.getId())
@@ -833,11 +739,11 @@ public class OrderService {
                                 .employeeName(order.getEmployee() != null ? order.getEmployee().getUser().getFullName()
                                                 : null)
                                 .date(order.getDate())
-                                .statusId(order.getStatus().getId())
-                                .statusCode(order.getStatus().getCode())
-                                .statusName(getStatusName(order.getStatus(), lang))
-                                .typeId(order.getType().getId())
-                                .typeName(getTypeName(order.getType(), lang))
+                                .statusId(status.getId())
+                                .statusCode(status.getCode())
+                                .statusName(status.getName(normalizedLang))
+                                .typeId(type.getId())
+                                .typeName(type.getName(normalizedLang))
                                 .total(order.getTotal())
                                 .details(order.getDetails().stream()
                                                 .map(d -> OrderDetailInOrderResponse.builder()
@@ -853,10 +759,10 @@ public class OrderService {
                                 .estimatedDuration(order.getEstimatedDuration())
                                 .currentLatitude(order.getCurrentLatitude())
                                 .currentLongitude(order.getCurrentLongitude())
-                                .timelineSteps(timeline);
+                                .timelineSteps(referenceData.timeline(type.getId(), normalizedLang));
                 ;
 
-                String orderTypeCode = order.getType().getCode() != null ? order.getType().getCode().toUpperCase() : "";
+                String orderTypeCode = type.getCode() != null ? type.getCode().toUpperCase() : "";
 
                 switch (orderTypeCode) {
                         case "DELIVERY":
@@ -890,9 +796,55 @@ public class OrderService {
                 return responseBuilder.build();
         }
 
+        /**
+         * Marca para los acumulados el día de la orden y los de sus pagos.
+         */
+        private void markSalesChanged(Order order) {
+                List<LocalDateTime> dates = new ArrayList<>();
+                dates.add(order.getDate());
+                if (order.getPayments() != null) {
+                        order.getPayments().forEach(payment -> dates.add(payment.getDate()));
+                }
+                salesRollupService.markChanged(dates.toArray(LocalDateTime[]::new));
+        }
+
         private void publishOrderCreatedEvent(Order savedOrder) {
+                eventPublisher.publishEvent(new OrderPlacedEvent(savedOrder.getId()));
+                kitchenFeedService.orderCreated(savedOrder, typeCode(savedOrder), statusCode(savedOrder));
+
+                syncOccupancy(savedOrder);
+        }
+
+        /**
+         * Deja la orden en el índice de ocupación tal como quedó: ocupa su mesa si es
+         * en salón y sigue activa, si no la libera.
+         */
+        private void syncOccupancy(Order order) {
+                if ("DINE_IN".equals(typeCode(order)) && order.getTable() != null
+                                && TableOccupancyIndex.ACTIVE_ORDER_STATUSES.contains(statusCode(order))) {
+                        occupancyIndex.orderOpened(order.getId(), order.getTable().getId(),
+                                        order.getDate(), order.getTable().getReservationDurationMinutes());
+                } else {
+                        occupancyIndex.orderClosed(order.getId());
+                }
+        }
+
+        /**
+         * Genera el comprobante y notifica al cliente una vez confirmada la orden,
+         * en el pool de comprobantes, para no alargar la transacción del checkout.
+         */
+        @Async("invoiceExecutor")
+        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+        @Transactional(propagation = Propagation.REQUIRES_NEW)
+        public void onOrderPlaced(OrderPlacedEvent placed) {
+                Order savedOrder = orderRepository.findById(placed.getOrderId()).orElse(null);
+                if (savedOrder == null) {
+                        log.warn("Orden #{} no encontrada al generar su comprobante", placed.getOrderId());
+                        return;
+                }
+
                 try {
-                        byte[] pdfBytes = invoiceGenerator.generateInvoice(savedOrder);
+                        byte[] pdfBytes = invoiceService.getOrRender(savedOrder);
                         String pdfBase64 = Base64.getEncoder().encodeToString(pdfBytes);
 
                         OrderCreatedEvent event = OrderCreatedEvent.builder()
@@ -934,12 +886,13 @@ public class OrderService {
                         notificationProducer.send("notifications", notification);
 
                 } catch (Exception e) {
-                        throw new RuntimeException("Error creando evento de notificación de orden", e);
+                        log.error("❌ Error generando comprobante o notificación de la orden #{}",
+                                        savedOrder.getId(), e);
                 }
         }
 
         @Async
-        public void notifyAdminsStockLowAsync(Inventory inventory) {
+        public void notifyAdminsStockLowAsync(StockLevel stock) {
                 List<User> admins = userRepository.findByRoleName("ROLE_ADMIN");
 
                 for (User admin : admins) {
@@ -947,17 +900,17 @@ public class OrderService {
                                 StockLowNotificationEvent event = StockLowNotificationEvent.builder()
                                                 .userId(admin.getId())
                                                 .recipient(admin.getEmail())
-                                                .subject("⚠️ Stock bajo: " + inventory.getIngredient().getName())
+                                                .subject("⚠️ Stock bajo: " + stock.getIngredientName())
                                                 .message("El stock del ingrediente '"
-                                                                + inventory.getIngredient().getName() +
-                                                                "' ha bajado a " + inventory.getCurrentStock() +
+                                                                + stock.getIngredientName() +
+                                                                "' ha bajado a " + stock.getCurrentStock() +
                                                                 " unidades. Stock mínimo: "
-                                                                + inventory.getMinimumStock())
+                                                                + stock.getMinimumStock())
                                                 .actionUrl("https://tuapp.com/inventory")
-                                                .ingredientId(inventory.getIngredient().getId())
-                                                .ingredientName(inventory.getIngredient().getName())
-                                                .currentStock(inventory.getCurrentStock())
-                                                .minimumStock(inventory.getMinimumStock())
+                                                .ingredientId(stock.getIngredientId())
+                                                .ingredientName(stock.getIngredientName())
+                                                .currentStock(stock.getCurrentStock())
+                                                .minimumStock(stock.getMinimumStock())
                                                 .build();
 
                                 notificationProducer.send("notifications", event);
@@ -978,52 +931,38 @@ public class OrderService {
                 return "es";
         }
 
-        private String getStatusName(OrderStatus status, String lang) {
-                String normalizedLang = normalizeLang(lang);
-                return status.getTranslations().stream()
-                                .filter(t -> t.getLang().equalsIgnoreCase(normalizedLang))
-                                .map(OrderStatusTranslation::getName)
-                                .findFirst()
-                                .orElse("Sin nombre");
+        private String statusCode(Order order) {
+                return referenceData.requireStatus(order.getStatus().getId()).getCode();
         }
 
-        private String getTypeName(OrderType type, String lang) {
-                String normalizedLang = normalizeLang(lang);
-                return type.getTranslations().stream()
-                                .filter(t -> t.getLang().equalsIgnoreCase(normalizedLang))
-                                .map(OrderTypeTranslation::getName)
-                                .findFirst()
-                                .orElse("Sin nombre");
+        private String typeCode(Order order) {
+                return referenceData.requireType(order.getType().getId()).getCode();
         }
 
-        private int parseDurationToMinutes(String durationText) {
-                if (durationText == null || durationText.isBlank())
-                        return 0;
+        /**
+         * Referencia sin consulta: el registro ya validó que el estado existe.
+         */
+        private OrderStatus statusReference(StatusInfo status) {
+                return statusRepository.getReferenceById(status.getId());
+        }
 
-                durationText = durationText.toLowerCase();
-                int minutes = 0;
+        private OrderType typeReference(TypeInfo type) {
+                return typeRepository.getReferenceById(type.getId());
+        }
 
-                try {
-                        if (durationText.contains("hour")) {
-                                String[] parts = durationText.split("hour");
-                                int hours = Integer.parseInt(parts[0].trim());
-                                minutes += hours * 60;
-
-                                if (parts.length > 1 && parts[1].contains("min")) {
-                                        String mins = parts[1].replaceAll("[^0-9]", "");
-                                        if (!mins.isEmpty())
-                                                minutes += Integer.parseInt(mins);
-                                }
-                        } else if (durationText.contains("min")) {
-                                String mins = durationText.replaceAll("[^0-9]", "");
-                                if (!mins.isEmpty())
-                                        minutes = Integer.parseInt(mins);
-                        }
-                } catch (Exception e) {
-                        log.warn("No se pudo parsear duración estimada: {}", durationText);
-                }
+        private void applyRoute(Order order, DistanceDurationResult route) {
+                order.setEstimatedDistance(formatDistance(route));
+                order.setEstimatedDuration(formatDuration(route));
+                log.info("Distancia calculada: {}, Duración estimada: {}",
+                                order.getEstimatedDistance(), order.getEstimatedDuration());
+        }
+
+        private String formatDistance(DistanceDurationResult route) {
+                return String.format(Locale.US, "%.1f km", route.getDistanceKm());
+        }
 
-                return minutes;
+        private String formatDuration(DistanceDurationResult route) {
+                return Math.round(route.getDurationMinutes()) + " min";
         }
 
         public int countOrdersByDate(LocalDate date) {
@@ -1039,46 +978,66 @@ public class OrderService {
         }
 
         public Map<LocalDate, Integer> countOrdersLast7Days() {
-                Map<LocalDate, Integer> map = new LinkedHashMap<>();
-                for (int i = 6; i >= 0; i--) {
-                        LocalDate day = LocalDate.now().minusDays(i);
-                        LocalDateTime startOfDay = day.atStartOfDay();
-                        LocalDateTime endOfDay = day.atTime(23, 59, 59);
-                        int count = orderRepository.countOrdersByDate(startOfDay, endOfDay);
-                        map.put(day, count);
-                }
-                return map;
+                return TimeBuckets.byDate(countOrdersByBucket(
+                                last7DaysFrom(), TimeBuckets.today().plusDays(1).atStartOfDay(), TimeGranularity.DAY));
         }
 
         public Map<LocalDate, BigDecimal> calculateSalesLast7Days() {
-                Map<LocalDate, BigDecimal> map = new LinkedHashMap<>();
-                for (int i = 6; i >= 0; i--) {
-                        LocalDate day = LocalDate.now().minusDays(i);
-                        LocalDateTime startOfDay = day.atStartOfDay();
-                        LocalDateTime endOfDay = day.atTime(23, 59, 59);
-                        BigDecimal sales = orderRepository.calculateSalesByDate(startOfDay, endOfDay);
-                        map.put(day, sales != null ? sales : BigDecimal.ZERO);
-                }
-                return map;
+                return TimeBuckets.byDate(calculateSalesByBucket(
+                                last7DaysFrom(), TimeBuckets.today().plusDays(1).atStartOfDay(), TimeGranularity.DAY));
+        }
+
+        /**
+         * Órdenes por bucket en {@code [from, to)}, con ceros donde no hubo órdenes.
+         */
+        public Map<LocalDateTime, Integer> countOrdersByBucket(LocalDateTime from, LocalDateTime to,
+                        TimeGranularity granularity) {
+                return TimeBuckets.fill(aggregateByBucket(from, to, granularity), 1, from, to, granularity,
+                                TimeBuckets::toInteger, 0);
+        }
+
+        /**
+         * Ventas por bucket en {@code [from, to)}, con ceros donde no hubo órdenes.
+         */
+        public Map<LocalDateTime, BigDecimal> calculateSalesByBucket(LocalDateTime from, LocalDateTime to,
+                        TimeGranularity granularity) {
+                return TimeBuckets.fill(aggregateByBucket(from, to, granularity), 2, from, to, granularity,
+                                TimeBuckets::toBigDecimal, BigDecimal.ZERO);
+        }
+
+        private List<Object[]> aggregateByBucket(LocalDateTime from, LocalDateTime to, TimeGranularity granularity) {
+                return orderRepository.aggregateByBucket(granularity.getUnit(), granularity.truncate(from), to);
+        }
+
+        private LocalDateTime last7DaysFrom() {
+                return TimeBuckets.today().minusDays(6).atStartOfDay();
         }
 
+        /**
+         * Los totales históricos salen de los acumulados diarios, que se ponen al día
+         * unos segundos después de cada cambio.
+         */
         public Long countAllOrders() {
-                return orderRepository.count();
+                return salesRollupService.countOrders();
         }
 
         public BigDecimal calculateTotalSales() {
                 List<String> validStatuses = List.of("COMPLETED", "DELIVERED", "PAID");
-                BigDecimal total = orderRepository.sumTotalByStatusCodes(validStatuses);
+                BigDecimal total = salesRollupService.sumTotalByStatusCodes(validStatuses);
                 return total != null ? total : BigDecimal.ZERO;
         }
 
         public List<OrderTypeReportResponse> getOrderTypeStatistics(String lang) {
-                return orderRepository.findOrderTypeStatistics(lang)
+                String normalizedLang = normalizeLang(lang);
+                return salesRollupService.findOrderTypeStatistics()
                                 .stream()
                                 .map(rowObj -> {
                                         Object[] row = (Object[]) rowObj;
 
-                                        String orderTypeName = row[0] != null ? row[0].toString() : "DESCONOCIDO";
+                                        String orderTypeName = row[0] != null
+                                                        ? referenceData.typeName(((Number) row[0]).longValue(),
+                                                                        normalizedLang)
+                                                        : "DESCONOCIDO";
                                         Long totalOrders = ((Number) row[1]).longValue();
                                         BigDecimal totalRevenue = row[2] instanceof BigDecimal
                                                         ? (BigDecimal) row[2]
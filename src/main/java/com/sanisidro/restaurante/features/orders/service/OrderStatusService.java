@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.orders.service;
 
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
 import com.sanisidro.restaurante.features.orders.dto.orderstatus.request.OrderStatusRequest;
 import com.sanisidro.restaurante.features.orders.dto.orderstatus.response.OrderStatusResponse;
 import com.sanisidro.restaurante.features.orders.model.OrderStatus;
@@ -7,6 +8,7 @@ import com.sanisidro.restaurante.features.orders.model.OrderStatusTranslation;
 import com.sanisidro.restaurante.features.orders.repository.OrderStatusRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.LinkedHashSet;
@@ -18,6 +20,7 @@ import java.util.stream.Collectors;
 public class OrderStatusService {
 
     private final OrderStatusRepository orderStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     public List<OrderStatusResponse> getAll(String lang) {
@@ -46,7 +49,9 @@ public class OrderStatusService {
 
         status.getTranslations().add(translation);
 
-        return mapToResponse(orderStatusRepository.save(status), request.getLang());
+        OrderStatus saved = orderStatusRepository.save(status);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-status"));
+        return mapToResponse(saved, request.getLang());
     }
 
     public OrderStatusResponse update(Long id, OrderStatusRequest request) {
@@ -65,7 +70,9 @@ public class OrderStatusService {
         translation.setDescription(request.getDescription());
         status.getTranslations().add(translation);
 
-        return mapToResponse(orderStatusRepository.save(status), request.getLang());
+        OrderStatus saved = orderStatusRepository.save(status);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-status"));
+        return mapToResponse(saved, request.getLang());
     }
 
     public void delete(Long id) {
@@ -73,6 +80,7 @@ public class OrderStatusService {
             throw new EntityNotFoundException("Estado de orden no encontrado con id: " + id);
         }
         orderStatusRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-status"));
     }
 
     private OrderStatusResponse mapToResponse(OrderStatus status, String lang) {
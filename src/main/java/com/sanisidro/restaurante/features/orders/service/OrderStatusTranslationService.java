@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.orders.service;
 
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
 import com.sanisidro.restaurante.features.orders.dto.orderstatustranslation.request.OrderStatusTranslationRequest;
 import com.sanisidro.restaurante.features.orders.dto.orderstatustranslation.response.OrderStatusTranslationResponse;
 import com.sanisidro.restaurante.features.orders.model.OrderStatus;
@@ -8,6 +9,7 @@ import com.sanisidro.restaurante.features.orders.repository.OrderStatusRepositor
 import com.sanisidro.restaurante.features.orders.repository.OrderStatusTranslationRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +21,7 @@ public class OrderStatusTranslationService {
 
     private final OrderStatusTranslationRepository translationRepository;
     private final OrderStatusRepository orderStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<OrderStatusTranslationResponse> getAllByOrderStatus(Long orderStatusId) {
         OrderStatus status = orderStatusRepository.findById(orderStatusId)
@@ -49,7 +52,9 @@ public class OrderStatusTranslationService {
                 .description(request.getDescription())
                 .build();
 
-        return mapToResponse(translationRepository.save(translation));
+        OrderStatusTranslation saved = translationRepository.save(translation);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-status-translation"));
+        return mapToResponse(saved);
     }
 
     public OrderStatusTranslationResponse update(Long id, OrderStatusTranslationRequest request) {
@@ -59,7 +64,9 @@ public class OrderStatusTranslationService {
         translation.setName(request.getName());
         translation.setDescription(request.getDescription());
 
-        return mapToResponse(translationRepository.save(translation));
+        OrderStatusTranslation saved = translationRepository.save(translation);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-status-translation"));
+        return mapToResponse(saved);
     }
 
     public void delete(Long id) {
@@ -67,6 +74,7 @@ public class OrderStatusTranslationService {
             throw new EntityNotFoundException("Traducción no encontrada con id: " + id);
         }
         translationRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-status-translation"));
     }
 
     private OrderStatusTranslationResponse mapToResponse(OrderStatusTranslation translation) {
@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.orders.service;
 
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
 import com.sanisidro.restaurante.features.orders.dto.ordertype.request.OrderTypeRequest;
 import com.sanisidro.restaurante.features.orders.dto.ordertype.response.OrderTypeResponse;
 import com.sanisidro.restaurante.features.orders.model.OrderType;
@@ -7,6 +8,7 @@ import com.sanisidro.restaurante.features.orders.model.OrderTypeTranslation;
 import com.sanisidro.restaurante.features.orders.repository.OrderTypeRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,6 +19,7 @@ import java.util.stream.Collectors;
 public class OrderTypeService {
 
     private final OrderTypeRepository orderTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<OrderTypeResponse> getAll(String lang) {
         return orderTypeRepository.findAll().stream()
@@ -44,7 +47,9 @@ public class OrderTypeService {
 
         type.getTranslations().add(translation);
 
-        return mapToResponse(orderTypeRepository.save(type), request.getLang());
+        OrderType saved = orderTypeRepository.save(type);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-type"));
+        return mapToResponse(saved, request.getLang());
     }
 
     public OrderTypeResponse update(Long id, OrderTypeRequest request) {
@@ -65,7 +70,9 @@ public class OrderTypeService {
         translation.setDescription(request.getDescription());
         type.getTranslations().add(translation);
 
-        return mapToResponse(orderTypeRepository.save(type), request.getLang());
+        OrderType saved = orderTypeRepository.save(type);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-type"));
+        return mapToResponse(saved, request.getLang());
     }
 
     public void delete(Long id) {
@@ -73,6 +80,7 @@ public class OrderTypeService {
             throw new EntityNotFoundException("Tipo de orden no encontrado con id: " + id);
         }
         orderTypeRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-type"));
     }
 
     private OrderTypeResponse mapToResponse(OrderType type, String lang) {
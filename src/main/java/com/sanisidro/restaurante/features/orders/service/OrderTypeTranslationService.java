@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.orders.service;
 
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
 import com.sanisidro.restaurante.features.orders.dto.ordertypetranslation.request.OrderTypeTranslationRequest;
 import com.sanisidro.restaurante.features.orders.dto.ordertypetranslation.response.OrderTypeTranslationResponse;
 import com.sanisidro.restaurante.features.orders.model.OrderType;
@@ -8,6 +9,7 @@ import com.sanisidro.restaurante.features.orders.repository.OrderTypeRepository;
 import com.sanisidro.restaurante.features.orders.repository.OrderTypeTranslationRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +21,7 @@ public class OrderTypeTranslationService {
 
     private final OrderTypeTranslationRepository translationRepository;
     private final OrderTypeRepository orderTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<OrderTypeTranslationResponse> getAllByOrderType(Long orderTypeId) {
         OrderType type = orderTypeRepository.findById(orderTypeId)
@@ -49,7 +52,9 @@ public class OrderTypeTranslationService {
                 .description(request.getDescription())
                 .build();
 
-        return mapToResponse(translationRepository.save(translation));
+        OrderTypeTranslation saved = translationRepository.save(translation);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-type-translation"));
+        return mapToResponse(saved);
     }
 
     public OrderTypeTranslationResponse update(Long id, OrderTypeTranslationRequest request) {
@@ -59,7 +64,9 @@ public class OrderTypeTranslationService {
         translation.setName(request.getName());
         translation.setDescription(request.getDescription());
 
-        return mapToResponse(translationRepository.save(translation));
+        OrderTypeTranslation saved = translationRepository.save(translation);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-type-translation"));
+        return mapToResponse(saved);
     }
 
     public void delete(Long id) {
@@ -67,6 +74,7 @@ public class OrderTypeTranslationService {
             throw new EntityNotFoundException("Traducción no encontrada con id: " + id);
         }
         translationRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("order-type-translation"));
     }
 
     private OrderTypeTranslationResponse mapToResponse(OrderTypeTranslation translation) {
@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.orders.service;
 
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
 import com.sanisidro.restaurante.features.orders.dto.paymentmethod.request.PaymentMethodRequest;
 import com.sanisidro.restaurante.features.orders.dto.paymentmethod.resposne.PaymentMethodResponse;
 import com.sanisidro.restaurante.features.orders.model.PaymentMethod;
@@ -8,6 +9,7 @@ import com.sanisidro.restaurante.features.orders.repository.PaymentMethodReposit
 import com.sanisidro.restaurante.features.orders.repository.PaymentMethodTranslationRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,7 @@ public class PaymentMethodService {
 
     private final PaymentMethodRepository paymentMethodRepository;
     private final PaymentMethodTranslationRepository translationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<PaymentMethodResponse> getAll(String lang) {
         return paymentMethodRepository.findAll().stream()
@@ -54,6 +57,8 @@ public class PaymentMethodService {
 
         method.getTranslations().add(translation);
 
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("payment-method"));
+
         return mapToResponse(method, translation.getLang());
     }
 
@@ -90,6 +95,8 @@ public class PaymentMethodService {
             method.getTranslations().add(translation);
         }
 
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("payment-method"));
+
         return mapToResponse(method, lang);
     }
 
@@ -98,6 +105,7 @@ public class PaymentMethodService {
             throw new EntityNotFoundException("Método de pago no encontrado con id: " + id);
         }
         paymentMethodRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("payment-method"));
     }
 
     private PaymentMethodResponse mapToResponse(PaymentMethod method, String lang) {
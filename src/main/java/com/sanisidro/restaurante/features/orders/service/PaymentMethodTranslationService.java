@@ -1,5 +1,6 @@
 package com.sanisidro.restaurante.features.orders.service;
 
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
 import com.sanisidro.restaurante.features.orders.dto.paymentmethodtranslation.request.PaymentMethodTranslationRequest;
 import com.sanisidro.restaurante.features.orders.dto.paymentmethodtranslation.response.PaymentMethodTranslationResponse;
 import com.sanisidro.restaurante.features.orders.model.PaymentMethod;
@@ -8,6 +9,7 @@ import com.sanisidro.restaurante.features.orders.repository.PaymentMethodReposit
 import com.sanisidro.restaurante.features.orders.repository.PaymentMethodTranslationRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,7 @@ public class PaymentMethodTranslationService {
 
     private final PaymentMethodTranslationRepository translationRepository;
     private final PaymentMethodRepository paymentMethodRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<PaymentMethodTranslationResponse> getAll() {
         return translationRepository.findAll().stream()
@@ -55,6 +58,8 @@ public class PaymentMethodTranslationService {
         }
         method.getTranslations().add(translation);
 
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("payment-method-translation"));
+
         return mapToResponse(translation);
     }
 
@@ -69,6 +74,8 @@ public class PaymentMethodTranslationService {
 
         translationRepository.save(translation);
 
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("payment-method-translation"));
+
         return mapToResponse(translation);
     }
 
@@ -77,6 +84,7 @@ public class PaymentMethodTranslationService {
             throw new EntityNotFoundException("Traducción no encontrada con id: " + id);
         }
         translationRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("payment-method-translation"));
     }
 
     private PaymentMethodTranslationResponse mapToResponse(PaymentMethodTranslation translation) {
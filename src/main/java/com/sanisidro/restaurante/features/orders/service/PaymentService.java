@@ -22,11 +22,14 @@ import com.sanisidro.restaurante.features.orders.model.Order;
 import com.sanisidro.restaurante.features.orders.model.OrderStatus;
 import com.sanisidro.restaurante.features.orders.model.Payment;
 import com.sanisidro.restaurante.features.orders.model.PaymentMethod;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData.PaymentMethodInfo;
 import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
 import com.sanisidro.restaurante.features.orders.repository.OrderStatusRepository;
 import com.sanisidro.restaurante.features.orders.repository.PaymentMethodRepository;
 import com.sanisidro.restaurante.features.orders.repository.PaymentRepository;
 import com.sanisidro.restaurante.features.orders.specifications.PaymentSpecification;
+import com.sanisidro.restaurante.features.reports.service.SalesRollupService;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -43,6 +46,8 @@ public class PaymentService {
         private final MercadoPagoService mercadoPagoService;
         private final PaymentProfileRepository paymentProfileRepository;
         private final OrderStatusRepository orderStatusRepository;
+        private final OrderReferenceData referenceData;
+        private final SalesRollupService salesRollupService;
 
         public List<PaymentResponse> getAll(
                         Long customerId, Long paymentMethodId, LocalDateTime dateFrom, LocalDateTime dateTo) {
@@ -77,7 +82,7 @@ public class PaymentService {
                         throw new IllegalArgumentException("El tipo de orden es nulo.");
                 }
 
-                String orderTypeCode = order.getType().getCode().toUpperCase();
+                String orderTypeCode = referenceData.requireType(order.getType().getId()).getCode().toUpperCase();
 
                 if (!"DELIVERY".equals(orderTypeCode) && !"TAKE_AWAY".equals(orderTypeCode)) {
                         log.warn(
@@ -99,7 +104,8 @@ public class PaymentService {
                 log.info("Monto recibido (request): {}. Monto a procesar (order.getTotal): {}",
                                 request.getTransactionAmount(), order.getTotal());
 
-                PaymentMethod method = paymentMethodRepository.findByCodeAndProvider("CARD", "MERCADOPAGO")
+                PaymentMethod method = referenceData.findPaymentMethod("CARD", "MERCADOPAGO")
+                                .map(info -> paymentMethodRepository.getReferenceById(info.getId()))
                                 .orElseThrow(() -> {
                                         log.error("Método de pago no configurado para provider: MERCADOPAGO, code: CARD");
                                         return new EntityNotFoundException(
@@ -144,20 +150,19 @@ public class PaymentService {
 
                 Payment savedPayment = paymentRepository.save(payment);
                 log.info("Pago guardado en DB con ID: {}", savedPayment.getId());
+                salesRollupService.markChanged(order.getDate(), savedPayment.getDate());
 
                 if (status == PaymentStatus.CONFIRMED) {
                         log.info("Pago confirmado. Actualizando estado de la orden {} a CONFIRMED", order.getId());
-                        OrderStatus confirmedStatus = orderStatusRepository.findByCode("CONFIRMED")
-                                        .orElseThrow(() -> new EntityNotFoundException(
-                                                        "Estado CONFIRMED no encontrado"));
+                        OrderStatus confirmedStatus = orderStatusRepository.getReferenceById(
+                                        referenceData.requireStatus("CONFIRMED").getId());
                         order.setStatus(confirmedStatus);
                         orderRepository.save(order);
                 } else {
                         log.warn("Pago online no aprobado (estado: {}). Moviendo orden {} a PENDING_CONFIRMATION para revisión.",
                                         mpPayment.getStatus(), order.getId());
-                        OrderStatus pendingConfirmStatus = orderStatusRepository.findByCode("PENDING_CONFIRMATION")
-                                        .orElseThrow(() -> new EntityNotFoundException(
-                                                        "Estado PENDING_CONFIRMATION no encontrado"));
+                        OrderStatus pendingConfirmStatus = orderStatusRepository.getReferenceById(
+                                        referenceData.requireStatus("PENDING_CONFIRMATION").getId());
                         order.setStatus(pendingConfirmStatus);
                         orderRepository.save(order);
                 }
@@ -167,10 +172,8 @@ public class PaymentService {
 
         @Transactional
         public void createInOrder(Order order, PaymentInOrderRequest request) {
-                PaymentMethod method = paymentMethodRepository.findById(request.getPaymentMethodId())
-                                .orElseThrow(() -> new EntityNotFoundException(
-                                                "Método de pago no encontrado con id: "
-                                                                + request.getPaymentMethodId()));
+                PaymentMethod method = paymentMethodRepository.getReferenceById(
+                                referenceData.requirePaymentMethod(request.getPaymentMethodId()).getId());
 
                 PaymentStatus defaultStatus = request.getIsOnline()
                                 ? PaymentStatus.PENDING
@@ -190,6 +193,7 @@ public class PaymentService {
                                 .build();
 
                 order.getPayments().add(payment);
+                salesRollupService.markChanged(order.getDate(), payment.getDate());
         }
 
         @Transactional
@@ -202,6 +206,7 @@ public class PaymentService {
                 }
                 if (request.getStatus() != null) {
                         payment.setStatus(request.getStatus());
+                        salesRollupService.markChanged(payment.getDate());
                 }
 
                 return mapToResponse(paymentRepository.save(payment));
@@ -214,6 +219,7 @@ public class PaymentService {
 
                 payment.setStatus(PaymentStatus.CANCELLED);
                 paymentRepository.save(payment);
+                salesRollupService.markChanged(payment.getDate());
         }
 
         private MercadoPagoCheckoutRequest mapToMercadoPagoRequest(Order order, OnlineCheckoutRequest request,
@@ -235,17 +241,18 @@ public class PaymentService {
         }
 
         private PaymentResponse mapToResponse(Payment payment) {
+                PaymentMethodInfo method = referenceData.requirePaymentMethod(payment.getPaymentMethod().getId());
                 return PaymentResponse.builder()
                                 .id(payment.getId())
                                 .orderId(payment.getOrder().getId())
-                                .paymentMethodId(payment.getPaymentMethod().getId())
-                                .paymentMethodName(payment.getPaymentMethod().getCode())
+                                .paymentMethodId(method.getId())
+                                .paymentMethodName(method.getCode())
                                 .customerName(payment.getOrder().getCustomer().getUser().getFullName())
                                 .amount(payment.getAmount())
                                 .date(payment.getDate())
                                 .isOnline(payment.getIsOnline())
                                 .transactionCode(payment.getTransactionCode())
-                                .provider(payment.getPaymentMethod().getProvider())
+                                .provider(method.getProvider())
                                 .status(payment.getStatus())
                                 .build();
         }
@@ -0,0 +1,226 @@
+package com.sanisidro.restaurante.features.orders.tracking;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.TrackingProperties;
+import com.sanisidro.restaurante.core.security.model.User;
+import com.sanisidro.restaurante.features.orders.dto.order.request.UpdateLocationRequest;
+import com.sanisidro.restaurante.features.orders.dto.order.response.DeliveryLocationMessage;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recibe las posiciones GPS de los repartidores sin escribir en la base por cada
+ * ping: guarda la última posición de cada orden en memoria, la publica en
+ * {@code /topic/orders/{id}/location} y la persiste por lotes cada
+ * {@code app.tracking.flush-interval-ms}, o de inmediato al cerrar la orden.
+ * El repartidor asignado a cada orden también se cachea.
+ */
+@Service
+@Slf4j
+public class DeliveryTrackingService {
+
+    public static final String TOPIC_PREFIX = "/topic/orders/";
+
+    /** Estados en los que la orden ya no se sigue ni acepta ubicaciones. */
+    public static final Set<String> CLOSED_STATUS_CODES = Set.of("DELIVERED", "COMPLETED", "CANCELLED", "FAILED");
+
+    private final OrderRepository orderRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrackingProperties properties;
+    private final Clock clock;
+
+    private final Map<Long, LivePosition> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> driverByOrder = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DeliveryTrackingService(OrderRepository orderRepository,
+            SimpMessagingTemplate messagingTemplate,
+            PlatformTransactionManager transactionManager,
+            TrackingProperties properties) {
+        this(orderRepository, messagingTemplate, new TransactionTemplate(transactionManager), properties,
+                Clock.systemDefaultZone());
+    }
+
+    DeliveryTrackingService(OrderRepository orderRepository,
+            SimpMessagingTemplate messagingTemplate,
+            TransactionTemplate transactionTemplate,
+            TrackingProperties properties,
+            Clock clock) {
+        this.orderRepository = orderRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public void updateLocation(Long orderId, UpdateLocationRequest request, User driver) {
+        Long assignedUserId = driverByOrder.computeIfAbsent(orderId, this::loadDriverUserId);
+
+        if (!assignedUserId.equals(driver.getId())) {
+            log.warn("Intento no autorizado de actualizar ubicación. Orden: {}, Usuario: {}", orderId, driver.getId());
+            throw new AccessDeniedException("No estás autorizado para actualizar la ubicación de esta orden.");
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        positions.compute(orderId, (id, previous) -> new LivePosition(request.getLatitude(), request.getLongitude(),
+                now, previous != null ? previous.getVersion() + 1 : 1, previous != null ? previous.getFlushedVersion() : 0));
+
+        messagingTemplate.convertAndSend(TOPIC_PREFIX + orderId + "/location",
+                new DeliveryLocationMessage(orderId, request.getLatitude(), request.getLongitude(), now));
+    }
+
+    /**
+     * Última posición conocida (aún no persistida) de la orden.
+     */
+    public Optional<LivePosition> getLivePosition(Long orderId) {
+        return Optional.ofNullable(positions.get(orderId));
+    }
+
+    /**
+     * Olvida el repartidor cacheado de la orden (al asignarlo o cambiarlo). Si hay
+     * una transacción activa se hace tras el commit, para no recargar el anterior.
+     */
+    public void evictDriver(Long orderId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    driverByOrder.remove(orderId);
+                }
+            });
+        } else {
+            driverByOrder.remove(orderId);
+        }
+    }
+
+    /**
+     * Persiste la última posición de la orden dentro de la transacción actual y
+     * deja de seguirla tras el commit; si la transacción se revierte la posición
+     * sigue en memoria y se persiste en el próximo lote. Se llama cuando la orden se
+     * entrega o se cancela.
+     */
+    public void orderClosed(Long orderId) {
+        LivePosition position = positions.get(orderId);
+        if (position != null && position.isDirty()) {
+            orderRepository.updateCurrentLocations(new Long[] { orderId },
+                    new Double[] { position.getLatitude() }, new Double[] { position.getLongitude() });
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stopTracking(orderId);
+                }
+            });
+        } else {
+            stopTracking(orderId);
+        }
+    }
+
+    private void stopTracking(Long orderId) {
+        positions.remove(orderId);
+        driverByOrder.remove(orderId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tracking.flush-interval-ms:30000}")
+    public void flush() {
+        List<Long> ids = new ArrayList<>();
+        List<Double> latitudes = new ArrayList<>();
+        List<Double> longitudes = new ArrayList<>();
+        List<LivePosition> snapshot = new ArrayList<>();
+
+        positions.forEach((orderId, position) -> {
+            if (position.isDirty()) {
+                ids.add(orderId);
+                latitudes.add(position.getLatitude());
+                longitudes.add(position.getLongitude());
+                snapshot.add(position);
+            }
+        });
+
+        if (!ids.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> orderRepository.updateCurrentLocations(
+                        ids.toArray(Long[]::new), latitudes.toArray(Double[]::new), longitudes.toArray(Double[]::new)));
+                for (int i = 0; i < ids.size(); i++) {
+                    long written = snapshot.get(i).getVersion();
+                    positions.computeIfPresent(ids.get(i), (id, current) -> current.withFlushedVersion(written));
+                }
+                log.debug("Ubicaciones persistidas: {}", ids.size());
+            } catch (Exception e) {
+                log.error("❌ Error persistiendo ubicaciones de reparto: {}", e.getMessage(), e);
+            }
+        }
+
+        evictIdle();
+    }
+
+    private void evictIdle() {
+        LocalDateTime threshold = LocalDateTime.now(clock).minusMinutes(properties.getIdleEvictMinutes());
+        positions.entrySet().removeIf(entry -> {
+            boolean idle = !entry.getValue().isDirty() && entry.getValue().getUpdatedAt().isBefore(threshold);
+            if (idle) {
+                driverByOrder.remove(entry.getKey());
+            }
+            return idle;
+        });
+    }
+
+    private Long loadDriverUserId(Long orderId) {
+        List<Object[]> rows = orderRepository.findDriverUserId(orderId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("Orden no encontrada con id: " + orderId);
+        }
+        if (CLOSED_STATUS_CODES.contains((String) rows.get(0)[2])) {
+            log.warn("Intento de actualizar ubicación en orden {} ya cerrada.", orderId);
+            throw new AccessDeniedException("La orden ya fue cerrada; no admite más ubicaciones.");
+        }
+        Object driverUserId = rows.get(0)[1];
+        if (driverUserId == null) {
+            log.warn("Intento de actualizar ubicación en orden {} sin repartidor asignado.", orderId);
+            throw new AccessDeniedException("Esta orden no tiene un repartidor asignado.");
+        }
+        return (Long) driverUserId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class LivePosition {
+        private final Double latitude;
+        private final Double longitude;
+        private final LocalDateTime updatedAt;
+        private final long version;
+        private final long flushedVersion;
+
+        boolean isDirty() {
+            return version > flushedVersion;
+        }
+
+        LivePosition withFlushedVersion(long written) {
+            return new LivePosition(latitude, longitude, updatedAt, version, Math.max(flushedVersion, written));
+        }
+    }
+}
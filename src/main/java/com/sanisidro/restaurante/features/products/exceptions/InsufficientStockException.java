@@ -1,7 +1,24 @@
 package com.sanisidro.restaurante.features.products.exceptions;
 
+import java.util.List;
+
 public class InsufficientStockException extends RuntimeException {
+
+    private final List<String> ingredients;
+
     public InsufficientStockException(String message) {
+        this(message, List.of());
+    }
+
+    public InsufficientStockException(String message, List<String> ingredients) {
         super(message);
+        this.ingredients = List.copyOf(ingredients);
+    }
+
+    /**
+     * Nombres de los ingredientes que no alcanzaron para la operación.
+     */
+    public List<String> getIngredients() {
+        return ingredients;
     }
 }
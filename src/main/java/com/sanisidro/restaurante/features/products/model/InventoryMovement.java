@@ -9,7 +9,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "inventory_movements")
+@Table(name = "inventory_movements", indexes = {
+        @Index(name = "idx_inventory_movements_date", columnList = "date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,9 +1,29 @@
 package com.sanisidro.restaurante.features.products.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.sanisidro.restaurante.features.products.model.ComboProductItem;
 
 public interface ComboProductItemRepository extends JpaRepository<ComboProductItem, Long> {
 
+    /**
+     * Obtiene los ítems de los combos indicados con el producto simple y su receta
+     * ya inicializados, para no disparar cargas perezosas por cada ítem.
+     */
+    @Query("""
+                SELECT DISTINCT ci FROM ComboProductItem ci
+                JOIN FETCH ci.simpleProduct sp
+                JOIN FETCH sp.category
+                LEFT JOIN FETCH sp.ingredients spi
+                LEFT JOIN FETCH spi.ingredient ing
+                LEFT JOIN FETCH ing.unit
+                WHERE ci.comboProduct.id IN :comboIds
+            """)
+    List<ComboProductItem> findAllWithRecipeByComboProductIdIn(@Param("comboIds") Collection<Long> comboIds);
+
 }
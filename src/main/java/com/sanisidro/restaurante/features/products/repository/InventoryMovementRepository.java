@@ -1,8 +1,13 @@
 package com.sanisidro.restaurante.features.products.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sanisidro.restaurante.features.products.model.InventoryMovement;
@@ -12,4 +17,25 @@ public interface InventoryMovementRepository extends JpaRepository<InventoryMove
 
     List<InventoryMovement> findByIngredientId(Long ingredientId);
 
-}
\ No newline at end of file
+    /**
+     * Inserta en una sola sentencia un movimiento por ingrediente, solo para los
+     * ingredientes que tienen inventario.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                INSERT INTO inventory_movements
+                    (ingredient_id, type, quantity, date, reason, source, reference_id, created_at)
+                SELECT d.ingredient_id, :type, d.qty, :now, :reason, :source, CAST(:referenceId AS bigint), :now
+                FROM unnest(CAST(:ingredientIds AS bigint[]), CAST(:quantities AS numeric[]))
+                     AS d(ingredient_id, qty)
+                JOIN inventories i ON i.ingredient_id = d.ingredient_id
+            """)
+    int insertBatch(@Param("ingredientIds") Long[] ingredientIds,
+            @Param("quantities") BigDecimal[] quantities,
+            @Param("type") String type,
+            @Param("source") String source,
+            @Param("reason") String reason,
+            @Param("referenceId") Long referenceId,
+            @Param("now") LocalDateTime now);
+
+}
@@ -1,10 +1,15 @@
 package com.sanisidro.restaurante.features.products.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sanisidro.restaurante.features.products.model.Ingredient;
@@ -16,6 +21,98 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 
     Optional<Inventory> findByIngredient(Ingredient ingredient);
 
+    /**
+     * Descuenta en una sola sentencia todas las cantidades indicadas, solo si
+     * ningún ingrediente queda en negativo (todo o nada). Las filas se bloquean
+     * en orden de ingrediente para evitar deadlocks entre órdenes concurrentes.
+     * Devuelve una fila por ingrediente: [ingredient_id, nombre, stock, mínimo, faltante].
+     * Si hubo faltantes no se actualiza nada y solo se devuelven los faltantes
+     * (stock nulo cuando el ingrediente no tiene inventario).
+     */
+    @Query(nativeQuery = true, value = """
+                WITH deltas AS (
+                    SELECT d.ingredient_id, d.qty
+                    FROM unnest(CAST(:ingredientIds AS bigint[]), CAST(:quantities AS numeric[]))
+                         AS d(ingredient_id, qty)
+                ),
+                locked AS (
+                    SELECT i.ingredient_id, i.current_stock
+                    FROM inventories i
+                    JOIN deltas d ON d.ingredient_id = i.ingredient_id
+                    ORDER BY i.ingredient_id
+                    FOR UPDATE OF i
+                ),
+                shortages AS (
+                    SELECT d.ingredient_id, l.current_stock
+                    FROM deltas d
+                    LEFT JOIN locked l ON l.ingredient_id = d.ingredient_id
+                    WHERE l.ingredient_id IS NULL OR l.current_stock < d.qty
+                ),
+                updated AS (
+                    UPDATE inventories i
+                    SET current_stock = i.current_stock - d.qty,
+                        updated_at = :now,
+                        version = i.version + 1
+                    FROM deltas d
+                    WHERE i.ingredient_id = d.ingredient_id
+                      AND i.current_stock >= d.qty
+                      AND NOT EXISTS (SELECT 1 FROM shortages)
+                    RETURNING i.ingredient_id, i.current_stock, i.minimum_stock
+                )
+                SELECT u.ingredient_id, g.name, u.current_stock, u.minimum_stock, false AS short
+                FROM updated u JOIN ingredients g ON g.ingredient_id = u.ingredient_id
+                UNION ALL
+                SELECT s.ingredient_id, g.name, s.current_stock, NULL, true
+                FROM shortages s JOIN ingredients g ON g.ingredient_id = s.ingredient_id
+            """)
+    List<Object[]> decreaseStockIfAvailable(@Param("ingredientIds") Long[] ingredientIds,
+            @Param("quantities") BigDecimal[] quantities,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                WITH deltas AS (
+                    SELECT d.ingredient_id, d.qty
+                    FROM unnest(CAST(:ingredientIds AS bigint[]), CAST(:quantities AS numeric[]))
+                         AS d(ingredient_id, qty)
+                ),
+                locked AS (
+                    SELECT i.id
+                    FROM inventories i
+                    JOIN deltas d ON d.ingredient_id = i.ingredient_id
+                    ORDER BY i.ingredient_id
+                    FOR UPDATE OF i
+                )
+                UPDATE inventories i
+                SET current_stock = i.current_stock + d.qty,
+                    updated_at = :now,
+                    version = i.version + 1
+                FROM deltas d
+                WHERE i.ingredient_id = d.ingredient_id
+                  AND i.id IN (SELECT l.id FROM locked l)
+            """)
+    int increaseStock(@Param("ingredientIds") Long[] ingredientIds,
+            @Param("quantities") BigDecimal[] quantities,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Marca como enviadas las alertas de stock bajo que correspondan (una cada 24 horas)
+     * y devuelve [ingredient_id, nombre, stock, mínimo] de las que hay que notificar.
+     */
+    @Query(nativeQuery = true, value = """
+                UPDATE inventories i
+                SET alert_sent_at = :now
+                FROM ingredients g
+                WHERE g.ingredient_id = i.ingredient_id
+                  AND i.ingredient_id IN (:ingredientIds)
+                  AND i.current_stock < i.minimum_stock
+                  AND (i.alert_sent_at IS NULL OR i.alert_sent_at < :alertThreshold)
+                RETURNING i.ingredient_id, g.name, i.current_stock, i.minimum_stock
+            """)
+    List<Object[]> claimLowStockAlerts(@Param("ingredientIds") Collection<Long> ingredientIds,
+            @Param("now") LocalDateTime now,
+            @Param("alertThreshold") LocalDateTime alertThreshold);
+
     @Query("""
                 SELECT i FROM Inventory i
                 WHERE i.currentStock <= i.minimumStock
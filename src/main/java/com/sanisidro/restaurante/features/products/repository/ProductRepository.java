@@ -1,10 +1,12 @@
 package com.sanisidro.restaurante.features.products.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sanisidro.restaurante.features.products.model.Product;
@@ -28,4 +30,18 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Optional<Product> findByName(String name);
 
+    /**
+     * Carga en una sola consulta los productos indicados junto con su categoría,
+     * su receta (ProductIngredient) y la unidad de cada ingrediente.
+     */
+    @Query("""
+                SELECT DISTINCT p FROM Product p
+                JOIN FETCH p.category
+                LEFT JOIN FETCH p.ingredients pi
+                LEFT JOIN FETCH pi.ingredient ing
+                LEFT JOIN FETCH ing.unit
+                WHERE p.id IN :ids
+            """)
+    List<Product> findAllWithRecipeByIdIn(@Param("ids") Collection<Long> ids);
+
 }
\ No newline at end of file
@@ -26,6 +26,7 @@ import com.sanisidro.restaurante.features.products.repository.CategoryRepository
 import com.sanisidro.restaurante.features.products.repository.IngredientRepository;
 import com.sanisidro.restaurante.features.products.repository.ProductRepository;
 import com.sanisidro.restaurante.features.reports.dto.response.ProductSalesReportResponse;
+import com.sanisidro.restaurante.features.reports.service.SalesRollupService;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +42,7 @@ public class ProductService {
         private final IngredientRepository ingredientRepository;
         private final OrderDetailRepository orderDetailRepository;
         private final FileService fileService;
+        private final SalesRollupService salesRollupService;
 
         public List<ProductResponse> getAllActive() {
                 return productRepository.findAllActive().stream()
@@ -285,7 +287,7 @@ public class ProductService {
         }
 
         public List<ProductSalesReportResponse> getTopSellingProducts() {
-                return orderDetailRepository.findTopSellingProducts().stream()
+                return salesRollupService.findTopSellingProducts().stream()
                                 .map((Object[] row) -> {
                                         Number idNum = (Number) row[0];
                                         Long productId = idNum != null ? idNum.longValue() : null;
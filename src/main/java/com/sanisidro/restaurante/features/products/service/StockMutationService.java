@@ -0,0 +1,168 @@
+package com.sanisidro.restaurante.features.products.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sanisidro.restaurante.features.products.enums.MovementSource;
+import com.sanisidro.restaurante.features.products.enums.MovementType;
+import com.sanisidro.restaurante.features.products.exceptions.InsufficientStockException;
+import com.sanisidro.restaurante.features.products.exceptions.InvalidQuantityException;
+import com.sanisidro.restaurante.features.products.exceptions.InventoryNotFoundException;
+import com.sanisidro.restaurante.features.products.repository.InventoryMovementRepository;
+import com.sanisidro.restaurante.features.products.repository.InventoryRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aplica los movimientos de stock de una operación completa (por ejemplo, una orden)
+ * con sentencias set-based: un UPDATE condicional para todos los ingredientes y un
+ * INSERT para todos los movimientos. No usa el @Version de {@code Inventory}, por lo
+ * que órdenes concurrentes sobre el mismo ingrediente se serializan en el bloqueo de
+ * fila en lugar de fallar con OptimisticLockException.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockMutationService {
+
+    private static final int LOW_STOCK_ALERT_HOURS = 24;
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryMovementRepository movementRepository;
+
+    /**
+     * Descuenta las cantidades (ingredientId -> cantidad) y registra los movimientos de salida.
+     * Es todo o nada: si algún ingrediente no alcanza no se modifica ningún inventario y se
+     * lanza {@link InsufficientStockException} con los ingredientes faltantes.
+     */
+    @Transactional
+    public List<StockLevel> decrease(Map<Long, BigDecimal> quantities, MovementSource source, Long referenceId,
+            String reason) {
+        Map<Long, BigDecimal> deltas = normalize(quantities);
+        if (deltas.isEmpty())
+            return List.of();
+
+        Long[] ingredientIds = deltas.keySet().toArray(Long[]::new);
+        BigDecimal[] amounts = deltas.values().toArray(BigDecimal[]::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = inventoryRepository.decreaseStockIfAvailable(ingredientIds, amounts, now);
+
+        List<StockLevel> levels = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        List<String> shortages = new ArrayList<>();
+        List<String> shortNames = new ArrayList<>();
+
+        for (Object[] row : rows) {
+            Long ingredientId = ((Number) row[0]).longValue();
+            String name = (String) row[1];
+            BigDecimal current = (BigDecimal) row[2];
+            boolean isShort = Boolean.TRUE.equals(row[4]);
+
+            if (!isShort) {
+                levels.add(new StockLevel(ingredientId, name, current, (BigDecimal) row[3]));
+            } else if (current == null) {
+                missing.add(name);
+            } else {
+                shortNames.add(name);
+                shortages.add(name + " (disponible: " + current + ", solicitado: " + deltas.get(ingredientId) + ")");
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new InventoryNotFoundException(
+                    "Inventario no encontrado para ingrediente: " + String.join(", ", missing));
+        }
+
+        if (!shortages.isEmpty() || levels.size() != deltas.size()) {
+            log.warn("Stock insuficiente para referencia {}: {}", referenceId, shortages);
+            throw new InsufficientStockException(
+                    "Stock insuficiente para: " + String.join(", ", shortages), shortNames);
+        }
+
+        movementRepository.insertBatch(ingredientIds, amounts, MovementType.EXIT.name(), source.name(), reason,
+                referenceId, now);
+
+        return levels;
+    }
+
+    /**
+     * Devuelve al inventario las cantidades indicadas y registra los movimientos de entrada.
+     * Los ingredientes sin inventario se ignoran.
+     */
+    @Transactional
+    public void increase(Map<Long, BigDecimal> quantities, MovementSource source, Long referenceId, String reason) {
+        Map<Long, BigDecimal> deltas = normalize(quantities);
+        if (deltas.isEmpty())
+            return;
+
+        Long[] ingredientIds = deltas.keySet().toArray(Long[]::new);
+        BigDecimal[] amounts = deltas.values().toArray(BigDecimal[]::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        inventoryRepository.increaseStock(ingredientIds, amounts, now);
+        movementRepository.insertBatch(ingredientIds, amounts, MovementType.ENTRY.name(), source.name(), reason,
+                referenceId, now);
+    }
+
+    /**
+     * Reclama las alertas de stock bajo pendientes para los ingredientes indicados.
+     * Solo una transacción obtiene cada alerta, aunque varias órdenes bajen el mismo
+     * ingrediente al mismo tiempo.
+     */
+    @Transactional
+    public List<StockLevel> claimLowStockAlerts(Collection<StockLevel> levels) {
+        List<Long> candidates = levels.stream()
+                .filter(StockLevel::isBelowMinimum)
+                .map(StockLevel::getIngredientId)
+                .toList();
+
+        if (candidates.isEmpty())
+            return List.of();
+
+        LocalDateTime now = LocalDateTime.now();
+        return inventoryRepository.claimLowStockAlerts(candidates, now, now.minusHours(LOW_STOCK_ALERT_HOURS))
+                .stream()
+                .map(row -> new StockLevel(((Number) row[0]).longValue(), (String) row[1],
+                        (BigDecimal) row[2], (BigDecimal) row[3]))
+                .toList();
+    }
+
+    /**
+     * Ordena por ingrediente (orden de bloqueo estable) y valida las cantidades.
+     */
+    private Map<Long, BigDecimal> normalize(Map<Long, BigDecimal> quantities) {
+        return quantities.entrySet().stream()
+                .filter(e -> e.getValue() != null && e.getValue().signum() != 0)
+                .peek(e -> {
+                    if (e.getValue().signum() < 0)
+                        throw new InvalidQuantityException("Cantidad debe ser positiva");
+                })
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, BigDecimal::add, TreeMap::new));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StockLevel {
+        private final Long ingredientId;
+        private final String ingredientName;
+        private final BigDecimal currentStock;
+        private final BigDecimal minimumStock;
+
+        public boolean isBelowMinimum() {
+            return currentStock != null && minimumStock != null && currentStock.compareTo(minimumStock) < 0;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.sanisidro.restaurante.features.reports.aggregation;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import com.sanisidro.restaurante.features.reports.enums.TopProductsWindow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Unidades e ingresos por producto en cada {@link TopProductsWindow}, en memoria.
+ * Las ventas se guardan en buckets por minuto (la última hora) y por hora (hasta 30
+ * días); cada ventana lleva además sus totales por producto, así que pedir el top-K
+ * solo recorre los productos con ventas en la ventana. Cuando el reloj avanza, los
+ * buckets que quedan fuera de una ventana se restan de sus totales y, pasados los
+ * 30 días, se descartan.
+ * <p>
+ * Cada orden se registra entera con {@link #put}: si ya estaba, primero se resta lo
+ * que aportaba, así que volver a enviar una orden (otro detalle, otra fecha o
+ * cancelada) nunca la cuenta dos veces. Como los inicios de las ventanas caen en un
+ * minuto o en una medianoche, los totales coinciden con sumar las órdenes con
+ * {@code date >= from}.
+ * <p>
+ * No es thread-safe ni depende de Spring; la hora la pasa quien lo usa.
+ */
+public class SlidingTopProducts {
+
+    private static final Comparator<ProductSales> RANKING = Comparator
+            .comparingLong(ProductSales::getQuantity).reversed()
+            .thenComparing(ProductSales::getRevenue, Comparator.reverseOrder())
+            .thenComparing(ProductSales::getProductId);
+
+    private final Map<Long, OrderSales> orders = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Map<Long, Totals>> minutes = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, Map<Long, Totals>> hours = new TreeMap<>();
+    private final Map<TopProductsWindow, LocalDateTime> froms = new EnumMap<>(TopProductsWindow.class);
+    private final Map<TopProductsWindow, Map<Long, Totals>> totals = new EnumMap<>(TopProductsWindow.class);
+
+    public SlidingTopProducts(LocalDateTime now) {
+        for (TopProductsWindow window : TopProductsWindow.values()) {
+            froms.put(window, window.from(now));
+            totals.put(window, new HashMap<>());
+        }
+    }
+
+    /**
+     * Registra la orden tal como quedó, reemplazando lo que aportaba antes. Una orden
+     * cancelada solo se resta.
+     */
+    public void put(OrderSales order) {
+        remove(order.getOrderId());
+        if (order.isCancelled() || order.getDate().isBefore(froms.get(TopProductsWindow.LAST_30_DAYS))) {
+            return;
+        }
+        orders.put(order.getOrderId(), order);
+        apply(order, 1);
+    }
+
+    public void remove(Long orderId) {
+        OrderSales previous = orders.remove(orderId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+
+    /**
+     * Mueve las ventanas hasta {@code now}. La hora no retrocede: un {@code now}
+     * anterior no cambia nada.
+     */
+    public void advance(LocalDateTime now) {
+        for (TopProductsWindow window : TopProductsWindow.values()) {
+            LocalDateTime from = froms.get(window);
+            LocalDateTime newFrom = window.from(now);
+            if (!newFrom.isAfter(from)) {
+                continue;
+            }
+            Map<Long, Totals> windowTotals = totals.get(window);
+            buckets(window).subMap(from, true, newFrom, false).values()
+                    .forEach(bucket -> bucket.forEach((productId, sales) -> add(windowTotals, productId,
+                            -sales.quantity, sales.revenue.negate())));
+            froms.put(window, newFrom);
+        }
+        minutes.headMap(froms.get(TopProductsWindow.LAST_HOUR), false).clear();
+        LocalDateTime horizon = froms.get(TopProductsWindow.LAST_30_DAYS);
+        hours.headMap(horizon, false).clear();
+        orders.values().removeIf(order -> order.getDate().isBefore(horizon));
+    }
+
+    /**
+     * Los {@code limit} productos con más unidades en la ventana; los empates, por
+     * ingresos y luego por id.
+     */
+    public List<ProductSales> top(TopProductsWindow window, int limit) {
+        PriorityQueue<ProductSales> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        totals.get(window).forEach((productId, sales) -> {
+            best.add(new ProductSales(productId, sales.quantity, sales.revenue));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<ProductSales> result = new ArrayList<>(best);
+        result.sort(RANKING);
+        return result;
+    }
+
+    /** Órdenes que cuentan hoy en alguna ventana. */
+    public int size() {
+        return orders.size();
+    }
+
+    private void apply(OrderSales order, int sign) {
+        LocalDateTime date = order.getDate();
+        boolean inLastHour = !date.isBefore(froms.get(TopProductsWindow.LAST_HOUR));
+        for (OrderLine line : order.getLines()) {
+            long quantity = sign * line.getQuantity();
+            BigDecimal revenue = sign > 0 ? line.getRevenue() : line.getRevenue().negate();
+            if (inLastHour) {
+                add(minutes.computeIfAbsent(date.truncatedTo(ChronoUnit.MINUTES), key -> new HashMap<>()),
+                        line.getProductId(), quantity, revenue);
+            }
+            add(hours.computeIfAbsent(date.truncatedTo(ChronoUnit.HOURS), key -> new HashMap<>()),
+                    line.getProductId(), quantity, revenue);
+            for (TopProductsWindow window : TopProductsWindow.values()) {
+                if (!date.isBefore(froms.get(window))) {
+                    add(totals.get(window), line.getProductId(), quantity, revenue);
+                }
+            }
+        }
+    }
+
+    private NavigableMap<LocalDateTime, Map<Long, Totals>> buckets(TopProductsWindow window) {
+        return window == TopProductsWindow.LAST_HOUR ? minutes : hours;
+    }
+
+    private static void add(Map<Long, Totals> target, Long productId, long quantity, BigDecimal revenue) {
+        Totals sales = target.computeIfAbsent(productId, id -> new Totals());
+        sales.quantity += quantity;
+        sales.revenue = sales.revenue.add(revenue);
+        if (sales.quantity == 0 && sales.revenue.signum() == 0) {
+            target.remove(productId);
+        }
+    }
+
+    private static class Totals {
+        private long quantity;
+        private BigDecimal revenue = BigDecimal.ZERO;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class OrderSales {
+        private final Long orderId;
+        private final LocalDateTime date;
+        private final boolean cancelled;
+        private final List<OrderLine> lines;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class OrderLine {
+        private final Long productId;
+        private final long quantity;
+        private final BigDecimal revenue;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ProductSales {
+        private final Long productId;
+        private final long quantity;
+        private final BigDecimal revenue;
+    }
+}
@@ -0,0 +1,83 @@
+package com.sanisidro.restaurante.features.reports.aggregation;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+
+/**
+ * Arma series temporales a partir de consultas {@code GROUP BY date_trunc(...)}:
+ * las filas traen {@code [bucket, valor...]} solo para los buckets con datos y aquí
+ * se rellenan los vacíos, en orden y de {@code from} (incluido) a {@code to}
+ * (excluido).
+ * <p>
+ * Las fechas de órdenes y reservas se guardan en hora local del restaurante (las
+ * órdenes se fechan con {@link #now()}, sea cual sea la zona de la JVM), así que los
+ * rangos se arman con {@link #ZONE} y la base agrupa sin convertir.
+ */
+public final class TimeBuckets {
+
+    public static final ZoneId ZONE = Reservation.RESTAURANT_ZONE;
+
+    private TimeBuckets() {
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(ZONE);
+    }
+
+    public static LocalDateTime now() {
+        return LocalDateTime.now(ZONE);
+    }
+
+    /**
+     * Serie completa con la columna {@code valueColumn} de cada fila; los buckets sin
+     * fila quedan en {@code zero}.
+     */
+    public static <T> Map<LocalDateTime, T> fill(List<Object[]> rows, int valueColumn, LocalDateTime from,
+            LocalDateTime to, TimeGranularity granularity, Function<Object, T> converter, T zero) {
+        Map<LocalDateTime, T> found = new HashMap<>();
+        for (Object[] row : rows) {
+            found.put(toLocalDateTime(row[0]), converter.apply(row[valueColumn]));
+        }
+
+        Map<LocalDateTime, T> series = new LinkedHashMap<>();
+        for (LocalDateTime bucket = granularity.truncate(from); bucket.isBefore(to); bucket = granularity
+                .next(bucket)) {
+            series.put(bucket, found.getOrDefault(bucket, zero));
+        }
+        return series;
+    }
+
+    /**
+     * Misma serie con la fecha como clave, para buckets diarios o semanales.
+     */
+    public static <T> Map<LocalDate, T> byDate(Map<LocalDateTime, T> series) {
+        Map<LocalDate, T> byDate = new LinkedHashMap<>();
+        series.forEach((bucket, value) -> byDate.put(bucket.toLocalDate(), value));
+        return byDate;
+    }
+
+    public static Integer toInteger(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    public static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
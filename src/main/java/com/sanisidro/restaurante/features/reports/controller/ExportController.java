@@ -0,0 +1,68 @@
+package com.sanisidro.restaurante.features.reports.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.sanisidro.restaurante.features.reports.enums.ExportDataset;
+import com.sanisidro.restaurante.features.reports.enums.ExportFormat;
+import com.sanisidro.restaurante.features.reports.service.ExportService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Descargas de órdenes, pagos y movimientos de inventario por rango de días
+ * ({@code from} y {@code to} incluidos), en CSV o XLSX. El archivo se escribe a
+ * medida que se lee de la base.
+ */
+@RestController
+@RequestMapping("/api/v1/reports/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return export(ExportDataset.ORDERS, from, to, format);
+    }
+
+    @GetMapping("/payments")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return export(ExportDataset.PAYMENTS, from, to, format);
+    }
+
+    @GetMapping("/inventory-movements")
+    public ResponseEntity<StreamingResponseBody> exportInventoryMovements(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return export(ExportDataset.INVENTORY_MOVEMENTS, from, to, format);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(ExportDataset dataset, LocalDate from, LocalDate to,
+            ExportFormat format) {
+        StreamingResponseBody body = exportService.export(dataset, from, to, format);
+        String filename = dataset.getFileName() + "_" + from + "_" + to + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
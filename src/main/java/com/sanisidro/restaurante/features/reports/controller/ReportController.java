@@ -1,17 +1,27 @@
 package com.sanisidro.restaurante.features.reports.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.sanisidro.restaurante.core.security.dto.ApiResponse;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
 import com.sanisidro.restaurante.features.reports.dto.response.InventoryReportResponse;
 import com.sanisidro.restaurante.features.reports.dto.response.PaymentReportResponse;
+import com.sanisidro.restaurante.features.reports.dto.response.ProductSalesReportResponse;
 import com.sanisidro.restaurante.features.reports.dto.response.ReportSummaryResponse;
+import com.sanisidro.restaurante.features.reports.dto.response.SalesBreakdownResponse;
+import com.sanisidro.restaurante.features.reports.enums.ReportDimension;
+import com.sanisidro.restaurante.features.reports.enums.TopProductsWindow;
 import com.sanisidro.restaurante.features.reports.service.ReportService;
+import com.sanisidro.restaurante.features.reports.service.TopProductsService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 public class ReportController {
 
     private final ReportService reportService;
+    private final TopProductsService topProductsService;
 
     /**
      * Devuelve un resumen con todos los reportes necesarios para el frontend:
@@ -41,6 +52,32 @@ public class ReportController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Reporte de pagos generado", resp));
     }
 
+    /**
+     * Ventas de un rango de días por hora, día, semana o mes, abiertas por tipo de
+     * orden, método de pago, empleado o categoría de producto.
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<ApiResponse<SalesBreakdownResponse>> getSalesBreakdown(
+            @RequestHeader(name = "Accept-Language", defaultValue = "es") String lang,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") TimeGranularity granularity,
+            @RequestParam(defaultValue = "NONE") ReportDimension dimension) {
+        SalesBreakdownResponse resp = reportService.getSalesBreakdown(from, to, granularity, dimension, lang);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Reporte de ventas por rango generado", resp));
+    }
+
+    /**
+     * Productos más vendidos de la última hora, hoy, los últimos 7 o 30 días.
+     */
+    @GetMapping("/top-products")
+    public ResponseEntity<ApiResponse<List<ProductSalesReportResponse>>> getTopProducts(
+            @RequestParam(defaultValue = "TODAY") TopProductsWindow window,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ProductSalesReportResponse> resp = topProductsService.getTopProducts(window, limit);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Productos más vendidos obtenidos", resp));
+    }
+
     /**
      * Devuelve el estado actual del inventario y alertas de reposición.
      */
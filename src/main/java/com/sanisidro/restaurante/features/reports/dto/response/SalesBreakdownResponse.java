@@ -0,0 +1,25 @@
+package com.sanisidro.restaurante.features.reports.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
+import com.sanisidro.restaurante.features.reports.enums.ReportDimension;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBreakdownResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private TimeGranularity granularity;
+    private ReportDimension dimension;
+    private List<SalesBreakdownRowResponse> rows; // Solo los períodos con datos
+    private boolean truncated; // Se llegó al máximo de filas
+}
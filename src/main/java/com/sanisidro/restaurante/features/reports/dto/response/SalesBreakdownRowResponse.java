@@ -0,0 +1,21 @@
+package com.sanisidro.restaurante.features.reports.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBreakdownRowResponse {
+    private LocalDateTime bucket; // Inicio del período, hora del restaurante
+    private Long dimensionId;
+    private String dimensionName;
+    private long count; // Órdenes, pagos o unidades según la dimensión
+    private BigDecimal amount;
+}
@@ -0,0 +1,18 @@
+package com.sanisidro.restaurante.features.reports.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Tablas que se pueden exportar por rango de fechas.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportDataset {
+    ORDERS("ordenes"),
+    PAYMENTS("pagos"),
+    INVENTORY_MOVEMENTS("movimientos-inventario");
+
+    /** Prefijo del nombre del archivo descargado. */
+    private final String fileName;
+}
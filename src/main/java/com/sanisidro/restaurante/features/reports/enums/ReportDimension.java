@@ -0,0 +1,18 @@
+package com.sanisidro.restaurante.features.reports.enums;
+
+/**
+ * Por qué se abren las ventas de un reporte por rango. Con {@code NONE} hay una sola
+ * fila por período.
+ */
+public enum ReportDimension {
+    /** Órdenes: cantidad y total. */
+    NONE,
+    /** Órdenes por tipo: cantidad y total. */
+    ORDER_TYPE,
+    /** Pagos confirmados por método, según la fecha del pago: cantidad y monto. */
+    PAYMENT_METHOD,
+    /** Órdenes por empleado que las atendió: cantidad y total. */
+    EMPLOYEE,
+    /** Productos vendidos por categoría: unidades e ingresos. */
+    PRODUCT_CATEGORY
+}
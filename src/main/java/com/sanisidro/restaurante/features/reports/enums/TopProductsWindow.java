@@ -0,0 +1,28 @@
+package com.sanisidro.restaurante.features.reports.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Ventanas de los productos más vendidos, en hora del restaurante. Todas empiezan en
+ * un minuto (la última hora) o en una medianoche (las demás) y no tienen fin.
+ */
+public enum TopProductsWindow {
+    /** Desde el mismo minuto de hace una hora. */
+    LAST_HOUR,
+    /** Desde la medianoche de hoy. */
+    TODAY,
+    /** Hoy y los 6 días anteriores. */
+    LAST_7_DAYS,
+    /** Hoy y los 29 días anteriores. */
+    LAST_30_DAYS;
+
+    public LocalDateTime from(LocalDateTime now) {
+        return switch (this) {
+            case LAST_HOUR -> now.truncatedTo(ChronoUnit.MINUTES).minusHours(1);
+            case TODAY -> now.truncatedTo(ChronoUnit.DAYS);
+            case LAST_7_DAYS -> now.truncatedTo(ChronoUnit.DAYS).minusDays(6);
+            case LAST_30_DAYS -> now.truncatedTo(ChronoUnit.DAYS).minusDays(29);
+        };
+    }
+}
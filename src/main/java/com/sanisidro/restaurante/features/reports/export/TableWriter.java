@@ -0,0 +1,25 @@
+package com.sanisidro.restaurante.features.reports.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.sanisidro.restaurante.features.reports.enums.ExportFormat;
+
+/**
+ * Escribe una tabla fila por fila sin guardarla en memoria. Los valores pueden ser
+ * {@code null}, texto, números, booleanos o {@code LocalDateTime}. Al cerrarlo se
+ * termina el archivo y se cierra el stream.
+ */
+public interface TableWriter extends Closeable {
+
+    void writeRow(Object[] values) throws IOException;
+
+    static TableWriter open(ExportFormat format, OutputStream out, List<String> columns) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvTableWriter(out, columns);
+            case XLSX -> new XlsxTableWriter(out, columns);
+        };
+    }
+}
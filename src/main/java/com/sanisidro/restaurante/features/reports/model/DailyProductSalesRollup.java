@@ -0,0 +1,55 @@
+package com.sanisidro.restaurante.features.reports.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Unidades vendidas e ingresos de un producto en un día por estado de la orden, según
+ * la fecha de la orden.
+ */
+@Entity
+@Table(name = "daily_product_sales_rollups", indexes = {
+        @Index(name = "idx_daily_product_sales_rollups_day", columnList = "sales_day")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyProductSalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate salesDay;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "order_status_id", nullable = false)
+    private Long orderStatusId;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "revenue", precision = 14, scale = 2, nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "tax", precision = 14, scale = 2, nullable = false)
+    private BigDecimal tax;
+}
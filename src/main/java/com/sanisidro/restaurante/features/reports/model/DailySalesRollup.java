@@ -0,0 +1,59 @@
+package com.sanisidro.restaurante.features.reports.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Órdenes de un día por tipo, estado y empleado (nulo si la orden no tiene): cantidad,
+ * total e impuesto incluido. La mantiene {@code SalesRollupService}; no se escribe
+ * desde las entidades.
+ */
+@Entity
+@Table(name = "daily_sales_rollups", indexes = {
+        @Index(name = "idx_daily_sales_rollups_day", columnList = "sales_day")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate salesDay;
+
+    @Column(name = "order_type_id", nullable = false)
+    private Long orderTypeId;
+
+    @Column(name = "order_status_id", nullable = false)
+    private Long orderStatusId;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total", precision = 14, scale = 2, nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "tax", precision = 14, scale = 2, nullable = false)
+    private BigDecimal tax;
+}
@@ -0,0 +1,41 @@
+package com.sanisidro.restaurante.features.reports.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Marca de que cambiaron las ventas de un día. Se inserta en la misma transacción
+ * que la orden o el pago, sin clave única para que dos órdenes del mismo día no se
+ * esperen entre sí; el refresco las consume y recalcula cada día una vez.
+ */
+@Entity
+@Table(name = "sales_rollup_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollupChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate salesDay;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
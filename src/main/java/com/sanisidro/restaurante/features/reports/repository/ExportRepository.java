@@ -0,0 +1,74 @@
+package com.sanisidro.restaurante.features.reports.repository;
+
+import java.time.LocalDate;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import com.sanisidro.restaurante.core.config.ReportProperties;
+import com.sanisidro.restaurante.features.reports.enums.ExportDataset;
+
+/**
+ * Consultas de exportación. Los nombres de las columnas son los encabezados del
+ * archivo. El driver de PostgreSQL trae las filas de a
+ * {@code app.reports.export-fetch-size} con un cursor solo si la conexión no está en
+ * autocommit, así que hay que llamarlo dentro de una transacción.
+ */
+@Repository
+public class ExportRepository {
+
+    private static final String ORDERS = """
+            SELECT o.order_id AS "Orden", o.date AS "Fecha", s.code AS "Estado", t.code AS "Tipo",
+                   u.first_name || ' ' || u.last_name AS "Cliente", o.employee_id AS "Empleado",
+                   o.table_id AS "Mesa", o.total AS "Total"
+            FROM orders o
+            JOIN order_statuses s ON s.order_status_id = o.order_status_id
+            JOIN order_types t ON t.order_type_id = o.order_type_id
+            JOIN customers c ON c.customer_id = o.customer_id
+            JOIN users u ON u.user_id = c.user_id
+            WHERE o.date >= CAST(? AS date) AND o.date < CAST(? AS date)
+            ORDER BY o.date, o.order_id
+            """;
+
+    private static final String PAYMENTS = """
+            SELECT p.payment_id AS "Pago", p.order_id AS "Orden", p.date AS "Fecha", m.code AS "Método",
+                   p.amount AS "Monto", p.is_online AS "En línea", p.status AS "Estado",
+                   p.transaction_code AS "Código de transacción"
+            FROM payments p
+            JOIN payment_methods m ON m.payment_method_id = p.payment_method_id
+            WHERE p.date >= CAST(? AS date) AND p.date < CAST(? AS date)
+            ORDER BY p.date, p.payment_id
+            """;
+
+    private static final String INVENTORY_MOVEMENTS = """
+            SELECT im.id AS "Movimiento", im.date AS "Fecha", i.name AS "Insumo", im.type AS "Tipo",
+                   im.quantity AS "Cantidad", im.source AS "Origen", im.reference_id AS "Referencia",
+                   im.reason AS "Motivo"
+            FROM inventory_movements im
+            JOIN ingredients i ON i.ingredient_id = im.ingredient_id
+            WHERE im.date >= CAST(? AS date) AND im.date < CAST(? AS date)
+            ORDER BY im.date, im.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource, ReportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getExportFetchSize());
+    }
+
+    /**
+     * Recorre las filas de los días {@code [from, to)} en orden de fecha.
+     */
+    public <T> T stream(ExportDataset dataset, LocalDate from, LocalDate to, ResultSetExtractor<T> extractor) {
+        String sql = switch (dataset) {
+            case ORDERS -> ORDERS;
+            case PAYMENTS -> PAYMENTS;
+            case INVENTORY_MOVEMENTS -> INVENTORY_MOVEMENTS;
+        };
+        return jdbcTemplate.query(sql, extractor, from, to);
+    }
+}
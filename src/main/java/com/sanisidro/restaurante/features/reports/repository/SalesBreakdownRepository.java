@@ -0,0 +1,161 @@
+package com.sanisidro.restaurante.features.reports.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.sanisidro.restaurante.core.config.ReportProperties;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
+import com.sanisidro.restaurante.features.reports.enums.ReportDimension;
+
+/**
+ * Ventas de un rango agrupadas por período y dimensión, en una sola consulta
+ * {@code GROUP BY date_trunc(...)}. Por día, semana o mes se leen los acumulados
+ * diarios; por hora, que los acumulados no tienen, las tablas de órdenes y pagos
+ * con sus índices por fecha. Cada consulta tiene un tiempo máximo
+ * ({@code app.reports.range-query-timeout-seconds}).
+ * <p>
+ * Las órdenes canceladas no cuentan, tampoco por categoría; los pagos, solo los
+ * confirmados.
+ */
+@Repository
+public class SalesBreakdownRepository {
+
+    private static final String ROLLUP_ORDERS = """
+            SELECT date_trunc(?, CAST(r.sales_day AS timestamp)) AS bucket, %s AS dimension_id,
+                   SUM(r.order_count), SUM(r.total)
+            FROM daily_sales_rollups r
+            JOIN order_statuses s ON s.order_status_id = r.order_status_id
+            WHERE r.sales_day >= CAST(? AS date) AND r.sales_day < CAST(? AS date)
+              AND s.code <> 'CANCELLED'
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            LIMIT ?
+            """;
+
+    private static final String ROLLUP_PAYMENTS = """
+            SELECT date_trunc(?, CAST(r.sales_day AS timestamp)) AS bucket, r.payment_method_id,
+                   SUM(r.payment_count), SUM(r.amount)
+            FROM daily_payment_rollups r
+            WHERE r.sales_day >= CAST(? AS date) AND r.sales_day < CAST(? AS date)
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            LIMIT ?
+            """;
+
+    private static final String ROLLUP_CATEGORIES = """
+            SELECT date_trunc(?, CAST(r.sales_day AS timestamp)) AS bucket, p.category_id,
+                   SUM(r.quantity), SUM(r.revenue)
+            FROM daily_product_sales_rollups r
+            JOIN products p ON p.product_id = r.product_id
+            JOIN order_statuses s ON s.order_status_id = r.order_status_id
+            WHERE r.sales_day >= CAST(? AS date) AND r.sales_day < CAST(? AS date)
+              AND s.code <> 'CANCELLED'
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            LIMIT ?
+            """;
+
+    private static final String RAW_ORDERS = """
+            SELECT date_trunc(?, o.date) AS bucket, %s AS dimension_id, COUNT(*), SUM(o.total)
+            FROM orders o
+            JOIN order_statuses s ON s.order_status_id = o.order_status_id
+            WHERE o.date >= CAST(? AS date) AND o.date < CAST(? AS date)
+              AND s.code <> 'CANCELLED'
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            LIMIT ?
+            """;
+
+    private static final String RAW_PAYMENTS = """
+            SELECT date_trunc(?, p.date) AS bucket, p.payment_method_id, COUNT(*), SUM(p.amount)
+            FROM payments p
+            WHERE p.status = 'CONFIRMED'
+              AND p.date >= CAST(? AS date) AND p.date < CAST(? AS date)
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            LIMIT ?
+            """;
+
+    private static final String RAW_CATEGORIES = """
+            SELECT date_trunc(?, o.date) AS bucket, p.category_id,
+                   SUM(d.quantity), SUM(d.quantity * d.unit_price)
+            FROM orders o
+            JOIN order_details d ON d.order_id = o.order_id
+            JOIN products p ON p.product_id = d.product_id
+            JOIN order_statuses s ON s.order_status_id = o.order_status_id
+            WHERE o.date >= CAST(? AS date) AND o.date < CAST(? AS date)
+              AND s.code <> 'CANCELLED'
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesBreakdownRepository(DataSource dataSource, ReportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(properties.getRangeQueryTimeoutSeconds());
+    }
+
+    /**
+     * [bucket, id de la dimensión, cantidad, monto] de los días {@code [from, to)},
+     * ordenado por bucket y dimensión y con a lo sumo {@code limit} filas.
+     */
+    public List<Object[]> aggregate(ReportDimension dimension, TimeGranularity granularity, LocalDate from,
+            LocalDate to, int limit) {
+        String sql = granularity == TimeGranularity.HOUR ? rawQuery(dimension) : rollupQuery(dimension);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Object[] {
+                rs.getTimestamp(1).toLocalDateTime(),
+                rs.getObject(2, Long.class),
+                rs.getLong(3),
+                rs.getBigDecimal(4)
+        }, granularity.getUnit(), from, to, limit);
+    }
+
+    /** Nombres de empleados o categorías; las demás dimensiones salen de los catálogos. */
+    public Map<Long, String> findNames(ReportDimension dimension, Collection<Long> ids) {
+        String sql = switch (dimension) {
+            case EMPLOYEE -> """
+                    SELECT e.employee_id, u.first_name || ' ' || u.last_name
+                    FROM employees e
+                    JOIN users u ON u.user_id = e.user_id
+                    WHERE e.employee_id = ANY (?)
+                    """;
+            case PRODUCT_CATEGORY -> "SELECT category_id, category_name FROM categories WHERE category_id = ANY (?)";
+            default -> throw new IllegalArgumentException("Dimensión sin nombres en base: " + dimension);
+        };
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            names.put(rs.getLong(1), rs.getString(2));
+        }, (Object) ids.toArray(Long[]::new));
+        return names;
+    }
+
+    private static String rollupQuery(ReportDimension dimension) {
+        return switch (dimension) {
+            case NONE -> ROLLUP_ORDERS.formatted("CAST(NULL AS bigint)");
+            case ORDER_TYPE -> ROLLUP_ORDERS.formatted("r.order_type_id");
+            case EMPLOYEE -> ROLLUP_ORDERS.formatted("r.employee_id");
+            case PAYMENT_METHOD -> ROLLUP_PAYMENTS;
+            case PRODUCT_CATEGORY -> ROLLUP_CATEGORIES;
+        };
+    }
+
+    private static String rawQuery(ReportDimension dimension) {
+        return switch (dimension) {
+            case NONE -> RAW_ORDERS.formatted("CAST(NULL AS bigint)");
+            case ORDER_TYPE -> RAW_ORDERS.formatted("o.order_type_id");
+            case EMPLOYEE -> RAW_ORDERS.formatted("o.employee_id");
+            case PAYMENT_METHOD -> RAW_PAYMENTS;
+            case PRODUCT_CATEGORY -> RAW_CATEGORIES;
+        };
+    }
+}
@@ -0,0 +1,159 @@
+package com.sanisidro.restaurante.features.reports.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sanisidro.restaurante.features.reports.model.DailySalesRollup;
+
+/**
+ * Consultas de los acumulados diarios de ventas. Los días se recalculan completos
+ * desde {@code orders}, {@code order_details} y {@code payments} (borrar e insertar),
+ * así que un día recalculado queda igual sin importar cuántas veces cambió.
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<DailySalesRollup, Long> {
+
+    @Query(nativeQuery = true, value = "SELECT true FROM pg_advisory_xact_lock(:lockKey)")
+    boolean lock(@Param("lockKey") long lockKey);
+
+    @Query(nativeQuery = true, value = "SELECT pg_try_advisory_xact_lock(:lockKey)")
+    boolean tryLock(@Param("lockKey") long lockKey);
+
+    /**
+     * Consume hasta {@code limit} marcas de días cambiados y devuelve sus días (con
+     * repetidos).
+     */
+    @Query(nativeQuery = true, value = """
+                DELETE FROM sales_rollup_changes c
+                WHERE c.id IN (
+                    SELECT id FROM sales_rollup_changes
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING c.sales_day
+            """)
+    List<Date> claimChangedDays(@Param("limit") int limit);
+
+    @Query(nativeQuery = true, value = "SELECT MIN(sales_day) FROM daily_sales_rollups")
+    Date findFirstRollupDay();
+
+    /** [primer día, último día] con órdenes o pagos; nulos si no hay ninguno. */
+    @Query(nativeQuery = true, value = """
+                SELECT LEAST(MIN(o.date), (SELECT MIN(p.date) FROM payments p)),
+                       GREATEST(MAX(o.date), (SELECT MAX(p.date) FROM payments p))
+                FROM orders o
+            """)
+    List<Object[]> findSalesRange();
+
+    // --- Recalculo de [from, to) ---
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                DELETE FROM daily_sales_rollups
+                WHERE sales_day >= :from AND sales_day < :to
+            """)
+    int deleteSales(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * El total de la orden ya incluye el impuesto; {@code taxShare} es la parte
+     * del total que corresponde al impuesto ({@code tasa / (1 + tasa)}).
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                INSERT INTO daily_sales_rollups
+                    (sales_day, order_type_id, order_status_id, employee_id, order_count, total, tax)
+                SELECT CAST(o.date AS date), o.order_type_id, o.order_status_id, o.employee_id,
+                       COUNT(*), SUM(o.total), ROUND(SUM(o.total) * :taxShare, 2)
+                FROM orders o
+                WHERE o.date >= :from AND o.date < :to
+                GROUP BY 1, 2, 3, 4
+            """)
+    int insertSales(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("taxShare") BigDecimal taxShare);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                DELETE FROM daily_product_sales_rollups
+                WHERE sales_day >= :from AND sales_day < :to
+            """)
+    int deleteProductSales(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                INSERT INTO daily_product_sales_rollups
+                    (sales_day, product_id, order_status_id, quantity, revenue, tax)
+                SELECT CAST(o.date AS date), d.product_id, o.order_status_id, SUM(d.quantity),
+                       SUM(d.quantity * d.unit_price), ROUND(SUM(d.quantity * d.unit_price) * :taxShare, 2)
+                FROM orders o
+                JOIN order_details d ON d.order_id = o.order_id
+                WHERE o.date >= :from AND o.date < :to
+                GROUP BY 1, 2, 3
+            """)
+    int insertProductSales(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("taxShare") BigDecimal taxShare);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                DELETE FROM daily_payment_rollups
+                WHERE sales_day >= :from AND sales_day < :to
+            """)
+    int deletePayments(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+                INSERT INTO daily_payment_rollups (sales_day, payment_method_id, payment_count, amount)
+                SELECT CAST(p.date AS date), p.payment_method_id, COUNT(*), SUM(p.amount)
+                FROM payments p
+                WHERE p.status = 'CONFIRMED'
+                  AND p.date >= :from AND p.date < :to
+                GROUP BY 1, 2
+            """)
+    int insertPayments(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // --- Lecturas ---
+
+    @Query(nativeQuery = true, value = "SELECT COALESCE(SUM(order_count), 0) FROM daily_sales_rollups")
+    long countOrders();
+
+    @Query(nativeQuery = true, value = """
+                SELECT COALESCE(SUM(r.total), 0)
+                FROM daily_sales_rollups r
+                JOIN order_statuses s ON s.order_status_id = r.order_status_id
+                WHERE s.code IN (:codes)
+            """)
+    BigDecimal sumTotalByStatusCodes(@Param("codes") List<String> codes);
+
+    /** [order_type_id, cantidad, total]. */
+    @Query(nativeQuery = true, value = """
+                SELECT order_type_id, SUM(order_count), SUM(total)
+                FROM daily_sales_rollups
+                GROUP BY order_type_id
+            """)
+    List<Object[]> findOrderTypeStatistics();
+
+    /** [payment_method_id, cantidad, monto] de los pagos confirmados. */
+    @Query(nativeQuery = true, value = """
+                SELECT payment_method_id, SUM(payment_count), SUM(amount)
+                FROM daily_payment_rollups
+                GROUP BY payment_method_id
+            """)
+    List<Object[]> findPaymentSummaryByMethod();
+
+    /** [product_id, nombre, cantidad, ingresos], de más a menos vendido. */
+    @Query(nativeQuery = true, value = """
+                SELECT r.product_id, p.name, SUM(r.quantity), SUM(r.revenue)
+                FROM daily_product_sales_rollups r
+                JOIN products p ON p.product_id = r.product_id
+                GROUP BY r.product_id, p.name
+                ORDER BY SUM(r.quantity) DESC
+            """)
+    List<Object[]> findTopSellingProducts();
+}
@@ -0,0 +1,54 @@
+package com.sanisidro.restaurante.features.reports.scheduler;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sanisidro.restaurante.features.reports.service.SalesRollupService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantiene al día los acumulados de ventas: al arrancar construye los días que
+ * falten, recalcula cada pocos segundos los días que cambiaron y reconcilia los
+ * últimos días cada madrugada.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupScheduler {
+
+    private final SalesRollupService rollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rollupService.backfill();
+        } catch (Exception e) {
+            log.error("❌ Error construyendo los acumulados de ventas: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.rollup-refresh-ms:10000}")
+    public void refreshChangedDays() {
+        try {
+            int days = rollupService.refreshChangedDays();
+            if (days > 0) {
+                log.debug("📊 Acumulados de ventas recalculados para {} días", days);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error recalculando los acumulados de ventas: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.reports.rollup-reconcile-cron:0 30 3 * * *}", zone = "America/Lima")
+    public void reconcile() {
+        try {
+            rollupService.reconcile();
+        } catch (Exception e) {
+            log.error("❌ Error reconciliando los acumulados de ventas: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -2,21 +2,32 @@ package com.sanisidro.restaurante.features.reports.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
-import com.sanisidro.restaurante.features.orders.repository.PaymentRepository;
+import com.sanisidro.restaurante.core.config.ReportProperties;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData;
 import com.sanisidro.restaurante.features.orders.service.OrderService;
 import com.sanisidro.restaurante.features.products.repository.InventoryRepository;
 import com.sanisidro.restaurante.features.products.service.ProductService;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
 import com.sanisidro.restaurante.features.reports.dto.response.InventoryReportResponse;
 import com.sanisidro.restaurante.features.reports.dto.response.OrderTypeReportResponse;
 import com.sanisidro.restaurante.features.reports.dto.response.PaymentReportResponse;
 import com.sanisidro.restaurante.features.reports.dto.response.ProductSalesReportResponse;
 import com.sanisidro.restaurante.features.reports.dto.response.ReportSummaryResponse;
+import com.sanisidro.restaurante.features.reports.dto.response.SalesBreakdownResponse;
+import com.sanisidro.restaurante.features.reports.dto.response.SalesBreakdownRowResponse;
+import com.sanisidro.restaurante.features.reports.enums.ReportDimension;
+import com.sanisidro.restaurante.features.reports.repository.SalesBreakdownRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,8 +37,11 @@ public class ReportService {
     private final OrderService orderService;
     private final ProductService productService;
 
-    private final PaymentRepository paymentRepository;
+    private final SalesRollupService salesRollupService;
     private final InventoryRepository inventoryRepository;
+    private final OrderReferenceData referenceData;
+    private final SalesBreakdownRepository salesBreakdownRepository;
+    private final ReportProperties reportProperties;
 
     /**
      * Construye y devuelve un resumen completo de reportes.
@@ -40,7 +54,7 @@ public class ReportService {
         BigDecimal totalSales = orderService.calculateTotalSales();
 
         // Hoy
-        LocalDate today = LocalDate.now();
+        LocalDate today = TimeBuckets.today();
         Integer ordersToday = orderService.countOrdersByDate(today);
         BigDecimal salesToday = orderService.calculateSalesByDate(today);
 
@@ -66,15 +80,84 @@ public class ReportService {
     }
 
     public List<PaymentReportResponse> getPaymentMethodSummary() {
-        return paymentRepository.findPaymentSummaryByMethod().stream()
+        return salesRollupService.findPaymentSummaryByMethod().stream()
                 .map(row -> PaymentReportResponse.builder()
-                        .paymentMethodName((String) row[0])
-                        .totalTransactions((Long) row[1])
+                        .paymentMethodName(referenceData.requirePaymentMethod(((Number) row[0]).longValue()).getCode())
+                        .totalTransactions(((Number) row[1]).longValue())
                         .totalAmount((BigDecimal) row[2])
                         .build())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Ventas de los días {@code from} a {@code to} (ambos incluidos) por período y
+     * dimensión. Por día, semana o mes sale de los acumulados diarios, que van unos
+     * segundos atrás de las órdenes; por hora, de las órdenes mismas. Un rango con más
+     * de {@code app.reports.range-max-buckets} períodos se rechaza y las filas se cortan
+     * en {@code app.reports.range-max-rows}.
+     */
+    public SalesBreakdownResponse getSalesBreakdown(LocalDate from, LocalDate to, TimeGranularity granularity,
+            ReportDimension dimension, String lang) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BadRequestException("Rango de fechas inválido");
+        }
+        int maxBuckets = reportProperties.getRangeMaxBuckets();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        int buckets = 0;
+        for (LocalDateTime bucket = granularity.truncate(from.atStartOfDay()); bucket.isBefore(end); bucket = granularity
+                .next(bucket)) {
+            if (++buckets > maxBuckets) {
+                throw new BadRequestException(String.format(
+                        "El rango tiene más de %d períodos por %s; use una granularidad mayor",
+                        maxBuckets, granularity.getUnit()));
+            }
+        }
+
+        int maxRows = reportProperties.getRangeMaxRows();
+        List<Object[]> rows = salesBreakdownRepository.aggregate(dimension, granularity, from, to.plusDays(1),
+                maxRows + 1);
+        boolean truncated = rows.size() > maxRows;
+        if (truncated) {
+            rows = rows.subList(0, maxRows);
+        }
+
+        Map<Long, String> names = dimensionNames(dimension, rows, lang);
+        return SalesBreakdownResponse.builder()
+                .from(from)
+                .to(to)
+                .granularity(granularity)
+                .dimension(dimension)
+                .rows(rows.stream()
+                        .map(row -> SalesBreakdownRowResponse.builder()
+                                .bucket((LocalDateTime) row[0])
+                                .dimensionId((Long) row[1])
+                                .dimensionName(row[1] != null ? names.get(row[1]) : null)
+                                .count((Long) row[2])
+                                .amount((BigDecimal) row[3])
+                                .build())
+                        .toList())
+                .truncated(truncated)
+                .build();
+    }
+
+    private Map<Long, String> dimensionNames(ReportDimension dimension, List<Object[]> rows, String lang) {
+        Set<Long> ids = rows.stream()
+                .map(row -> (Long) row[1])
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return switch (dimension) {
+            case ORDER_TYPE -> ids.stream()
+                    .collect(Collectors.toMap(id -> id, id -> referenceData.typeName(id, lang)));
+            case PAYMENT_METHOD -> ids.stream()
+                    .collect(Collectors.toMap(id -> id, id -> referenceData.requirePaymentMethod(id).getName(lang)));
+            case EMPLOYEE, PRODUCT_CATEGORY -> salesBreakdownRepository.findNames(dimension, ids);
+            case NONE -> Map.of();
+        };
+    }
+
     public List<InventoryReportResponse> getInventoryReport() {
         return inventoryRepository.findInventoryReport().stream()
                 .map(row -> {
@@ -0,0 +1,228 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.ReportProperties;
+import com.sanisidro.restaurante.core.config.TaxConfig;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+import com.sanisidro.restaurante.features.reports.repository.SalesRollupRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantiene los acumulados diarios de ventas (por tipo y estado de orden, por
+ * producto y por método de pago) que usan los reportes históricos, para no recorrer
+ * todas las órdenes en cada consulta.
+ * <p>
+ * Quien modifica una orden o un pago marca su día con {@link #markChanged} dentro de
+ * su transacción; {@link #refreshChangedDays} recalcula esos días completos unos
+ * segundos después y la reconciliación nocturna recalcula los últimos días por si
+ * algo se escribió sin marcar. Los recálculos se serializan con un advisory lock, así
+ * dos instancias nunca escriben el mismo día a la vez.
+ */
+@Service
+@Slf4j
+public class SalesRollupService {
+
+    private static final long ROLLUP_LOCK_KEY = 0x5A1E5L;
+    /** Días por transacción al reconstruir rangos largos. */
+    private static final int REBUILD_CHUNK_DAYS = 31;
+
+    private final SalesRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportProperties properties;
+    private final TaxConfig taxConfig;
+    private final Clock clock;
+
+    @Autowired
+    public SalesRollupService(SalesRollupRepository rollupRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ReportProperties properties,
+            TaxConfig taxConfig) {
+        this(rollupRepository, jdbcTemplate, new TransactionTemplate(transactionManager), properties, taxConfig,
+                Clock.system(TimeBuckets.ZONE));
+    }
+
+    SalesRollupService(SalesRollupRepository rollupRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ReportProperties properties,
+            TaxConfig taxConfig,
+            Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.taxConfig = taxConfig;
+        this.clock = clock;
+    }
+
+    /**
+     * Marca como cambiados los días de esas fechas (hora del restaurante), dentro de
+     * la transacción del llamador: si esta se revierte, la marca también. Va por JDBC
+     * para no forzar un flush de Hibernate a mitad de la operación.
+     */
+    @Transactional
+    public void markChanged(LocalDateTime... dates) {
+        TreeSet<LocalDate> days = new TreeSet<>();
+        for (LocalDateTime date : dates) {
+            if (date != null) {
+                days.add(date.toLocalDate());
+            }
+        }
+        if (days.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        jdbcTemplate.batchUpdate("INSERT INTO sales_rollup_changes (sales_day, changed_at) VALUES (?, ?)",
+                days.stream().map(day -> new Object[] { day, now }).toList());
+    }
+
+    /**
+     * Recalcula los días marcados, un lote de marcas por transacción. Si otra
+     * instancia está recalculando no hace nada; sus marcas quedan para la próxima
+     * vuelta. Devuelve cuántos días distintos se recalcularon.
+     */
+    public int refreshChangedDays() {
+        int batchSize = properties.getRollupRefreshBatchSize();
+        int refreshed = 0;
+        while (true) {
+            RefreshedBatch batch = transactionTemplate.execute(status -> refreshBatch(batchSize));
+            if (batch == null) {
+                return refreshed;
+            }
+            refreshed += batch.getDays();
+            if (batch.getClaimed() < batchSize) {
+                return refreshed;
+            }
+        }
+    }
+
+    /**
+     * Recalcula completos los días de [{@code from}, {@code to}), por tramos de un
+     * mes en transacciones separadas.
+     */
+    public void rebuild(LocalDate from, LocalDate to) {
+        for (LocalDate start = from; start.isBefore(to); start = start.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate chunkStart = start;
+            LocalDate next = start.plusDays(REBUILD_CHUNK_DAYS);
+            LocalDate chunkEnd = next.isBefore(to) ? next : to;
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupRepository.lock(ROLLUP_LOCK_KEY);
+                recompute(chunkStart, chunkEnd);
+            });
+        }
+    }
+
+    /**
+     * Recalcula los últimos {@code app.reports.rollup-reconcile-days} días hasta hoy.
+     */
+    public void reconcile() {
+        LocalDate today = LocalDate.now(clock);
+        rebuild(today.minusDays(properties.getRollupReconcileDays()), today.plusDays(1));
+        log.info("📊 Acumulados de ventas reconciliados desde {}", today.minusDays(properties.getRollupReconcileDays()));
+    }
+
+    /**
+     * Construye los acumulados de los días que todavía no tienen (base nueva o recién
+     * migrada): desde la primera orden o pago hasta el primer día ya acumulado, que
+     * puede ser el de hoy si el refresco llegó antes.
+     */
+    public void backfill() {
+        Object[] range = rollupRepository.findSalesRange().get(0);
+        if (range[0] == null) {
+            return;
+        }
+        LocalDate from = toLocalDateTime(range[0]).toLocalDate();
+        Date firstRollupDay = rollupRepository.findFirstRollupDay();
+        LocalDate to = firstRollupDay != null
+                ? firstRollupDay.toLocalDate()
+                : toLocalDateTime(range[1]).toLocalDate().plusDays(1);
+        if (!from.isBefore(to)) {
+            return;
+        }
+        rebuild(from, to);
+        log.info("📊 Acumulados de ventas construidos de {} a {}", from, to.minusDays(1));
+    }
+
+    // --- Lecturas ---
+
+    public long countOrders() {
+        return rollupRepository.countOrders();
+    }
+
+    public BigDecimal sumTotalByStatusCodes(List<String> codes) {
+        return rollupRepository.sumTotalByStatusCodes(codes);
+    }
+
+    /** [order_type_id, cantidad, total]. */
+    public List<Object[]> findOrderTypeStatistics() {
+        return rollupRepository.findOrderTypeStatistics();
+    }
+
+    /** [payment_method_id, cantidad, monto] de los pagos confirmados. */
+    public List<Object[]> findPaymentSummaryByMethod() {
+        return rollupRepository.findPaymentSummaryByMethod();
+    }
+
+    /** [product_id, nombre, cantidad, ingresos], de más a menos vendido. */
+    public List<Object[]> findTopSellingProducts() {
+        return rollupRepository.findTopSellingProducts();
+    }
+
+    private RefreshedBatch refreshBatch(int batchSize) {
+        if (!rollupRepository.tryLock(ROLLUP_LOCK_KEY)) {
+            return null;
+        }
+        List<Date> claimed = rollupRepository.claimChangedDays(batchSize);
+        TreeSet<LocalDate> days = new TreeSet<>();
+        claimed.forEach(day -> days.add(day.toLocalDate()));
+        days.forEach(day -> recompute(day, day.plusDays(1)));
+        return new RefreshedBatch(claimed.size(), days.size());
+    }
+
+    private void recompute(LocalDate from, LocalDate to) {
+        BigDecimal taxShare = taxShare();
+        rollupRepository.deleteSales(from, to);
+        rollupRepository.insertSales(from, to, taxShare);
+        rollupRepository.deleteProductSales(from, to);
+        rollupRepository.insertProductSales(from, to, taxShare);
+        rollupRepository.deletePayments(from, to);
+        rollupRepository.insertPayments(from, to);
+    }
+
+    private BigDecimal taxShare() {
+        BigDecimal rate = taxConfig.getRate() != null ? taxConfig.getRate() : BigDecimal.ZERO;
+        return rate.divide(BigDecimal.ONE.add(rate), MathContext.DECIMAL64);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class RefreshedBatch {
+        private final int claimed;
+        private final int days;
+    }
+}
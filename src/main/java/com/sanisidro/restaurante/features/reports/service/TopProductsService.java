@@ -0,0 +1,221 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData;
+import com.sanisidro.restaurante.features.orders.repository.OrderDetailRepository;
+import com.sanisidro.restaurante.features.reports.aggregation.SlidingTopProducts;
+import com.sanisidro.restaurante.features.reports.aggregation.SlidingTopProducts.OrderLine;
+import com.sanisidro.restaurante.features.reports.aggregation.SlidingTopProducts.OrderSales;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+import com.sanisidro.restaurante.features.reports.dto.response.ProductSalesReportResponse;
+import com.sanisidro.restaurante.features.reports.enums.TopProductsWindow;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Productos más vendidos de la última hora, hoy, 7 y 30 días, respondidos desde
+ * memoria con {@link SlidingTopProducts}, sin consultar la base. Al arrancar se
+ * carga con las órdenes no canceladas de los últimos 30 días y después se mantiene
+ * con los avisos de {@code OrderService}, que llegan tras el commit con la orden tal
+ * como quedó. Cada hora se vuelve a cargar, por los cambios hechos fuera de esta
+ * instancia. Las ventanas van en hora del restaurante, la misma con la que se
+ * fechan las órdenes ({@link TimeBuckets#now()}).
+ * <p>
+ * Los avisos que llegan mientras se carga se aplican también sobre lo cargado, en el
+ * mismo orden; como cada aviso reemplaza la orden entera, aplicarlo de nuevo no la
+ * cuenta dos veces.
+ */
+@Service
+@Slf4j
+public class TopProductsService {
+
+    private static final String CANCELLED = "CANCELLED";
+    private static final int MAX_LIMIT = 100;
+
+    private final OrderDetailRepository orderDetailRepository;
+    private final OrderReferenceData referenceData;
+    private final Clock clock;
+
+    private final Map<Long, String> productNames = new HashMap<>();
+    private final List<Consumer<SlidingTopProducts>> pending = new ArrayList<>();
+    private volatile SlidingTopProducts tracker;
+    private boolean reloading;
+
+    @Autowired
+    public TopProductsService(OrderDetailRepository orderDetailRepository, OrderReferenceData referenceData) {
+        this(orderDetailRepository, referenceData, Clock.system(TimeBuckets.ZONE));
+    }
+
+    TopProductsService(OrderDetailRepository orderDetailRepository, OrderReferenceData referenceData, Clock clock) {
+        this.orderDetailRepository = orderDetailRepository;
+        this.referenceData = referenceData;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("❌ Error cargando los productos más vendidos: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.reports.top-products-reload-ms:3600000}",
+            fixedDelayString = "${app.reports.top-products-reload-ms:3600000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("❌ Error recargando los productos más vendidos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Vuelve a cargar las ventas de los últimos 30 días desde la base.
+     */
+    public void reload() {
+        synchronized (this) {
+            if (reloading) {
+                return;
+            }
+            reloading = true;
+            pending.clear();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            SlidingTopProducts loaded = new SlidingTopProducts(now);
+            Map<Long, String> names = new HashMap<>();
+            List<Object[]> rows = orderDetailRepository.findProductSalesByOrderSince(
+                    TopProductsWindow.LAST_30_DAYS.from(now));
+            // Las filas vienen ordenadas por orden: se arma cada orden con sus productos
+            Long orderId = null;
+            LocalDateTime date = null;
+            List<OrderLine> lines = new ArrayList<>();
+            for (Object[] row : rows) {
+                Long rowOrderId = ((Number) row[0]).longValue();
+                if (!rowOrderId.equals(orderId)) {
+                    if (orderId != null) {
+                        loaded.put(new OrderSales(orderId, date, false, lines));
+                    }
+                    orderId = rowOrderId;
+                    date = row[1] instanceof Timestamp ts ? ts.toLocalDateTime() : (LocalDateTime) row[1];
+                    lines = new ArrayList<>();
+                }
+                Long productId = ((Number) row[2]).longValue();
+                names.put(productId, (String) row[3]);
+                lines.add(new OrderLine(productId, ((Number) row[4]).longValue(), (BigDecimal) row[5]));
+            }
+            if (orderId != null) {
+                loaded.put(new OrderSales(orderId, date, false, lines));
+            }
+
+            synchronized (this) {
+                productNames.putAll(names);
+                pending.forEach(change -> change.accept(loaded));
+                tracker = loaded;
+                log.info("🏆 Productos más vendidos cargados: {} órdenes de los últimos 30 días", loaded.size());
+            }
+        } finally {
+            synchronized (this) {
+                reloading = false;
+                pending.clear();
+            }
+        }
+    }
+
+    /**
+     * Registra la orden como quedará al confirmar la transacción. Hay que llamarlo
+     * con la orden y sus detalles ya cargados.
+     */
+    public void orderChanged(Order order) {
+        boolean cancelled = CANCELLED.equals(referenceData.requireStatus(order.getStatus().getId()).getCode());
+        List<OrderLine> lines = new ArrayList<>();
+        Map<Long, String> names = new HashMap<>();
+        order.getDetails().forEach(detail -> {
+            Long productId = detail.getProduct().getId();
+            names.put(productId, detail.getProduct().getName());
+            lines.add(new OrderLine(productId, detail.getQuantity(),
+                    detail.getUnitPrice().multiply(BigDecimal.valueOf(detail.getQuantity()))));
+        });
+        OrderSales sales = new OrderSales(order.getId(), order.getDate(), cancelled, lines);
+        afterCommit(target -> {
+            productNames.putAll(names);
+            target.put(sales);
+        });
+    }
+
+    public void orderRemoved(Long orderId) {
+        afterCommit(target -> target.remove(orderId));
+    }
+
+    /**
+     * Los {@code limit} productos con más unidades vendidas en la ventana. Mientras
+     * no termine la primera carga la lista sale vacía.
+     */
+    public List<ProductSalesReportResponse> getTopProducts(TopProductsWindow window, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+        synchronized (this) {
+            if (tracker == null) {
+                log.warn("⚠️ Productos más vendidos aún no cargados");
+                return List.of();
+            }
+            tracker.advance(LocalDateTime.now(clock));
+            return tracker.top(window, limit).stream()
+                    .map(sales -> ProductSalesReportResponse.builder()
+                            .productId(sales.getProductId())
+                            .productName(productNames.get(sales.getProductId()))
+                            .totalQuantitySold(sales.getQuantity())
+                            .totalRevenue(sales.getRevenue())
+                            .build())
+                    .toList();
+        }
+    }
+
+    private void afterCommit(Consumer<SlidingTopProducts> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Consumer<SlidingTopProducts> change) {
+        Consumer<SlidingTopProducts> timed = target -> {
+            target.advance(LocalDateTime.now(clock));
+            change.accept(target);
+        };
+        if (reloading) {
+            pending.add(timed);
+        }
+        if (tracker != null) {
+            timed.accept(tracker);
+        }
+    }
+}
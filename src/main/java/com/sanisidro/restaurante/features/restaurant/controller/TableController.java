@@ -1,9 +1,13 @@
 package com.sanisidro.restaurante.features.restaurant.controller;
 
 import com.sanisidro.restaurante.core.security.dto.ApiResponse;
+import com.sanisidro.restaurante.features.restaurant.dto.floor.response.FloorStateResponse;
 import com.sanisidro.restaurante.features.restaurant.dto.table.request.TableRequest;
+import com.sanisidro.restaurante.features.restaurant.dto.table.response.AvailabilityCalendarResponse;
 import com.sanisidro.restaurante.features.restaurant.dto.table.response.TableAvailabilityResponse;
 import com.sanisidro.restaurante.features.restaurant.dto.table.response.TableResponse;
+import com.sanisidro.restaurante.features.restaurant.floor.FloorStateService;
+import com.sanisidro.restaurante.features.restaurant.service.AvailabilityCalendarService;
 import com.sanisidro.restaurante.features.restaurant.service.TableService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +24,8 @@ import java.util.List;
 public class TableController {
 
     private final TableService tableService;
+    private final AvailabilityCalendarService availabilityCalendarService;
+    private final FloorStateService floorStateService;
 
     @GetMapping("/available-times")
     public ResponseEntity<ApiResponse<List<TableAvailabilityResponse>>> getAvailableTablesWithTimes(
@@ -32,6 +38,23 @@ public class TableController {
         return ResponseEntity.ok(new ApiResponse<>(true, "Mesas y horarios disponibles", tables));
     }
 
+    @GetMapping("/calendar")
+    public ResponseEntity<ApiResponse<AvailabilityCalendarResponse>> getAvailabilityCalendar(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) Integer numberOfPeople
+    ) {
+        AvailabilityCalendarResponse calendar = availabilityCalendarService.getCalendar(
+                LocalDate.parse(from), LocalDate.parse(to), numberOfPeople);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Calendario de disponibilidad", calendar));
+    }
+
+    @GetMapping("/floor")
+    public ResponseEntity<ApiResponse<FloorStateResponse>> getFloorState() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Estado del salón",
+                floorStateService.getFloorState()));
+    }
+
     @GetMapping("/available")
     public ResponseEntity<ApiResponse<List<TableResponse>>> getAvailableTables(
             @RequestParam int numberOfPeople,
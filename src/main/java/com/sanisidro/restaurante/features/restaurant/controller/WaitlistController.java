@@ -0,0 +1,48 @@
+package com.sanisidro.restaurante.features.restaurant.controller;
+
+import com.sanisidro.restaurante.core.security.dto.ApiResponse;
+import com.sanisidro.restaurante.features.restaurant.dto.waitlist.request.WaitlistRequest;
+import com.sanisidro.restaurante.features.restaurant.dto.waitlist.response.WaitlistEntryResponse;
+import com.sanisidro.restaurante.features.restaurant.waitlist.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_WAITER')")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<WaitlistEntryResponse>>> getWaitlist() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Lista de espera", waitlistService.getWaitlist()));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<WaitlistEntryResponse>> join(@Valid @RequestBody WaitlistRequest request) {
+        return new ResponseEntity<>(new ApiResponse<>(true, "Grupo agregado a la lista de espera",
+                waitlistService.join(request)), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/seat")
+    public ResponseEntity<ApiResponse<WaitlistEntryResponse>> seat(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long tableId
+    ) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Grupo sentado", waitlistService.seat(id, tableId)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<WaitlistEntryResponse>> leave(@PathVariable Long id) {
+        return ResponseEntity.ok(new ApiResponse<>(true, "Grupo retirado de la lista de espera",
+                waitlistService.leave(id)));
+    }
+}
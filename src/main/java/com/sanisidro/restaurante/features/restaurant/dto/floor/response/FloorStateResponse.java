@@ -0,0 +1,14 @@
+package com.sanisidro.restaurante.features.restaurant.dto.floor.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class FloorStateResponse {
+    /** Los deltas de {@code /topic/floor} con secuencia mayor a esta son posteriores a la foto. */
+    private long sequence;
+    private List<FloorTableResponse> tables;
+}
@@ -0,0 +1,26 @@
+package com.sanisidro.restaurante.features.restaurant.dto.floor.response;
+
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class FloorTableResponse {
+    /** Secuencia del último cambio de esta mesa; un delta con secuencia menor ya está aplicado. */
+    private long sequence;
+    private Long tableId;
+    private String code;
+    private String alias;
+    private Integer seats;
+    private TableStatus status;
+    private Long currentOrderId;
+    private LocalDateTime occupiedSince;
+    private Long elapsedMinutes;
+    private Long nextReservationId;
+    private LocalDateTime nextReservationAt;
+    /** La mesa se eliminó: el cliente debe quitarla del plano. */
+    private boolean removed;
+}
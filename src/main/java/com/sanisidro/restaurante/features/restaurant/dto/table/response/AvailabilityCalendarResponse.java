@@ -0,0 +1,25 @@
+package com.sanisidro.restaurante.features.restaurant.dto.table.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class AvailabilityCalendarResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private List<String> partyBuckets;
+    private List<Day> days;
+
+    @Data
+    @Builder
+    public static class Day {
+        private LocalDate date;
+        /** Horarios con al menos una mesa libre, por grupo de personas ("1-2", "3-4"...). */
+        private Map<String, List<String>> availableTimes;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sanisidro.restaurante.features.restaurant.dto.waitlist.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistRequest {
+
+    @NotBlank(message = "Nombre es obligatorio")
+    @Size(max = 100, message = "Nombre no debe exceder los 100 caracteres")
+    private String name;
+
+    @Size(min = 7, max = 15, message = "Teléfono debe tener entre 7 y 15 caracteres")
+    private String phone;
+
+    @NotNull(message = "Número de personas es obligatorio")
+    @Min(value = 1, message = "Minimo 1 persona por grupo")
+    @Max(value = 50, message = "Numero máximo de personas por grupo es 50")
+    private Integer numberOfPeople;
+}
@@ -0,0 +1,26 @@
+package com.sanisidro.restaurante.features.restaurant.dto.waitlist.response;
+
+import com.sanisidro.restaurante.features.restaurant.enums.WaitlistStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class WaitlistEntryResponse {
+    private Long id;
+    private String name;
+    private String phone;
+    private int numberOfPeople;
+    private WaitlistStatus status;
+    /** Lugar en la fila, desde 1; {@code null} si ya salió de ella. */
+    private Integer position;
+    private LocalDateTime joinedAt;
+    /** {@code null} si hoy no se libera ninguna mesa adecuada. */
+    private LocalDateTime predictedSeatAt;
+    private Integer predictedWaitMinutes;
+    private Long offeredTableId;
+    private String offeredTableCode;
+    private LocalDateTime offerExpiresAt;
+}
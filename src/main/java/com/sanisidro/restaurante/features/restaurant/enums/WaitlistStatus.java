@@ -0,0 +1,9 @@
+package com.sanisidro.restaurante.features.restaurant.enums;
+
+public enum WaitlistStatus {
+    WAITING,
+    OFFERED,
+    SEATED,
+    LEFT,
+    EXPIRED
+}
@@ -0,0 +1,371 @@
+package com.sanisidro.restaurante.features.restaurant.floor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.assignment.ReservationSlots;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.restaurant.dto.floor.response.FloorStateResponse;
+import com.sanisidro.restaurante.features.restaurant.dto.floor.response.FloorTableResponse;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Estado del salón para el plano de mesas: por mesa, su estado, la orden en curso y
+ * desde cuándo, y la próxima reserva. Se carga una vez por día con las mesas y la
+ * misma consulta de ocupación que usa el {@link TableOccupancyIndex} (sin cargar
+ * órdenes ni detalles), y después se mantiene con sus avisos de órdenes, reservas y
+ * mesas. Cada mesa que cambia se publica como delta en {@code /topic/floor} con una
+ * secuencia creciente; la foto de {@link #getFloorState()} trae la secuencia desde
+ * la que hay que aplicar deltas.
+ * <p>
+ * Las consultas corren fuera del lock del servicio: los avisos del índice llegan
+ * tras el commit de otras transacciones y no deben esperar a la base. Si cambian
+ * las mesas solo se marca el estado como vencido; la próxima lectura (o el tick)
+ * lo recarga y publica cada mesa.
+ * <p>
+ * Los minutos transcurridos se calculan al leer; el cliente los avanza con
+ * {@code occupiedSince}.
+ */
+@Service
+@Slf4j
+public class FloorStateService implements TableOccupancyIndex.Listener {
+
+    public static final String TOPIC = "/topic/floor";
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final TableRepository tableRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ReservationProperties properties;
+    private final Clock clock;
+
+    private final Map<Long, TableFloor> tables = new LinkedHashMap<>();
+    private final Map<Long, Long> orderTables = new HashMap<>();
+    private final Map<Long, Long> reservationTables = new HashMap<>();
+    private LocalDate loadedDay;
+    /** Cambiaron las mesas: lo cargado sirve hasta la próxima carga. */
+    private boolean stale;
+    /** Cuenta los avisos aplicados; una carga que se cruzó con uno se repite. */
+    private long changes;
+    private long sequence;
+
+    @Autowired
+    public FloorStateService(TableRepository tableRepository, SimpMessagingTemplate messagingTemplate,
+            ReservationProperties properties, TableOccupancyIndex occupancyIndex) {
+        this(tableRepository, messagingTemplate, properties, occupancyIndex,
+                Clock.system(Reservation.RESTAURANT_ZONE));
+    }
+
+    FloorStateService(TableRepository tableRepository, SimpMessagingTemplate messagingTemplate,
+            ReservationProperties properties, TableOccupancyIndex occupancyIndex, Clock clock) {
+        this.tableRepository = tableRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        occupancyIndex.addListener(this);
+    }
+
+    public FloorStateResponse getFloorState() {
+        ensureLoaded();
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<FloorTableResponse> views = new ArrayList<>(tables.size());
+            tables.forEach((tableId, floor) -> views.add(toResponse(tableId, floor, now)));
+            return FloorStateResponse.builder()
+                    .sequence(sequence)
+                    .tables(views)
+                    .build();
+        }
+    }
+
+    /**
+     * Orden en curso de cada mesa ocupada, para quien solo necesita saber eso.
+     */
+    public Map<Long, Long> getCurrentOrderIds() {
+        ensureLoaded();
+        synchronized (this) {
+            Map<Long, Long> orderIds = new HashMap<>();
+            tables.forEach((tableId, floor) -> {
+                Map.Entry<Long, LocalDateTime> current = floor.currentOrder();
+                if (current != null) {
+                    orderIds.put(tableId, current.getKey());
+                }
+            });
+            return orderIds;
+        }
+    }
+
+    /**
+     * Recarga lo vencido sin esperar a que alguien abra el plano, para que los
+     * clientes conectados reciban las mesas nuevas o eliminadas. Si nadie cargó el
+     * salón todavía, no hace nada.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void tick() {
+        synchronized (this) {
+            if (loadedDay == null || !stale) {
+                return;
+            }
+        }
+        ensureLoaded();
+    }
+
+    /* -------------------- EVENTOS -------------------- */
+
+    @Override
+    public synchronized void orderChanged(Long orderId, Long tableId, LocalDateTime start, LocalDateTime end) {
+        changes++;
+        if (loadedDay == null) {
+            return;
+        }
+        Long previous = tableId != null ? orderTables.put(orderId, tableId) : orderTables.remove(orderId);
+        if (previous != null && tables.containsKey(previous)) {
+            tables.get(previous).orders.remove(orderId);
+            if (!previous.equals(tableId)) {
+                publish(previous);
+            }
+        }
+        if (tableId != null && tables.containsKey(tableId)) {
+            tables.get(tableId).orders.put(orderId, start);
+            publish(tableId);
+        }
+    }
+
+    @Override
+    public synchronized void reservationChanged(Long reservationId, Long tableId, LocalDateTime start,
+            LocalDateTime end) {
+        changes++;
+        if (loadedDay == null) {
+            return;
+        }
+        boolean keep = tableId != null && end.isAfter(LocalDateTime.now(clock));
+        Long previous = keep ? reservationTables.put(reservationId, tableId)
+                : reservationTables.remove(reservationId);
+        if (previous != null && tables.containsKey(previous)) {
+            tables.get(previous).reservations.remove(reservationId);
+            if (!previous.equals(tableId)) {
+                publish(previous);
+            }
+        }
+        if (keep && tables.containsKey(tableId)) {
+            tables.get(tableId).reservations.put(reservationId, new LocalDateTime[] { start, end });
+            publish(tableId);
+        }
+    }
+
+    @Override
+    public synchronized void tableStatusChanged(Long tableId, TableStatus status) {
+        changes++;
+        TableFloor floor = loadedDay != null ? tables.get(tableId) : null;
+        if (floor != null && floor.status != status) {
+            floor.status = status;
+            publish(tableId);
+        }
+    }
+
+    /**
+     * Se crearon, modificaron o eliminaron mesas. Solo marca lo cargado como
+     * vencido; la próxima lectura (o el tick) recarga fuera del lock y publica cada
+     * mesa.
+     */
+    @Override
+    public synchronized void invalidated() {
+        changes++;
+        stale = true;
+    }
+
+    /* -------------------- ESTADO -------------------- */
+
+    private void publish(Long tableId) {
+        publish(tableId, LocalDateTime.now(clock));
+    }
+
+    private void publish(Long tableId, LocalDateTime now) {
+        TableFloor floor = tables.get(tableId);
+        floor.sequence = ++sequence;
+        messagingTemplate.convertAndSend(TOPIC, toResponse(tableId, floor, now));
+    }
+
+    private FloorTableResponse toResponse(Long tableId, TableFloor floor, LocalDateTime now) {
+        Map.Entry<Long, LocalDateTime> order = floor.currentOrder();
+        Map.Entry<Long, LocalDateTime[]> next = floor.nextReservation(now);
+        TableStatus status = floor.status == TableStatus.FREE && order != null ? TableStatus.OCCUPIED : floor.status;
+        return FloorTableResponse.builder()
+                .sequence(floor.sequence)
+                .tableId(tableId)
+                .code(floor.code)
+                .alias(floor.alias)
+                .seats(floor.seats)
+                .status(status)
+                .currentOrderId(order != null ? order.getKey() : null)
+                .occupiedSince(order != null ? order.getValue() : null)
+                .elapsedMinutes(order != null ? Math.max(0, Duration.between(order.getValue(), now).toMinutes())
+                        : null)
+                .nextReservationId(next != null ? next.getKey() : null)
+                .nextReservationAt(next != null ? next.getValue()[0].plusMinutes(floor.bufferBefore) : null)
+                .build();
+    }
+
+    /**
+     * Carga las mesas y su ocupación de ayer a pasado mañana en una sola consulta.
+     * Solo pasa con la primera lectura, al cambiar de día o si cambian las mesas.
+     * Las consultas corren sin el lock; si mientras tanto llegó un aviso se vuelve a
+     * cargar, para no pisarlo con datos anteriores.
+     */
+    private void ensureLoaded() {
+        for (int attempt = 1;; attempt++) {
+            LocalDate today = LocalDate.now(clock);
+            long observedChanges;
+            synchronized (this) {
+                if (today.equals(loadedDay) && !stale) {
+                    return;
+                }
+                observedChanges = changes;
+            }
+
+            FloorLoad loaded = load(today);
+
+            synchronized (this) {
+                if (observedChanges == changes || attempt == MAX_LOAD_ATTEMPTS) {
+                    apply(loaded);
+                    return;
+                }
+            }
+        }
+    }
+
+    private FloorLoad load(LocalDate today) {
+        FloorLoad load = new FloorLoad(today);
+        tableRepository.findAll().stream()
+                .sorted(Comparator.comparing(TableEntity::getId))
+                .forEach(table -> load.tables.put(table.getId(),
+                        new TableFloor(table, ReservationSlots.bufferBefore(table, properties))));
+
+        LocalDateTime midnight = today.atStartOfDay();
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (Object[] row : tableRepository.findOccupancyAround(today, TableOccupancyIndex.ACTIVE_ORDER_STATUSES)) {
+            Long id = ((Number) row[1]).longValue();
+            Long tableId = ((Number) row[2]).longValue();
+            TableFloor floor = load.tables.get(tableId);
+            if (floor == null) {
+                continue;
+            }
+            LocalDateTime start = midnight.plusMinutes(((Number) row[3]).intValue());
+            LocalDateTime end = midnight.plusMinutes(((Number) row[4]).intValue());
+            if ("O".equals(row[0])) {
+                floor.orders.put(id, start);
+                load.orderTables.put(id, tableId);
+            } else if (end.isAfter(now)) {
+                floor.reservations.put(id, new LocalDateTime[] { start, end });
+                load.reservationTables.put(id, tableId);
+            }
+        }
+        return load;
+    }
+
+    /**
+     * Reemplaza el estado por lo cargado. Si se recargó porque cambiaron las mesas,
+     * publica las eliminadas y todas las demás.
+     */
+    private void apply(FloorLoad load) {
+        boolean republish = loadedDay != null && stale;
+        List<Long> before = new ArrayList<>(tables.keySet());
+        load.tables.forEach((tableId, floor) -> {
+            TableFloor old = tables.get(tableId);
+            floor.sequence = old != null ? old.sequence : sequence;
+        });
+
+        tables.clear();
+        tables.putAll(load.tables);
+        orderTables.clear();
+        orderTables.putAll(load.orderTables);
+        reservationTables.clear();
+        reservationTables.putAll(load.reservationTables);
+        loadedDay = load.day;
+        stale = false;
+        log.debug("Estado del salón cargado: {} mesas, {} órdenes, {} reservas", tables.size(),
+                orderTables.size(), reservationTables.size());
+
+        if (republish) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            for (Long tableId : before) {
+                if (!tables.containsKey(tableId)) {
+                    messagingTemplate.convertAndSend(TOPIC, FloorTableResponse.builder()
+                            .sequence(++sequence)
+                            .tableId(tableId)
+                            .removed(true)
+                            .build());
+                }
+            }
+            tables.keySet().forEach(tableId -> publish(tableId, now));
+        }
+    }
+
+    /** Resultado de una carga, armado sin el lock. */
+    private static class FloorLoad {
+        private final LocalDate day;
+        private final Map<Long, TableFloor> tables = new LinkedHashMap<>();
+        private final Map<Long, Long> orderTables = new HashMap<>();
+        private final Map<Long, Long> reservationTables = new HashMap<>();
+
+        FloorLoad(LocalDate day) {
+            this.day = day;
+        }
+    }
+
+    private static class TableFloor {
+        private final String code;
+        private final String alias;
+        private final Integer seats;
+        private final int bufferBefore;
+        private TableStatus status;
+        private long sequence;
+        /** Órdenes en salón activas y desde cuándo. */
+        private final Map<Long, LocalDateTime> orders = new HashMap<>();
+        /** Reservas activas que todavía no terminan: [inicio, fin) con buffers. */
+        private final Map<Long, LocalDateTime[]> reservations = new HashMap<>();
+
+        TableFloor(TableEntity table, int bufferBefore) {
+            this.code = table.getCode();
+            this.alias = table.getAlias();
+            this.seats = table.getCapacity();
+            this.bufferBefore = bufferBefore;
+            this.status = table.getStatus();
+        }
+
+        /** La orden más antigua abierta en la mesa, que es desde cuando está ocupada. */
+        Map.Entry<Long, LocalDateTime> currentOrder() {
+            return orders.entrySet().stream()
+                    .min(Map.Entry.<Long, LocalDateTime>comparingByValue()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .orElse(null);
+        }
+
+        /** La reserva en curso o, si no hay, la siguiente. */
+        Map.Entry<Long, LocalDateTime[]> nextReservation(LocalDateTime now) {
+            return reservations.entrySet().stream()
+                    .filter(e -> e.getValue()[1].isAfter(now))
+                    .min(Comparator.comparing((Map.Entry<Long, LocalDateTime[]> e) -> e.getValue()[0])
+                            .thenComparing(Map.Entry::getKey))
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.sanisidro.restaurante.features.restaurant.occupancy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice en memoria de la ocupación de las mesas por día. Cada día se carga con una
+ * sola consulta (reservas y órdenes en salón activas) y queda como listas de
+ * intervalos ordenados por mesa, en minutos desde la medianoche. Las reservas y
+ * órdenes que cambian se aplican de forma incremental tras el commit; cada día se
+ * recarga igualmente pasado {@code app.reservation.occupancy-ttl-minutes}. Todo va
+ * en hora local del restaurante: las reservas se pasan a esa zona y las órdenes ya
+ * se fechan en ella.
+ * <p>
+ * El índice solo responde consultas de disponibilidad: la validación al reservar
+ * sigue yendo contra la base.
+ */
+@Component
+@Slf4j
+public class TableOccupancyIndex {
+
+    public static final Set<String> ACTIVE_ORDER_STATUSES = Set.of(
+            "PENDING", "PREPARING", "IN_PROGRESS", "READY_FOR_PICKUP", "PAID");
+
+    private static final Set<ReservationStatus> ACTIVE_RESERVATION_STATUSES = Set.of(
+            ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final TableRepository tableRepository;
+    private final ReservationProperties properties;
+    private final Clock clock;
+    private final Map<LocalDate, DayOccupancy> days;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Cuenta los cambios aplicados; una carga que se cruzó con uno no se guarda. */
+    private long changes;
+
+    @Autowired
+    public TableOccupancyIndex(TableRepository tableRepository, ReservationProperties properties) {
+        this(tableRepository, properties, Clock.system(Reservation.RESTAURANT_ZONE));
+    }
+
+    TableOccupancyIndex(TableRepository tableRepository, ReservationProperties properties, Clock clock) {
+        this.tableRepository = tableRepository;
+        this.properties = properties;
+        this.clock = clock;
+
+        int maxDays = properties.getOccupancyCacheDays();
+        this.days = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, DayOccupancy> eldest) {
+                return size() > maxDays;
+            }
+        };
+    }
+
+    /**
+     * Ocupación del día, desde memoria si está cargada y vigente.
+     */
+    public DayOccupancy forDay(LocalDate day) {
+        long observedChanges;
+        synchronized (this) {
+            DayOccupancy cached = days.get(day);
+            if (cached != null && clock.instant().isBefore(cached.expiresAt)) {
+                return cached;
+            }
+            observedChanges = changes;
+        }
+
+        DayOccupancy loaded = load(day);
+
+        synchronized (this) {
+            if (observedChanges == changes) {
+                days.put(day, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void reservationChanged(Reservation reservation) {
+        Long reservationId = reservation.getId();
+        Long tableId = reservation.getTable() != null ? reservation.getTable().getId() : null;
+        boolean active = tableId != null && ACTIVE_RESERVATION_STATUSES.contains(reservation.getStatus());
+        LocalDateTime start = active ? toLocal(reservation.getStartAt()) : null;
+        LocalDateTime end = active ? toLocal(reservation.getEndAt()) : null;
+        afterCommit(() -> {
+            replace(reservationKey(reservationId), active ? tableId : null, start, end);
+            listeners.forEach(l -> l.reservationChanged(reservationId, active ? tableId : null, start, end));
+        });
+    }
+
+    public void reservationRemoved(Long reservationId) {
+        reservationsRemoved(List.of(reservationId));
+    }
+
+    /**
+     * Quita varias reservas de una vez (por ejemplo, las cancelaciones masivas por
+     * no-show), con un solo registro tras el commit.
+     */
+    public void reservationsRemoved(Collection<Long> reservationIds) {
+        afterCommit(() -> reservationIds.forEach(id -> {
+            replace(reservationKey(id), null, null, null);
+            listeners.forEach(l -> l.reservationChanged(id, null, null, null));
+        }));
+    }
+
+    public void orderOpened(Long orderId, Long tableId, LocalDateTime date, int durationMinutes) {
+        LocalDateTime end = date.plusMinutes(durationMinutes);
+        afterCommit(() -> {
+            replace(orderKey(orderId), tableId, date, end);
+            listeners.forEach(l -> l.orderChanged(orderId, tableId, date, end));
+        });
+    }
+
+    public void orderClosed(Long orderId) {
+        afterCommit(() -> {
+            replace(orderKey(orderId), null, null, null);
+            listeners.forEach(l -> l.orderChanged(orderId, null, null, null));
+        });
+    }
+
+    /**
+     * El índice no guarda el estado de la mesa; solo se avisa a los listeners.
+     */
+    public void tableStatusChanged(Long tableId, TableStatus status) {
+        afterCommit(() -> listeners.forEach(l -> l.tableStatusChanged(tableId, status)));
+    }
+
+    /**
+     * Descarta todo lo cargado (por ejemplo, si cambia la duración de una mesa).
+     */
+    public void invalidateAll() {
+        synchronized (this) {
+            changes++;
+            days.clear();
+        }
+        afterCommit(() -> listeners.forEach(Listener::invalidated));
+    }
+
+    /**
+     * Registra a quien necesita seguir los cambios de ocupación sin volver a
+     * consultar la base. Se le avisa tras el commit, fuera del lock del índice.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    private DayOccupancy load(LocalDate day) {
+        Map<Long, List<Interval>> byTable = new LinkedHashMap<>();
+        for (Object[] row : tableRepository.findOccupancyAround(day, ACTIVE_ORDER_STATUSES)) {
+            String key = row[0] + String.valueOf(row[1]);
+            Long tableId = ((Number) row[2]).longValue();
+            Interval interval = new Interval(key, ((Number) row[3]).intValue(), ((Number) row[4]).intValue());
+            byTable.computeIfAbsent(tableId, id -> new ArrayList<>()).add(interval);
+        }
+
+        DayOccupancy occupancy = new DayOccupancy(day,
+                clock.instant().plus(Duration.ofMinutes(properties.getOccupancyTtlMinutes())));
+        byTable.forEach((tableId, intervals) -> {
+            intervals.sort(Comparator.comparingInt(Interval::getStart));
+            occupancy.intervals.put(tableId, List.copyOf(intervals));
+        });
+        log.debug("Ocupación cargada para {}: {} mesas con intervalos", day, byTable.size());
+        return occupancy;
+    }
+
+    /**
+     * Quita el intervalo de la clave en todos los días cargados y, si sigue activo,
+     * lo vuelve a poner en los días que toca (el anterior, el mismo y el siguiente).
+     */
+    private synchronized void replace(String key, Long tableId, LocalDateTime start, LocalDateTime end) {
+        changes++;
+        for (DayOccupancy occupancy : days.values()) {
+            occupancy.remove(key);
+            if (tableId != null && start != null) {
+                LocalDateTime midnight = occupancy.day.atStartOfDay();
+                int from = (int) Duration.between(midnight, start).toMinutes();
+                int to = (int) Duration.between(midnight, end).toMinutes();
+                if (to > -24 * 60 && from < 48 * 60) {
+                    occupancy.add(tableId, new Interval(key, from, to));
+                }
+            }
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static LocalDateTime toLocal(OffsetDateTime instant) {
+        return instant.atZoneSameInstant(Reservation.RESTAURANT_ZONE).toLocalDateTime();
+    }
+
+    private static String reservationKey(Long id) {
+        return "R" + id;
+    }
+
+    private static String orderKey(Long id) {
+        return "O" + id;
+    }
+
+    /**
+     * Cambios de ocupación ya confirmados. Una mesa {@code null} indica que la
+     * reserva u orden dejó de ocupar (se canceló, cerró o eliminó).
+     */
+    public interface Listener {
+
+        void reservationChanged(Long reservationId, Long tableId, LocalDateTime start, LocalDateTime end);
+
+        void orderChanged(Long orderId, Long tableId, LocalDateTime start, LocalDateTime end);
+
+        /** Se descartó todo; hay que volver a cargar desde la base. */
+        void invalidated();
+
+        default void tableStatusChanged(Long tableId, TableStatus status) {
+        }
+    }
+
+    /**
+     * Intervalos ocupados de un día, por mesa. Cada lista es inmutable y se
+     * reemplaza completa al cambiar, así que se puede leer sin bloqueo. La versión
+     * sube con cada cambio que toca las horas del propio día (no los intervalos de
+     * los días vecinos que se guardan por si cruzan la medianoche), para que quien
+     * derive datos del día sepa si siguen vigentes.
+     */
+    public static class DayOccupancy {
+        private final LocalDate day;
+        private final Instant expiresAt;
+        private final Map<Long, List<Interval>> intervals = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+
+        DayOccupancy(LocalDate day, Instant expiresAt) {
+            this.day = day;
+            this.expiresAt = expiresAt;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+
+        public long getVersion() {
+            return version.get();
+        }
+
+        /**
+         * Indica si la mesa no tiene nada en [{@code fromMinute}, {@code toMinute}).
+         */
+        public boolean isFree(Long tableId, int fromMinute, int toMinute) {
+            for (Interval interval : intervals.getOrDefault(tableId, List.of())) {
+                if (interval.start >= toMinute) {
+                    return true;
+                }
+                if (interval.end > fromMinute) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public boolean isFree(Long tableId, LocalDateTime from, LocalDateTime to) {
+            LocalDateTime midnight = day.atStartOfDay();
+            return isFree(tableId, (int) Duration.between(midnight, from).toMinutes(),
+                    (int) Duration.between(midnight, to).toMinutes());
+        }
+
+        void add(Long tableId, Interval interval) {
+            intervals.compute(tableId, (id, current) -> {
+                List<Interval> next = new ArrayList<>(current != null ? current : List.of());
+                next.add(interval);
+                next.sort(Comparator.comparingInt(Interval::getStart));
+                return List.copyOf(next);
+            });
+            touched(interval);
+        }
+
+        void remove(String key) {
+            intervals.replaceAll((tableId, current) -> {
+                List<Interval> removed = current.stream().filter(i -> i.key.equals(key)).toList();
+                if (removed.isEmpty()) {
+                    return current;
+                }
+                removed.forEach(this::touched);
+                return current.stream().filter(i -> !i.key.equals(key)).toList();
+            });
+        }
+
+        private void touched(Interval interval) {
+            if (interval.end > 0 && interval.start < MINUTES_PER_DAY) {
+                version.incrementAndGet();
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Interval {
+        private final String key;
+        private final int start;
+        private final int end;
+    }
+}
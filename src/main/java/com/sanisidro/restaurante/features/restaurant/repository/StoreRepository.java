@@ -8,4 +8,6 @@ import com.sanisidro.restaurante.features.restaurant.model.Store;
 
 public interface StoreRepository extends JpaRepository<Store, Long> {
     Optional<Store> findByNameIgnoreCase(String name);
+
+    Optional<Store> findFirstByOrderByIdAsc();
 }
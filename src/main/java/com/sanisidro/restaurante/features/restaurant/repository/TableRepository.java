@@ -1,9 +1,78 @@
 package com.sanisidro.restaurante.features.restaurant.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TableRepository extends JpaRepository<TableEntity, Long> {
+
+    /**
+     * Ocupación de las mesas alrededor de un día, en una sola consulta: reservas
+     * pendientes o confirmadas y órdenes en salón activas. Devuelve
+     * [tipo ('R' u 'O'), id, table_id, inicio, fin], con inicio y fin en minutos
+     * desde la medianoche de {@code day} (pueden ser negativos o pasar de 1440).
+     * La reserva ocupa su período persistido ({@code start_at}/{@code end_at}, con
+     * buffers incluidos) pasado a hora local de Lima; la orden, la duración de
+     * reserva de su mesa.
+     */
+    @Query(nativeQuery = true, value = """
+                SELECT 'R' AS kind, r.reservation_id AS id, r.table_id,
+                       CAST(EXTRACT(EPOCH FROM ((r.start_at AT TIME ZONE 'America/Lima')
+                            - CAST(:day AS timestamp))) / 60 AS integer) AS start_minute,
+                       CAST(EXTRACT(EPOCH FROM ((r.end_at AT TIME ZONE 'America/Lima')
+                            - CAST(:day AS timestamp))) / 60 AS integer) AS end_minute
+                FROM reservations r
+                WHERE r.status IN ('CONFIRMED', 'PENDING')
+                  AND tstzrange(r.start_at, r.end_at)
+                      && tstzrange((CAST(:day AS timestamp) - INTERVAL '1 day') AT TIME ZONE 'America/Lima',
+                                   (CAST(:day AS timestamp) + INTERVAL '2 day') AT TIME ZONE 'America/Lima')
+                UNION ALL
+                SELECT 'O', o.order_id, o.table_id,
+                       CAST(EXTRACT(EPOCH FROM (o.date - CAST(:day AS timestamp))) / 60 AS integer),
+                       CAST(EXTRACT(EPOCH FROM (o.date + make_interval(mins => t.reservation_duration_minutes)
+                            - CAST(:day AS timestamp))) / 60 AS integer)
+                FROM orders o
+                JOIN tables t ON t.table_id = o.table_id
+                JOIN order_types ot ON ot.order_type_id = o.order_type_id
+                JOIN order_statuses os ON os.order_status_id = o.order_status_id
+                WHERE ot.code = 'DINE_IN'
+                  AND os.code IN (:activeOrderStatuses)
+                  AND o.date >= CAST(:day AS timestamp) - INTERVAL '1 day'
+                  AND o.date < CAST(:day AS timestamp) + INTERVAL '2 day'
+            """)
+    List<Object[]> findOccupancyAround(@Param("day") LocalDate day,
+            @Param("activeOrderStatuses") Collection<String> activeOrderStatuses);
+
+    /**
+     * Mediana del tiempo de mesa por capacidad, desde la hora de la reserva hasta
+     * que se marcó completada, para las reservas completadas desde {@code since}.
+     * Devuelve [capacidad, mediana en minutos, cantidad]. Se descartan las que se
+     * completaron en menos de 10 minutos o más de 5 horas (marcadas a destiempo).
+     */
+    @Query(nativeQuery = true, value = """
+                SELECT t.capacity,
+                       percentile_cont(0.5) WITHIN GROUP (ORDER BY EXTRACT(EPOCH FROM
+                           (r.updated_at - (r.reservation_date + r.reservation_time))) / 60),
+                       COUNT(*)
+                FROM reservations r
+                JOIN tables t ON t.table_id = r.table_id
+                WHERE r.status = 'COMPLETED'
+                  AND r.reservation_date >= :since
+                  AND r.updated_at >= r.reservation_date + r.reservation_time + INTERVAL '10 minutes'
+                  AND r.updated_at <= r.reservation_date + r.reservation_time + INTERVAL '5 hours'
+                GROUP BY t.capacity
+            """)
+    List<Object[]> findTurnTimesByCapacity(@Param("since") LocalDate since);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE tables SET status = 'FREE' WHERE table_id IN (:tableIds)")
+    int releaseTables(@Param("tableIds") Collection<Long> tableIds);
 }
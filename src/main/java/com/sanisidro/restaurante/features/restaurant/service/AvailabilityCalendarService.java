@@ -0,0 +1,196 @@
+package com.sanisidro.restaurante.features.restaurant.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Service;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.features.restaurant.dto.table.response.AvailabilityCalendarResponse;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex.DayOccupancy;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Calendario de disponibilidad de varios días. Cada día se resume una vez (horarios
+ * libres por grupo de personas) y el resumen se reutiliza mientras la ocupación del
+ * día no cambie: guarda la instancia y la versión de {@link DayOccupancy} de la que
+ * salió, así que una reserva, cancelación u orden invalida solo los días que toca y
+ * un cambio de mesas (que descarta el índice completo) los invalida todos.
+ */
+@Service
+@Slf4j
+public class AvailabilityCalendarService {
+
+    private final TableRepository tableRepository;
+    private final TableOccupancyIndex occupancyIndex;
+    private final TableService tableService;
+    private final ReservationProperties properties;
+    private final Map<LocalDate, DaySummary> summaries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AvailabilityCalendarService(TableRepository tableRepository, TableOccupancyIndex occupancyIndex,
+            TableService tableService, ReservationProperties properties, MeterRegistry meterRegistry) {
+        this.tableRepository = tableRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.tableService = tableService;
+        this.properties = properties;
+
+        int maxDays = properties.getOccupancyCacheDays();
+        this.summaries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, DaySummary> eldest) {
+                return size() > maxDays;
+            }
+        };
+        this.hits = Counter.builder("reservations.calendar.days")
+                .description("Días del calendario servidos desde el resumen en memoria")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("reservations.calendar.days")
+                .description("Días del calendario recalculados")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Horarios disponibles de {@code from} a {@code to} (inclusive). Si se indica
+     * {@code numberOfPeople} solo se devuelve el grupo que lo contiene.
+     */
+    public AvailabilityCalendarResponse getCalendar(LocalDate from, LocalDate to, Integer numberOfPeople) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("La fecha final no puede ser anterior a la inicial");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > properties.getCalendarMaxDays()) {
+            throw new BadRequestException("El calendario admite como máximo "
+                    + properties.getCalendarMaxDays() + " días");
+        }
+
+        List<String> buckets = bucketLabels();
+        String requested = numberOfPeople != null ? bucketFor(numberOfPeople) : null;
+
+        List<TableEntity> tables = null;
+        List<AvailabilityCalendarResponse.Day> result = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayOccupancy occupancy = occupancyIndex.forDay(day);
+            DaySummary summary = cached(day, occupancy);
+            if (summary != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                if (tables == null) {
+                    tables = tableRepository.findAll();
+                }
+                summary = summarize(day, occupancy, tables);
+                store(day, summary);
+            }
+
+            Map<String, List<String>> times = requested != null
+                    ? Map.of(requested, summary.times.getOrDefault(requested, List.of()))
+                    : summary.times;
+            result.add(AvailabilityCalendarResponse.Day.builder().date(day).availableTimes(times).build());
+        }
+
+        return AvailabilityCalendarResponse.builder()
+                .from(from)
+                .to(to)
+                .partyBuckets(requested != null ? List.of(requested) : buckets)
+                .days(result)
+                .build();
+    }
+
+    private synchronized DaySummary cached(LocalDate day, DayOccupancy occupancy) {
+        DaySummary summary = summaries.get(day);
+        if (summary == null || summary.source != occupancy || summary.version != occupancy.getVersion()) {
+            return null;
+        }
+        return summary;
+    }
+
+    private synchronized void store(LocalDate day, DaySummary summary) {
+        summaries.put(day, summary);
+    }
+
+    /**
+     * Un horario figura en un grupo si alguna mesa libre puede sentar a su tamaño
+     * máximo (la de 1-2 cuenta para parejas, la de 3-4 para cuatro, etc.).
+     */
+    private DaySummary summarize(LocalDate day, DayOccupancy occupancy, List<TableEntity> tables) {
+        // La versión se lee antes de calcular: un cambio a mitad deja el resumen ya vencido
+        long version = occupancy.getVersion();
+        List<Integer> limits = properties.getCalendarPartyBuckets();
+        List<String> labels = bucketLabels();
+
+        List<TreeSet<String>> byBucket = new ArrayList<>();
+        limits.forEach(limit -> byBucket.add(new TreeSet<>()));
+
+        for (TableEntity table : tables) {
+            List<String> times = null;
+            for (int i = 0; i < limits.size(); i++) {
+                if (!table.canAccommodate(limits.get(i))) {
+                    continue;
+                }
+                if (times == null) {
+                    times = tableService.calculateAvailableTimes(table, day.atStartOfDay(), occupancy);
+                }
+                byBucket.get(i).addAll(times);
+            }
+        }
+
+        Map<String, List<String>> times = new LinkedHashMap<>();
+        for (int i = 0; i < labels.size(); i++) {
+            times.put(labels.get(i), List.copyOf(byBucket.get(i)));
+        }
+        log.debug("Calendario de {} recalculado con {} mesas", day, tables.size());
+        return new DaySummary(occupancy, version, times);
+    }
+
+    private List<String> bucketLabels() {
+        List<String> labels = new ArrayList<>();
+        int from = 1;
+        for (Integer limit : properties.getCalendarPartyBuckets()) {
+            labels.add(from == limit ? String.valueOf(limit) : from + "-" + limit);
+            from = limit + 1;
+        }
+        return labels;
+    }
+
+    private String bucketFor(int numberOfPeople) {
+        List<Integer> limits = properties.getCalendarPartyBuckets();
+        if (numberOfPeople < 1) {
+            throw new BadRequestException("El número de personas debe ser mayor a 0");
+        }
+        for (int i = 0; i < limits.size(); i++) {
+            if (numberOfPeople <= limits.get(i)) {
+                return bucketLabels().get(i);
+            }
+        }
+        throw new BadRequestException("No hay mesas para grupos de más de "
+                + limits.get(limits.size() - 1) + " personas");
+    }
+
+    private static class DaySummary {
+        private final DayOccupancy source;
+        private final long version;
+        private final Map<String, List<String>> times;
+
+        DaySummary(DayOccupancy source, long version, Map<String, List<String>> times) {
+            this.source = source;
+            this.version = version;
+            this.times = times;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -12,15 +13,15 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
 import com.sanisidro.restaurante.core.config.ReservationProperties;
-import com.sanisidro.restaurante.features.customers.model.Reservation;
-import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
-import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.customers.assignment.ReservationSlots;
 import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
 import com.sanisidro.restaurante.features.restaurant.dto.table.request.TableRequest;
 import com.sanisidro.restaurante.features.restaurant.dto.table.response.TableAvailabilityResponse;
 import com.sanisidro.restaurante.features.restaurant.dto.table.response.TableResponse;
 import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
 import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex.DayOccupancy;
 import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -34,21 +35,16 @@ public class TableService {
 
     private final TableRepository tableRepository;
     private final ReservationProperties reservationProperties;
-    private final ReservationRepository reservationRepository;
     private final OrderRepository orderRepository;
+    private final TableOccupancyIndex occupancyIndex;
 
     public List<TableResponse> getAllTables() {
         List<TableEntity> tables = tableRepository.findAll();
 
-        List<String> activeStatuses = List.of("PENDING", "PREPARING", "IN_PROGRESS", "READY_FOR_PICKUP", "PAID");
-        List<Order> activeOrders = orderRepository.findActiveOrdersByType(activeStatuses, "DINE_IN");
-
-        Map<Long, Long> activeOrderMap = activeOrders.stream()
-                .filter(order -> order.getTable() != null)
-                .collect(Collectors.toMap(
-                        order -> order.getTable().getId(),
-                        Order::getId,
-                        (existing, replacement) -> existing));
+        // Solo los ids de las órdenes en curso, sin cargar las órdenes
+        Map<Long, Long> activeOrderMap = new HashMap<>();
+        orderRepository.findActiveOrderIdsByTable(List.copyOf(TableOccupancyIndex.ACTIVE_ORDER_STATUSES), "DINE_IN")
+                .forEach(row -> activeOrderMap.putIfAbsent((Long) row[0], (Long) row[1]));
 
         return tables.stream()
                 .map(table -> mapToResponse(table, activeOrderMap.get(table.getId())))
@@ -66,6 +62,7 @@ public class TableService {
         TableEntity table = mapToEntity(request);
         table.setStatus(TableStatus.FREE);
         TableEntity savedTable = tableRepository.save(table);
+        occupancyIndex.invalidateAll();
         return mapToResponse(savedTable, null);
     }
 
@@ -88,6 +85,7 @@ public class TableService {
         table.setBufferAfterMinutes(request.getBufferAfterMinutes());
         table.setStatus(request.getStatus());
         TableEntity updatedTable = tableRepository.save(table);
+        occupancyIndex.invalidateAll();
 
         return mapToResponse(updatedTable, null);
     }
@@ -96,6 +94,7 @@ public class TableService {
         TableEntity table = tableRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Mesa no encontrada con id: " + id));
         tableRepository.delete(table);
+        occupancyIndex.invalidateAll();
     }
 
     /* -------------------- DISPONIBILIDAD -------------------- */
@@ -104,17 +103,21 @@ public class TableService {
         TableEntity table = tableRepository.findById(tableId)
                 .orElseThrow(() -> new EntityNotFoundException("Mesa no encontrada con id: " + tableId));
 
+        LocalDateTime start = LocalDateTime.parse(startTime);
+        return isTableAvailable(table, start, numberOfPeople, includeBuffers,
+                occupancyIndex.forDay(start.toLocalDate()));
+    }
+
+    private boolean isTableAvailable(TableEntity table, LocalDateTime start, int numberOfPeople,
+            boolean includeBuffers, DayOccupancy occupancy) {
         if (!table.canAccommodate(numberOfPeople))
             return false;
 
-        LocalDateTime start = LocalDateTime.parse(startTime);
         LocalDateTime end = start.plusMinutes(table.getReservationDurationMinutes());
 
         if (includeBuffers) {
-            int before = table.getBufferBeforeMinutes() != null ? table.getBufferBeforeMinutes()
-                    : reservationProperties.getBufferBeforeMinutes();
-            int after = table.getBufferAfterMinutes() != null ? table.getBufferAfterMinutes()
-                    : reservationProperties.getBufferAfterMinutes();
+            int before = ReservationSlots.bufferBefore(table, reservationProperties);
+            int after = ReservationSlots.bufferAfter(table, reservationProperties);
 
             start = start.minusMinutes(before);
             end = end.plusMinutes(after);
@@ -126,26 +129,27 @@ public class TableService {
             return false;
         }
 
-        List<Reservation> overlapping = reservationRepository.findOverlappingReservations(tableId, start, end);
-        return overlapping.isEmpty();
+        return occupancy.isFree(table.getId(), start, end);
     }
 
     /* -------------------- MESAS DISPONIBLES Y ÓPTIMA -------------------- */
 
     public List<TableResponse> getAvailableTables(int numberOfPeople, String startTime) {
+        LocalDateTime start = LocalDateTime.parse(startTime);
+        DayOccupancy occupancy = occupancyIndex.forDay(start.toLocalDate());
         return tableRepository.findAll()
                 .stream()
-                .filter(t -> t.canAccommodate(numberOfPeople))
-                .filter(t -> isTableAvailable(t.getId(), startTime, numberOfPeople, true))
+                .filter(t -> isTableAvailable(t, start, numberOfPeople, true, occupancy))
                 .map(table -> mapToResponse(table, null))
                 .collect(Collectors.toList());
     }
 
     public TableResponse findOptimalTable(int numberOfPeople, String startTime) {
+        LocalDateTime start = LocalDateTime.parse(startTime);
+        DayOccupancy occupancy = occupancyIndex.forDay(start.toLocalDate());
         return tableRepository.findAll()
                 .stream()
-                .filter(t -> t.canAccommodate(numberOfPeople))
-                .filter(t -> isTableAvailable(t.getId(), startTime, numberOfPeople, true))
+                .filter(t -> isTableAvailable(t, start, numberOfPeople, true, occupancy))
                 .min(Comparator.comparingInt(t -> t.getOptimalCapacity()))
                 .map(table -> mapToResponse(table, null))
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -155,6 +159,7 @@ public class TableService {
     public List<TableAvailabilityResponse> getTablesWithAvailableTimes(int numberOfPeople, LocalDateTime date,
             boolean filterByCapacity) {
         List<TableAvailabilityResponse> results = new ArrayList<>();
+        DayOccupancy occupancy = occupancyIndex.forDay(date.toLocalDate());
 
         for (TableEntity table : tableRepository.findAll()) {
 
@@ -163,7 +168,7 @@ public class TableService {
                 continue;
             }
 
-            List<String> availableTimes = calculateAvailableTimes(table, date);
+            List<String> availableTimes = calculateAvailableTimes(table, date, occupancy);
             log.info("Mesa {} - Horarios calculados: {}", table.getCode(), availableTimes);
 
             TableAvailabilityResponse response = TableAvailabilityResponse.builder()
@@ -181,16 +186,14 @@ public class TableService {
         return results;
     }
 
-    private List<String> calculateAvailableTimes(TableEntity table, LocalDateTime date) {
+    List<String> calculateAvailableTimes(TableEntity table, LocalDateTime date, DayOccupancy occupancy) {
         List<String> times = new ArrayList<>();
         LocalDateTime start = LocalDateTime.of(date.toLocalDate(), table.getOpenTime());
         LocalDateTime endOfDay = LocalDateTime.of(date.toLocalDate(), table.getCloseTime());
         int incrementMinutes = 30;
 
-        int bufferBefore = table.getBufferBeforeMinutes() != null ? table.getBufferBeforeMinutes()
-                : reservationProperties.getBufferBeforeMinutes();
-        int bufferAfter = table.getBufferAfterMinutes() != null ? table.getBufferAfterMinutes()
-                : reservationProperties.getBufferAfterMinutes();
+        int bufferBefore = ReservationSlots.bufferBefore(table, reservationProperties);
+        int bufferAfter = ReservationSlots.bufferAfter(table, reservationProperties);
 
         while (!start.plusMinutes(table.getReservationDurationMinutes()).isAfter(endOfDay)) {
             LocalDateTime slotStart = start.minusMinutes(bufferBefore);
@@ -202,10 +205,7 @@ public class TableService {
                 continue;
             }
 
-            List<Reservation> overlapping = reservationRepository.findOverlappingReservations(table.getId(), slotStart,
-                    slotEnd);
-
-            if (overlapping.isEmpty()) {
+            if (occupancy.isFree(table.getId(), slotStart, slotEnd)) {
                 times.add(start.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")));
             }
 
@@ -0,0 +1,134 @@
+package com.sanisidro.restaurante.features.restaurant.waitlist;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.sanisidro.restaurante.features.restaurant.enums.WaitlistStatus;
+
+import lombok.Getter;
+
+/**
+ * Simula la fila sobre el estado actual de las mesas: cada grupo, en orden de
+ * llegada, toma la mesa adecuada que primero pueda recibirlo sin chocar con una
+ * reserva, y esa mesa queda ocupada un tiempo de mesa más. Todo en memoria: cuesta
+ * grupos × mesas y se repite con cada cambio.
+ */
+class WaitTimePredictor {
+
+    private static final Comparator<TableState> SMALLEST_FIRST = Comparator
+            .comparingInt(TableState::getCapacity)
+            .thenComparing(TableState::getId);
+
+    private WaitTimePredictor() {
+    }
+
+    /**
+     * Ofrece a los grupos que esperan, en orden, la mesa más chica que les sirve y
+     * está libre ahora. Devuelve los grupos a los que se les ofreció mesa.
+     */
+    static List<WaitlistEntry> offerFreeTables(List<TableState> tables, List<WaitlistEntry> queue,
+            LocalDateTime now, int offerMinutes) {
+        List<WaitlistEntry> offered = new ArrayList<>();
+        for (WaitlistEntry entry : queue) {
+            if (entry.getStatus() != WaitlistStatus.WAITING) {
+                continue;
+            }
+            TableState table = tables.stream()
+                    .filter(t -> t.canAccommodate(entry.getNumberOfPeople()))
+                    .filter(t -> now.equals(t.firstFit(now)))
+                    .min(SMALLEST_FIRST)
+                    .orElse(null);
+            if (table != null) {
+                entry.setStatus(WaitlistStatus.OFFERED);
+                entry.setOfferedTableId(table.getId());
+                entry.setOfferExpiresAt(now.plusMinutes(offerMinutes));
+                entry.setPredictedSeatAt(now);
+                table.availableAt = now.plusMinutes(table.getTurnMinutes());
+                offered.add(entry);
+            }
+        }
+        return offered;
+    }
+
+    /**
+     * Calcula la hora estimada en que se sienta cada grupo que sigue esperando.
+     */
+    static void predict(List<TableState> tables, List<WaitlistEntry> queue, LocalDateTime now) {
+        for (WaitlistEntry entry : queue) {
+            if (entry.getStatus() != WaitlistStatus.WAITING) {
+                continue;
+            }
+            TableState best = null;
+            LocalDateTime bestSeatAt = null;
+            for (TableState table : tables) {
+                if (!table.canAccommodate(entry.getNumberOfPeople())) {
+                    continue;
+                }
+                LocalDateTime seatAt = table.firstFit(now);
+                if (seatAt == null) {
+                    continue;
+                }
+                if (best == null || seatAt.isBefore(bestSeatAt)
+                        || (seatAt.equals(bestSeatAt) && SMALLEST_FIRST.compare(table, best) < 0)) {
+                    best = table;
+                    bestSeatAt = seatAt;
+                }
+            }
+            entry.setPredictedSeatAt(bestSeatAt);
+            if (best != null) {
+                best.availableAt = bestSeatAt.plusMinutes(best.getTurnMinutes());
+            }
+        }
+    }
+
+    /**
+     * Una mesa tal como la ve la lista de espera: desde cuándo puede recibir a otro
+     * grupo y qué reservas la bloquean más adelante.
+     */
+    @Getter
+    static class TableState {
+        private final Long id;
+        private final int capacity;
+        private final int minCapacity;
+        private final int turnMinutes;
+        private final LocalDateTime closesAt;
+        /** Reservas [inicio, fin), ordenadas por inicio. */
+        private final List<LocalDateTime[]> reservations;
+        private LocalDateTime availableAt;
+
+        TableState(Long id, int capacity, int minCapacity, int turnMinutes, LocalDateTime closesAt,
+                List<LocalDateTime[]> reservations, LocalDateTime availableAt) {
+            this.id = id;
+            this.capacity = capacity;
+            this.minCapacity = minCapacity;
+            this.turnMinutes = turnMinutes;
+            this.closesAt = closesAt;
+            this.reservations = reservations;
+            this.availableAt = availableAt;
+        }
+
+        boolean canAccommodate(int numberOfPeople) {
+            return numberOfPeople >= minCapacity && numberOfPeople <= capacity;
+        }
+
+        /**
+         * Primer momento, desde {@code now}, en que entra un tiempo de mesa completo
+         * antes de la próxima reserva y del cierre; {@code null} si hoy ya no entra.
+         */
+        LocalDateTime firstFit(LocalDateTime now) {
+            LocalDateTime seatAt = availableAt.isAfter(now) ? availableAt : now;
+            for (LocalDateTime[] reservation : reservations) {
+                if (!reservation[1].isAfter(seatAt)) {
+                    continue;
+                }
+                if (!reservation[0].isBefore(seatAt.plusMinutes(turnMinutes))) {
+                    break;
+                }
+                seatAt = reservation[1];
+            }
+            return seatAt.plusMinutes(turnMinutes).isAfter(closesAt) ? null : seatAt;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.sanisidro.restaurante.features.restaurant.waitlist;
+
+import java.time.LocalDateTime;
+
+import com.sanisidro.restaurante.features.restaurant.enums.WaitlistStatus;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Grupo en la lista de espera. Vive solo en memoria, como la lista en papel de la
+ * puerta: al reiniciar se pierde.
+ */
+@Getter
+@Setter
+class WaitlistEntry {
+    private final Long id;
+    private final String name;
+    private final String phone;
+    private final int numberOfPeople;
+    private final LocalDateTime joinedAt;
+    private WaitlistStatus status = WaitlistStatus.WAITING;
+    private LocalDateTime predictedSeatAt;
+    private Long offeredTableId;
+    private LocalDateTime offerExpiresAt;
+
+    WaitlistEntry(Long id, String name, String phone, int numberOfPeople, LocalDateTime joinedAt) {
+        this.id = id;
+        this.name = name;
+        this.phone = phone;
+        this.numberOfPeople = numberOfPeople;
+        this.joinedAt = joinedAt;
+    }
+}
@@ -0,0 +1,523 @@
+package com.sanisidro.restaurante.features.restaurant.waitlist;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.core.exceptions.ConflictException;
+import com.sanisidro.restaurante.core.exceptions.ResourceNotFoundException;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.restaurant.dto.waitlist.request.WaitlistRequest;
+import com.sanisidro.restaurante.features.restaurant.dto.waitlist.response.WaitlistEntryResponse;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.enums.WaitlistStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.features.restaurant.waitlist.WaitTimePredictor.TableState;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lista de espera de walk-ins. Guarda en memoria el estado de cada mesa (órdenes en
+ * salón abiertas, reservas del día y tiempo de mesa esperado) y lo mantiene al día
+ * con los avisos del {@link TableOccupancyIndex}, así que estimar la espera no
+ * vuelve a consultar la base: solo se carga todo al arrancar, al cambiar de día o
+ * si se modifican las mesas. La carga se hace fuera del lock del servicio, así que
+ * los avisos del índice (que llegan tras el commit de otras transacciones) nunca
+ * esperan a la base.
+ * <p>
+ * El tiempo de mesa sale de la mediana de las reservas completadas por capacidad y
+ * se ajusta con cada orden que se cierra. Cuando una mesa adecuada queda libre se
+ * ofrece al primer grupo que entra en ella; si no la acepta a tiempo pierde el
+ * lugar. Cada cambio en la fila se publica en {@code /topic/waitlist}.
+ */
+@Service
+@Slf4j
+public class WaitlistService implements TableOccupancyIndex.Listener {
+
+    public static final String TOPIC = "/topic/waitlist";
+
+    private static final Set<ReservationStatus> ACTIVE_RESERVATION_STATUSES = Set.of(
+            ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+    /** Una orden que ya pasó su tiempo de mesa se da por terminando en estos minutos. */
+    private static final int MIN_REMAINING_MINUTES = 5;
+    /** Órdenes abiertas hace más que esto se consideran olvidadas y no ocupan. */
+    private static final int STALE_ORDER_HOURS = 12;
+    private static final int MIN_TURN_SAMPLES = 5;
+    private static final int MIN_OBSERVED_TURN_MINUTES = 10;
+    private static final int MAX_OBSERVED_TURN_MINUTES = 300;
+    private static final double TURN_SMOOTHING = 0.2;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final TableRepository tableRepository;
+    private final OrderRepository orderRepository;
+    private final ReservationRepository reservationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ReservationProperties properties;
+    private final Clock clock;
+
+    private final Map<Long, TableEntity> tables = new HashMap<>();
+    private final Map<Long, Seating> orders = new HashMap<>();
+    private final Map<Long, Seating> reservations = new HashMap<>();
+    /** Mesas recién asignadas desde la lista que todavía no abren orden. */
+    private final Map<Long, LocalDateTime> seatedFromWaitlist = new HashMap<>();
+    private final Map<Integer, Double> turnByCapacity = new HashMap<>();
+    private final Map<Long, WaitlistEntry> queue = new LinkedHashMap<>();
+    private LocalDate loadedDay;
+    /** Se invalidó el índice: lo cargado sirve hasta la próxima carga. */
+    private boolean stale;
+    /** Cuenta los avisos aplicados; una carga que se cruzó con uno se repite. */
+    private long changes;
+    private long nextId = 1;
+
+    @Autowired
+    public WaitlistService(TableRepository tableRepository, OrderRepository orderRepository,
+            ReservationRepository reservationRepository, SimpMessagingTemplate messagingTemplate,
+            ReservationProperties properties, TableOccupancyIndex occupancyIndex) {
+        this(tableRepository, orderRepository, reservationRepository, messagingTemplate, properties,
+                occupancyIndex, Clock.system(Reservation.RESTAURANT_ZONE));
+    }
+
+    WaitlistService(TableRepository tableRepository, OrderRepository orderRepository,
+            ReservationRepository reservationRepository, SimpMessagingTemplate messagingTemplate,
+            ReservationProperties properties, TableOccupancyIndex occupancyIndex, Clock clock) {
+        this.tableRepository = tableRepository;
+        this.orderRepository = orderRepository;
+        this.reservationRepository = reservationRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        occupancyIndex.addListener(this);
+    }
+
+    /* -------------------- FILA -------------------- */
+
+    public WaitlistEntryResponse join(WaitlistRequest request) {
+        ensureLoaded();
+        synchronized (this) {
+            return add(request);
+        }
+    }
+
+    private WaitlistEntryResponse add(WaitlistRequest request) {
+        int people = request.getNumberOfPeople();
+        boolean fits = tables.values().stream()
+                .anyMatch(t -> t.getStatus() != TableStatus.OUT_OF_SERVICE && t.canAccommodate(people));
+        if (!fits) {
+            throw new BadRequestException("No hay mesas para grupos de " + people + " personas");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry(nextId++, request.getName().trim(),
+                request.getPhone() != null ? request.getPhone().trim() : null, people, now());
+        queue.put(entry.getId(), entry);
+        log.info("🕒 Grupo {} en lista de espera: {} personas", entry.getId(), people);
+        refresh();
+        return toResponse(entry);
+    }
+
+    public List<WaitlistEntryResponse> getWaitlist() {
+        ensureLoaded();
+        synchronized (this) {
+            return snapshot();
+        }
+    }
+
+    /**
+     * Sienta al grupo en la mesa indicada o, si no se indica, en la que se le ofreció.
+     * La mesa tiene que admitir al grupo y estar libre (sin orden abierta, grupo
+     * recién sentado, oferta a otro grupo ni reserva antes de que termine el turno).
+     */
+    public WaitlistEntryResponse seat(Long entryId, Long tableId) {
+        ensureLoaded();
+        synchronized (this) {
+            return seatEntry(entryId, tableId);
+        }
+    }
+
+    private WaitlistEntryResponse seatEntry(Long entryId, Long tableId) {
+        WaitlistEntry entry = findEntry(entryId);
+        Long table = tableId != null ? tableId : entry.getOfferedTableId();
+        if (table == null) {
+            throw new BadRequestException("El grupo no tiene una mesa ofrecida; indique la mesa");
+        }
+        TableEntity tableEntity = tables.get(table);
+        if (tableEntity == null) {
+            throw new ResourceNotFoundException("Mesa no encontrada");
+        }
+        if (tableEntity.getStatus() == TableStatus.OUT_OF_SERVICE
+                || !tableEntity.canAccommodate(entry.getNumberOfPeople())) {
+            throw new BadRequestException("La mesa " + tableEntity.getCode() + " no admite grupos de "
+                    + entry.getNumberOfPeople() + " personas");
+        }
+        if (!isFree(tableEntity, entry, now())) {
+            throw new ConflictException("La mesa " + tableEntity.getCode() + " no está libre");
+        }
+
+        queue.remove(entryId);
+        entry.setStatus(WaitlistStatus.SEATED);
+        entry.setOfferedTableId(table);
+        seatedFromWaitlist.put(table, now());
+        log.info("🪑 Grupo {} de la lista de espera sentado en la mesa {}", entryId, table);
+        refresh();
+        return toResponse(entry);
+    }
+
+    public WaitlistEntryResponse leave(Long entryId) {
+        ensureLoaded();
+        synchronized (this) {
+            WaitlistEntry entry = findEntry(entryId);
+            queue.remove(entryId);
+            entry.setStatus(WaitlistStatus.LEFT);
+            refresh();
+            return toResponse(entry);
+        }
+    }
+
+    /**
+     * Vence las ofertas no aceptadas y actualiza las esperas con el paso del tiempo
+     * (una orden que se alarga corre a todos los que esperan esa mesa).
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void tick() {
+        ensureLoaded();
+        synchronized (this) {
+            refreshIfWaiting();
+        }
+    }
+
+    /* -------------------- EVENTOS DE OCUPACIÓN -------------------- */
+
+    @Override
+    public synchronized void reservationChanged(Long reservationId, Long tableId, LocalDateTime start,
+            LocalDateTime end) {
+        changes++;
+        if (loadedDay == null) {
+            return;
+        }
+        if (tableId == null || !start.toLocalDate().equals(loadedDay)) {
+            reservations.remove(reservationId);
+        } else {
+            reservations.put(reservationId, new Seating(tableId, start, end));
+        }
+        refreshIfWaiting();
+    }
+
+    @Override
+    public synchronized void orderChanged(Long orderId, Long tableId, LocalDateTime start, LocalDateTime end) {
+        changes++;
+        if (loadedDay == null) {
+            return;
+        }
+        if (tableId != null) {
+            orders.put(orderId, new Seating(tableId, start, end));
+            seatedFromWaitlist.remove(tableId);
+        } else {
+            Seating closed = orders.remove(orderId);
+            if (closed != null) {
+                observeTurn(closed);
+            }
+        }
+        refreshIfWaiting();
+    }
+
+    /**
+     * Solo marca lo cargado como vencido; la próxima llamada (o el tick) vuelve a
+     * cargar fuera del lock.
+     */
+    @Override
+    public synchronized void invalidated() {
+        changes++;
+        stale = true;
+    }
+
+    /* -------------------- ESTADO -------------------- */
+
+    private void refreshIfWaiting() {
+        if (!queue.isEmpty()) {
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        if (loadedDay == null) {
+            return;
+        }
+        LocalDateTime now = now();
+
+        queue.values().removeIf(entry -> {
+            if (entry.getStatus() == WaitlistStatus.OFFERED && !entry.getOfferExpiresAt().isAfter(now)) {
+                entry.setStatus(WaitlistStatus.EXPIRED);
+                log.info("⌛ Grupo {} no aceptó la mesa {} a tiempo", entry.getId(), entry.getOfferedTableId());
+                return true;
+            }
+            return false;
+        });
+
+        List<WaitlistEntry> entries = new ArrayList<>(queue.values());
+        List<TableState> states = tableStates(now);
+        for (WaitlistEntry offered : WaitTimePredictor.offerFreeTables(states, entries, now,
+                properties.getWaitlistOfferMinutes())) {
+            log.info("📣 Mesa {} ofrecida al grupo {} de la lista de espera", offered.getOfferedTableId(),
+                    offered.getId());
+        }
+        WaitTimePredictor.predict(states, entries, now);
+
+        messagingTemplate.convertAndSend(TOPIC, snapshot());
+    }
+
+    /**
+     * Estado de cada mesa en servicio: ocupada hasta que termine su orden (o la
+     * oferta pendiente, o el grupo recién sentado) según el tiempo de mesa esperado.
+     */
+    private List<TableState> tableStates(LocalDateTime now) {
+        Map<Long, LocalDateTime> availableAt = new HashMap<>();
+        LocalDateTime staleBefore = now.minusHours(STALE_ORDER_HOURS);
+        for (Seating order : orders.values()) {
+            TableEntity table = tables.get(order.tableId);
+            if (table == null || order.start.isBefore(staleBefore)) {
+                continue;
+            }
+            LocalDateTime expectedEnd = order.start.plusMinutes(turnMinutes(table));
+            LocalDateTime soonest = now.plusMinutes(MIN_REMAINING_MINUTES);
+            availableAt.merge(order.tableId, expectedEnd.isAfter(soonest) ? expectedEnd : soonest,
+                    (a, b) -> a.isAfter(b) ? a : b);
+        }
+        seatedFromWaitlist.forEach((tableId, seatedAt) -> {
+            TableEntity table = tables.get(tableId);
+            if (table != null) {
+                availableAt.merge(tableId, seatedAt.plusMinutes(turnMinutes(table)),
+                        (a, b) -> a.isAfter(b) ? a : b);
+            }
+        });
+        for (WaitlistEntry entry : queue.values()) {
+            TableEntity table = entry.getStatus() == WaitlistStatus.OFFERED
+                    ? tables.get(entry.getOfferedTableId())
+                    : null;
+            if (table != null) {
+                availableAt.merge(table.getId(), now.plusMinutes(turnMinutes(table)),
+                        (a, b) -> a.isAfter(b) ? a : b);
+            }
+        }
+
+        Map<Long, List<LocalDateTime[]>> blocks = new HashMap<>();
+        for (Seating reservation : reservations.values()) {
+            if (reservation.end.isAfter(now)) {
+                blocks.computeIfAbsent(reservation.tableId, id -> new ArrayList<>())
+                        .add(new LocalDateTime[] { reservation.start, reservation.end });
+            }
+        }
+
+        List<TableState> states = new ArrayList<>(tables.size());
+        for (TableEntity table : tables.values()) {
+            if (table.getStatus() == TableStatus.OUT_OF_SERVICE) {
+                continue;
+            }
+            List<LocalDateTime[]> tableBlocks = blocks.getOrDefault(table.getId(), new ArrayList<>());
+            tableBlocks.sort(Comparator.comparing(block -> block[0]));
+            states.add(new TableState(table.getId(), table.getCapacity(), table.getMinCapacity(),
+                    turnMinutes(table), loadedDay.atTime(table.getCloseTime()), tableBlocks,
+                    availableAt.getOrDefault(table.getId(), now)));
+        }
+        return states;
+    }
+
+    private int turnMinutes(TableEntity table) {
+        Double turn = turnByCapacity.get(table.getCapacity());
+        return turn != null ? (int) Math.round(turn) : table.getReservationDurationMinutes();
+    }
+
+    private boolean isFree(TableEntity table, WaitlistEntry entry, LocalDateTime now) {
+        Long tableId = table.getId();
+        LocalDateTime staleBefore = now.minusHours(STALE_ORDER_HOURS);
+        boolean openOrder = orders.values().stream()
+                .anyMatch(order -> order.tableId.equals(tableId) && !order.start.isBefore(staleBefore));
+        LocalDateTime seatedAt = seatedFromWaitlist.get(tableId);
+        boolean recentlySeated = seatedAt != null && seatedAt.plusMinutes(turnMinutes(table)).isAfter(now);
+        boolean offeredToOther = queue.values().stream()
+                .anyMatch(other -> other != entry && other.getStatus() == WaitlistStatus.OFFERED
+                        && tableId.equals(other.getOfferedTableId()));
+        LocalDateTime turnEnd = now.plusMinutes(turnMinutes(table));
+        boolean reserved = reservations.values().stream()
+                .anyMatch(reservation -> reservation.tableId.equals(tableId)
+                        && reservation.start.isBefore(turnEnd) && reservation.end.isAfter(now));
+        return !openOrder && !recentlySeated && !offeredToOther && !reserved;
+    }
+
+    private void observeTurn(Seating closed) {
+        TableEntity table = tables.get(closed.tableId);
+        long minutes = Duration.between(closed.start, now()).toMinutes();
+        if (table == null || minutes < MIN_OBSERVED_TURN_MINUTES || minutes > MAX_OBSERVED_TURN_MINUTES) {
+            return;
+        }
+        double previous = turnByCapacity.getOrDefault(table.getCapacity(),
+                (double) table.getReservationDurationMinutes());
+        turnByCapacity.put(table.getCapacity(), previous + TURN_SMOOTHING * (minutes - previous));
+    }
+
+    /**
+     * Carga mesas, órdenes en salón activas, reservas del día y tiempos de mesa. Solo
+     * pasa al arrancar, al cambiar de día o si se invalidó el índice de ocupación. Las
+     * consultas corren sin el lock; si mientras tanto llegó un aviso se vuelve a
+     * cargar, para no pisarlo con datos anteriores.
+     */
+    private void ensureLoaded() {
+        for (int attempt = 1;; attempt++) {
+            LocalDate today = LocalDate.now(clock);
+            long observedChanges;
+            synchronized (this) {
+                if (today.equals(loadedDay) && !stale) {
+                    return;
+                }
+                observedChanges = changes;
+            }
+
+            DayState loaded = load(today);
+
+            synchronized (this) {
+                if (observedChanges == changes || attempt == MAX_LOAD_ATTEMPTS) {
+                    apply(loaded);
+                    return;
+                }
+            }
+        }
+    }
+
+    private DayState load(LocalDate today) {
+        DayState state = new DayState(today);
+        tableRepository.findAll().forEach(t -> state.tables.put(t.getId(), t));
+
+        for (Order order : orderRepository.findActiveOrdersByType(
+                List.copyOf(TableOccupancyIndex.ACTIVE_ORDER_STATUSES), "DINE_IN")) {
+            // La mesa es perezosa: solo se usa su id y el resto sale de las mesas cargadas
+            TableEntity table = order.getTable() != null ? state.tables.get(order.getTable().getId()) : null;
+            if (table != null) {
+                state.orders.put(order.getId(), new Seating(table.getId(), order.getDate(),
+                        order.getDate().plusMinutes(table.getReservationDurationMinutes())));
+            }
+        }
+
+        for (Reservation reservation : reservationRepository.findByReservationDateAndStatusIn(today,
+                ACTIVE_RESERVATION_STATUSES)) {
+            state.reservations.put(reservation.getId(), new Seating(reservation.getTable().getId(),
+                    toLocal(reservation.getStartAt()), toLocal(reservation.getEndAt())));
+        }
+
+        for (Object[] row : tableRepository.findTurnTimesByCapacity(
+                today.minusDays(properties.getWaitlistTurnHistoryDays()))) {
+            if (((Number) row[2]).intValue() >= MIN_TURN_SAMPLES) {
+                state.turnByCapacity.put(((Number) row[0]).intValue(), ((Number) row[1]).doubleValue());
+            }
+        }
+        return state;
+    }
+
+    private void apply(DayState state) {
+        tables.clear();
+        tables.putAll(state.tables);
+        orders.clear();
+        orders.putAll(state.orders);
+        reservations.clear();
+        reservations.putAll(state.reservations);
+        turnByCapacity.clear();
+        turnByCapacity.putAll(state.turnByCapacity);
+        seatedFromWaitlist.keySet().retainAll(tables.keySet());
+        loadedDay = state.day;
+        stale = false;
+        log.debug("Lista de espera: {} mesas, {} órdenes en salón, {} reservas del día", tables.size(),
+                orders.size(), reservations.size());
+    }
+
+    private List<WaitlistEntryResponse> snapshot() {
+        return queue.values().stream().map(this::toResponse).toList();
+    }
+
+    private WaitlistEntryResponse toResponse(WaitlistEntry entry) {
+        Integer position = null;
+        int index = 1;
+        for (Long id : queue.keySet()) {
+            if (id.equals(entry.getId())) {
+                position = index;
+                break;
+            }
+            index++;
+        }
+
+        LocalDateTime predictedSeatAt = queue.containsKey(entry.getId()) ? entry.getPredictedSeatAt() : null;
+        TableEntity offeredTable = entry.getOfferedTableId() != null ? tables.get(entry.getOfferedTableId()) : null;
+        return WaitlistEntryResponse.builder()
+                .id(entry.getId())
+                .name(entry.getName())
+                .phone(entry.getPhone())
+                .numberOfPeople(entry.getNumberOfPeople())
+                .status(entry.getStatus())
+                .position(position)
+                .joinedAt(entry.getJoinedAt())
+                .predictedSeatAt(predictedSeatAt)
+                .predictedWaitMinutes(predictedSeatAt != null
+                        ? (int) Math.max(0, Duration.between(now(), predictedSeatAt).toMinutes())
+                        : null)
+                .offeredTableId(entry.getOfferedTableId())
+                .offeredTableCode(offeredTable != null ? offeredTable.getCode() : null)
+                .offerExpiresAt(entry.getStatus() == WaitlistStatus.OFFERED ? entry.getOfferExpiresAt() : null)
+                .build();
+    }
+
+    private WaitlistEntry findEntry(Long entryId) {
+        WaitlistEntry entry = queue.get(entryId);
+        if (entry == null) {
+            throw new ResourceNotFoundException("Grupo no encontrado en la lista de espera");
+        }
+        return entry;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static LocalDateTime toLocal(OffsetDateTime instant) {
+        return instant.atZoneSameInstant(Reservation.RESTAURANT_ZONE).toLocalDateTime();
+    }
+
+    /** Lo que se carga de la base para un día, antes de aplicarlo. */
+    private static class DayState {
+        private final LocalDate day;
+        private final Map<Long, TableEntity> tables = new HashMap<>();
+        private final Map<Long, Seating> orders = new HashMap<>();
+        private final Map<Long, Seating> reservations = new HashMap<>();
+        private final Map<Integer, Double> turnByCapacity = new HashMap<>();
+
+        DayState(LocalDate day) {
+            this.day = day;
+        }
+    }
+
+    /** Una orden o reserva sobre una mesa. */
+    @AllArgsConstructor
+    private static class Seating {
+        private final Long tableId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+}
@@ -0,0 +1,147 @@
+package com.sanisidro.restaurante.core.outbox.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.OutboxProperties;
+import com.sanisidro.restaurante.core.outbox.enums.OutboxStatus;
+import com.sanisidro.restaurante.core.outbox.model.OutboxEvent;
+import com.sanisidro.restaurante.core.outbox.repository.OutboxEventRepository;
+import com.sanisidro.restaurante.core.outbox.service.OutboxMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final List<String> sentPayloads = new ArrayList<>();
+    private OutboxProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new OutboxProperties();
+        properties.setMaxAttempts(3);
+
+        Clock clock = Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        relay = new OutboxRelay(outboxEventRepository, kafkaTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                properties, new OutboxMetrics(new SimpleMeterRegistry()), clock);
+
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void relayBatch_ShouldPublishEachAggregateInOrder() {
+        OutboxEvent a1 = event(1L, "order-1", "a1");
+        OutboxEvent b1 = event(2L, "order-2", "b1");
+        OutboxEvent a2 = event(3L, "order-1", "a2");
+        when(outboxEventRepository.findReadyBatch(any(), anyInt())).thenReturn(List.of(a1, b1, a2));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenAnswer(inv -> ok(inv.getArgument(2)));
+
+        assertEquals(3, relay.relayBatch());
+
+        assertEquals(List.of("a1", "b1", "a2"), sentPayloads);
+        assertEquals(OutboxStatus.SENT, a1.getStatus());
+        assertEquals(OutboxStatus.SENT, a2.getStatus());
+        assertEquals(NOW, b1.getSentAt());
+        verify(kafkaTemplate).send("notifications", "order-1", "a2");
+    }
+
+    @Test
+    void relayBatch_WhenSendFails_ShouldHoldBackLaterEventsOfSameAggregate() {
+        OutboxEvent a1 = event(1L, "order-1", "a1");
+        OutboxEvent b1 = event(2L, "order-2", "b1");
+        OutboxEvent a2 = event(3L, "order-1", "a2");
+        when(outboxEventRepository.findReadyBatch(any(), anyInt())).thenReturn(List.of(a1, b1, a2));
+        when(kafkaTemplate.send(anyString(), anyString(), eq("a1")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker caído")));
+        when(kafkaTemplate.send(anyString(), anyString(), eq("b1"))).thenAnswer(inv -> ok("b1"));
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), eq("a2"));
+        assertEquals(OutboxStatus.SENT, b1.getStatus());
+        assertEquals(OutboxStatus.PENDING, a1.getStatus());
+        assertEquals(1, a1.getAttempts());
+        assertEquals(NOW.plusSeconds(2), a1.getNextAttemptAt());
+        assertEquals("IllegalStateException: broker caído", a1.getLastError());
+        assertEquals(OutboxStatus.PENDING, a2.getStatus());
+        assertEquals(0, a2.getAttempts());
+    }
+
+    @Test
+    void relayBatch_AfterMaxAttempts_ShouldMarkEventDead() {
+        OutboxEvent a1 = event(1L, "order-1", "a1");
+        a1.setAttempts(2);
+        when(outboxEventRepository.findReadyBatch(any(), anyInt())).thenReturn(List.of(a1));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("timeout de metadata"));
+
+        relay.relayBatch();
+
+        assertEquals(OutboxStatus.DEAD, a1.getStatus());
+        assertEquals(3, a1.getAttempts());
+        assertNull(a1.getSentAt());
+    }
+
+    @Test
+    void relayBatch_WithoutRelayLock_ShouldNotReadOutbox() {
+        when(outboxEventRepository.tryRelayLock(anyLong())).thenReturn(false);
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(outboxEventRepository, never()).findReadyBatch(any(), anyInt());
+    }
+
+    private CompletableFuture<SendResult<String, String>> ok(String payload) {
+        sentPayloads.add(payload);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private OutboxEvent event(Long id, String aggregateKey, String payload) {
+        return OutboxEvent.builder()
+                .id(id)
+                .topic("notifications")
+                .aggregateKey(aggregateKey)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .createdAt(NOW.minusSeconds(5))
+                .nextAttemptAt(NOW.minusSeconds(5))
+                .build();
+    }
+}
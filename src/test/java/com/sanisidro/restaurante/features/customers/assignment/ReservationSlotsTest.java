@@ -0,0 +1,54 @@
+package com.sanisidro.restaurante.features.customers.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+
+/**
+ * Período guardado de una reserva y reglas de mesa, sin base.
+ */
+class ReservationSlotsTest {
+
+    @Test
+    void updatePeriod_ShouldStoreBuffersInRestaurantTime() {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setBufferBeforeMinutes(5);
+        properties.setBufferAfterMinutes(20);
+        TableEntity table = TableEntity.builder().reservationDurationMinutes(90).bufferBeforeMinutes(15).build();
+        Reservation reservation = Reservation.builder()
+                .table(table)
+                .reservationDate(LocalDate.of(2025, 6, 10))
+                .reservationTime(LocalTime.of(22, 30))
+                .build();
+
+        // La mesa fija su buffer previo; el posterior sale de la configuración
+        reservation.updatePeriod(ReservationSlots.bufferBefore(table, properties),
+                ReservationSlots.bufferAfter(table, properties));
+
+        ZoneOffset lima = ZoneOffset.ofHours(-5);
+        assertEquals(OffsetDateTime.of(2025, 6, 10, 22, 15, 0, 0, lima), reservation.getStartAt());
+        // Cruza la medianoche: 22:30 + 90 + 20 minutos
+        assertEquals(OffsetDateTime.of(2025, 6, 11, 0, 20, 0, 0, lima), reservation.getEndAt());
+    }
+
+    @Test
+    void isOverlapViolation_ShouldOnlyMatchTheExclusionConstraint() {
+        assertTrue(ReservationSlots.isOverlapViolation(new DataIntegrityViolationException("solape",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01"))));
+        assertFalse(ReservationSlots.isOverlapViolation(new DataIntegrityViolationException("duplicado",
+                new SQLException("duplicate key value violates unique constraint", "23505"))));
+    }
+}
@@ -0,0 +1,126 @@
+package com.sanisidro.restaurante.features.customers.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.features.customers.assignment.TableAssignmentOptimizer.Party;
+import com.sanisidro.restaurante.features.customers.assignment.TableAssignmentOptimizer.Result;
+import com.sanisidro.restaurante.features.customers.assignment.TableAssignmentOptimizer.Table;
+
+/**
+ * Un turno de 200 pedidos de reserva sobre 40 mesas: cubiertos sentados asignando
+ * uno por uno en orden de llegada (como la asignación automática) contra
+ * reacomodar el turno completo con el optimizador, y cuánto tarda este.
+ * Se ejecuta solo con {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TableAssignmentOptimizerBenchmarkTest {
+
+    private static final int TABLES = 40;
+    private static final int REQUESTS = 200;
+    private static final int[] CAPACITIES = { 2, 2, 2, 4, 4, 4, 4, 6, 6, 8 };
+    private static final int ROUNDS = 50;
+
+    @Test
+    void benchmarkServiceWindow() {
+        Random random = new Random(42);
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < TABLES; i++) {
+            int capacity = CAPACITIES[i % CAPACITIES.length];
+            tables.add(new Table((long) i + 1, capacity, capacity >= 6 ? 3 : 1, capacity,
+                    12 * 60, 23 * 60, 90, 10, 15));
+        }
+        // Pedidos cada 15 minutos entre las 12:15 y las 21:15
+        List<Party> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            int people = 1 + Math.min(7, (int) Math.abs(random.nextGaussian() * 2.5));
+            int start = 12 * 60 + 15 + 15 * random.nextInt(37);
+            requests.add(new Party(null, people, start, null, false));
+        }
+
+        // Orden de llegada: cada pedido toma la mesa más chica libre
+        Long[] greedy = greedy(tables, requests);
+        int greedyCovers = covers(requests, greedy);
+
+        // El turno ya asignado pasa al optimizador junto con los rechazados
+        List<Party> window = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            Party request = requests.get(i);
+            window.add(greedy[i] != null
+                    ? new Party((long) i + 1, request.getNumberOfPeople(), request.getStartMinute(), greedy[i], false)
+                    : request);
+        }
+
+        Result result = TableAssignmentOptimizer.optimize(tables, window);
+        Result fromScratch = TableAssignmentOptimizer.optimize(tables, requests);
+        long[] nanos = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            Result again = TableAssignmentOptimizer.optimize(tables, window);
+            nanos[round] = System.nanoTime() - start;
+            assertEquals(result.getTableIds(), again.getTableIds());
+        }
+        Arrays.sort(nanos);
+        double medianMs = nanos[ROUNDS / 2] / 1_000_000.0;
+        double maxMs = nanos[ROUNDS - 1] / 1_000_000.0;
+        long moved = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            if (greedy[i] != null && !greedy[i].equals(result.getTableIds().get(i))) {
+                moved++;
+            }
+        }
+
+        System.out.printf("[benchmark] %d pedidos, %d mesas: en orden de llegada %d cubiertos, optimizador %d "
+                + "(reservas movidas: %d, reasignación conservada: %s)%n", REQUESTS, TABLES, greedyCovers,
+                result.getSeatedCovers(), moved, result.isKeptCurrent());
+        System.out.printf("[benchmark] todo el turno sin reservas previas: %d cubiertos%n",
+                fromScratch.getSeatedCovers());
+        System.out.printf("[benchmark] optimizador: mediana %.2f ms, máximo %.2f ms en %d rondas%n",
+                medianMs, maxMs, ROUNDS);
+
+        assertTrue(result.getSeatedCovers() >= greedyCovers);
+        assertTrue(maxMs < 1000);
+    }
+
+    private static Long[] greedy(List<Table> tables, List<Party> requests) {
+        List<Table> ordered = tables.stream()
+                .sorted(Comparator.comparingInt(Table::getCapacity).thenComparing(Table::getId))
+                .toList();
+        List<List<int[]>> busy = new ArrayList<>();
+        tables.forEach(t -> busy.add(new ArrayList<>()));
+        Long[] assigned = new Long[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            Party party = requests.get(i);
+            for (Table table : ordered) {
+                int start = table.startOf(party);
+                int end = table.endOf(party);
+                List<int[]> intervals = busy.get(tables.indexOf(table));
+                if (table.fits(party) && intervals.stream().noneMatch(b -> b[0] < end && start < b[1])) {
+                    intervals.add(new int[] { start, end });
+                    assigned[i] = table.getId();
+                    break;
+                }
+            }
+        }
+        return assigned;
+    }
+
+    private static int covers(List<Party> parties, Long[] tableIds) {
+        int covers = 0;
+        for (int i = 0; i < parties.size(); i++) {
+            if (tableIds[i] != null) {
+                covers += parties.get(i).getNumberOfPeople();
+            }
+        }
+        return covers;
+    }
+}
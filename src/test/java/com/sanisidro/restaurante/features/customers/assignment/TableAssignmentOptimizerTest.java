@@ -0,0 +1,93 @@
+package com.sanisidro.restaurante.features.customers.assignment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.features.customers.assignment.TableAssignmentOptimizer.Party;
+import com.sanisidro.restaurante.features.customers.assignment.TableAssignmentOptimizer.Result;
+import com.sanisidro.restaurante.features.customers.assignment.TableAssignmentOptimizer.Table;
+
+class TableAssignmentOptimizerTest {
+
+    @Test
+    void optimize_ShouldFreeTheLargeTableForALargeParty() {
+        // El grupo de 2 quedó en la mesa de 6 y el de 6 no tiene dónde sentarse
+        List<Table> tables = List.of(table(1L, 2, 12 * 60, 23 * 60), table(2L, 6, 12 * 60, 23 * 60));
+        List<Party> parties = List.of(
+                new Party(10L, 2, 19 * 60, 2L, false),
+                new Party(null, 6, 19 * 60, null, false));
+
+        Result result = TableAssignmentOptimizer.optimize(tables, parties);
+
+        assertEquals(List.of(1L, 2L), result.getTableIds());
+        assertEquals(8, result.getSeatedCovers());
+        assertFalse(result.isKeptCurrent());
+    }
+
+    @Test
+    void optimize_ShouldMoveTheOnlyBlockingReservationToAnotherTable() {
+        // La mesa 2 abre a las 19:00, así que el grupo de las 18:30 solo entra en la 1
+        List<Table> tables = List.of(table(1L, 4, 12 * 60, 23 * 60), table(2L, 4, 19 * 60, 23 * 60));
+        List<Party> parties = List.of(
+                new Party(10L, 4, 19 * 60, 1L, false),
+                new Party(null, 4, 18 * 60 + 30, null, false));
+
+        Result result = TableAssignmentOptimizer.optimize(tables, parties);
+
+        assertEquals(List.of(2L, 1L), result.getTableIds());
+    }
+
+    @Test
+    void optimize_ShouldKeepFixedReservationsAndIgnoreInputOrder() {
+        List<Table> tables = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            tables.add(table(id, id % 2 == 0 ? 4 : 2, 12 * 60, 23 * 60));
+        }
+        List<Party> parties = new ArrayList<>();
+        parties.add(new Party(1L, 2, 19 * 60, 4L, true));
+        for (long id = 2; id <= 12; id++) {
+            parties.add(new Party(id, (int) (id % 4) + 1, 18 * 60 + (int) (id * 15 % 120), null, false));
+        }
+        parties.add(new Party(null, 4, 20 * 60, null, false));
+
+        Result result = TableAssignmentOptimizer.optimize(tables, parties);
+        List<Party> shuffled = new ArrayList<>(parties);
+        Collections.shuffle(shuffled, new Random(7));
+        Result shuffledResult = TableAssignmentOptimizer.optimize(tables, shuffled);
+
+        assertEquals(4L, result.getTableIds().get(0));
+        for (int i = 0; i < shuffled.size(); i++) {
+            Long expected = result.getTableIds().get(parties.indexOf(shuffled.get(i)));
+            assertEquals(expected, shuffledResult.getTableIds().get(i));
+        }
+        assertEquals(result.getSeatedCovers(), shuffledResult.getSeatedCovers());
+    }
+
+    @Test
+    void optimize_ShouldKeepCurrentTablesWhenAReservationCannotBeSeated() {
+        // Fuera del horario de cualquier mesa: la reasignación no puede sentarla
+        List<Table> tables = List.of(table(1L, 4, 12 * 60, 20 * 60));
+        List<Party> parties = List.of(new Party(10L, 4, 22 * 60, 1L, false));
+
+        Result result = TableAssignmentOptimizer.optimize(tables, parties);
+
+        assertTrue(result.isKeptCurrent());
+        assertEquals(List.of(1L), result.getTableIds());
+
+        assertNull(TableAssignmentOptimizer.optimize(tables,
+                List.of(new Party(null, 4, 22 * 60, null, false))).getTableIds().get(0));
+    }
+
+    private static Table table(Long id, int capacity, int openMinute, int closeMinute) {
+        return new Table(id, capacity, 1, capacity, openMinute, closeMinute, 60, 0, 0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.sanisidro.restaurante.features.customers.repository;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que la restricción de exclusión impida reservar dos
+ * veces la misma mesa en períodos que se cruzan (buffers incluidos).
+ */
+@PostgresIntegrationTest
+class ReservationOverlapConstraintTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Reservation> saved = new ArrayList<>();
+    private TableEntity table;
+    private Customer customer;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.of(2095, 1, 1).plusDays(System.nanoTime() % 3000);
+        customer = customerRepository.findAll().get(0);
+        table = tableRepository.save(TableEntity.builder()
+                .code("X" + Long.toString(System.nanoTime() % 1_000_000L, 36))
+                .alias("Prueba solapamiento")
+                .capacity(4)
+                .minCapacity(1)
+                .optimalCapacity(4)
+                .priority(1)
+                .openTime(LocalTime.of(10, 0))
+                .closeTime(LocalTime.of(22, 0))
+                .reservationDurationMinutes(60)
+                .bufferBeforeMinutes(10)
+                .bufferAfterMinutes(15)
+                .status(TableStatus.FREE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll(saved);
+        tableRepository.delete(table);
+    }
+
+    @Test
+    void save_OverlappingActiveReservation_ShouldBeRejectedByDatabase() {
+        insert(LocalTime.of(13, 0), ReservationStatus.CONFIRMED);
+
+        // 14:20 - 10 min de preparación cae dentro de 13:00 + 60 + 15 de limpieza
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insert(LocalTime.of(14, 20), ReservationStatus.PENDING));
+
+        assertEquals(1, reservationRepository.findOverlappingReservations(table.getId(),
+                saved.get(0).getStartAt(), saved.get(0).getEndAt()).size());
+    }
+
+    @Test
+    void save_AdjacentOrCancelledReservation_ShouldBeAccepted() {
+        insert(LocalTime.of(13, 0), ReservationStatus.CONFIRMED);
+
+        // 14:25 - 10 = 14:15, justo cuando termina la anterior
+        assertDoesNotThrow(() -> insert(LocalTime.of(14, 25), ReservationStatus.CONFIRMED));
+        assertDoesNotThrow(() -> insert(LocalTime.of(13, 30), ReservationStatus.CANCELLED));
+    }
+
+    private void insert(LocalTime time, ReservationStatus status) {
+        Reservation reservation = Reservation.builder()
+                .customer(customer)
+                .table(table)
+                .reservationDate(day)
+                .reservationTime(time)
+                .numberOfPeople(2)
+                .status(status)
+                .build();
+        reservation.updatePeriod(table.getBufferBeforeMinutes(), table.getBufferAfterMinutes());
+        saved.add(reservationRepository.saveAndFlush(reservation));
+    }
+}
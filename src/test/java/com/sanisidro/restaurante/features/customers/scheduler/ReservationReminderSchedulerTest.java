@@ -0,0 +1,63 @@
+package com.sanisidro.restaurante.features.customers.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.ReservationReminderRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.customers.service.ReservationReminderService;
+import com.sanisidro.restaurante.features.notifications.kafka.NotificationProducer;
+
+/**
+ * Ventanas de cada etapa y lotes de recordatorios, sin base.
+ */
+class ReservationReminderSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 4, 20, 0);
+
+    private ReservationReminderRepository reminderRepository;
+    private ReservationReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        reminderRepository = mock(ReservationReminderRepository.class);
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        when(reservationRepository.findWithCustomerAndTableByIdIn(any())).thenReturn(List.of());
+        ReservationProperties properties = new ReservationProperties();
+        properties.setReminderBatchSize(2);
+
+        ReservationReminderService service = new ReservationReminderService(reminderRepository,
+                reservationRepository, mock(NotificationProducer.class), properties);
+        scheduler = new ReservationReminderScheduler(service, properties,
+                Clock.fixed(NOW.atZone(Reservation.RESTAURANT_ZONE).toInstant(), Reservation.RESTAURANT_ZONE));
+    }
+
+    @Test
+    void sendReminders_ShouldDrainFullBatchesWithinEachStageWindow() {
+        // Día antes: dos lotes llenos y uno parcial; dos horas: falla y no frena nada
+        when(reminderRepository.claimDue(eq("DAY_BEFORE"), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(reminderRepository.claimDue(eq("TWO_HOURS"), any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("sin conexión"));
+
+        scheduler.sendReminders();
+
+        // Entre 2 y 24 horas antes, y de ahí hasta la hora de la reserva
+        verify(reminderRepository, times(3)).claimDue("DAY_BEFORE", NOW.plusHours(2), NOW.plusHours(24), NOW, 2);
+        verify(reminderRepository).claimDue("TWO_HOURS", NOW, NOW.plusHours(2), NOW, 2);
+    }
+}
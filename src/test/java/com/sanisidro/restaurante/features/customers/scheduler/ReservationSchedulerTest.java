@@ -0,0 +1,100 @@
+package com.sanisidro.restaurante.features.customers.scheduler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.service.ReservationNoShowService;
+
+class ReservationSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 4, 20, 0);
+
+    @Mock
+    private ReservationNoShowService noShowService;
+
+    private MutableClock clock;
+    private ReservationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clock = new MutableClock(NOW.atZone(Reservation.RESTAURANT_ZONE).toInstant());
+        scheduler = new ReservationScheduler(noShowService, new ReservationProperties(), clock);
+    }
+
+    @Test
+    void advanceWheel_ShouldCancelEachReservationWhenItBecomesDue() {
+        // Reservas de las 19:47 y 19:52: vencen a las 20:02 y 20:07
+        when(noShowService.findConfirmedStartingBetween(any(), any())).thenReturn(List.of(
+                new Object[] { 1L, NOW.minusMinutes(13) },
+                new Object[] { 2L, NOW.minusMinutes(8) }));
+
+        scheduler.releaseNoShowTables();
+        verify(noShowService).cancelNoShows(NOW.minusMinutes(15), NOW);
+
+        clock.advance(Duration.ofSeconds(119));
+        scheduler.advanceWheel();
+        verify(noShowService, never()).cancelNoShows(any(), any(), anyCollection());
+
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.advanceWheel();
+        verify(noShowService).cancelNoShows(any(), any(), eq(List.of(1L)));
+
+        clock.advance(Duration.ofMinutes(5));
+        scheduler.advanceWheel();
+        verify(noShowService).cancelNoShows(any(), any(), eq(List.of(2L)));
+    }
+
+    @Test
+    void releaseNoShowTables_ShouldOnlyLookAheadUntilTheNextSweep() {
+        scheduler.releaseNoShowTables();
+
+        // Margen de 15 minutos + 5 de barrido + 1 de holgura
+        verify(noShowService).findConfirmedStartingBetween(NOW.minusMinutes(15), NOW.minusMinutes(9));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return Reservation.RESTAURANT_ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sanisidro.restaurante.features.customers.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Vencimientos de la rueda de tiempos: reprogramar, cancelar, claves a más de una
+ * vuelta y saltos largos del reloj.
+ */
+class TimingWheelTest {
+
+    private static final Instant START = Instant.parse("2025-10-04T20:00:00Z");
+
+    @Test
+    void advance_ShouldReturnEachKeyOnceAtItsDueTick() {
+        // 8 ranuras de 1 segundo: una vuelta dura 8 segundos
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 8, START);
+        wheel.schedule(1L, START.plusSeconds(3));
+        wheel.schedule(2L, START.plusSeconds(3));
+        wheel.schedule(2L, START.plusSeconds(5));
+        wheel.schedule(3L, START.plusSeconds(11));
+        wheel.schedule(4L, START.plusSeconds(4));
+        wheel.cancel(4L);
+        // Ya vencida: sale en el primer avance, no antes
+        wheel.schedule(5L, START.minusSeconds(30));
+
+        assertEquals(List.of(5L), wheel.advance(START.plusMillis(1500)));
+        assertEquals(List.of(1L), wheel.advance(START.plusSeconds(4)));
+        assertEquals(List.of(2L), wheel.advance(START.plusSeconds(5)));
+        // La 3 comparte ranura con el tick 3 pero recién vence en la segunda vuelta
+        assertTrue(wheel.advance(START.plusSeconds(10)).isEmpty());
+        assertEquals(List.of(3L), wheel.advance(START.plusSeconds(11)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_LongJump_ShouldVisitEverySlotOnce() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 4, START);
+        for (long key = 1; key <= 10; key++) {
+            wheel.schedule(key, START.plusSeconds(key));
+        }
+
+        List<Long> due = wheel.advance(START.plusSeconds(60));
+
+        assertEquals(10, due.size());
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(START.plusSeconds(61)).isEmpty());
+    }
+}
@@ -0,0 +1,184 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sanisidro.restaurante.core.exceptions.InvalidReservationException;
+import com.sanisidro.restaurante.features.customers.dto.reservation.request.ReservationRequest;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Mide el rendimiento de reservas con asignación automática cuando muchos clientes
+ * piden a la vez las mismas pocas mesas de un día, y comprueba al final que no haya
+ * ninguna doble reserva. Se ejecuta solo con {@code mvn test -Pbenchmark}.
+ */
+@PostgresIntegrationTest
+@Tag("benchmark")
+class ReservationBookingBenchmarkTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 2000;
+    private static final int TABLES = 8;
+    private static final int PARTY_SIZE = 17;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<TableEntity> tables = new ArrayList<>();
+    private Customer customer;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.of(2100, 1, 1).plusDays(System.nanoTime() % 3000);
+        customer = customerRepository.findAll().get(0);
+        String suffix = Long.toString(System.nanoTime() % 1_000_000L, 36);
+        for (int i = 0; i < TABLES; i++) {
+            tables.add(tableRepository.save(TableEntity.builder()
+                    .code("K" + suffix + "-" + i)
+                    .alias("Contención " + i)
+                    .capacity(PARTY_SIZE)
+                    .minCapacity(PARTY_SIZE)
+                    .optimalCapacity(PARTY_SIZE)
+                    .priority(1)
+                    .openTime(LocalTime.of(10, 0))
+                    .closeTime(LocalTime.of(23, 0))
+                    .reservationDurationMinutes(60)
+                    .bufferBeforeMinutes(10)
+                    .bufferAfterMinutes(15)
+                    .status(TableStatus.FREE)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (TableEntity table : tables) {
+            reservationRepository.deleteAll(reservationRepository.findByTable_IdAndReservationDate(table.getId(), day));
+        }
+        tableRepository.deleteAll(tables);
+    }
+
+    @Test
+    void autoAssignUnderHeavyContention() throws Exception {
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        long[] latencies = new long[ATTEMPTS];
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(ATTEMPTS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            int attempt = i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    // Franjas de 15 minutos entre 10:10 y 21:40: casi todas se cruzan con otra
+                    int slot = ThreadLocalRandom.current().nextInt(47);
+                    LocalTime time = LocalTime.of(10, 10).plusMinutes(slot * 15L);
+                    long began = System.nanoTime();
+                    try {
+                        reservationService.createReservation(request(time));
+                        booked.incrementAndGet();
+                    } catch (InvalidReservationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    latencies[attempt] = System.nanoTime() - began;
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(5, TimeUnit.MINUTES), "Las reservas no terminaron a tiempo");
+        long elapsed = System.nanoTime() - began;
+        executor.shutdown();
+
+        assertTrue(failures.isEmpty(), "Fallos inesperados: " + failures);
+        assertEquals(ATTEMPTS, booked.get() + rejected.get());
+        assertEquals(0, doubleBookings());
+        assertEquals(booked.get(), activeReservations());
+
+        Arrays.sort(latencies);
+        System.out.printf("[benchmark] reservas concurrentes, %d hilos, %d intentos sobre %d mesas: %.0f intentos/s, "
+                + "%d reservadas, %d rechazadas, p50 %.2f ms, p99 %.2f ms, dobles reservas %d%n",
+                THREADS, ATTEMPTS, TABLES, ATTEMPTS / (elapsed / 1e9), booked.get(), rejected.get(),
+                latencies[ATTEMPTS / 2] / 1e6, latencies[ATTEMPTS * 99 / 100] / 1e6, doubleBookings());
+    }
+
+    private int doubleBookings() {
+        Integer count = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM reservations a
+                    JOIN reservations b ON b.table_id = a.table_id AND b.reservation_id > a.reservation_id
+                    WHERE a.table_id = ANY (?)
+                      AND a.status IN ('PENDING', 'CONFIRMED') AND b.status IN ('PENDING', 'CONFIRMED')
+                      AND tstzrange(a.start_at, a.end_at) && tstzrange(b.start_at, b.end_at)
+                """, Integer.class, (Object) tableIds());
+        return count != null ? count : 0;
+    }
+
+    private int activeReservations() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations WHERE table_id = ANY (?) AND status IN ('PENDING', 'CONFIRMED')",
+                Integer.class, (Object) tableIds());
+        return count != null ? count : 0;
+    }
+
+    private Long[] tableIds() {
+        return tables.stream().map(TableEntity::getId).toArray(Long[]::new);
+    }
+
+    private ReservationRequest request(LocalTime time) {
+        ReservationRequest request = new ReservationRequest();
+        request.setCustomerId(customer.getId());
+        request.setContactName("Benchmark");
+        request.setContactPhone("999888777");
+        request.setReservationDate(day);
+        request.setReservationTime(time);
+        request.setNumberOfPeople(PARTY_SIZE);
+        return request;
+    }
+}
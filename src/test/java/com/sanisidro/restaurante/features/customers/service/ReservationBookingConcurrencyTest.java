@@ -0,0 +1,184 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sanisidro.restaurante.core.exceptions.InvalidReservationException;
+import com.sanisidro.restaurante.features.customers.dto.reservation.request.ReservationRequest;
+import com.sanisidro.restaurante.features.customers.dto.reservation.response.ReservationResponse;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Lanza muchas reservas a la vez sobre la misma mesa y horario y verifica que
+ * gane exactamente una por mesa, que la asignación automática reparta las mesas
+ * disponibles y que los perdedores reciban un rechazo limpio.
+ */
+@PostgresIntegrationTest
+class ReservationBookingConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 40;
+    // Ninguna mesa sembrada admite grupos de este tamaño
+    private static final int PARTY_SIZE = 17;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<TableEntity> tables = new ArrayList<>();
+    private Customer customer;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.of(2100, 1, 1).plusDays(System.nanoTime() % 3000);
+        customer = customerRepository.findAll().get(0);
+        String suffix = Long.toString(System.nanoTime() % 1_000_000L, 36);
+        for (int i = 0; i < 3; i++) {
+            tables.add(tableRepository.save(TableEntity.builder()
+                    .code("C" + suffix + "-" + i)
+                    .alias("Concurrencia " + i)
+                    .capacity(PARTY_SIZE)
+                    .minCapacity(PARTY_SIZE)
+                    .optimalCapacity(PARTY_SIZE)
+                    .priority(1)
+                    .openTime(LocalTime.of(10, 0))
+                    .closeTime(LocalTime.of(23, 0))
+                    .reservationDurationMinutes(60)
+                    .bufferBeforeMinutes(10)
+                    .bufferAfterMinutes(15)
+                    .status(TableStatus.FREE)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (TableEntity table : tables) {
+            reservationRepository.deleteAll(reservationRepository.findByTable_IdAndReservationDate(table.getId(), day));
+        }
+        tableRepository.deleteAll(tables);
+    }
+
+    @Test
+    void createReservation_SameTableAndTime_ShouldBookExactlyOnce() throws Exception {
+        Long tableId = tables.get(0).getId();
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(attempt -> {
+            try {
+                reservationService.createReservation(request(tableId, LocalTime.of(20, 0)));
+                successes.incrementAndGet();
+            } catch (InvalidReservationException e) {
+                rejected.incrementAndGet();
+            }
+        }, failures);
+
+        assertTrue(failures.isEmpty(), "Fallos inesperados: " + failures);
+        assertEquals(1, successes.get());
+        assertEquals(ATTEMPTS - 1, rejected.get());
+        assertEquals(1, reservationRepository.findByTable_IdAndReservationDate(tableId, day).size());
+    }
+
+    @Test
+    void createReservation_AutoAssignUnderContention_ShouldFillEveryTableOnce() throws Exception {
+        Set<Long> assigned = ConcurrentHashMap.newKeySet();
+        AtomicInteger successes = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(attempt -> {
+            try {
+                // 20:00 y 20:30 se cruzan por los buffers: compiten por las mismas mesas
+                ReservationResponse response = reservationService.createReservation(
+                        request(null, LocalTime.of(20, attempt % 2 * 30)));
+                assigned.add(response.getTableId());
+                successes.incrementAndGet();
+            } catch (InvalidReservationException e) {
+                // Sin mesas libres: rechazo esperado
+            }
+        }, failures);
+
+        assertTrue(failures.isEmpty(), "Fallos inesperados: " + failures);
+        assertEquals(tables.size(), successes.get());
+        assertEquals(tables.size(), assigned.size());
+        for (TableEntity table : tables) {
+            assertEquals(1, reservationRepository.findByTable_IdAndReservationDate(table.getId(), day).size());
+        }
+    }
+
+    private ReservationRequest request(Long tableId, LocalTime time) {
+        ReservationRequest request = new ReservationRequest();
+        request.setCustomerId(customer.getId());
+        request.setTableId(tableId);
+        request.setContactName("Prueba");
+        request.setContactPhone("999888777");
+        request.setReservationDate(day);
+        request.setReservationTime(time);
+        request.setNumberOfPeople(PARTY_SIZE);
+        return request;
+    }
+
+    private void runConcurrently(BookingTask task, ConcurrentLinkedQueue<Throwable> failures)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(ATTEMPTS);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            int attempt = i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.run(attempt);
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(2, TimeUnit.MINUTES), "Las reservas no terminaron a tiempo");
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface BookingTask {
+        void run(int attempt) throws Exception;
+    }
+}
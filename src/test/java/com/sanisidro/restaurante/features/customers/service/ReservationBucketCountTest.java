@@ -0,0 +1,113 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que los buckets de {@code date_trunc} coincidan con los
+ * que se rellenan en Java, por hora y por semana.
+ */
+@PostgresIntegrationTest
+class ReservationBucketCountTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Reservation> reservations = new ArrayList<>();
+    private TableEntity table;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        // Una semana lejana que ninguna otra prueba usa
+        monday = LocalDate.of(2400, 1, 1).plusWeeks(System.nanoTime() % 2000)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Customer customer = customerRepository.findAll().get(0);
+        table = tableRepository.save(TableEntity.builder()
+                .code("B" + Long.toString(System.nanoTime() % 1_000_000L, 36))
+                .alias("Buckets")
+                .capacity(4)
+                .minCapacity(1)
+                .optimalCapacity(4)
+                .priority(1)
+                .openTime(LocalTime.of(10, 0))
+                .closeTime(LocalTime.of(23, 0))
+                .reservationDurationMinutes(60)
+                .bufferBeforeMinutes(0)
+                .bufferAfterMinutes(0)
+                .status(TableStatus.FREE)
+                .build());
+
+        reservations.add(reservation(customer, monday, LocalTime.of(12, 0)));
+        reservations.add(reservation(customer, monday, LocalTime.of(14, 30)));
+        reservations.add(reservation(customer, monday.plusDays(6), LocalTime.of(20, 0)));
+        reservations.add(reservation(customer, monday.plusDays(7), LocalTime.of(13, 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll(reservations);
+        tableRepository.delete(table);
+    }
+
+    @Test
+    void countReservationsByBucket_ShouldGroupInOneQueryAndFillEmptyBuckets() {
+        Map<LocalDateTime, Integer> hours = reservationService.countReservationsByBucket(
+                monday.atTime(12, 0), monday.atTime(15, 0), TimeGranularity.HOUR);
+        assertEquals(List.of(1, 0, 1), List.copyOf(hours.values()));
+        assertEquals(monday.atTime(14, 0), List.copyOf(hours.keySet()).get(2));
+
+        // Desde un miércoles: el primer bucket es la semana que empieza el lunes
+        Map<LocalDateTime, Integer> weeks = reservationService.countReservationsByBucket(
+                monday.plusDays(2).atStartOfDay(), monday.plusWeeks(3).atStartOfDay(), TimeGranularity.WEEK);
+        assertEquals(List.of(monday.atStartOfDay(), monday.plusWeeks(1).atStartOfDay(),
+                monday.plusWeeks(2).atStartOfDay()), List.copyOf(weeks.keySet()));
+        assertEquals(List.of(3, 1, 0), List.copyOf(weeks.values()));
+    }
+
+    private Reservation reservation(Customer customer, LocalDate day, LocalTime time) {
+        Reservation reservation = Reservation.builder()
+                .customer(customer)
+                .table(table)
+                .reservationDate(day)
+                .reservationTime(time)
+                .numberOfPeople(2)
+                .status(ReservationStatus.CONFIRMED)
+                .build();
+        reservation.updatePeriod(0, 0);
+        return reservationRepository.save(reservation);
+    }
+}
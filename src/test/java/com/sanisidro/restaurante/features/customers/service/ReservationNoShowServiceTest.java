@@ -0,0 +1,130 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que el barrido cancele solo las reservas confirmadas
+ * vencidas, libere sus mesas y deje una entrada de auditoría por fila.
+ */
+@PostgresIntegrationTest
+class ReservationNoShowServiceTest {
+
+    @Autowired
+    private ReservationNoShowService noShowService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Reservation> reservations = new ArrayList<>();
+    private final List<TableEntity> tables = new ArrayList<>();
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        // Un día lejano en el futuro: el barrido programado de la aplicación no lo toca
+        day = LocalDate.of(2200, 1, 1).plusDays(System.nanoTime() % 3000);
+        Customer customer = customerRepository.findAll().get(0);
+        String suffix = Long.toString(System.nanoTime() % 1_000_000L, 36);
+        for (int i = 0; i < 3; i++) {
+            TableEntity table = tableRepository.save(TableEntity.builder()
+                    .code("N" + suffix + "-" + i)
+                    .alias("No-show " + i)
+                    .capacity(4)
+                    .minCapacity(1)
+                    .optimalCapacity(4)
+                    .priority(1)
+                    .openTime(LocalTime.of(10, 0))
+                    .closeTime(LocalTime.of(23, 0))
+                    .reservationDurationMinutes(60)
+                    .bufferBeforeMinutes(10)
+                    .bufferAfterMinutes(15)
+                    .status(TableStatus.OCCUPIED)
+                    .build());
+            tables.add(table);
+        }
+
+        reservations.add(reservation(customer, tables.get(0), LocalTime.of(19, 0), ReservationStatus.CONFIRMED));
+        reservations.add(reservation(customer, tables.get(1), LocalTime.of(19, 50), ReservationStatus.CONFIRMED));
+        reservations.add(reservation(customer, tables.get(2), LocalTime.of(19, 0), ReservationStatus.PENDING));
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<Long> ids = reservations.stream().map(Reservation::getId).toList();
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE entity_name = 'Reservation' AND entity_id = ANY (?)",
+                (Object) ids.toArray(Long[]::new));
+        reservationRepository.deleteAll(reservations);
+        tableRepository.deleteAll(tables);
+    }
+
+    @Test
+    void cancelNoShows_ShouldCancelOverdueConfirmedReservationsInBulk() {
+        LocalDateTime now = day.atTime(20, 0);
+        Long overdue = reservations.get(0).getId();
+
+        // El barrido de la rueda ignora lo que no venció aunque se lo pidan
+        assertTrue(noShowService.cancelNoShows(now.minusMinutes(15), now,
+                List.of(reservations.get(1).getId())).isEmpty());
+
+        List<Long> cancelled = noShowService.cancelNoShows(now.minusMinutes(15), now);
+
+        assertTrue(cancelled.contains(overdue));
+        assertEquals(ReservationStatus.CANCELLED, status(0));
+        assertEquals(ReservationStatus.CONFIRMED, status(1));
+        assertEquals(ReservationStatus.PENDING, status(2));
+        assertEquals(TableStatus.FREE, tableRepository.findById(tables.get(0).getId()).orElseThrow().getStatus());
+        assertEquals(TableStatus.OCCUPIED, tableRepository.findById(tables.get(1).getId()).orElseThrow().getStatus());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_logs WHERE entity_name = 'Reservation' AND entity_id = ?",
+                Integer.class, overdue));
+    }
+
+    private ReservationStatus status(int index) {
+        return reservationRepository.findById(reservations.get(index).getId()).orElseThrow().getStatus();
+    }
+
+    private Reservation reservation(Customer customer, TableEntity table, LocalTime time, ReservationStatus status) {
+        Reservation reservation = Reservation.builder()
+                .customer(customer)
+                .table(table)
+                .reservationDate(day)
+                .reservationTime(time)
+                .numberOfPeople(2)
+                .status(status)
+                .build();
+        reservation.updatePeriod(table.getBufferBeforeMinutes(), table.getBufferAfterMinutes());
+        return reservationRepository.save(reservation);
+    }
+}
@@ -0,0 +1,139 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.features.customers.enums.ReminderStage;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que cada etapa reclame solo las reservas de su
+ * ventana, una sola vez, y que un lote en curso no bloquee ni duplique a otro.
+ */
+@PostgresIntegrationTest
+class ReservationReminderServiceTest {
+
+    @Autowired
+    private ReservationReminderService reminderService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Reservation> reservations = new ArrayList<>();
+    private TableEntity table;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        // Un día lejano: el barrido programado de la aplicación no lo toca
+        LocalDate day = LocalDate.of(2500, 1, 1).plusDays(System.nanoTime() % 3000);
+        now = day.atTime(10, 0);
+        Customer customer = customerRepository.findAll().get(0);
+        table = tableRepository.save(TableEntity.builder()
+                .code("R" + Long.toString(System.nanoTime() % 1_000_000L, 36))
+                .alias("Recordatorios")
+                .capacity(4)
+                .minCapacity(1)
+                .optimalCapacity(4)
+                .priority(1)
+                .openTime(LocalTime.of(0, 0))
+                .closeTime(LocalTime.of(23, 59))
+                .reservationDurationMinutes(60)
+                .bufferBeforeMinutes(0)
+                .bufferAfterMinutes(0)
+                .status(TableStatus.FREE)
+                .build());
+
+        reservations.add(reservation(customer, now.plusHours(1), ReservationStatus.CONFIRMED));
+        reservations.add(reservation(customer, now.plusHours(5), ReservationStatus.PENDING));
+        reservations.add(reservation(customer, now.plusHours(30), ReservationStatus.CONFIRMED));
+        reservations.add(reservation(customer, now.plusHours(6), ReservationStatus.CANCELLED));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Los recordatorios se borran en cascada con la reserva
+        reservationRepository.deleteAll(reservations);
+        tableRepository.delete(table);
+    }
+
+    @Test
+    void dispatchBatch_ShouldSendEachStageOnceAndSkipRowsClaimedByAnotherInstance() throws Exception {
+        // Mientras un lote tiene las filas tomadas, otra instancia no espera ni las repite
+        int concurrent = transactionTemplate.execute(status -> {
+            int claimed = reminderService.dispatchBatch(ReminderStage.DAY_BEFORE, now);
+            try {
+                assertEquals(0, CompletableFuture
+                        .supplyAsync(() -> reminderService.dispatchBatch(ReminderStage.DAY_BEFORE, now))
+                        .get(20, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return claimed;
+        });
+
+        // Solo la de las 15:00: la de las 11:00 ya es de la etapa de 2 horas
+        assertEquals(1, concurrent);
+        assertEquals(List.of(reservations.get(1).getId()), reminded(ReminderStage.DAY_BEFORE));
+        assertEquals(0, reminderService.dispatchBatch(ReminderStage.DAY_BEFORE, now));
+
+        assertEquals(1, reminderService.dispatchBatch(ReminderStage.TWO_HOURS, now));
+        assertEquals(List.of(reservations.get(0).getId()), reminded(ReminderStage.TWO_HOURS));
+
+        // Al día siguiente le toca a la de 30 horas
+        assertEquals(1, reminderService.dispatchBatch(ReminderStage.DAY_BEFORE, now.plusHours(8)));
+    }
+
+    private List<Long> reminded(ReminderStage stage) {
+        return jdbcTemplate.queryForList(
+                "SELECT reservation_id FROM reservation_reminders WHERE stage = ? AND reservation_id = ANY (?)",
+                Long.class, stage.name(), reservations.stream().map(Reservation::getId).toArray(Long[]::new));
+    }
+
+    private Reservation reservation(Customer customer, LocalDateTime start, ReservationStatus status) {
+        Reservation reservation = Reservation.builder()
+                .customer(customer)
+                .table(table)
+                .reservationDate(start.toLocalDate())
+                .reservationTime(start.toLocalTime())
+                .numberOfPeople(2)
+                .status(status)
+                .build();
+        reservation.updatePeriod(0, 0);
+        return reservationRepository.save(reservation);
+    }
+}
@@ -7,7 +7,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
-import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +24,7 @@ import com.sanisidro.restaurante.features.customers.model.Reservation;
 import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
 import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
 import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
 import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
 
 class ReservationServiceTest {
@@ -38,6 +38,9 @@ class ReservationServiceTest {
     @Mock
     private TableRepository tableRepository;
 
+    @Mock
+    private TableOccupancyIndex occupancyIndex;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -89,9 +92,9 @@ class ReservationServiceTest {
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
         when(tableRepository.findAll()).thenReturn(List.of(table1, table2));
-        when(reservationRepository.findByTable_IdAndReservationDate(anyLong(), any(LocalDate.class)))
-                .thenReturn(List.of()); // no hay reservas
-        when(reservationRepository.save(any(Reservation.class)))
+        when(reservationRepository.existsOverlapping(anyLong(), any(), any(), any()))
+                .thenReturn(false); // no hay reservas
+        when(reservationRepository.saveAndFlush(any(Reservation.class)))
                 .thenAnswer(invocation -> {
                     Reservation r = invocation.getArgument(0);
                     r.setId(99L);
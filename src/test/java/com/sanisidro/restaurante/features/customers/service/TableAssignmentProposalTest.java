@@ -0,0 +1,113 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.dto.reservation.request.TableAssignmentRequest;
+import com.sanisidro.restaurante.features.customers.dto.reservation.response.TableAssignmentResponse;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+/**
+ * Propuesta de reasignación sin base: corre en solo lectura, no toma locks y las
+ * órdenes en salón abiertas ocupan su mesa.
+ */
+class TableAssignmentProposalTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 10);
+
+    @Test
+    void optimize_ProposalShouldBeReadOnlyAndKeepOrderTablesBusy() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        TableRepository tableRepository = mock(TableRepository.class);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+        TableEntity first = table(1L);
+        TableEntity second = table(2L);
+        when(tableRepository.findAll()).thenReturn(List.of(first, second));
+        Reservation reservation = Reservation.builder()
+                .table(second)
+                .reservationDate(DAY)
+                .reservationTime(LocalTime.of(19, 0))
+                .numberOfPeople(4)
+                .status(ReservationStatus.CONFIRMED)
+                .build();
+        reservation.setId(10L);
+        when(reservationRepository.findByReservationDateAndStatusIn(eq(DAY), any()))
+                .thenReturn(List.of(reservation));
+        // Una orden en salón abierta en la mesa 1 a las 18:45
+        when(orderRepository.findActiveTableOrdersBetween(anyList(), eq("DINE_IN"), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] { 1L, DAY.atTime(18, 45) }));
+
+        TableAssignmentService service = new TableAssignmentService(reservationRepository, tableRepository,
+                orderRepository, new ReservationProperties(), mock(TableOccupancyIndex.class),
+                mock(JdbcTemplate.class), transactionManager,
+                Clock.fixed(DAY.minusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+        TableAssignmentRequest request = TableAssignmentRequest.builder()
+                .date(DAY)
+                .from(LocalTime.of(18, 0))
+                .to(LocalTime.of(22, 0))
+                .extraParties(List.of(new TableAssignmentRequest.ExtraParty(4, LocalTime.of(19, 0))))
+                .build();
+        TableAssignmentResponse response = service.optimize(request);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+        verify(reservationRepository, never()).lockTableDay(anyLong(), anyInt());
+
+        assertFalse(response.isApplied());
+        assertEquals(2L, response.getAssignments().get(0).getTableId());
+        // La mesa 1 está ocupada por la orden, así que el grupo extra no entra
+        assertNull(response.getExtraParties().get(0).getTableId());
+        assertEquals(0, response.getExtraCoversSeated());
+    }
+
+    private static TableEntity table(Long id) {
+        return TableEntity.builder()
+                .id(id)
+                .code("T" + id)
+                .capacity(4)
+                .minCapacity(1)
+                .optimalCapacity(4)
+                .openTime(LocalTime.of(12, 0))
+                .closeTime(LocalTime.of(23, 0))
+                .reservationDurationMinutes(90)
+                .bufferBeforeMinutes(10)
+                .bufferAfterMinutes(10)
+                .status(TableStatus.FREE)
+                .build();
+    }
+}
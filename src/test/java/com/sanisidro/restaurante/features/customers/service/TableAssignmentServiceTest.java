@@ -0,0 +1,121 @@
+package com.sanisidro.restaurante.features.customers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sanisidro.restaurante.features.customers.dto.reservation.request.TableAssignmentRequest;
+import com.sanisidro.restaurante.features.customers.dto.reservation.response.TableAssignmentResponse;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que aplicar la reasignación pueda intercambiar dos
+ * reservas de mesa aunque a mitad de camino se solapen.
+ */
+@PostgresIntegrationTest
+class TableAssignmentServiceTest {
+
+    @Autowired
+    private TableAssignmentService tableAssignmentService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Reservation> reservations = new ArrayList<>();
+    private final List<TableEntity> tables = new ArrayList<>();
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.of(2300, 1, 1).plusDays(System.nanoTime() % 3000);
+        Customer customer = customerRepository.findAll().get(0);
+        String suffix = Long.toString(System.nanoTime() % 1_000_000L, 36);
+        // Ninguna otra mesa recibe grupos tan grandes, y la segunda no acepta menos de 23
+        for (int minCapacity : new int[] { 22, 23 }) {
+            tables.add(tableRepository.save(TableEntity.builder()
+                    .code("A" + suffix + "-" + minCapacity)
+                    .alias("Asignación " + minCapacity)
+                    .capacity(23)
+                    .minCapacity(minCapacity)
+                    .optimalCapacity(23)
+                    .priority(1)
+                    .openTime(LocalTime.of(10, 0))
+                    .closeTime(LocalTime.of(23, 0))
+                    .reservationDurationMinutes(60)
+                    .bufferBeforeMinutes(10)
+                    .bufferAfterMinutes(15)
+                    .status(TableStatus.FREE)
+                    .build()));
+        }
+
+        reservations.add(reservation(customer, tables.get(0), 23));
+        reservations.add(reservation(customer, tables.get(1), 22));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll(reservations);
+        tableRepository.deleteAll(tables);
+    }
+
+    @Test
+    void optimize_ShouldSwapTablesWhenApplied() {
+        TableAssignmentRequest request = TableAssignmentRequest.builder()
+                .date(day)
+                .from(LocalTime.of(18, 0))
+                .to(LocalTime.of(22, 0))
+                .build();
+
+        TableAssignmentResponse proposal = tableAssignmentService.optimize(request);
+        assertTrue(proposal.getAssignments().stream().allMatch(TableAssignmentResponse.Assignment::isMoved));
+        // Proponer no guarda nada
+        assertEquals(tables.get(1).getId(), tableOf(1));
+
+        request.setApply(true);
+        TableAssignmentResponse applied = tableAssignmentService.optimize(request);
+
+        assertTrue(applied.isApplied());
+        assertEquals(tables.get(1).getId(), tableOf(0));
+        assertEquals(tables.get(0).getId(), tableOf(1));
+    }
+
+    private Long tableOf(int index) {
+        return reservationRepository.findById(reservations.get(index).getId()).orElseThrow().getTable().getId();
+    }
+
+    private Reservation reservation(Customer customer, TableEntity table, int people) {
+        Reservation reservation = Reservation.builder()
+                .customer(customer)
+                .table(table)
+                .reservationDate(day)
+                .reservationTime(LocalTime.of(19, 0))
+                .numberOfPeople(people)
+                .status(ReservationStatus.CONFIRMED)
+                .build();
+        reservation.updatePeriod(table.getBufferBeforeMinutes(), table.getBufferAfterMinutes());
+        return reservationRepository.save(reservation);
+    }
+}
@@ -0,0 +1,177 @@
+package com.sanisidro.restaurante.features.dashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.DashboardProperties;
+import com.sanisidro.restaurante.features.customers.service.ReservationService;
+import com.sanisidro.restaurante.features.customers.service.ReviewService;
+import com.sanisidro.restaurante.features.dashboard.dto.response.DashboardSummaryResponse;
+import com.sanisidro.restaurante.features.orders.service.OrderService;
+import com.sanisidro.restaurante.features.products.service.InventoryService;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+
+class DashboardServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    private ExecutorService executor;
+    private MutableClock clock;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newFixedThreadPool(10);
+        clock = new MutableClock(Instant.parse("2025-10-04T20:00:00Z"));
+        DashboardProperties properties = new DashboardProperties();
+        properties.setQueryTimeoutMs(300);
+        properties.setCacheTtlMs(5000);
+        dashboardService = new DashboardService(orderService, reservationService, reviewService, inventoryService,
+                executor, new TransactionTemplate(mock(PlatformTransactionManager.class)), properties, clock);
+
+        when(orderService.countOrdersByDate(any())).thenReturn(12);
+        when(orderService.calculateSalesByDate(any())).thenReturn(new BigDecimal("250.00"));
+        when(reservationService.countReservationsByDate(any())).thenReturn(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getDashboardSummary_ShouldReturnPartialResultWhenASectionIsTooSlow() {
+        when(reviewService.findRecentReviews(anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return List.of();
+        });
+        when(reviewService.calculateAverageSatisfaction()).thenThrow(new IllegalStateException("sin reseñas"));
+
+        long began = System.nanoTime();
+        DashboardSummaryResponse summary = dashboardService.getDashboardSummary();
+        long elapsedMs = (System.nanoTime() - began) / 1_000_000;
+
+        assertEquals(12, summary.getOrdersToday());
+        assertEquals(new BigDecimal("250.00"), summary.getSalesToday());
+        assertEquals(4, summary.getReservationsToday());
+        assertEquals(0, summary.getSatisfaction());
+        assertEquals(List.of("recentReviews", "satisfaction"),
+                summary.getUnavailableSections().stream().sorted().toList());
+        assertTrue(elapsedMs < 1500, "Esperó a la sección lenta: " + elapsedMs + " ms");
+    }
+
+    @Test
+    void getDashboardSummary_ShouldComputeOnceForConcurrentRefreshesUntilTheTtlExpires() throws Exception {
+        when(orderService.countOrdersByDate(any())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return 12;
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<DashboardSummaryResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return dashboardService.getDashboardSummary();
+            }));
+        }
+        start.countDown();
+        DashboardSummaryResponse first = results.get(0).get();
+        for (Future<DashboardSummaryResponse> result : results) {
+            assertSame(first, result.get());
+        }
+        callers.shutdown();
+        verify(orderService, times(1)).countOrdersByDate(any());
+
+        clock.advance(Duration.ofSeconds(4));
+        assertSame(first, dashboardService.getDashboardSummary());
+
+        clock.advance(Duration.ofSeconds(2));
+        dashboardService.getDashboardSummary();
+        verify(orderService, times(2)).countOrdersByDate(any());
+    }
+
+    @Test
+    void getDashboardSummary_ShouldCountTheRestaurantDayWhenUtcHasAlreadyTurned() {
+        // 23:30 del 4 en Lima es ya el 5 en UTC
+        DashboardProperties properties = new DashboardProperties();
+        DashboardService service = new DashboardService(orderService, reservationService, reviewService,
+                inventoryService, executor, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                properties, Clock.fixed(Instant.parse("2025-10-05T04:30:00Z"), TimeBuckets.ZONE));
+
+        service.getDashboardSummary();
+
+        LocalDate restaurantDay = LocalDate.of(2025, 10, 4);
+        verify(orderService).countOrdersByDate(eq(restaurantDay));
+        verify(orderService).calculateSalesByDate(eq(restaurantDay));
+        verify(reservationService).countReservationsByDate(eq(restaurantDay));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("America/Lima");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
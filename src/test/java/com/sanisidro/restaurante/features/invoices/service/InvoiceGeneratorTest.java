@@ -0,0 +1,38 @@
+package com.sanisidro.restaurante.features.invoices.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.features.invoices.dto.InvoiceView;
+
+class InvoiceGeneratorTest {
+
+    private final InvoiceGenerator generator = new InvoiceGenerator();
+
+    @Test
+    void generateInvoices_ShouldRenderEveryInvoiceInInputOrder() {
+        List<InvoiceView> views = List.of(invoice(1L, "Ana"), invoice(2L, "Luis"), invoice(3L, "Rosa"));
+
+        List<byte[]> pdfs = generator.generateInvoices(views);
+
+        assertEquals(3, pdfs.size());
+        for (byte[] pdf : pdfs) {
+            assertTrue(new String(pdf, 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF"));
+        }
+    }
+
+    private InvoiceView invoice(Long id, String customer) {
+        return InvoiceView.builder()
+                .orderId(id)
+                .customerName(customer)
+                .issuedAt("01/01/2025 10:00 a. m.")
+                .total("S/ 25.00")
+                .lines(List.of(new InvoiceView.Line("Ceviche", 2, "S/ 12.50")))
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.sanisidro.restaurante.features.invoices.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.features.invoices.dto.InvoiceView;
+
+/**
+ * Mide la latencia de un comprobante y el throughput del renderizado en lote.
+ * Se ejecuta solo con {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class InvoiceRenderingBenchmarkTest {
+
+    private static final int WARMUP = 100;
+    private static final int SAMPLES = 300;
+    private static final int BATCH_SIZE = 1000;
+
+    private static InvoiceGenerator generator;
+
+    @BeforeAll
+    static void setUp() {
+        generator = new InvoiceGenerator();
+        for (int i = 0; i < WARMUP; i++) {
+            generator.generateInvoice(invoice(i));
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void singleInvoiceLatency() {
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            generator.generateInvoice(invoice(i));
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("[benchmark] comprobante individual (%d muestras): p50=%.2f ms, p95=%.2f ms, p99=%.2f ms%n",
+                SAMPLES, millis(nanos[SAMPLES / 2]), millis(nanos[SAMPLES * 95 / 100]),
+                millis(nanos[SAMPLES * 99 / 100]));
+    }
+
+    @Test
+    void batchThroughput() {
+        List<InvoiceView> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(invoice(i));
+        }
+
+        long start = System.nanoTime();
+        List<byte[]> pdfs = generator.generateInvoices(batch);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(BATCH_SIZE, pdfs.size());
+        System.out.printf("[benchmark] lote de %d comprobantes en %d núcleos: %.0f comprobantes/s (%.2f s)%n",
+                BATCH_SIZE, Runtime.getRuntime().availableProcessors(),
+                BATCH_SIZE / (elapsed / 1e9), elapsed / 1e9);
+    }
+
+    private static InvoiceView invoice(int n) {
+        List<InvoiceView.Line> lines = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lines.add(new InvoiceView.Line("Producto " + i, 1 + i % 3, "S/ 12.50"));
+        }
+        return InvoiceView.builder()
+                .orderId((long) n)
+                .customerName("Cliente " + n)
+                .issuedAt("01/01/2025 10:00 a. m.")
+                .total("S/ 150.00")
+                .lines(lines)
+                .build();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
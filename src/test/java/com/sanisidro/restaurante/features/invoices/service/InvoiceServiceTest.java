@@ -0,0 +1,124 @@
+package com.sanisidro.restaurante.features.invoices.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sanisidro.restaurante.core.config.StorageProperties;
+import com.sanisidro.restaurante.core.storage.BlobStore;
+import com.sanisidro.restaurante.core.storage.LocalFileSystemBlobStore;
+import com.sanisidro.restaurante.core.security.model.User;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.invoices.dto.InvoiceView;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.model.OrderDetail;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.products.model.Product;
+
+class InvoiceServiceTest {
+
+    @TempDir
+    Path storageDir;
+
+    private InvoiceGenerator invoiceGenerator;
+    private BlobStore blobStore;
+    private InvoiceService invoiceService;
+
+    @BeforeEach
+    void setUp() {
+        StorageProperties properties = new StorageProperties();
+        properties.setLocalPath(storageDir.toString());
+
+        invoiceGenerator = mock(InvoiceGenerator.class);
+        blobStore = new LocalFileSystemBlobStore(properties);
+        invoiceService = new InvoiceService(invoiceGenerator, blobStore, mock(OrderRepository.class));
+    }
+
+    @Test
+    void getOrRender_ShouldRenderOncePerInvoiceContent() {
+        Order order = order(7L);
+        when(invoiceGenerator.generateInvoice(any(InvoiceView.class))).thenReturn(new byte[] { 1, 2, 3 });
+
+        byte[] first = invoiceService.getOrRender(order);
+        String firstKey = InvoiceService.blobKey(invoiceService.toView(order));
+
+        // un cambio que no se imprime (posición del repartidor) no regenera el comprobante
+        order.setCurrentLatitude(-12.05);
+        byte[] second = invoiceService.getOrRender(order);
+
+        assertArrayEquals(first, second);
+        assertTrue(blobStore.exists(firstKey));
+        verify(invoiceGenerator, times(1)).generateInvoice(any(InvoiceView.class));
+
+        // un cambio en el total sí, y el comprobante anterior se borra
+        order.setTotal(new BigDecimal("30.00"));
+        when(invoiceGenerator.generateInvoice(any(InvoiceView.class))).thenReturn(new byte[] { 4, 5 });
+
+        assertArrayEquals(new byte[] { 4, 5 }, invoiceService.getOrRender(order));
+        verify(invoiceGenerator, times(2)).generateInvoice(any(InvoiceView.class));
+        assertFalse(blobStore.exists(firstKey));
+        assertTrue(blobStore.exists(InvoiceService.blobKey(invoiceService.toView(order))));
+    }
+
+    @Test
+    void blobKey_ShouldNotDependOnDetailIterationOrder() {
+        Order loaded = order(8L);
+        Order reloaded = order(8L);
+        // el mismo contenido, cargado con otro orden de iteración del Set
+        loaded.getDetails().addAll(List.of(detail(loaded, 1L, "Arroz con pollo", 2, "18.00"),
+                detail(loaded, 2L, "Ceviche", 1, "32.00")));
+        reloaded.getDetails().addAll(List.of(detail(reloaded, 2L, "Ceviche", 1, "32.00"),
+                detail(reloaded, 1L, "Arroz con pollo", 2, "18.00")));
+
+        InvoiceView first = invoiceService.toView(loaded);
+        InvoiceView second = invoiceService.toView(reloaded);
+
+        assertEquals(List.of("Arroz con pollo", "Ceviche"),
+                second.getLines().stream().map(InvoiceView.Line::getProductName).toList());
+        assertEquals(InvoiceService.blobKey(first), InvoiceService.blobKey(second));
+    }
+
+    private static OrderDetail detail(Order order, Long id, String productName, int quantity, String unitPrice) {
+        Product product = new Product();
+        product.setName(productName);
+        return OrderDetail.builder()
+                .id(id)
+                .order(order)
+                .product(product)
+                .quantity(quantity)
+                .unitPrice(new BigDecimal(unitPrice))
+                .build();
+    }
+
+    private Order order(Long id) {
+        User user = new User();
+        user.setFirstName("Ana");
+        user.setLastName("Pérez");
+        Customer customer = new Customer();
+        customer.setUser(user);
+
+        return Order.builder()
+                .id(id)
+                .customer(customer)
+                .date(LocalDateTime.of(2025, 1, 1, 10, 0))
+                .total(new BigDecimal("25.00"))
+                .details(new LinkedHashSet<>())
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.sanisidro.restaurante.features.orders.distance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.core.config.DistanceProperties;
+import com.sanisidro.restaurante.core.resilience.CircuitBreaker;
+import com.sanisidro.restaurante.features.orders.dto.helpers.DistanceDurationResult;
+import com.sanisidro.restaurante.features.restaurant.model.Store;
+import com.sanisidro.restaurante.features.restaurant.repository.StoreRepository;
+
+class DistanceServiceTest {
+
+    private static final double STORE_LAT = -12.0464;
+    private static final double STORE_LNG = -77.0428;
+
+    private DistanceProvider provider;
+    private StoreRepository storeRepository;
+    private MutableClock clock;
+    private DistanceService distanceService;
+
+    @BeforeEach
+    void setUp() {
+        DistanceProperties properties = new DistanceProperties();
+        properties.setBreakerFailureThreshold(3);
+
+        provider = mock(DistanceProvider.class);
+        storeRepository = mock(StoreRepository.class);
+        clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+
+        Store store = new Store();
+        store.setLatitude(STORE_LAT);
+        store.setLongitude(STORE_LNG);
+        when(storeRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(store));
+
+        distanceService = new DistanceService(provider, new HaversineEstimator(properties), storeRepository,
+                properties, clock);
+    }
+
+    @Test
+    void estimateFromStore_NearbyDestinations_ShouldHitProviderAndStoreOnce() {
+        when(provider.getDistanceAndDuration(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(new DistanceDurationResult(4.2, 14));
+
+        // mismas celdas de ~110 m
+        distanceService.estimateFromStore(-12.1201, -77.0301);
+        distanceService.estimateFromStore(-12.1203, -77.0302);
+        DistanceDurationResult result = distanceService.estimateFromStore(-12.1199, -77.0299);
+
+        assertEquals(14, result.getDurationMinutes());
+        verify(provider, times(1)).getDistanceAndDuration(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+        verify(storeRepository, times(1)).findFirstByOrderByIdAsc();
+
+        // al vencer el TTL se vuelve a consultar
+        clock.advance(Duration.ofMinutes(31));
+        distanceService.estimateFromStore(-12.1201, -77.0301);
+        verify(provider, times(2)).getDistanceAndDuration(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void estimateFromStore_WhenProviderFails_ShouldFallBackAndOpenCircuit() {
+        when(provider.getDistanceAndDuration(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenThrow(new RuntimeException("timeout"));
+
+        for (int i = 0; i < 3; i++) {
+            DistanceDurationResult result = distanceService.estimateFromStore(-12.12 - i * 0.01, -77.03);
+            assertTrue(result.getDistanceKm() > 0);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, distanceService.getCircuitBreaker().getState());
+
+        // con el circuito abierto no se llama al proveedor
+        DistanceDurationResult fallback = distanceService.estimateFromStore(-12.20, -77.03);
+        assertTrue(fallback.getDurationMinutes() > 0);
+        verify(provider, times(3)).getDistanceAndDuration(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+
+        // pasado el tiempo de apertura se permite una llamada de prueba
+        clock.advance(Duration.ofSeconds(31));
+        distanceService.estimateFromStore(-12.21, -77.03);
+        verify(provider, times(4)).getDistanceAndDuration(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.sanisidro.restaurante.features.orders.kitchen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sanisidro.restaurante.core.config.KitchenProperties;
+import com.sanisidro.restaurante.features.orders.dto.kitchen.response.KitchenEvent;
+import com.sanisidro.restaurante.features.orders.dto.kitchen.response.KitchenFeedResponse;
+import com.sanisidro.restaurante.features.orders.enums.KitchenEventType;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.model.OrderDetail;
+import com.sanisidro.restaurante.features.products.model.Product;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+
+class KitchenFeedServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private KitchenFeedService service;
+    private long epoch;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        KitchenProperties properties = new KitchenProperties();
+        properties.setReplayBufferSize(5);
+        Clock clock = Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        service = new KitchenFeedService(orderRepository, messagingTemplate, properties, clock);
+        epoch = clock.millis();
+    }
+
+    @Test
+    void statusChanged_ShouldPublishSequencedDeltaToBothTopics() {
+        service.statusChanged(10L, "DINE_IN", "IN_PROGRESS");
+        service.statusChanged(10L, "DINE_IN", "CANCELLED");
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/kitchen"), events.capture());
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/kitchen/DINE_IN"),
+                any(Object.class));
+
+        KitchenEvent first = (KitchenEvent) events.getAllValues().get(0);
+        KitchenEvent second = (KitchenEvent) events.getAllValues().get(1);
+        assertEquals(1, first.getSequence());
+        assertEquals(2, second.getSequence());
+        assertEquals(KitchenEventType.ORDER_CANCELLED, second.getType());
+    }
+
+    @Test
+    void orderUpdated_ShouldPublishTheEditedTicketAfterCommit() {
+        Order order = Order.builder()
+                .id(10L)
+                .date(NOW)
+                .details(new LinkedHashSet<>())
+                .build();
+        Product product = new Product();
+        product.setName("Ají de gallina");
+        order.getDetails().add(OrderDetail.builder().order(order).product(product).quantity(3).build());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.orderUpdated(order, "DINE_IN", "CONFIRMED");
+            verify(messagingTemplate, never()).convertAndSend(eq("/topic/kitchen"), any(Object.class));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/kitchen"), events.capture());
+        KitchenEvent event = (KitchenEvent) events.getValue();
+        assertEquals(KitchenEventType.ORDER_UPDATED, event.getType());
+        assertEquals("CONFIRMED", event.getTicket().getStatusCode());
+        assertEquals(Integer.valueOf(3), event.getTicket().getItems().get(0).getQuantity());
+    }
+
+    @Test
+    void orderRemoved_ShouldPublishRemovalToTheTypeTopic() {
+        service.orderRemoved(10L, "DELIVERY");
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/kitchen/DELIVERY"), events.capture());
+        KitchenEvent event = (KitchenEvent) events.getValue();
+        assertEquals(KitchenEventType.ORDER_REMOVED, event.getType());
+        assertEquals(10L, event.getOrderId());
+        assertNull(event.getTicket());
+        assertEquals(List.of(10L), service.getFeed("DELIVERY", 0L, epoch).getEvents().stream()
+                .map(KitchenEvent::getOrderId).toList());
+    }
+
+    @Test
+    void getFeed_ResumingWithinBuffer_ShouldReturnOnlyMissedEventsOfTheType() {
+        service.statusChanged(1L, "DINE_IN", "IN_PROGRESS");
+        service.statusChanged(2L, "DELIVERY", "IN_PROGRESS");
+        service.statusChanged(3L, "DINE_IN", "READY_FOR_PICKUP");
+
+        KitchenFeedResponse feed = service.getFeed("DINE_IN", 1L, epoch);
+
+        assertFalse(feed.isSnapshot());
+        assertEquals(3, feed.getSequence());
+        assertEquals(List.of(3L), feed.getEvents().stream().map(KitchenEvent::getOrderId).toList());
+        verify(orderRepository, never()).findKitchenTicketLines(anyCollection(), any(), any());
+    }
+
+    @Test
+    void getFeed_WhenSequenceFellOutOfBufferOrEpochChanged_ShouldReturnSnapshot() {
+        when(orderRepository.findKitchenTicketLines(anyCollection(), eq("DINE_IN"), eq(NOW.minusHours(24))))
+                .thenReturn(List.of(
+                        new Object[] { 7L, NOW, "DINE_IN", "PENDING", "M1", "Lomo saltado", 2 },
+                        new Object[] { 7L, NOW, "DINE_IN", "PENDING", "M1", "Chicha morada", 1 }));
+        for (long i = 1; i <= 8; i++) {
+            service.statusChanged(i, "DINE_IN", "IN_PROGRESS");
+        }
+
+        KitchenFeedResponse stale = service.getFeed("DINE_IN", 1L, epoch);
+        KitchenFeedResponse restarted = service.getFeed("DINE_IN", 8L, epoch - 1);
+
+        assertTrue(stale.isSnapshot());
+        assertEquals(8, stale.getSequence());
+        assertEquals(1, stale.getTickets().size());
+        assertEquals(2, stale.getTickets().get(0).getItems().size());
+        assertTrue(restarted.isSnapshot());
+    }
+}
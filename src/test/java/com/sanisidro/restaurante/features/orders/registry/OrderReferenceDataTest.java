@@ -0,0 +1,124 @@
+package com.sanisidro.restaurante.features.orders.registry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.ReferenceDataChangedEvent;
+import com.sanisidro.restaurante.features.orders.dto.order.response.OrderStatusStepResponse;
+import com.sanisidro.restaurante.features.orders.model.OrderStatus;
+import com.sanisidro.restaurante.features.orders.model.OrderStatusTranslation;
+import com.sanisidro.restaurante.features.orders.model.OrderType;
+import com.sanisidro.restaurante.features.orders.model.OrderTypeStatusFlow;
+import com.sanisidro.restaurante.features.orders.model.OrderTypeTranslation;
+import com.sanisidro.restaurante.features.orders.model.PaymentMethod;
+import com.sanisidro.restaurante.features.orders.repository.OrderStatusRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderStatusTranslationRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderTypeRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderTypeStatusFlowRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderTypeTranslationRepository;
+import com.sanisidro.restaurante.features.orders.repository.PaymentMethodRepository;
+import com.sanisidro.restaurante.features.orders.repository.PaymentMethodTranslationRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+class OrderReferenceDataTest {
+
+    @Mock
+    private OrderStatusRepository orderStatusRepository;
+
+    @Mock
+    private OrderStatusTranslationRepository orderStatusTranslationRepository;
+
+    @Mock
+    private OrderTypeRepository orderTypeRepository;
+
+    @Mock
+    private OrderTypeTranslationRepository orderTypeTranslationRepository;
+
+    @Mock
+    private OrderTypeStatusFlowRepository orderTypeStatusFlowRepository;
+
+    @Mock
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Mock
+    private PaymentMethodTranslationRepository paymentMethodTranslationRepository;
+
+    private OrderReferenceData referenceData;
+
+    private final OrderStatus pending = OrderStatus.builder().id(1L).code("PENDING").build();
+    private final OrderStatus completed = OrderStatus.builder().id(2L).code("COMPLETED").build();
+    private final OrderType dineIn = OrderType.builder().id(10L).code("DINE_IN").build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        referenceData = new OrderReferenceData(orderStatusRepository, orderStatusTranslationRepository,
+                orderTypeRepository, orderTypeTranslationRepository, orderTypeStatusFlowRepository,
+                paymentMethodRepository, paymentMethodTranslationRepository, mock(PlatformTransactionManager.class));
+
+        when(orderStatusRepository.findAll()).thenReturn(List.of(pending, completed));
+        when(orderStatusTranslationRepository.findAll()).thenReturn(List.of(
+                OrderStatusTranslation.builder().orderStatus(pending).lang("es").name("Pendiente").build(),
+                OrderStatusTranslation.builder().orderStatus(pending).lang("EN").name("Pending").build(),
+                OrderStatusTranslation.builder().orderStatus(completed).lang("es").name("Completado").build()));
+        when(orderTypeRepository.findAll()).thenReturn(List.of(dineIn));
+        when(orderTypeTranslationRepository.findAll()).thenReturn(List.of(
+                OrderTypeTranslation.builder().orderType(dineIn).lang("es").name("En local").build()));
+        // Flujo desordenado a propósito
+        when(orderTypeStatusFlowRepository.findAll()).thenReturn(List.of(
+                OrderTypeStatusFlow.builder().orderType(dineIn).orderStatus(completed).stepOrder(2).build(),
+                OrderTypeStatusFlow.builder().orderType(dineIn).orderStatus(pending).stepOrder(1).build()));
+        PaymentMethod card = PaymentMethod.builder().id(5L).code("CARD").provider("MERCADOPAGO").build();
+        when(paymentMethodRepository.findAll()).thenReturn(List.of(card));
+        when(paymentMethodTranslationRepository.findAll()).thenReturn(List.of());
+    }
+
+    @Test
+    void lookups_ShouldResolveByCodeIdAndLanguage() {
+        assertEquals(1L, referenceData.requireStatus("pending").getId());
+        assertEquals("COMPLETED", referenceData.requireStatus(2L).getCode());
+        assertEquals("Pending", referenceData.statusName(1L, "en"));
+        assertEquals("Sin nombre", referenceData.statusName(2L, "en"));
+        assertEquals("En local", referenceData.typeName(10L, "es"));
+        assertEquals(5L, referenceData.findPaymentMethod("card", "MercadoPago").orElseThrow().getId());
+        assertTrue(referenceData.findStatus("UNKNOWN").isEmpty());
+        assertThrows(EntityNotFoundException.class, () -> referenceData.requireType(99L));
+
+        // Una sola carga para todas las consultas
+        verify(orderStatusRepository, times(1)).findAll();
+    }
+
+    @Test
+    void timeline_ShouldBeSortedByStep() {
+        List<OrderStatusStepResponse> timeline = referenceData.timeline(10L, "es");
+
+        assertEquals(List.of("PENDING", "COMPLETED"), timeline.stream().map(OrderStatusStepResponse::getCode).toList());
+        assertEquals("Pendiente", timeline.get(0).getName());
+        assertEquals(2, timeline.get(1).getStep());
+    }
+
+    @Test
+    void onReferenceDataChanged_ShouldSwapInNewSnapshot() {
+        assertEquals("Pendiente", referenceData.statusName(1L, "es"));
+
+        when(orderStatusTranslationRepository.findAll()).thenReturn(List.of(
+                OrderStatusTranslation.builder().orderStatus(pending).lang("es").name("En espera").build()));
+        referenceData.onReferenceDataChanged(new ReferenceDataChangedEvent("order-status-translation"));
+
+        assertEquals("En espera", referenceData.statusName(1L, "es"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.sanisidro.restaurante.features.orders.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.OrderCursor;
+import com.sanisidro.restaurante.features.orders.dto.order.request.OrderFilter;
+
+/**
+ * Condiciones del listado sin base: solo entran los filtros presentes y el cursor
+ * es una comparación de filas.
+ */
+class OrderSummaryQueriesImplTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 6, 10, 20, 15);
+
+    @Test
+    void where_ShouldOnlyIncludePresentFiltersAndRowValueCursor() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        String where = OrderSummaryQueriesImpl.where(
+                OrderFilter.builder().customerId(7L).statusCode("PAID").build(),
+                new OrderCursor(DATE, 42L), parameters);
+
+        assertEquals(" WHERE s.code = :statusCode AND o.customer.id = :customerId"
+                + " AND (o.date, o.id) < (:cursorDate, :cursorId)", where);
+        assertEquals(List.of("statusCode", "customerId", "cursorDate", "cursorId"),
+                List.copyOf(parameters.keySet()));
+        assertEquals(42L, parameters.get("cursorId"));
+        assertFalse(where.contains("IS NULL"));
+    }
+
+    @Test
+    void where_WithoutFiltersOrCursor_ShouldBeEmpty() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        assertEquals("", OrderSummaryQueriesImpl.where(new OrderFilter(), null, parameters));
+        assertEquals(Map.of(), parameters);
+    }
+}
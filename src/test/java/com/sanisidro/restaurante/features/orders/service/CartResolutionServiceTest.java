@@ -0,0 +1,191 @@
+package com.sanisidro.restaurante.features.orders.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sanisidro.restaurante.features.orders.dto.helpers.ResolvedCart;
+import com.sanisidro.restaurante.features.orders.dto.orderdetail.request.OrderDetailInOrderRequest;
+import com.sanisidro.restaurante.features.products.model.ComboProductItem;
+import com.sanisidro.restaurante.features.products.model.Ingredient;
+import com.sanisidro.restaurante.features.products.model.Product;
+import com.sanisidro.restaurante.features.products.model.ProductIngredient;
+import com.sanisidro.restaurante.features.products.repository.ComboProductItemRepository;
+import com.sanisidro.restaurante.features.products.repository.ProductRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+class CartResolutionServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ComboProductItemRepository comboProductItemRepository;
+
+    @InjectMocks
+    private CartResolutionService cartResolutionService;
+
+    private final List<Ingredient> ingredients = new ArrayList<>();
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        for (long i = 1; i <= 6; i++) {
+            ingredients.add(Ingredient.builder().id(i).name("Ingrediente " + i).build());
+        }
+
+        // 18 productos simples con recetas de 6 ingredientes
+        for (long id = 1; id <= 18; id++) {
+            products.add(simpleProduct(id));
+        }
+    }
+
+    @Test
+    void resolve_TwentyLineOrder_ShouldUseFixedNumberOfQueries() {
+        Product combo1 = Product.builder().id(101L).name("Combo 1").price(BigDecimal.TEN)
+                .preparationTimeMinutes(15).isCombo(true).build();
+        Product combo2 = Product.builder().id(102L).name("Combo 2").price(BigDecimal.TEN)
+                .preparationTimeMinutes(15).isCombo(true).build();
+
+        List<Product> loaded = new ArrayList<>(products);
+        loaded.add(combo1);
+        loaded.add(combo2);
+
+        List<ComboProductItem> comboItems = List.of(
+                ComboProductItem.builder().comboProduct(combo1).simpleProduct(products.get(0)).quantity(1).build(),
+                ComboProductItem.builder().comboProduct(combo1).simpleProduct(products.get(1)).quantity(2).build(),
+                ComboProductItem.builder().comboProduct(combo2).simpleProduct(products.get(2)).quantity(1).build());
+
+        when(productRepository.findAllWithRecipeByIdIn(anyCollection())).thenReturn(loaded);
+        when(comboProductItemRepository.findAllWithRecipeByComboProductIdIn(anyCollection())).thenReturn(comboItems);
+
+        List<OrderDetailInOrderRequest> details = new ArrayList<>();
+        for (Product p : loaded) {
+            details.add(line(p.getId(), 2));
+        }
+        assertEquals(20, details.size());
+
+        // when
+        ResolvedCart cart = cartResolutionService.resolve(details);
+
+        // then: una consulta por tipo de dato, sin importar las líneas
+        verify(productRepository, times(1)).findAllWithRecipeByIdIn(anyCollection());
+        verify(comboProductItemRepository, times(1)).findAllWithRecipeByComboProductIdIn(anyCollection());
+        verifyNoMoreInteractions(productRepository, comboProductItemRepository);
+
+        assertEquals(6, cart.getRecipe(1L).size());
+        // combo1 = producto 1 x1 + producto 2 x2 -> 12 líneas de receta
+        assertEquals(12, cart.getRecipe(101L).size());
+        assertEquals(0, new BigDecimal("1.00").compareTo(cart.getRecipe(101L).get(6).getQuantityPerUnit()));
+        assertEquals(15, cart.getPreparationTimeMinutes(102L));
+    }
+
+    @Test
+    void resolve_WithoutCombos_ShouldSkipComboQuery() {
+        when(productRepository.findAllWithRecipeByIdIn(anyCollection())).thenReturn(products);
+
+        List<OrderDetailInOrderRequest> details = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            details.add(line(products.get(i % products.size()).getId(), 1));
+        }
+
+        cartResolutionService.resolve(details);
+
+        verify(productRepository, times(1)).findAllWithRecipeByIdIn(anyCollection());
+        verifyNoMoreInteractions(productRepository, comboProductItemRepository);
+    }
+
+    @Test
+    void resolve_ShouldQueryDistinctIdsAndFlattenComboRecipes() {
+        Product combo = Product.builder().id(101L).name("Combo 1").price(BigDecimal.TEN)
+                .preparationTimeMinutes(15).isCombo(true).build();
+        when(productRepository.findAllWithRecipeByIdIn(anyCollection())).thenReturn(List.of(products.get(0), combo));
+        when(comboProductItemRepository.findAllWithRecipeByComboProductIdIn(anyCollection())).thenReturn(List.of(
+                ComboProductItem.builder().comboProduct(combo).simpleProduct(products.get(0)).quantity(1).build(),
+                ComboProductItem.builder().comboProduct(combo).simpleProduct(products.get(1)).quantity(2).build()));
+
+        ResolvedCart cart = cartResolutionService.resolve(Arrays.asList(1L, 101L, null, 1L, 101L));
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(productRepository).findAllWithRecipeByIdIn(ids.capture());
+        assertEquals(List.of(1L, 101L), List.copyOf(ids.getValue()));
+
+        // Cada ingrediente del combo: 0.5 del producto 1 más 2 x 0.5 del producto 2
+        Map<Long, BigDecimal> perIngredient = new TreeMap<>();
+        cart.getRecipe(101L).forEach(line -> perIngredient.merge(line.getIngredient().getId(),
+                line.getQuantityPerUnit(), BigDecimal::add));
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L), perIngredient.keySet());
+        perIngredient.values().forEach(q -> assertEquals(0, new BigDecimal("1.5").compareTo(q)));
+        assertEquals(0, new BigDecimal("0.5").compareTo(cart.getRecipe(1L).get(0).getQuantityPerUnit()));
+    }
+
+    @Test
+    void resolve_EmptyCart_ShouldNotQuery() {
+        ResolvedCart cart = cartResolutionService.resolve(Set.<Long>of());
+
+        assertTrue(cart.getProducts().isEmpty());
+        verifyNoInteractions(productRepository, comboProductItemRepository);
+    }
+
+    @Test
+    void resolve_ShouldThrowWhenProductDoesNotExist() {
+        when(productRepository.findAllWithRecipeByIdIn(anyCollection())).thenReturn(List.of(products.get(0)));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> cartResolutionService.resolve(List.of(line(1L, 1), line(999L, 1))));
+    }
+
+    private Product simpleProduct(Long id) {
+        Product product = Product.builder()
+                .id(id)
+                .name("Producto " + id)
+                .price(new BigDecimal("12.50"))
+                .preparationTimeMinutes(10)
+                .build();
+
+        Set<ProductIngredient> recipe = new LinkedHashSet<>();
+        for (Ingredient ingredient : ingredients) {
+            recipe.add(ProductIngredient.builder()
+                    .id(id * 100 + ingredient.getId())
+                    .product(product)
+                    .ingredient(ingredient)
+                    .quantity(0.5)
+                    .build());
+        }
+        product.setIngredients(recipe);
+        return product;
+    }
+
+    private OrderDetailInOrderRequest line(Long productId, int quantity) {
+        OrderDetailInOrderRequest d = new OrderDetailInOrderRequest();
+        d.setProductId(productId);
+        d.setQuantity(quantity);
+        return d;
+    }
+}
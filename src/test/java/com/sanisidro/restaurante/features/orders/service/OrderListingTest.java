@@ -0,0 +1,128 @@
+package com.sanisidro.restaurante.features.orders.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sanisidro.restaurante.core.dto.response.CursorPage;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.orders.dto.order.request.OrderFilter;
+import com.sanisidro.restaurante.features.orders.dto.order.response.OrderSummaryResponse;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderStatusRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderTypeRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Recorre el listado de órdenes página por página con el cursor y verifica que no
+ * se repitan ni se salten órdenes, incluso con fechas empatadas.
+ */
+@PostgresIntegrationTest
+class OrderListingTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatusRepository orderStatusRepository;
+
+    @Autowired
+    private OrderTypeRepository orderTypeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<Order> created = new ArrayList<>();
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        // Ventana de fechas propia para no mezclarse con otras órdenes
+        start = LocalDateTime.of(2090, 1, 1, 0, 0).plusMinutes(System.nanoTime() % 1_000_000L);
+        Customer customer = customerRepository.findAll().get(0);
+
+        for (int i = 0; i < 25; i++) {
+            // Cada fecha se repite en dos órdenes para probar el desempate por id
+            created.add(orderRepository.save(Order.builder()
+                    .customer(customer)
+                    .status(orderStatusRepository.findByCode(i % 5 == 0 ? "CANCELLED" : "PENDING").orElseThrow())
+                    .type(orderTypeRepository.findByCode("DINE_IN").orElseThrow())
+                    .date(start.plusSeconds(i / 2))
+                    .total(BigDecimal.TEN)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(created);
+    }
+
+    @Test
+    void getAll_WalkingAllPages_ShouldReturnEveryOrderOnceInDescendingOrder() {
+        OrderFilter filter = window().build();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<OrderSummaryResponse> page = orderService.getAll(filter, cursor, 10, "es-PE");
+            page.getContent().forEach(o -> seen.add(o.getId()));
+            cursor = page.getNextCursor();
+            assertEquals(cursor != null, page.isHasNext());
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = created.stream()
+                .sorted(Comparator.comparing(Order::getDate).thenComparing(Order::getId).reversed())
+                .map(Order::getId)
+                .toList();
+        assertEquals(3, pages);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void getAll_WithStatusFilter_ShouldProjectTranslatedNames() {
+        CursorPage<OrderSummaryResponse> page = orderService.getAll(
+                window().statusCode("cancelled").build(), null, 50, "es");
+
+        assertEquals(5, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        OrderSummaryResponse first = page.getContent().get(0);
+        assertEquals("CANCELLED", first.getStatusCode());
+        assertFalse(first.getStatusName().isBlank());
+        assertEquals("DINE_IN", first.getTypeCode());
+        assertEquals(0L, first.getItemCount());
+        assertTrue(page.getContent().stream().allMatch(o -> o.getEmployeeId() == null));
+    }
+
+    @Test
+    void getAll_WithTamperedCursor_ShouldBeRejected() {
+        assertThrows(BadRequestException.class,
+                () -> orderService.getAll(window().build(), "no-es-un-cursor", 10, "es"));
+    }
+
+    private OrderFilter.OrderFilterBuilder window() {
+        return OrderFilter.builder().from(start).to(start.plusMinutes(1));
+    }
+}
@@ -0,0 +1,108 @@
+package com.sanisidro.restaurante.features.orders.tracking;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.TrackingProperties;
+import com.sanisidro.restaurante.core.security.model.User;
+import com.sanisidro.restaurante.features.orders.dto.order.request.UpdateLocationRequest;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+
+/**
+ * Simula 30 repartidores enviando su posición en paralelo mientras el flush
+ * periódico corre en segundo plano, y compara pings recibidos contra escrituras
+ * en base. Se ejecuta solo con {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class DeliveryTrackingLoadBenchmarkTest {
+
+    private static final int DRIVERS = 30;
+    private static final int PINGS_PER_DRIVER = 20_000;
+    private static final long FLUSH_EVERY_MS = 50;
+
+    @Test
+    void concurrentDriversPinging() throws Exception {
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        AtomicLong statements = new AtomicLong();
+        AtomicLong rowsWritten = new AtomicLong();
+        when(orderRepository.findDriverUserId(anyLong()))
+                .thenAnswer(inv -> List.<Object[]>of(new Object[] { inv.getArgument(0), inv.getArgument(0), "OUT_FOR_DELIVERY" }));
+        when(orderRepository.updateCurrentLocations(any(), any(), any())).thenAnswer(inv -> {
+            statements.incrementAndGet();
+            Long[] ids = inv.getArgument(0);
+            rowsWritten.addAndGet(ids.length);
+            return ids.length;
+        });
+
+        DeliveryTrackingService service = new DeliveryTrackingService(orderRepository,
+                new SimpMessagingTemplate((message, timeout) -> true), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new TrackingProperties(), Clock.systemDefaultZone());
+
+        ExecutorService executor = Executors.newFixedThreadPool(DRIVERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(DRIVERS);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        executor.submit(() -> {
+            while (running.get()) {
+                service.flush();
+                TimeUnit.MILLISECONDS.sleep(FLUSH_EVERY_MS);
+            }
+            return null;
+        });
+
+        for (long d = 1; d <= DRIVERS; d++) {
+            long orderId = d;
+            User driver = User.builder().id(orderId).username("repartidor" + orderId).build();
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    UpdateLocationRequest request = new UpdateLocationRequest();
+                    for (int i = 0; i < PINGS_PER_DRIVER; i++) {
+                        request.setLatitude(-12.0 - i * 1e-6);
+                        request.setLongitude(-77.0 + i * 1e-6);
+                        service.updateLocation(orderId, request, driver);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(2, TimeUnit.MINUTES), "Los repartidores no terminaron a tiempo");
+        long elapsed = System.nanoTime() - begin;
+        running.set(false);
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        service.flush();
+
+        long pings = (long) DRIVERS * PINGS_PER_DRIVER;
+        System.out.printf("[benchmark] %d repartidores, %d pings en %.2f s: %.0f pings/s%n",
+                DRIVERS, pings, elapsed / 1e9, pings / (elapsed / 1e9));
+        System.out.printf("[benchmark] escrituras en base: %d sentencias, %d filas (%.4f filas por ping)%n",
+                statements.get(), rowsWritten.get(), rowsWritten.get() / (double) pings);
+        assertTrue(rowsWritten.get() < pings / 100);
+    }
+}
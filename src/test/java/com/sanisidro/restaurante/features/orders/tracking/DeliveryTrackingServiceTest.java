@@ -0,0 +1,151 @@
+package com.sanisidro.restaurante.features.orders.tracking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.TrackingProperties;
+import com.sanisidro.restaurante.core.security.model.User;
+import com.sanisidro.restaurante.features.orders.dto.order.request.UpdateLocationRequest;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+
+class DeliveryTrackingServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private DeliveryTrackingService service;
+    private final User driver = User.builder().id(7L).username("repartidor").build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(NOW.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        service = new DeliveryTrackingService(orderRepository, messagingTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new TrackingProperties(), clock);
+
+        when(orderRepository.findDriverUserId(1L)).thenReturn(List.<Object[]>of(new Object[] { 1L, 7L, "OUT_FOR_DELIVERY" }));
+        when(orderRepository.findDriverUserId(2L)).thenReturn(List.<Object[]>of(new Object[] { 2L, 7L, "OUT_FOR_DELIVERY" }));
+    }
+
+    @Test
+    void flush_ManyPings_ShouldWriteLatestPositionsInOneBatch() {
+        for (int i = 0; i < 50; i++) {
+            service.updateLocation(1L, location(-12.0 - i * 0.001, -77.0), driver);
+            service.updateLocation(2L, location(-12.5, -77.5 + i * 0.001), driver);
+        }
+
+        service.flush();
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<Double[]> latitudes = ArgumentCaptor.forClass(Double[].class);
+        verify(orderRepository, times(1)).updateCurrentLocations(ids.capture(), latitudes.capture(), any());
+        assertEquals(2, ids.getValue().length);
+        int first = ids.getValue()[0] == 1L ? 0 : 1;
+        assertEquals(-12.049, latitudes.getValue()[first], 1e-9);
+
+        // la suscripción recibe cada ping, la base solo la última posición
+        verify(messagingTemplate, times(100)).convertAndSend(anyString(), any(Object.class));
+        // el repartidor se consulta una vez por orden
+        verify(orderRepository, times(1)).findDriverUserId(1L);
+    }
+
+    @Test
+    void flush_WithoutNewPings_ShouldNotWriteAgain() {
+        service.updateLocation(1L, location(-12.0, -77.0), driver);
+        service.flush();
+        service.flush();
+
+        verify(orderRepository, times(1)).updateCurrentLocations(any(), any(), any());
+    }
+
+    @Test
+    void updateLocation_FromAnotherUser_ShouldBeRejected() {
+        User intruder = User.builder().id(99L).username("otro").build();
+
+        assertThrows(AccessDeniedException.class,
+                () -> service.updateLocation(1L, location(-12.0, -77.0), intruder));
+        assertFalse(service.getLivePosition(1L).isPresent());
+    }
+
+    @Test
+    void orderClosed_ShouldPersistImmediatelyAndStopTracking() {
+        service.updateLocation(1L, location(-12.1, -77.1), driver);
+
+        service.orderClosed(1L);
+
+        verify(orderRepository).updateCurrentLocations(new Long[] { 1L }, new Double[] { -12.1 },
+                new Double[] { -77.1 });
+        assertFalse(service.getLivePosition(1L).isPresent());
+
+        service.flush();
+        verify(orderRepository, times(1)).updateCurrentLocations(any(), any(), any());
+        verify(orderRepository, never()).findDriverUserId(2L);
+    }
+
+    @Test
+    void orderClosed_RolledBack_ShouldKeepTrackingAndFlushLater() {
+        service.updateLocation(1L, location(-12.1, -77.1), driver);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.orderClosed(1L);
+            assertTrue(service.getLivePosition(1L).isPresent());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(service.getLivePosition(1L).isPresent());
+        service.flush();
+        verify(orderRepository, times(2)).updateCurrentLocations(new Long[] { 1L }, new Double[] { -12.1 },
+                new Double[] { -77.1 });
+    }
+
+    @Test
+    void updateLocation_OnClosedOrder_ShouldBeRejected() {
+        when(orderRepository.findDriverUserId(3L))
+                .thenReturn(List.<Object[]>of(new Object[] { 3L, 7L, "DELIVERED" }));
+
+        assertThrows(AccessDeniedException.class, () -> service.updateLocation(3L, location(-12.0, -77.0), driver));
+        assertFalse(service.getLivePosition(3L).isPresent());
+    }
+
+    private UpdateLocationRequest location(double latitude, double longitude) {
+        UpdateLocationRequest request = new UpdateLocationRequest();
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        return request;
+    }
+}
@@ -0,0 +1,198 @@
+package com.sanisidro.restaurante.features.products.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sanisidro.restaurante.features.products.enums.MovementSource;
+import com.sanisidro.restaurante.features.products.exceptions.InsufficientStockException;
+import com.sanisidro.restaurante.features.products.model.Ingredient;
+import com.sanisidro.restaurante.features.products.model.Inventory;
+import com.sanisidro.restaurante.features.products.model.Unit;
+import com.sanisidro.restaurante.features.products.repository.IngredientRepository;
+import com.sanisidro.restaurante.features.products.repository.InventoryMovementRepository;
+import com.sanisidro.restaurante.features.products.repository.InventoryRepository;
+import com.sanisidro.restaurante.features.products.repository.UnitRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Dispara cientos de órdenes en paralelo contra el mismo ingrediente y verifica que
+ * no se pierdan actualizaciones, que el stock nunca quede negativo y que no haya
+ * fallos espurios por bloqueo optimista.
+ */
+@PostgresIntegrationTest
+class StockMutationServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private StockMutationService stockMutationService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    private Unit unit;
+    private Ingredient rice;
+    private Ingredient oil;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = Long.toString(System.nanoTime() % 1_000_000_000L, 36);
+        unit = unitRepository.save(Unit.builder().name("Unidad " + suffix).symbol("u" + suffix).build());
+        rice = ingredientRepository.save(Ingredient.builder().name("Arroz " + suffix).unit(unit).build());
+        oil = ingredientRepository.save(Ingredient.builder().name("Aceite " + suffix).unit(unit).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Ingredient ingredient : List.of(rice, oil)) {
+            movementRepository.deleteAll(movementRepository.findByIngredientId(ingredient.getId()));
+            inventoryRepository.findByIngredientId(ingredient.getId()).ifPresent(inventoryRepository::delete);
+            ingredientRepository.delete(ingredient);
+        }
+        unitRepository.delete(unit);
+    }
+
+    @Test
+    void decrease_ParallelOrdersWithEnoughStock_ShouldAllSucceedWithoutLostUpdates() throws Exception {
+        int orders = 300;
+        stock(rice, orders);
+        stock(oil, 1000);
+
+        AtomicInteger successes = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(orders, orderId -> {
+            stockMutationService.decrease(
+                    Map.of(rice.getId(), BigDecimal.ONE, oil.getId(), new BigDecimal("2")),
+                    MovementSource.ORDER, orderId, "Prueba de concurrencia");
+            successes.incrementAndGet();
+        }, failures);
+
+        assertTrue(failures.isEmpty(), "Fallos inesperados: " + failures);
+        assertEquals(orders, successes.get());
+        assertStock(rice, "0");
+        assertStock(oil, "400");
+        assertEquals(orders * 2L, movements());
+    }
+
+    @Test
+    void decrease_ParallelOrdersExceedingStock_ShouldNeverGoNegative() throws Exception {
+        int available = 100;
+        int orders = 250;
+        stock(rice, available);
+
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(orders, orderId -> {
+            try {
+                stockMutationService.decrease(Map.of(rice.getId(), BigDecimal.ONE),
+                        MovementSource.ORDER, orderId, "Prueba de concurrencia");
+                successes.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                assertEquals(List.of(rice.getName()), e.getIngredients());
+                rejected.incrementAndGet();
+            }
+        }, failures);
+
+        assertTrue(failures.isEmpty(), "Fallos inesperados: " + failures);
+        assertEquals(available, successes.get());
+        assertEquals(orders - available, rejected.get());
+        assertStock(rice, "0");
+        assertEquals(available, movements());
+    }
+
+    @Test
+    void decrease_WhenOneIngredientIsShort_ShouldLeaveEveryInventoryUntouched() {
+        stock(rice, 10);
+        stock(oil, 1);
+
+        InsufficientStockException ex = assertThrows(
+                InsufficientStockException.class,
+                () -> stockMutationService.decrease(
+                        Map.of(rice.getId(), new BigDecimal("5"), oil.getId(), new BigDecimal("3")),
+                        MovementSource.ORDER, 1L, "Prueba"));
+
+        assertEquals(List.of(oil.getName()), ex.getIngredients());
+        assertStock(rice, "10");
+        assertStock(oil, "1");
+        assertEquals(0, movements());
+    }
+
+    private void stock(Ingredient ingredient, int quantity) {
+        inventoryRepository.save(Inventory.builder()
+                .ingredient(ingredient)
+                .currentStock(BigDecimal.valueOf(quantity))
+                .minimumStock(BigDecimal.ZERO)
+                .build());
+    }
+
+    private void assertStock(Ingredient ingredient, String expected) {
+        BigDecimal current = inventoryRepository.findByIngredientId(ingredient.getId())
+                .orElseThrow()
+                .getCurrentStock();
+        assertEquals(0, new BigDecimal(expected).compareTo(current),
+                "Stock de " + ingredient.getName() + ": " + current);
+    }
+
+    private long movements() {
+        return movementRepository.findByIngredientId(rice.getId()).size()
+                + movementRepository.findByIngredientId(oil.getId()).size();
+    }
+
+    private void runConcurrently(int tasks, OrderTask task, ConcurrentLinkedQueue<Throwable> failures)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(tasks);
+
+        for (int i = 0; i < tasks; i++) {
+            long orderId = i + 1;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    task.run(orderId);
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(2, TimeUnit.MINUTES), "Las órdenes no terminaron a tiempo");
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface OrderTask {
+        void run(long orderId) throws Exception;
+    }
+}
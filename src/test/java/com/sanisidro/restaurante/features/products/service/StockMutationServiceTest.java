@@ -0,0 +1,96 @@
+package com.sanisidro.restaurante.features.products.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.sanisidro.restaurante.features.products.enums.MovementSource;
+import com.sanisidro.restaurante.features.products.exceptions.InsufficientStockException;
+import com.sanisidro.restaurante.features.products.exceptions.InvalidQuantityException;
+import com.sanisidro.restaurante.features.products.repository.InventoryMovementRepository;
+import com.sanisidro.restaurante.features.products.repository.InventoryRepository;
+import com.sanisidro.restaurante.features.products.service.StockMutationService.StockLevel;
+
+/**
+ * Descuento de stock sin base: orden de bloqueo, todo o nada y movimientos.
+ */
+class StockMutationServiceTest {
+
+    private InventoryRepository inventoryRepository;
+    private InventoryMovementRepository movementRepository;
+    private StockMutationService service;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        movementRepository = mock(InventoryMovementRepository.class);
+        service = new StockMutationService(inventoryRepository, movementRepository);
+    }
+
+    @Test
+    void decrease_ShouldLockInIngredientOrderAndRecordExits() {
+        Map<Long, BigDecimal> quantities = new LinkedHashMap<>();
+        quantities.put(3L, new BigDecimal("1.5"));
+        quantities.put(1L, new BigDecimal("2"));
+        quantities.put(2L, BigDecimal.ZERO);
+        when(inventoryRepository.decreaseStockIfAvailable(any(), any(), any())).thenReturn(List.of(
+                row(1L, "Papa", "8", "10", false),
+                row(3L, "Ají", "0.5", "0.2", false)));
+
+        List<StockLevel> levels = service.decrease(quantities, MovementSource.ORDER, 99L, "Orden 99");
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<BigDecimal[]> amounts = ArgumentCaptor.forClass(BigDecimal[].class);
+        verify(inventoryRepository).decreaseStockIfAvailable(ids.capture(), amounts.capture(), any());
+        // Sin el ingrediente en cero y ordenado por id, igual que los locks de fila
+        assertArrayEquals(new Long[] { 1L, 3L }, ids.getValue());
+        assertArrayEquals(new BigDecimal[] { new BigDecimal("2"), new BigDecimal("1.5") }, amounts.getValue());
+        verify(movementRepository).insertBatch(eq(ids.getValue()), eq(amounts.getValue()), eq("EXIT"),
+                eq("ORDER"), eq("Orden 99"), eq(99L), any());
+
+        assertEquals(2, levels.size());
+        assertEquals(List.of(true, false), levels.stream().map(StockLevel::isBelowMinimum).toList());
+    }
+
+    @Test
+    void decrease_WhenAnyIngredientIsShort_ShouldNameItAndRecordNothing() {
+        when(inventoryRepository.decreaseStockIfAvailable(any(), any(), any())).thenReturn(List.of(
+                row(1L, "Papa", "8", "10", false),
+                row(2L, "Limón", "1", "5", true)));
+
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> service.decrease(Map.of(1L, BigDecimal.ONE, 2L, new BigDecimal("3")), MovementSource.SALE,
+                        5L, "Venta"));
+
+        assertEquals(List.of("Limón"), e.getIngredients());
+        verify(movementRepository, never()).insertBatch(any(), any(), anyString(), anyString(), anyString(),
+                any(), any());
+    }
+
+    @Test
+    void decrease_NegativeQuantity_ShouldNotTouchInventory() {
+        assertThrows(InvalidQuantityException.class,
+                () -> service.decrease(Map.of(1L, new BigDecimal("-1")), MovementSource.MANUAL, null, "Ajuste"));
+        verify(inventoryRepository, never()).decreaseStockIfAvailable(any(), any(), any());
+    }
+
+    private static Object[] row(Long id, String name, String current, String minimum, boolean isShort) {
+        return new Object[] { id, name, new BigDecimal(current), new BigDecimal(minimum), isShort };
+    }
+}
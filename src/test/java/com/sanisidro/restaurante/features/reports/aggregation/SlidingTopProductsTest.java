@@ -0,0 +1,67 @@
+package com.sanisidro.restaurante.features.reports.aggregation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.features.reports.aggregation.SlidingTopProducts.OrderLine;
+import com.sanisidro.restaurante.features.reports.aggregation.SlidingTopProducts.OrderSales;
+import com.sanisidro.restaurante.features.reports.aggregation.SlidingTopProducts.ProductSales;
+import com.sanisidro.restaurante.features.reports.enums.TopProductsWindow;
+
+/**
+ * Ventanas del top de productos sin base: reemplazo de órdenes, cancelaciones y
+ * buckets que salen de cada ventana al avanzar el reloj.
+ */
+class SlidingTopProductsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 10, 20, 15, 30);
+
+    @Test
+    void top_ShouldFollowReplacementsCancellationsAndTime() {
+        SlidingTopProducts tracker = new SlidingTopProducts(NOW);
+        tracker.put(order(1L, NOW.minusMinutes(10), false, line(100L, 3, "30.00")));
+        tracker.put(order(2L, NOW.minusHours(3), false, line(200L, 5, "25.00")));
+        tracker.put(order(3L, NOW.minusDays(2), false, line(300L, 9, "90.00")));
+        tracker.put(order(4L, NOW.minusDays(40), false, line(400L, 50, "500.00")));
+
+        assertEquals(List.of(100L), ids(tracker.top(TopProductsWindow.LAST_HOUR, 5)));
+        assertEquals(List.of(200L, 100L), ids(tracker.top(TopProductsWindow.TODAY, 5)));
+        assertEquals(List.of(300L, 200L, 100L), ids(tracker.top(TopProductsWindow.LAST_30_DAYS, 5)));
+        assertEquals(3, tracker.size());
+
+        // Reenviar la orden con otro detalle la reemplaza; cancelada solo resta
+        tracker.put(order(1L, NOW.minusMinutes(10), false, line(100L, 7, "70.00")));
+        tracker.put(order(2L, NOW.minusHours(3), true, line(200L, 5, "25.00")));
+        List<ProductSales> today = tracker.top(TopProductsWindow.TODAY, 5);
+        assertEquals(List.of(100L), ids(today));
+        assertEquals(7, today.get(0).getQuantity());
+        assertEquals(new BigDecimal("70.00"), today.get(0).getRevenue());
+
+        // Pasada la medianoche hoy queda vacío y la última hora también
+        tracker.advance(NOW.plusHours(4));
+        assertTrue(tracker.top(TopProductsWindow.LAST_HOUR, 5).isEmpty());
+        assertTrue(tracker.top(TopProductsWindow.TODAY, 5).isEmpty());
+        assertEquals(List.of(300L, 100L), ids(tracker.top(TopProductsWindow.LAST_7_DAYS, 5)));
+
+        tracker.remove(3L);
+        assertEquals(List.of(100L), ids(tracker.top(TopProductsWindow.LAST_30_DAYS, 1)));
+    }
+
+    private static OrderSales order(Long id, LocalDateTime date, boolean cancelled, OrderLine... lines) {
+        return new OrderSales(id, date, cancelled, List.of(lines));
+    }
+
+    private static OrderLine line(Long productId, long quantity, String revenue) {
+        return new OrderLine(productId, quantity, new BigDecimal(revenue));
+    }
+
+    private static List<Long> ids(List<ProductSales> sales) {
+        return sales.stream().map(ProductSales::getProductId).toList();
+    }
+}
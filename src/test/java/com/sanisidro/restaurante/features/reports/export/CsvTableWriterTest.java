@@ -0,0 +1,31 @@
+package com.sanisidro.restaurante.features.reports.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Los textos que parecen fórmulas se exportan neutralizados; los números no.
+ */
+class CsvTableWriterTest {
+
+    @Test
+    void writeRow_ShouldNeutralizeFormulasButKeepNumbers() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvTableWriter writer = new CsvTableWriter(out, List.of("cliente", "nota", "total", "cantidad"))) {
+            writer.writeRow(new Object[] { "=HYPERLINK(\"http://x\",\"y\")", "@SUM(A1)", new BigDecimal("-5.50"), -2 });
+            writer.writeRow(new Object[] { "+51 999", "-", "Ana, Pérez", null });
+        }
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals("\uFEFFcliente,nota,total,cantidad\r\n"
+                + "\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\",'@SUM(A1),-5.50,-2\r\n"
+                + "'+51 999,'-,\"Ana, Pérez\",\r\n", csv);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.sanisidro.restaurante.core.config.ReportProperties;
+import com.sanisidro.restaurante.features.reports.enums.ExportDataset;
+import com.sanisidro.restaurante.features.reports.enums.ExportFormat;
+import com.sanisidro.restaurante.features.reports.repository.ExportRepository;
+import com.sanisidro.restaurante.support.PostgresTestSupport;
+
+/**
+ * Exporta un rango a un stream que descarta los bytes, sin levantar Spring, para
+ * correrlo en una JVM aparte con poco heap. Imprime "filas bytes" y termina con
+ * código distinto de 0 si algo falla (un {@code OutOfMemoryError} incluido).
+ */
+public class ExportHeapCheck {
+
+    public static void main(String[] args) throws Exception {
+        ExportDataset dataset = ExportDataset.valueOf(args[0]);
+        LocalDate from = LocalDate.parse(args[1]);
+        LocalDate to = LocalDate.parse(args[2]);
+        ExportFormat format = ExportFormat.valueOf(args[3]);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(PostgresTestSupport.URL,
+                System.getenv("SPRING_DATASOURCE_USERNAME"), System.getenv("SPRING_DATASOURCE_PASSWORD"));
+        ExportService service = new ExportService(new ExportRepository(dataSource, new ReportProperties()),
+                new DataSourceTransactionManager(dataSource));
+
+        CountingOutputStream out = new CountingOutputStream();
+        long rows = service.write(dataset, from, to, format, out);
+        System.out.println(rows + " " + out.bytes);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
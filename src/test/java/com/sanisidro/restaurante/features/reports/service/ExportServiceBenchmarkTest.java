@@ -0,0 +1,120 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sanisidro.restaurante.features.reports.enums.ExportDataset;
+import com.sanisidro.restaurante.features.reports.enums.ExportFormat;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Exporta 1 millón de órdenes a CSV y XLSX en una JVM con 64 MB de heap, donde la
+ * lista completa de filas no entra, y revisa que el archivo salga completo. Se
+ * ejecuta solo con {@code mvn test -Pbenchmark}.
+ */
+@PostgresIntegrationTest
+@Tag("benchmark")
+class ExportServiceBenchmarkTest {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int DAYS = 30;
+    private static final String HEAP = "-Xmx64m";
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate from;
+    private LocalDate to;
+
+    @BeforeEach
+    void setUp() {
+        // Un mes lejano que ninguna otra prueba usa
+        from = LocalDate.of(2900, 1, 1);
+        to = from.plusDays(DAYS - 1);
+        jdbcTemplate.update("""
+                    INSERT INTO orders (customer_id, date, order_status_id, order_type_id, total)
+                    SELECT c.id,
+                           CAST(? AS timestamp) + (g % ?) * interval '1 day' + (600 + g % 720) * interval '1 minute',
+                           s.ids[1 + g % array_length(s.ids, 1)],
+                           t.ids[1 + g % array_length(t.ids, 1)],
+                           ROUND((10 + g % 200) * 1.18, 2)
+                    FROM generate_series(1, ?) g,
+                         (SELECT MIN(customer_id) AS id FROM customers) c,
+                         (SELECT array_agg(order_status_id) AS ids FROM order_statuses) s,
+                         (SELECT array_agg(order_type_id) AS ids FROM order_types) t
+                """, from.atStartOfDay(), DAYS, ORDERS);
+        jdbcTemplate.execute("ANALYZE orders");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM orders WHERE date >= ? AND date < ?", from, to.plusDays(1));
+    }
+
+    @Test
+    void exportsOneMillionRowsWithSmallHeap() throws Exception {
+        for (ExportFormat format : ExportFormat.values()) {
+            long began = System.nanoTime();
+            String[] result = runWithSmallHeap(format).split(" ");
+            double seconds = (System.nanoTime() - began) / 1e9;
+
+            assertEquals(ORDERS, Long.parseLong(result[0]));
+            System.out.printf("[benchmark] exportación %s de %d órdenes con %s: %.1f s, %.1f MB%n",
+                    format, ORDERS, HEAP, seconds, Long.parseLong(result[1]) / 1e6);
+        }
+    }
+
+    @Test
+    void xlsxHasHeaderAndRowsInFirstSheet() throws IOException {
+        LocalDate day = from.plusDays(3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.write(ExportDataset.ORDERS, day, day, ExportFormat.XLSX, out);
+
+        String sheet = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                    sheet = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        assertEquals(ORDERS / DAYS, rows, 1);
+        assertTrue(sheet.contains("<t xml:space=\"preserve\">Orden</t>"));
+        assertEquals(rows + 1, sheet.split("<row>", -1).length - 1);
+    }
+
+    /** Corre {@link ExportHeapCheck} en otra JVM y devuelve lo que imprime. */
+    private String runWithSmallHeap(ExportFormat format) throws Exception {
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(List.of(java.toString(), HEAP,
+                "-cp", System.getProperty("java.class.path"),
+                ExportHeapCheck.class.getName(),
+                ExportDataset.ORDERS.name(), from.toString(), to.toString(), format.name()))
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertEquals(0, process.waitFor(), output);
+        String[] lines = output.split("\n");
+        return lines[lines.length - 1].trim();
+    }
+}
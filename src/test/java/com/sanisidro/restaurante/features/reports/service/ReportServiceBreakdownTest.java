@@ -0,0 +1,89 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sanisidro.restaurante.core.config.ReportProperties;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData;
+import com.sanisidro.restaurante.features.orders.service.OrderService;
+import com.sanisidro.restaurante.features.products.repository.InventoryRepository;
+import com.sanisidro.restaurante.features.products.service.ProductService;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
+import com.sanisidro.restaurante.features.reports.dto.response.SalesBreakdownResponse;
+import com.sanisidro.restaurante.features.reports.enums.ReportDimension;
+import com.sanisidro.restaurante.features.reports.repository.SalesBreakdownRepository;
+
+/**
+ * Validación, tope de filas y nombres de las ventas por rango, sin base.
+ */
+class ReportServiceBreakdownTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    private SalesBreakdownRepository repository;
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SalesBreakdownRepository.class);
+        ReportProperties properties = new ReportProperties();
+        properties.setRangeMaxBuckets(48);
+        properties.setRangeMaxRows(2);
+        reportService = new ReportService(mock(OrderService.class), mock(ProductService.class),
+                mock(SalesRollupService.class), mock(InventoryRepository.class), mock(OrderReferenceData.class),
+                repository, properties);
+    }
+
+    @Test
+    void getSalesBreakdown_ShouldTruncateAndNameCategories() {
+        when(repository.aggregate(eq(ReportDimension.PRODUCT_CATEGORY), eq(TimeGranularity.DAY), eq(DAY),
+                eq(DAY.plusDays(2)), eq(3))).thenReturn(List.of(
+                        row(DAY, 1L, 4, "40.00"),
+                        row(DAY, 2L, 1, "12.50"),
+                        row(DAY.plusDays(1), 1L, 2, "20.00")));
+        when(repository.findNames(eq(ReportDimension.PRODUCT_CATEGORY), any()))
+                .thenReturn(Map.of(1L, "Entradas", 2L, "Bebidas"));
+
+        SalesBreakdownResponse response = reportService.getSalesBreakdown(DAY, DAY.plusDays(1),
+                TimeGranularity.DAY, ReportDimension.PRODUCT_CATEGORY, "es");
+
+        assertTrue(response.isTruncated());
+        assertEquals(2, response.getRows().size());
+        assertEquals("Entradas", response.getRows().get(0).getDimensionName());
+        assertEquals("Bebidas", response.getRows().get(1).getDimensionName());
+        assertEquals(new BigDecimal("12.50"), response.getRows().get(1).getAmount());
+    }
+
+    @Test
+    void getSalesBreakdown_InvalidRange_ShouldNotQuery() {
+        // 3 días por hora son 72 períodos, más que el máximo de 48
+        assertThrows(BadRequestException.class, () -> reportService.getSalesBreakdown(DAY, DAY.plusDays(2),
+                TimeGranularity.HOUR, ReportDimension.NONE, "es"));
+        assertThrows(BadRequestException.class, () -> reportService.getSalesBreakdown(DAY, DAY.minusDays(1),
+                TimeGranularity.DAY, ReportDimension.NONE, "es"));
+        verifyNoInteractions(repository);
+        when(repository.aggregate(any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+        assertTrue(reportService.getSalesBreakdown(DAY, DAY.plusDays(1), TimeGranularity.HOUR,
+                ReportDimension.NONE, "es").getRows().isEmpty());
+    }
+
+    private static Object[] row(LocalDate day, Long dimensionId, long count, String amount) {
+        return new Object[] { day.atStartOfDay(), dimensionId, count, new BigDecimal(amount) };
+    }
+}
@@ -0,0 +1,114 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
+import com.sanisidro.restaurante.features.reports.dto.response.SalesBreakdownResponse;
+import com.sanisidro.restaurante.features.reports.dto.response.SalesBreakdownRowResponse;
+import com.sanisidro.restaurante.features.reports.enums.ReportDimension;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que las ventas por rango den lo mismo por hora (órdenes)
+ * que por día y mes (acumulados), sin las canceladas, y que se rechacen los rangos
+ * con demasiados períodos.
+ */
+@PostgresIntegrationTest
+class ReportServiceTest {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> orderIds = new ArrayList<>();
+    private LocalDate day;
+    private long completed;
+    private long cancelled;
+    private long type;
+
+    @BeforeEach
+    void setUp() {
+        // Un mes lejano que ninguna otra prueba usa
+        day = LocalDate.of(2800, 1, 1).plusMonths(System.nanoTime() % 1000);
+        completed = id("SELECT order_status_id FROM order_statuses WHERE code = 'COMPLETED'");
+        cancelled = id("SELECT order_status_id FROM order_statuses WHERE code = 'CANCELLED'");
+        type = id("SELECT MIN(order_type_id) FROM order_types");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = ANY (?)", (Object) orderIds.toArray(Long[]::new));
+        rollupService.rebuild(day, day.plusMonths(1));
+    }
+
+    @Test
+    void getSalesBreakdown_ShouldMatchAcrossGranularities() {
+        order(day.atTime(12, 10), completed, "20.00");
+        order(day.atTime(12, 40), completed, "30.00");
+        order(day.atTime(13, 5), cancelled, "99.00");
+        order(day.plusDays(1).atTime(20, 0), completed, "15.50");
+        rollupService.rebuild(day, day.plusDays(2));
+
+        SalesBreakdownResponse hourly = breakdown(TimeGranularity.HOUR);
+        assertEquals(List.of(
+                row(day.atTime(12, 0), 2, "50.00"),
+                row(day.plusDays(1).atTime(20, 0), 1, "15.50")), hourly.getRows());
+
+        assertEquals(List.of(
+                row(day.atStartOfDay(), 2, "50.00"),
+                row(day.plusDays(1).atStartOfDay(), 1, "15.50")), breakdown(TimeGranularity.DAY).getRows());
+
+        SalesBreakdownResponse monthly = breakdown(TimeGranularity.MONTH);
+        assertEquals(List.of(row(day.atStartOfDay(), 3, "65.50")), monthly.getRows());
+        assertFalse(monthly.isTruncated());
+
+        assertThrows(BadRequestException.class, () -> reportService.getSalesBreakdown(day, day.plusYears(1),
+                TimeGranularity.HOUR, ReportDimension.NONE, "es"));
+        assertThrows(BadRequestException.class, () -> reportService.getSalesBreakdown(day, day.minusDays(1),
+                TimeGranularity.DAY, ReportDimension.NONE, "es"));
+    }
+
+    private SalesBreakdownResponse breakdown(TimeGranularity granularity) {
+        return reportService.getSalesBreakdown(day, day.plusDays(1), granularity, ReportDimension.NONE, "es");
+    }
+
+    private static SalesBreakdownRowResponse row(LocalDateTime bucket, long count, String amount) {
+        return SalesBreakdownRowResponse.builder()
+                .bucket(bucket)
+                .count(count)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private void order(LocalDateTime date, long statusId, String total) {
+        orderIds.add(jdbcTemplate.queryForObject("""
+                INSERT INTO orders (customer_id, date, order_status_id, order_type_id, total)
+                VALUES ((SELECT MIN(customer_id) FROM customers), ?, ?, ?, ?)
+                RETURNING order_id
+                """, Long.class, date, statusId, type, new BigDecimal(total)));
+    }
+
+    private long id(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
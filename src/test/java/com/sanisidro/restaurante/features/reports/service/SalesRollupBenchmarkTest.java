@@ -0,0 +1,213 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.features.orders.repository.OrderDetailRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.orders.repository.PaymentRepository;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeGranularity;
+import com.sanisidro.restaurante.features.reports.enums.ReportDimension;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Compara los reportes históricos calculados sobre 2 millones de órdenes (con dos
+ * detalles y un pago cada una) contra los mismos reportes leídos de los acumulados
+ * diarios, y mide cuánto cuesta construirlos, refrescar un día y pedir un año de
+ * ventas por período y dimensión. Se ejecuta solo con
+ * {@code mvn test -Pbenchmark}.
+ */
+@PostgresIntegrationTest
+@Tag("benchmark")
+class SalesRollupBenchmarkTest {
+
+    private static final int ORDERS = 2_000_000;
+    private static final int DAYS = 730;
+    private static final int RUNS = 5;
+    private static final List<String> VALID_STATUSES = List.of("COMPLETED", "DELIVERED", "PAID");
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LocalDate from;
+    private LocalDate to;
+
+    @BeforeEach
+    void setUp() {
+        from = LocalDate.of(2700, 1, 1);
+        to = from.plusDays(DAYS);
+        jdbcTemplate.update("""
+                    INSERT INTO orders (customer_id, date, order_status_id, order_type_id, total)
+                    SELECT c.id,
+                           CAST(? AS timestamp) + (g % ?) * interval '1 day' + (600 + g % 720) * interval '1 minute',
+                           s.ids[1 + g % array_length(s.ids, 1)],
+                           t.ids[1 + g % array_length(t.ids, 1)],
+                           ROUND((10 + g % 200) * 1.18, 2)
+                    FROM generate_series(1, ?) g,
+                         (SELECT MIN(customer_id) AS id FROM customers) c,
+                         (SELECT array_agg(order_status_id) AS ids FROM order_statuses) s,
+                         (SELECT array_agg(order_type_id) AS ids FROM order_types) t
+                """, from.atStartOfDay(), DAYS, ORDERS);
+        jdbcTemplate.update("""
+                    INSERT INTO order_details (order_id, product_id, quantity, unit_price)
+                    SELECT o.order_id,
+                           p.ids[1 + (o.order_id * 7 + k) % array_length(p.ids, 1)],
+                           1 + k,
+                           ROUND(o.total / 3, 2)
+                    FROM orders o
+                    CROSS JOIN generate_series(0, 1) k,
+                         (SELECT array_agg(product_id) AS ids FROM products) p
+                    WHERE o.date >= ? AND o.date < ?
+                """, from, to);
+        jdbcTemplate.update("""
+                    INSERT INTO payments (order_id, payment_method_id, amount, date, is_online, transaction_code, status)
+                    SELECT o.order_id,
+                           m.ids[1 + o.order_id % array_length(m.ids, 1)],
+                           o.total,
+                           o.date + interval '5 minutes',
+                           false,
+                           'BM-' || o.order_id,
+                           CASE WHEN o.order_id % 10 = 0 THEN 'PENDING' ELSE 'CONFIRMED' END
+                    FROM orders o,
+                         (SELECT array_agg(payment_method_id) AS ids FROM payment_methods) m
+                    WHERE o.date >= ? AND o.date < ?
+                """, from, to);
+        jdbcTemplate.execute("ANALYZE orders");
+        jdbcTemplate.execute("ANALYZE order_details");
+        jdbcTemplate.execute("ANALYZE payments");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("""
+                    DELETE FROM payments p USING orders o
+                    WHERE p.order_id = o.order_id AND o.date >= ? AND o.date < ?
+                """, from, to);
+        jdbcTemplate.update("""
+                    DELETE FROM order_details d USING orders o
+                    WHERE d.order_id = o.order_id AND o.date >= ? AND o.date < ?
+                """, from, to);
+        jdbcTemplate.update("DELETE FROM orders WHERE date >= ? AND date < ?", from, to);
+        rollupService.rebuild(from, to.plusDays(1));
+    }
+
+    @Test
+    void historicalReportsFromRollups() {
+        long began = System.nanoTime();
+        rollupService.rebuild(from, to.plusDays(1));
+        double rebuildMs = (System.nanoTime() - began) / 1e6;
+        jdbcTemplate.execute("ANALYZE daily_sales_rollups");
+        jdbcTemplate.execute("ANALYZE daily_product_sales_rollups");
+        jdbcTemplate.execute("ANALYZE daily_payment_rollups");
+
+        assertEquals(orderRepository.count(), rollupService.countOrders());
+        assertEquals(0, orderRepository.sumTotalByStatusCodes(VALID_STATUSES)
+                .compareTo(rollupService.sumTotalByStatusCodes(VALID_STATUSES)));
+        assertEquals(totals(orderRepository.findOrderTypeStatistics(), 2),
+                totals(rollupService.findOrderTypeStatistics(), 2));
+        assertEquals(totals(paymentRepository.findPaymentSummaryByMethod(), 2),
+                totals(rollupService.findPaymentSummaryByMethod(), 2));
+        assertEquals(totals(orderDetailRepository.findTopSellingProducts(), 3),
+                totals(rollupService.findTopSellingProducts(), 3));
+
+        System.out.printf("[benchmark] acumulados de ventas, %d órdenes en %d días: construcción %.0f ms%n",
+                ORDERS, DAYS, rebuildMs);
+        compare("cantidad de órdenes", orderRepository::count, rollupService::countOrders);
+        compare("ventas totales", () -> orderRepository.sumTotalByStatusCodes(VALID_STATUSES),
+                () -> rollupService.sumTotalByStatusCodes(VALID_STATUSES));
+        compare("órdenes por tipo", orderRepository::findOrderTypeStatistics,
+                rollupService::findOrderTypeStatistics);
+        compare("pagos por método", paymentRepository::findPaymentSummaryByMethod,
+                rollupService::findPaymentSummaryByMethod);
+        compare("productos más vendidos", orderDetailRepository::findTopSellingProducts,
+                rollupService::findTopSellingProducts);
+
+        LocalDate yearEnd = from.plusYears(1).minusDays(1);
+        for (ReportDimension dimension : ReportDimension.values()) {
+            for (TimeGranularity granularity : List.of(TimeGranularity.DAY, TimeGranularity.MONTH)) {
+                double ms = median(() -> reportService.getSalesBreakdown(from, yearEnd, granularity, dimension, "es"));
+                System.out.printf("[benchmark] ventas de un año por %s y %s: %.1f ms%n",
+                        granularity.getUnit(), dimension, ms);
+            }
+        }
+        double hourMs = median(() -> reportService.getSalesBreakdown(from, from.plusDays(6), TimeGranularity.HOUR,
+                ReportDimension.ORDER_TYPE, "es"));
+        System.out.printf("[benchmark] ventas de una semana por hora y ORDER_TYPE: %.1f ms%n", hourMs);
+
+        // Una orden nueva: se marca su día y el refresco recalcula solo ese día
+        LocalDateTime date = from.plusDays(DAYS / 2).atTime(13, 0);
+        jdbcTemplate.update("""
+                    INSERT INTO orders (customer_id, date, order_status_id, order_type_id, total)
+                    SELECT MIN(customer_id), ?, (SELECT MIN(order_status_id) FROM order_statuses),
+                           (SELECT MIN(order_type_id) FROM order_types), 11.80
+                    FROM customers
+                """, date);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> rollupService.markChanged(date));
+        began = System.nanoTime();
+        rollupService.refreshChangedDays();
+        double refreshMs = (System.nanoTime() - began) / 1e6;
+        assertEquals(orderRepository.count(), rollupService.countOrders());
+        System.out.printf("[benchmark] refresco incremental de un día (~%d órdenes): %.1f ms%n",
+                ORDERS / DAYS, refreshMs);
+    }
+
+    private void compare(String report, Supplier<?> direct, Supplier<?> rollup) {
+        double directMs = median(direct);
+        double rollupMs = median(rollup);
+        System.out.printf("[benchmark] %s: consulta directa %.1f ms, acumulados %.1f ms (%.0fx)%n",
+                report, directMs, rollupMs, directMs / rollupMs);
+    }
+
+    private static double median(Supplier<?> query) {
+        query.get();
+        double[] times = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long began = System.nanoTime();
+            query.get();
+            times[i] = (System.nanoTime() - began) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    /** Suma de una columna numérica de las filas, para comparar ambos lados. */
+    private static BigDecimal totals(List<Object[]> rows, int column) {
+        return rows.stream()
+                .map(row -> new BigDecimal(row[column].toString()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .stripTrailingZeros();
+    }
+}
@@ -0,0 +1,103 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.core.config.ReportProperties;
+import com.sanisidro.restaurante.core.config.TaxConfig;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+import com.sanisidro.restaurante.features.reports.repository.SalesRollupRepository;
+
+/**
+ * Marcas de días cambiados y recálculo de acumulados, sin base.
+ */
+class SalesRollupRefreshTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    private SalesRollupRepository repository;
+    private JdbcTemplate jdbcTemplate;
+    private SalesRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SalesRollupRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ReportProperties properties = new ReportProperties();
+        properties.setRollupRefreshBatchSize(3);
+        TaxConfig taxConfig = new TaxConfig();
+        taxConfig.setRate(new BigDecimal("0.18"));
+        service = new SalesRollupService(repository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), properties, taxConfig,
+                Clock.fixed(DAY.atTime(12, 0).atZone(TimeBuckets.ZONE).toInstant(), TimeBuckets.ZONE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void markChanged_ShouldMarkEachDayOnce() {
+        service.markChanged(DAY.atTime(9, 0), null, DAY.atTime(23, 59), DAY.minusDays(1).atTime(22, 0));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(any(String.class), rows.capture());
+        assertEquals(List.of(DAY.minusDays(1), DAY), rows.getValue().stream().map(row -> row[0]).toList());
+        assertEquals(DAY.atTime(12, 0), rows.getValue().get(0)[1]);
+
+        service.markChanged((LocalDateTime) null);
+        verify(jdbcTemplate).batchUpdate(any(String.class), any(List.class));
+    }
+
+    @Test
+    void refreshChangedDays_ShouldRecomputeDistinctDaysUntilABatchIsPartial() {
+        when(repository.tryLock(anyLong())).thenReturn(true);
+        when(repository.claimChangedDays(3)).thenReturn(
+                List.of(Date.valueOf(DAY), Date.valueOf(DAY), Date.valueOf(DAY.plusDays(1))),
+                List.of(Date.valueOf(DAY.plusDays(2))));
+
+        assertEquals(3, service.refreshChangedDays());
+
+        verify(repository).deleteSales(DAY, DAY.plusDays(1));
+        verify(repository).deleteSales(DAY.plusDays(1), DAY.plusDays(2));
+        verify(repository).deleteSales(DAY.plusDays(2), DAY.plusDays(3));
+        // IGV incluido en el total: 0.18 / 1.18
+        ArgumentCaptor<BigDecimal> taxShare = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(repository).insertSales(eq(DAY), eq(DAY.plusDays(1)), taxShare.capture());
+        assertEquals(new BigDecimal("0.1525"), taxShare.getValue().setScale(4, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void refreshChangedDays_WhenAnotherInstanceHoldsTheLock_ShouldLeaveTheMarks() {
+        when(repository.tryLock(anyLong())).thenReturn(false);
+
+        assertEquals(0, service.refreshChangedDays());
+        verify(repository, never()).claimChangedDays(3);
+    }
+
+    @Test
+    void rebuild_ShouldSplitLongRangesIntoMonthlyChunks() {
+        service.rebuild(DAY, DAY.plusDays(40));
+
+        verify(repository).deleteSales(DAY, DAY.plusDays(31));
+        verify(repository).deleteSales(DAY.plusDays(31), DAY.plusDays(40));
+    }
+}
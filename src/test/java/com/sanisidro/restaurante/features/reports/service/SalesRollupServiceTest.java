@@ -0,0 +1,176 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que los días marcados se recalculen con los mismos
+ * totales que las tablas de órdenes y pagos, también cuando una orden cambia de
+ * estado o de día.
+ */
+@PostgresIntegrationTest
+class SalesRollupServiceTest {
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> orderIds = new ArrayList<>();
+    private LocalDate day;
+    private long completed;
+    private long cancelled;
+    private long type;
+    private long product;
+    private long method;
+
+    @BeforeEach
+    void setUp() {
+        // Un día lejano que ninguna otra prueba usa
+        day = LocalDate.of(2600, 1, 1).plusDays(System.nanoTime() % 3000);
+        completed = id("SELECT order_status_id FROM order_statuses WHERE code = 'COMPLETED'");
+        cancelled = id("SELECT order_status_id FROM order_statuses WHERE code = 'CANCELLED'");
+        type = id("SELECT MIN(order_type_id) FROM order_types");
+        product = id("SELECT MIN(product_id) FROM products");
+        method = id("SELECT MIN(payment_method_id) FROM payment_methods");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Long[] ids = orderIds.toArray(Long[]::new);
+        jdbcTemplate.update("DELETE FROM payments WHERE order_id = ANY (?)", (Object) ids);
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id = ANY (?)", (Object) ids);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = ANY (?)", (Object) ids);
+        rollupService.rebuild(day, day.plusDays(2));
+    }
+
+    @Test
+    void refreshChangedDays_ShouldMatchOrdersAndPaymentsOfEachDay() {
+        long first = order(day.atTime(12, 0), completed, "118.00");
+        detail(first, 2, "59.00");
+        payment(first, day.atTime(12, 30), "118.00", "CONFIRMED");
+        long second = order(day.atTime(20, 0), completed, "23.60");
+        detail(second, 1, "23.60");
+        payment(second, day.atTime(20, 10), "23.60", "PENDING");
+        long third = order(day.plusDays(1).atTime(9, 0), completed, "50.00");
+        markChanged(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        refreshUntilApplied();
+
+        assertEquals(List.of(sale(2, "141.60", "21.60")), sales(day, completed));
+        assertEquals(List.of(Map.of("quantity", 3L, "revenue", new BigDecimal("141.60"))), products(day));
+        assertEquals(List.of(Map.of("payment_count", 1L, "amount", new BigDecimal("118.00"))), payments(day));
+        assertEquals(List.of(sale(1, "50.00", "7.63")), sales(day.plusDays(1), completed));
+
+        // La segunda se cancela y la tercera pasa al día anterior: cambian ambos días
+        jdbcTemplate.update("UPDATE orders SET order_status_id = ? WHERE order_id = ?", cancelled, second);
+        jdbcTemplate.update("UPDATE orders SET date = ? WHERE order_id = ?", day.atTime(21, 0), third);
+        markChanged(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        refreshUntilApplied();
+
+        assertEquals(List.of(sale(2, "168.00", "25.63")), sales(day, completed));
+        assertEquals(List.of(sale(1, "23.60", "3.60")), sales(day, cancelled));
+        assertTrue(sales(day.plusDays(1), completed).isEmpty());
+    }
+
+    private void markChanged(LocalDateTime... dates) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> rollupService.markChanged(dates));
+    }
+
+    /**
+     * El refresco programado puede tomar las marcas antes que la prueba; las marcas
+     * se borran en la misma transacción que escribe los acumulados, así que cuando ya
+     * no quedan los totales están a la vista.
+     */
+    private void refreshUntilApplied() {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            rollupService.refreshChangedDays();
+            Integer pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM sales_rollup_changes WHERE sales_day BETWEEN ? AND ?",
+                    Integer.class, day, day.plusDays(1));
+            if (pending == 0) {
+                return;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        throw new AssertionError("Quedaron días sin recalcular");
+    }
+
+    private List<Map<String, Object>> sales(LocalDate salesDay, long statusId) {
+        return jdbcTemplate.queryForList("""
+                SELECT order_count, total, tax FROM daily_sales_rollups
+                WHERE sales_day = ? AND order_type_id = ? AND order_status_id = ?
+                """, salesDay, type, statusId);
+    }
+
+    private static Map<String, Object> sale(long count, String total, String tax) {
+        return Map.of("order_count", count, "total", new BigDecimal(total), "tax", new BigDecimal(tax));
+    }
+
+    private List<Map<String, Object>> products(LocalDate salesDay) {
+        return jdbcTemplate.queryForList("""
+                SELECT quantity, revenue FROM daily_product_sales_rollups
+                WHERE sales_day = ? AND product_id = ?
+                """, salesDay, product);
+    }
+
+    private List<Map<String, Object>> payments(LocalDate salesDay) {
+        return jdbcTemplate.queryForList("""
+                SELECT payment_count, amount FROM daily_payment_rollups
+                WHERE sales_day = ? AND payment_method_id = ?
+                """, salesDay, method);
+    }
+
+    private long order(LocalDateTime date, long statusId, String total) {
+        Long orderId = jdbcTemplate.queryForObject("""
+                INSERT INTO orders (customer_id, date, order_status_id, order_type_id, total)
+                VALUES ((SELECT MIN(customer_id) FROM customers), ?, ?, ?, ?)
+                RETURNING order_id
+                """, Long.class, date, statusId, type, new BigDecimal(total));
+        orderIds.add(orderId);
+        return orderId;
+    }
+
+    private void detail(long orderId, int quantity, String unitPrice) {
+        jdbcTemplate.update("INSERT INTO order_details (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)",
+                orderId, product, quantity, new BigDecimal(unitPrice));
+    }
+
+    private void payment(long orderId, LocalDateTime date, String amount, String status) {
+        jdbcTemplate.update("""
+                INSERT INTO payments (order_id, payment_method_id, amount, date, is_online, transaction_code, status)
+                VALUES (?, ?, ?, ?, false, ?, ?)
+                """, orderId, method, new BigDecimal(amount), date, "RT-" + orderId, status);
+    }
+
+    private long id(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,194 @@
+package com.sanisidro.restaurante.features.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sanisidro.restaurante.features.orders.registry.OrderReferenceData;
+import com.sanisidro.restaurante.features.orders.repository.OrderDetailRepository;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.reports.aggregation.TimeBuckets;
+import com.sanisidro.restaurante.features.reports.enums.TopProductsWindow;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Verifica contra PostgreSQL que el top-K de cada ventana sea el mismo que da la
+ * consulta SQL equivalente: al cargar, después de cancelar, cambiar y crear órdenes,
+ * y a medida que el reloj deja órdenes fuera de las ventanas.
+ */
+@PostgresIntegrationTest
+class TopProductsServiceTest {
+
+    private static final int ORDERS = 400;
+    private static final int LIMIT = 5;
+
+    @Autowired
+    private OrderDetailRepository orderDetailRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderReferenceData referenceData;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> orderIds = new ArrayList<>();
+    private final Random random = new Random(42);
+    private MutableClock clock;
+    private TopProductsService service;
+    private LocalDateTime now;
+    private List<Long> products;
+    private long completed;
+    private long cancelled;
+
+    @BeforeEach
+    void setUp() {
+        // Una fecha lejana que ninguna otra prueba usa
+        now = LocalDateTime.of(3000, 3, 15, 12, 30, 20);
+        clock = new MutableClock(now.atZone(TimeBuckets.ZONE).toInstant());
+        service = new TopProductsService(orderDetailRepository, referenceData, clock);
+        products = jdbcTemplate.queryForList("SELECT product_id FROM products ORDER BY product_id LIMIT 12", Long.class);
+        completed = jdbcTemplate.queryForObject(
+                "SELECT order_status_id FROM order_statuses WHERE code = 'COMPLETED'", Long.class);
+        cancelled = jdbcTemplate.queryForObject(
+                "SELECT order_status_id FROM order_statuses WHERE code = 'CANCELLED'", Long.class);
+
+        for (int i = 0; i < ORDERS; i++) {
+            // Más de la mitad en los últimos 2 días, para que la última hora y hoy tengan datos
+            long minutesAgo = i % 2 == 0 ? random.nextInt(2 * 24 * 60) : random.nextInt(35 * 24 * 60);
+            randomOrder(now.minusMinutes(minutesAgo), i % 17 == 0 ? cancelled : completed);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        Long[] ids = orderIds.toArray(Long[]::new);
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id = ANY (?)", (Object) ids);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = ANY (?)", (Object) ids);
+    }
+
+    @Test
+    void getTopProducts_ShouldMatchSqlAcrossChangesAndTime() {
+        service.reload();
+        assertMatchesSql();
+
+        // Se cancela una orden de hoy, se rehace otra con otros productos y llegan nuevas
+        long toCancel = orderIds.get(0);
+        jdbcTemplate.update("UPDATE orders SET order_status_id = ? WHERE order_id = ?", cancelled, toCancel);
+        notifyChanged(toCancel);
+        long toChange = orderIds.get(2);
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id = ?", toChange);
+        detail(toChange, products.get(0), 7);
+        notifyChanged(toChange);
+        for (int i = 0; i < 20; i++) {
+            notifyChanged(randomOrder(now.minusMinutes(random.nextInt(90)), completed));
+        }
+        long toDelete = orderIds.get(4);
+        jdbcTemplate.update("DELETE FROM order_details WHERE order_id = ?", toDelete);
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = ?", toDelete);
+        service.orderRemoved(toDelete);
+        assertMatchesSql();
+
+        for (Duration step : List.of(Duration.ofMinutes(25), Duration.ofHours(13), Duration.ofDays(3),
+                Duration.ofDays(10))) {
+            clock.advance(step);
+            now = now.plus(step);
+            assertMatchesSql();
+        }
+    }
+
+    private void assertMatchesSql() {
+        for (TopProductsWindow window : TopProductsWindow.values()) {
+            List<List<Object>> expected = jdbcTemplate.query("""
+                    SELECT d.product_id, SUM(d.quantity), SUM(d.quantity * d.unit_price)
+                    FROM orders o
+                    JOIN order_statuses s ON s.order_status_id = o.order_status_id
+                    JOIN order_details d ON d.order_id = o.order_id
+                    WHERE o.date >= ? AND s.code <> 'CANCELLED'
+                    GROUP BY d.product_id
+                    ORDER BY 2 DESC, 3 DESC, 1
+                    LIMIT ?
+                    """, (rs, rowNum) -> List.<Object>of(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3)),
+                    window.from(now), LIMIT);
+            List<List<Object>> actual = service.getTopProducts(window, LIMIT).stream()
+                    .map(product -> List.<Object>of(product.getProductId(), product.getTotalQuantitySold(),
+                            product.getTotalRevenue()))
+                    .toList();
+            assertEquals(expected, actual, window.name());
+        }
+    }
+
+    /** Avisa la orden como lo hace {@code OrderService}: dentro de la transacción. */
+    private void notifyChanged(long orderId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> service.orderChanged(orderRepository.findById(orderId).orElseThrow()));
+    }
+
+    private long randomOrder(LocalDateTime date, long statusId) {
+        Long orderId = jdbcTemplate.queryForObject("""
+                INSERT INTO orders (customer_id, date, order_status_id, order_type_id, total)
+                VALUES ((SELECT MIN(customer_id) FROM customers), ?, ?, (SELECT MIN(order_type_id) FROM order_types),
+                        0)
+                RETURNING order_id
+                """, Long.class, date, statusId);
+        orderIds.add(orderId);
+        int lines = 1 + random.nextInt(3);
+        for (int j = 0; j < lines; j++) {
+            detail(orderId, products.get(random.nextInt(products.size())), 1 + random.nextInt(4));
+        }
+        return orderId;
+    }
+
+    private void detail(long orderId, long productId, int quantity) {
+        jdbcTemplate.update("INSERT INTO order_details (order_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?)",
+                orderId, productId, quantity, new BigDecimal(5 + productId % 7).add(new BigDecimal("0.90")));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return TimeBuckets.ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
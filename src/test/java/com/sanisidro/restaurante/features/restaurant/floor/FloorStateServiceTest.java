@@ -0,0 +1,162 @@
+package com.sanisidro.restaurante.features.restaurant.floor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.restaurant.dto.floor.response.FloorStateResponse;
+import com.sanisidro.restaurante.features.restaurant.dto.floor.response.FloorTableResponse;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+class FloorStateServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 3, 20, 0);
+
+    @Mock
+    private TableRepository tableRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private TableOccupancyIndex occupancyIndex;
+    private FloorStateService floorStateService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReservationProperties properties = new ReservationProperties();
+        occupancyIndex = new TableOccupancyIndex(tableRepository, properties);
+        floorStateService = new FloorStateService(tableRepository, messagingTemplate, properties, occupancyIndex,
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+        when(tableRepository.findAll()).thenReturn(List.of(table(1L, 4), table(2L, 6)));
+        // Orden abierta a las 19:00 en la mesa 1; reserva de 21:00 a 22:30 (buffer de 10) en la 2
+        when(tableRepository.findOccupancyAround(any(), any())).thenReturn(List.of(
+                new Object[] { "O", 10L, 1L, 19 * 60, 20 * 60 + 30 },
+                new Object[] { "R", 20L, 2L, 20 * 60 + 50, 22 * 60 + 30 }));
+    }
+
+    @Test
+    void getFloorState_ShouldProjectTablesFromASingleOccupancyQuery() {
+        FloorStateResponse state = floorStateService.getFloorState();
+
+        FloorTableResponse first = state.getTables().get(0);
+        assertEquals(TableStatus.OCCUPIED, first.getStatus());
+        assertEquals(10L, first.getCurrentOrderId());
+        assertEquals(60L, first.getElapsedMinutes());
+        assertEquals(4, first.getSeats());
+
+        FloorTableResponse second = state.getTables().get(1);
+        assertEquals(TableStatus.FREE, second.getStatus());
+        assertNull(second.getCurrentOrderId());
+        assertEquals(20L, second.getNextReservationId());
+        assertEquals(NOW.withHour(21), second.getNextReservationAt());
+    }
+
+    @Test
+    void orderEvents_ShouldPushOneDeltaPerTableWithoutReloading() {
+        long sequence = floorStateService.getFloorState().getSequence();
+
+        occupancyIndex.orderOpened(11L, 2L, NOW.minusMinutes(5), 90);
+        occupancyIndex.orderClosed(10L);
+        occupancyIndex.tableStatusChanged(1L, TableStatus.FREE);
+
+        ArgumentCaptor<FloorTableResponse> deltas = ArgumentCaptor.forClass(FloorTableResponse.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq(FloorStateService.TOPIC), deltas.capture());
+        FloorTableResponse opened = deltas.getAllValues().get(0);
+        FloorTableResponse closed = deltas.getAllValues().get(1);
+        assertEquals(2L, opened.getTableId());
+        assertEquals(11L, opened.getCurrentOrderId());
+        assertEquals(1L, closed.getTableId());
+        assertNull(closed.getCurrentOrderId());
+        assertEquals(TableStatus.FREE, closed.getStatus());
+        assertTrue(sequence < opened.getSequence() && opened.getSequence() < closed.getSequence());
+
+        FloorStateResponse state = floorStateService.getFloorState();
+        assertEquals(closed.getSequence(), state.getSequence());
+        assertEquals(Long.valueOf(11L), floorStateService.getCurrentOrderIds().get(2L));
+        verify(tableRepository, times(1)).findOccupancyAround(any(), any());
+        verify(tableRepository, times(1)).findAll();
+    }
+
+    @Test
+    void invalidated_ShouldOnlyMarkStaleAndReloadOnTheNextRead() {
+        floorStateService.getFloorState();
+        when(tableRepository.findAll()).thenReturn(List.of(table(1L, 4)));
+
+        occupancyIndex.invalidateAll();
+
+        // El aviso no consulta la base ni publica; lo hace la próxima lectura
+        verify(tableRepository, times(1)).findAll();
+        verify(messagingTemplate, never()).convertAndSend(eq(FloorStateService.TOPIC), any(Object.class));
+
+        FloorStateResponse state = floorStateService.getFloorState();
+
+        assertEquals(1, state.getTables().size());
+        verify(tableRepository, times(2)).findAll();
+        ArgumentCaptor<FloorTableResponse> deltas = ArgumentCaptor.forClass(FloorTableResponse.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq(FloorStateService.TOPIC), deltas.capture());
+        assertEquals(2L, deltas.getAllValues().get(0).getTableId());
+        assertTrue(deltas.getAllValues().get(0).isRemoved());
+        assertEquals(1L, deltas.getAllValues().get(1).getTableId());
+        assertFalse(deltas.getAllValues().get(1).isRemoved());
+    }
+
+    @Test
+    void getFloorState_WhenAnEventArrivesDuringTheLoad_ShouldLoadAgain() {
+        AtomicInteger loads = new AtomicInteger();
+        when(tableRepository.findOccupancyAround(any(), any())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                // Otra transacción cierra la orden mientras se consulta
+                occupancyIndex.orderClosed(10L);
+                return List.<Object[]>of(new Object[] { "O", 10L, 1L, 19 * 60, 20 * 60 + 30 });
+            }
+            return List.of();
+        });
+
+        FloorStateResponse state = floorStateService.getFloorState();
+
+        assertEquals(2, loads.get());
+        assertNull(state.getTables().get(0).getCurrentOrderId());
+    }
+
+    private static TableEntity table(Long id, int capacity) {
+        return TableEntity.builder()
+                .id(id)
+                .code("M" + id)
+                .capacity(capacity)
+                .minCapacity(1)
+                .optimalCapacity(capacity)
+                .openTime(LocalTime.of(12, 0))
+                .closeTime(LocalTime.of(23, 30))
+                .reservationDurationMinutes(90)
+                .bufferBeforeMinutes(10)
+                .status(TableStatus.FREE)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.sanisidro.restaurante.features.restaurant.occupancy;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex.DayOccupancy;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+class TableOccupancyIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 1);
+
+    @Mock
+    private TableRepository tableRepository;
+
+    private TableOccupancyIndex index;
+    private final List<Object[]> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Clock clock = Clock.fixed(DAY.atTime(8, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        index = new TableOccupancyIndex(tableRepository, new ReservationProperties(), clock);
+
+        // Mesa 1: reserva 13:00-14:00 y orden en salón 19:00-20:30
+        rows.add(new Object[] { "R", 10L, 1L, 13 * 60, 14 * 60 });
+        rows.add(new Object[] { "O", 20L, 1L, 19 * 60, 20 * 60 + 30 });
+        // Mesa 2: reserva del día anterior que termina a las 00:30
+        rows.add(new Object[] { "R", 11L, 2L, -30, 30 });
+        when(tableRepository.findOccupancyAround(eq(DAY), any())).thenReturn(rows);
+    }
+
+    @Test
+    void forDay_ShouldAnswerOverlapsFromASingleQuery() {
+        DayOccupancy occupancy = index.forDay(DAY);
+
+        assertFalse(occupancy.isFree(1L, at(12, 30), at(13, 30)));
+        assertTrue(occupancy.isFree(1L, at(14, 0), at(15, 0)));
+        assertFalse(occupancy.isFree(1L, at(20, 0), at(21, 0)));
+        assertFalse(occupancy.isFree(2L, at(0, 0), at(1, 0)));
+        assertTrue(occupancy.isFree(3L, at(12, 0), at(23, 0)));
+
+        index.forDay(DAY);
+        verify(tableRepository, times(1)).findOccupancyAround(eq(DAY), any());
+    }
+
+    @Test
+    void reservationChanges_ShouldUpdateLoadedDayIncrementally() {
+        DayOccupancy occupancy = index.forDay(DAY);
+
+        Reservation moved = reservation(10L, 1L, LocalTime.of(16, 0), ReservationStatus.CONFIRMED);
+        index.reservationChanged(moved);
+        assertTrue(occupancy.isFree(1L, at(13, 0), at(14, 0)));
+        assertFalse(occupancy.isFree(1L, at(16, 30), at(17, 0)));
+
+        index.reservationChanged(reservation(10L, 1L, LocalTime.of(16, 0), ReservationStatus.CANCELLED));
+        assertTrue(occupancy.isFree(1L, at(16, 0), at(17, 0)));
+
+        index.orderClosed(20L);
+        assertTrue(occupancy.isFree(1L, at(19, 0), at(21, 0)));
+
+        verify(tableRepository, times(1)).findOccupancyAround(eq(DAY), any());
+    }
+
+    @Test
+    void forDay_WhenAChangeArrivesDuringLoad_ShouldNotCacheStaleDay() {
+        when(tableRepository.findOccupancyAround(eq(DAY), any())).thenAnswer(inv -> {
+            index.reservationChanged(reservation(30L, 1L, LocalTime.of(10, 0), ReservationStatus.PENDING));
+            return rows;
+        });
+
+        index.forDay(DAY);
+        index.forDay(DAY);
+
+        verify(tableRepository, times(2)).findOccupancyAround(eq(DAY), any());
+    }
+
+    private Reservation reservation(Long id, Long tableId, LocalTime time, ReservationStatus status) {
+        Reservation reservation = Reservation.builder()
+                .table(TableEntity.builder().id(tableId).reservationDurationMinutes(60).build())
+                .reservationDate(DAY)
+                .reservationTime(time)
+                .status(status)
+                .build();
+        reservation.setId(id);
+        reservation.updatePeriod(0, 0);
+        return reservation;
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+}
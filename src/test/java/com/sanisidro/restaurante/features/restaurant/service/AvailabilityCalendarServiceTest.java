@@ -0,0 +1,126 @@
+package com.sanisidro.restaurante.features.restaurant.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.restaurant.dto.table.response.AvailabilityCalendarResponse;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AvailabilityCalendarServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 10, 1);
+
+    @Mock
+    private TableRepository tableRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private TableOccupancyIndex occupancyIndex;
+    private AvailabilityCalendarService calendarService;
+    private SimpleMeterRegistry meterRegistry;
+    private TableEntity couple;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReservationProperties properties = new ReservationProperties();
+        occupancyIndex = new TableOccupancyIndex(tableRepository, properties);
+        meterRegistry = new SimpleMeterRegistry();
+        calendarService = new AvailabilityCalendarService(tableRepository, occupancyIndex,
+                new TableService(tableRepository, properties, orderRepository, occupancyIndex),
+                properties, meterRegistry);
+
+        couple = table(1L, 1, 2);
+        when(tableRepository.findAll()).thenReturn(List.of(couple, table(2L, 3, 4)));
+        when(tableRepository.findOccupancyAround(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void getCalendar_RepeatedRange_ShouldServeDaysFromSummaries() {
+        AvailabilityCalendarResponse first = calendarService.getCalendar(FROM, FROM.plusDays(6), null);
+        AvailabilityCalendarResponse second = calendarService.getCalendar(FROM, FROM.plusDays(6), null);
+
+        assertEquals(first, second);
+        assertEquals(List.of("1-2", "3-4", "5-6", "7-8", "9-10"), first.getPartyBuckets());
+        // 12:00-14:00, una hora por reserva, cada 30 minutos
+        assertEquals(List.of("12:00", "12:30", "13:00"), first.getDays().get(0).getAvailableTimes().get("1-2"));
+        assertTrue(first.getDays().get(0).getAvailableTimes().get("5-6").isEmpty());
+
+        verify(tableRepository, times(1)).findAll();
+        assertEquals(7, counter("miss"));
+        assertEquals(7, counter("hit"));
+    }
+
+    @Test
+    void getCalendar_AfterBooking_ShouldRecomputeOnlyThatDay() {
+        calendarService.getCalendar(FROM, FROM.plusDays(2), 2);
+
+        Reservation booked = Reservation.builder()
+                .table(couple)
+                .reservationDate(FROM.plusDays(1))
+                .reservationTime(LocalTime.of(12, 0))
+                .status(ReservationStatus.CONFIRMED)
+                .build();
+        booked.setId(50L);
+        booked.updatePeriod(0, 0);
+        occupancyIndex.reservationChanged(booked);
+
+        AvailabilityCalendarResponse calendar = calendarService.getCalendar(FROM, FROM.plusDays(2), 2);
+
+        assertEquals(List.of("1-2"), calendar.getPartyBuckets());
+        assertEquals(List.of("13:00"), calendar.getDays().get(1).getAvailableTimes().get("1-2"));
+        assertFalse(calendar.getDays().get(0).getAvailableTimes().get("1-2").isEmpty());
+        assertEquals(4, counter("miss"));
+        assertEquals(2, counter("hit"));
+    }
+
+    @Test
+    void getCalendar_ShouldRejectRangesOverTheLimit() {
+        assertThrows(BadRequestException.class, () -> calendarService.getCalendar(FROM, FROM.plusDays(30), null));
+        assertThrows(BadRequestException.class, () -> calendarService.getCalendar(FROM, FROM.minusDays(1), null));
+        assertThrows(BadRequestException.class, () -> calendarService.getCalendar(FROM, FROM, 11));
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("reservations.calendar.days").tag("result", result).counter().count();
+    }
+
+    private TableEntity table(Long id, int minCapacity, int capacity) {
+        return TableEntity.builder()
+                .id(id)
+                .code("T" + id)
+                .capacity(capacity)
+                .minCapacity(minCapacity)
+                .openTime(LocalTime.of(12, 0))
+                .closeTime(LocalTime.of(14, 0))
+                .reservationDurationMinutes(60)
+                .bufferBeforeMinutes(0)
+                .bufferAfterMinutes(0)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.sanisidro.restaurante.features.restaurant.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Customer;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.CustomerRepository;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.restaurant.dto.table.response.TableAvailabilityResponse;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+import com.sanisidro.restaurante.support.PostgresIntegrationTest;
+
+/**
+ * Compara la pantalla de disponibilidad de un día (25 mesas, 12 horas) calculada
+ * con una consulta de solapamiento por franja y mesa contra el índice de ocupación.
+ * Se ejecuta solo con {@code mvn test -Pbenchmark}.
+ */
+@PostgresIntegrationTest
+@Tag("benchmark")
+class TableAvailabilityBenchmarkTest {
+
+    private static final int TABLES = 25;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private TableService tableService;
+
+    @Autowired
+    private TableOccupancyIndex occupancyIndex;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ReservationProperties reservationProperties;
+
+    private final List<TableEntity> tables = new ArrayList<>();
+    private final List<Reservation> reservations = new ArrayList<>();
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.of(2090, 1, 1).plusDays(System.nanoTime() % 3000);
+        String suffix = Long.toString(System.nanoTime() % 1_000_000L, 36);
+        Customer customer = customerRepository.findAll().get(0);
+
+        for (int i = 0; i < TABLES; i++) {
+            TableEntity table = tableRepository.save(TableEntity.builder()
+                    .code("B" + suffix + "-" + i)
+                    .alias("Banco " + i)
+                    .capacity(2 + i % 6)
+                    .minCapacity(1)
+                    .optimalCapacity(2 + i % 6)
+                    .priority(1)
+                    .openTime(LocalTime.of(10, 0))
+                    .closeTime(LocalTime.of(22, 0))
+                    .reservationDurationMinutes(60)
+                    .bufferBeforeMinutes(10)
+                    .bufferAfterMinutes(15)
+                    .status(TableStatus.FREE)
+                    .build());
+            tables.add(table);
+
+            // Tres reservas por mesa repartidas en el día
+            for (int r = 0; r < 3; r++) {
+                Reservation reservation = Reservation.builder()
+                        .customer(customer)
+                        .table(table)
+                        .reservationDate(day)
+                        .reservationTime(LocalTime.of(11 + r * 3 + i % 3, (i % 2) * 30))
+                        .numberOfPeople(2)
+                        .status(r == 2 ? ReservationStatus.PENDING : ReservationStatus.CONFIRMED)
+                        .build();
+                reservation.updatePeriod(table.getBufferBeforeMinutes(), table.getBufferAfterMinutes());
+                reservations.add(reservationRepository.save(reservation));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll(reservations);
+        tableRepository.deleteAll(tables);
+        occupancyIndex.invalidateAll();
+    }
+
+    @Test
+    void dayAvailabilityScreen() {
+        LocalDateTime date = day.atStartOfDay();
+
+        // Ruta anterior: una consulta de solapamiento por franja de 30 minutos y mesa
+        int[] queries = new int[1];
+        Map<Long, List<String>> before = null;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            queries[0] = 0;
+            before = perSlotQueries(date, queries);
+        }
+        long perSlotNanos = (System.nanoTime() - start) / ROUNDS;
+
+        occupancyIndex.invalidateAll();
+        start = System.nanoTime();
+        List<TableAvailabilityResponse> cold = tableService.getTablesWithAvailableTimes(2, date, false);
+        long coldNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<TableAvailabilityResponse> warm = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            warm = tableService.getTablesWithAvailableTimes(2, date, false);
+        }
+        long warmNanos = (System.nanoTime() - start) / ROUNDS;
+
+        Map<Long, List<String>> after = new LinkedHashMap<>();
+        for (TableAvailabilityResponse table : warm) {
+            if (before.containsKey(table.getId())) {
+                after.put(table.getId(), table.getAvailableTimes());
+            }
+        }
+        assertEquals(before, after);
+        assertEquals(cold.size(), warm.size());
+
+        System.out.printf("[benchmark] disponibilidad de un día, %d mesas: por franja %.2f ms (%d consultas), "
+                + "índice en frío %.2f ms (2 consultas), índice en caliente %.2f ms (1 consulta)%n",
+                TABLES, perSlotNanos / 1e6, queries[0], coldNanos / 1e6, warmNanos / 1e6);
+    }
+
+    /**
+     * Réplica del cálculo anterior de {@code TableService.calculateAvailableTimes}.
+     */
+    private Map<Long, List<String>> perSlotQueries(LocalDateTime date, int[] queries) {
+        Map<Long, List<String>> result = new LinkedHashMap<>();
+        for (TableEntity table : tables) {
+            List<String> times = new ArrayList<>();
+            LocalDateTime slot = LocalDateTime.of(date.toLocalDate(), table.getOpenTime());
+            LocalDateTime endOfDay = LocalDateTime.of(date.toLocalDate(), table.getCloseTime());
+            int before = table.getBufferBeforeMinutes() != null ? table.getBufferBeforeMinutes()
+                    : reservationProperties.getBufferBeforeMinutes();
+            int after = table.getBufferAfterMinutes() != null ? table.getBufferAfterMinutes()
+                    : reservationProperties.getBufferAfterMinutes();
+
+            while (!slot.plusMinutes(table.getReservationDurationMinutes()).isAfter(endOfDay)) {
+                LocalDateTime slotStart = slot.minusMinutes(before);
+                LocalDateTime slotEnd = slot.plusMinutes(table.getReservationDurationMinutes() + after);
+                if (!slotStart.toLocalTime().isBefore(table.getOpenTime())
+                        && !slotEnd.toLocalTime().isAfter(table.getCloseTime())) {
+                    queries[0]++;
+                    if (reservationRepository.findOverlappingReservations(table.getId(),
+                            slotStart.atZone(Reservation.RESTAURANT_ZONE).toOffsetDateTime(),
+                            slotEnd.atZone(Reservation.RESTAURANT_ZONE).toOffsetDateTime())
+                            .isEmpty()) {
+                        times.add(slot.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")));
+                    }
+                }
+                slot = slot.plusMinutes(30);
+            }
+            result.put(table.getId(), times);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,177 @@
+package com.sanisidro.restaurante.features.restaurant.waitlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.sanisidro.restaurante.core.config.ReservationProperties;
+import com.sanisidro.restaurante.core.exceptions.BadRequestException;
+import com.sanisidro.restaurante.core.exceptions.ConflictException;
+import com.sanisidro.restaurante.features.customers.enums.ReservationStatus;
+import com.sanisidro.restaurante.features.customers.model.Reservation;
+import com.sanisidro.restaurante.features.customers.repository.ReservationRepository;
+import com.sanisidro.restaurante.features.orders.model.Order;
+import com.sanisidro.restaurante.features.orders.repository.OrderRepository;
+import com.sanisidro.restaurante.features.restaurant.dto.waitlist.request.WaitlistRequest;
+import com.sanisidro.restaurante.features.restaurant.dto.waitlist.response.WaitlistEntryResponse;
+import com.sanisidro.restaurante.features.restaurant.enums.TableStatus;
+import com.sanisidro.restaurante.features.restaurant.enums.WaitlistStatus;
+import com.sanisidro.restaurante.features.restaurant.model.TableEntity;
+import com.sanisidro.restaurante.features.restaurant.occupancy.TableOccupancyIndex;
+import com.sanisidro.restaurante.features.restaurant.repository.TableRepository;
+
+class WaitlistServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 10, 3, 20, 0);
+
+    @Mock
+    private TableRepository tableRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private TableOccupancyIndex occupancyIndex;
+    private WaitlistService waitlistService;
+    private TableEntity first;
+    private TableEntity second;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReservationProperties properties = new ReservationProperties();
+        occupancyIndex = new TableOccupancyIndex(tableRepository, properties);
+        waitlistService = new WaitlistService(tableRepository, orderRepository, reservationRepository,
+                messagingTemplate, properties, occupancyIndex, Clock.fixed(NOW.toInstant(ZoneOffset.UTC),
+                        ZoneOffset.UTC));
+
+        first = table(1L);
+        second = table(2L);
+        when(tableRepository.findAll()).thenReturn(List.of(first, second));
+        when(tableRepository.findTurnTimesByCapacity(any())).thenReturn(List.of());
+        when(reservationRepository.findByReservationDateAndStatusIn(any(), any())).thenReturn(List.of());
+        // Mesa 1 ocupada desde las 19:00 y mesa 2 desde las 19:50, con 90 minutos de mesa
+        when(orderRepository.findActiveOrdersByType(any(), any())).thenReturn(List.of(
+                order(10L, first, NOW.minusMinutes(60)),
+                order(11L, second, NOW.minusMinutes(10))));
+    }
+
+    @Test
+    void join_ShouldPredictWaitFromOpenOrdersAndOfferTheTableWhenItFrees() {
+        WaitlistEntryResponse firstParty = waitlistService.join(request(4));
+        WaitlistEntryResponse secondParty = waitlistService.join(request(3));
+
+        assertEquals(30, firstParty.getPredictedWaitMinutes());
+        assertEquals(80, secondParty.getPredictedWaitMinutes());
+
+        // La mesa 1 se libera antes de lo previsto: se ofrece al primero de la fila
+        occupancyIndex.orderClosed(10L);
+
+        List<WaitlistEntryResponse> waitlist = waitlistService.getWaitlist();
+        assertEquals(WaitlistStatus.OFFERED, waitlist.get(0).getStatus());
+        assertEquals(first.getId(), waitlist.get(0).getOfferedTableId());
+        assertEquals(WaitlistStatus.WAITING, waitlist.get(1).getStatus());
+        // Esa mesa duró 60 minutos: el tiempo de mesa esperado baja de 90 a 84
+        assertEquals(74, waitlist.get(1).getPredictedWaitMinutes());
+
+        // Todo se recalculó en memoria, sin volver a consultar las mesas
+        verify(orderRepository, times(1)).findActiveOrdersByType(any(), any());
+        verify(tableRepository, times(1)).findAll();
+    }
+
+    @Test
+    void reservationChanged_ShouldPushTheWaitPastAnUpcomingReservation() {
+        WaitlistEntryResponse party = waitlistService.join(request(2));
+        assertEquals(30, party.getPredictedWaitMinutes());
+
+        // Una reserva de 20:40 a 22:10 en la mesa 1 no deja lugar a las 20:30: toca la mesa 2
+        occupancyIndex.reservationChanged(reservation(100L, first, LocalTime.of(20, 40)));
+
+        assertEquals(80, waitlistService.getWaitlist().get(0).getPredictedWaitMinutes());
+
+        occupancyIndex.reservationRemoved(100L);
+        assertEquals(30, waitlistService.getWaitlist().get(0).getPredictedWaitMinutes());
+        assertNull(waitlistService.leave(party.getId()).getPosition());
+    }
+
+    @Test
+    void seat_ShouldRejectTablesThatAreTooSmallOrBusy() {
+        WaitlistEntryResponse large = waitlistService.join(request(4));
+        first.setCapacity(2);
+        occupancyIndex.orderClosed(10L);
+
+        // La mesa 1 quedó libre pero no admite 4; la 2 sigue con su orden
+        assertThrows(BadRequestException.class, () -> waitlistService.seat(large.getId(), first.getId()));
+        assertThrows(ConflictException.class, () -> waitlistService.seat(large.getId(), second.getId()));
+
+        occupancyIndex.orderClosed(11L);
+        assertEquals(WaitlistStatus.SEATED, waitlistService.seat(large.getId(), second.getId()).getStatus());
+    }
+
+    @Test
+    void invalidated_ShouldReloadOnTheNextCallNotInTheCallback() {
+        waitlistService.join(request(2));
+
+        occupancyIndex.invalidateAll();
+        verify(tableRepository, times(1)).findAll();
+
+        waitlistService.getWaitlist();
+        verify(tableRepository, times(2)).findAll();
+    }
+
+    private static Reservation reservation(Long id, TableEntity table, LocalTime time) {
+        Reservation reservation = Reservation.builder()
+                .table(table)
+                .reservationDate(NOW.toLocalDate())
+                .reservationTime(time)
+                .numberOfPeople(2)
+                .status(ReservationStatus.CONFIRMED)
+                .build();
+        reservation.setId(id);
+        reservation.updatePeriod(0, 0);
+        return reservation;
+    }
+
+    private static WaitlistRequest request(int people) {
+        return WaitlistRequest.builder().name("Grupo de " + people).numberOfPeople(people).build();
+    }
+
+    private static Order order(Long id, TableEntity table, LocalDateTime date) {
+        return Order.builder().id(id).table(table).date(date).build();
+    }
+
+    private static TableEntity table(Long id) {
+        return TableEntity.builder()
+                .id(id)
+                .code("M" + id)
+                .capacity(4)
+                .minCapacity(1)
+                .optimalCapacity(4)
+                .openTime(LocalTime.of(12, 0))
+                .closeTime(LocalTime.of(23, 30))
+                .reservationDurationMinutes(90)
+                .status(TableStatus.OCCUPIED)
+                .build();
+    }
+}
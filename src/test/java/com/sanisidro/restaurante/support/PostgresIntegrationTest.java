@@ -0,0 +1,20 @@
+package com.sanisidro.restaurante.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Prueba con el contexto completo contra PostgreSQL; se omite si la base no está
+ * disponible (ver {@link PostgresTestSupport}).
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@EnabledIf("com.sanisidro.restaurante.support.PostgresTestSupport#isAvailable")
+public @interface PostgresIntegrationTest {
+}
@@ -0,0 +1,38 @@
+package com.sanisidro.restaurante.support;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+/**
+ * Las pruebas de integración que dependen de PostgreSQL (docker-compose, puerto 5433)
+ * se ejecutan solo si la base está disponible y las credenciales están definidas.
+ */
+public final class PostgresTestSupport {
+
+    public static final String URL = "jdbc:postgresql://localhost:5433/san_isidro";
+
+    private static Boolean available;
+
+    private PostgresTestSupport() {
+    }
+
+    public static synchronized boolean isAvailable() {
+        if (available == null) {
+            available = probe();
+        }
+        return available;
+    }
+
+    private static boolean probe() {
+        String username = System.getenv("SPRING_DATASOURCE_USERNAME");
+        String password = System.getenv("SPRING_DATASOURCE_PASSWORD");
+        if (username == null || password == null) {
+            return false;
+        }
+        try (Connection ignored = DriverManager.getConnection(URL, username, password)) {
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}